@@ -0,0 +1,112 @@
+package com.shopmod.gametest;
+
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.GameType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Drives one load scenario and checks its tick times against a budget.
+ *
+ * The action runs once per tick until the scenario has run for its tick count (or its
+ * finish condition holds), then p50/p99/max MSPT are logged and compared to the budgets.
+ * Budgets default to DEFAULT_P50_MS / DEFAULT_P99_MS and can be overridden per scenario:
+ *   -Dshopmod.perf.p50Ms=20 -Dshopmod.perf.p99Ms.rollover=45
+ *
+ * Tests in the same batch tick together, so each scenario's numbers include the others'
+ * load - the budget is for the whole server tick, which is what players feel.
+ */
+public class PerfScenario {
+    public static final double DEFAULT_P50_MS = 25.0;
+    public static final double DEFAULT_P99_MS = 50.0; // One full tick
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("shop-perf");
+
+    private final GameTestHelper helper;
+    private final String name;
+    private final int ticks;
+    private final List<ServerPlayer> players = new ArrayList<>();
+    private BooleanSupplier finished = () -> false;
+
+    public PerfScenario(GameTestHelper helper, String name, int ticks) {
+        this.helper = helper;
+        this.name = name;
+        this.ticks = ticks;
+    }
+
+    /**
+     * Survival-mode fake players holding the given item; they leave the player list when the scenario ends
+     */
+    public List<ServerPlayer> spawnPlayers(int count, ItemStack held) {
+        List<ServerPlayer> spawned = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ServerPlayer player = helper.makeMockServerPlayerInLevel();
+            player.setGameMode(GameType.SURVIVAL);
+            player.setItemInHand(InteractionHand.MAIN_HAND, held.copy());
+            spawned.add(player);
+        }
+        players.addAll(spawned);
+        return spawned;
+    }
+
+    /**
+     * Ends the scenario early once this holds (checked after each tick's action)
+     */
+    public PerfScenario until(BooleanSupplier condition) {
+        this.finished = condition;
+        return this;
+    }
+
+    public void run(Runnable eachTick) {
+        TickRecorder.Recording recording = TickRecorder.start(name);
+        int[] elapsed = {0};
+        boolean[] done = {false};
+
+        helper.onEachTick(() -> {
+            if (done[0]) return;
+            eachTick.run();
+            elapsed[0]++;
+            if (elapsed[0] >= ticks || finished.getAsBoolean()) {
+                done[0] = true;
+                TickRecorder.stop(recording);
+                for (ServerPlayer player : players) {
+                    helper.getLevel().getServer().getPlayerList().remove(player);
+                }
+                check(recording);
+            }
+        });
+    }
+
+    private void check(TickRecorder.Recording recording) {
+        double p50 = recording.percentileMs(0.50);
+        double p99 = recording.percentileMs(0.99);
+        double max = recording.percentileMs(1.0);
+        double p50Budget = budget("p50Ms", DEFAULT_P50_MS);
+        double p99Budget = budget("p99Ms", DEFAULT_P99_MS);
+
+        LOGGER.info(String.format("[perf] %s: %d ticks, p50 %.2fms, p99 %.2fms, max %.2fms (budget p50 %.1fms, p99 %.1fms)",
+            name, recording.getTicks(), p50, p99, max, p50Budget, p99Budget));
+
+        if (p50 > p50Budget || p99 > p99Budget) {
+            helper.fail(Component.literal(String.format("%s over MSPT budget: p50 %.2fms (max %.1f), p99 %.2fms (max %.1f)",
+                name, p50, p50Budget, p99, p99Budget)));
+        } else {
+            helper.succeed();
+        }
+    }
+
+    private double budget(String key, double fallback) {
+        String global = System.getProperty("shopmod.perf." + key);
+        String scenario = System.getProperty("shopmod.perf." + key + "." + name);
+        String value = scenario != null ? scenario : global;
+        return value == null ? fallback : Double.parseDouble(value);
+    }
+}
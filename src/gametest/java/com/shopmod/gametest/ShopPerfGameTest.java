@@ -0,0 +1,109 @@
+package com.shopmod.gametest;
+
+import com.shopmod.economy.DailyRollover;
+import com.shopmod.gui.ShopGui;
+import com.shopmod.wand.SellWandManager;
+import net.fabricmc.fabric.api.gametest.v1.GameTest;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.monster.Zombie;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.ChestBlockEntity;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.List;
+
+/**
+ * Tick-time regression suite: fake players drive the mod's hot paths on a real
+ * dedicated server and each scenario must stay within its MSPT budget (see PerfScenario).
+ *
+ * Run headless with ./gradlew runGameTest
+ */
+public class ShopPerfGameTest {
+    private static final int PLAYERS = 8;
+    private static final int TICKS = 200;
+    private static final int MAX_TICKS = TICKS + 100;
+
+    @GameTest(maxTicks = MAX_TICKS)
+    public void mining(GameTestHelper helper) {
+        PerfScenario scenario = new PerfScenario(helper, "mining", TICKS);
+        List<ServerPlayer> players = scenario.spawnPlayers(PLAYERS, new ItemStack(Items.DIAMOND_PICKAXE));
+        BlockPos pos = new BlockPos(1, 1, 1);
+
+        scenario.run(() -> {
+            for (ServerPlayer player : players) {
+                helper.setBlock(pos, Blocks.DIAMOND_ORE);
+                player.gameMode.destroyBlock(helper.absolutePos(pos));
+            }
+        });
+    }
+
+    @GameTest(maxTicks = MAX_TICKS)
+    public void mobKills(GameTestHelper helper) {
+        PerfScenario scenario = new PerfScenario(helper, "mob_kills", TICKS);
+        List<ServerPlayer> players = scenario.spawnPlayers(PLAYERS, ItemStack.EMPTY);
+        BlockPos pos = new BlockPos(2, 1, 2);
+
+        scenario.run(() -> {
+            for (ServerPlayer player : players) {
+                Zombie zombie = helper.spawn(EntityType.ZOMBIE, pos);
+                zombie.hurtServer(helper.getLevel(), player.damageSources().playerAttack(player), Float.MAX_VALUE);
+            }
+        });
+    }
+
+    @GameTest(maxTicks = MAX_TICKS)
+    public void sellWand(GameTestHelper helper) {
+        PerfScenario scenario = new PerfScenario(helper, "sell_wand", TICKS);
+        List<ServerPlayer> players = scenario.spawnPlayers(PLAYERS, ItemStack.EMPTY);
+        for (ServerPlayer player : players) {
+            player.setItemInHand(InteractionHand.MAIN_HAND, SellWandManager.createSellWand(player));
+        }
+        BlockPos pos = new BlockPos(3, 1, 3);
+        helper.setBlock(pos, Blocks.CHEST);
+        BlockPos chestPos = helper.absolutePos(pos);
+        ChestBlockEntity chest = (ChestBlockEntity) helper.getLevel().getBlockEntity(chestPos);
+        BlockHitResult hit = new BlockHitResult(Vec3.atCenterOf(chestPos), Direction.UP, chestPos, false);
+
+        scenario.run(() -> {
+            for (ServerPlayer player : players) {
+                for (int slot = 0; slot < chest.getContainerSize(); slot++) {
+                    chest.setItem(slot, new ItemStack(slot % 2 == 0 ? Items.COBBLESTONE : Items.IRON_INGOT, 64));
+                }
+                player.gameMode.useItemOn(player, helper.getLevel(), player.getMainHandItem(), InteractionHand.MAIN_HAND, hit);
+            }
+        });
+    }
+
+    @GameTest(maxTicks = MAX_TICKS)
+    public void shopGui(GameTestHelper helper) {
+        PerfScenario scenario = new PerfScenario(helper, "shop_gui", TICKS);
+        List<ServerPlayer> players = scenario.spawnPlayers(PLAYERS, ItemStack.EMPTY);
+
+        scenario.run(() -> {
+            for (ServerPlayer player : players) {
+                ShopGui gui = new ShopGui(player);
+                gui.open();
+                gui.close();
+            }
+        });
+    }
+
+    @GameTest(maxTicks = MAX_TICKS)
+    public void dayRollover(GameTestHelper helper) {
+        PerfScenario scenario = new PerfScenario(helper, "rollover", TICKS);
+        scenario.spawnPlayers(PLAYERS, ItemStack.EMPTY);
+        long day = helper.getLevel().getServer().overworld().getDayTime() / 24000L;
+        DailyRollover.schedule(helper.getLevel().getServer(), day);
+
+        // Budget-limited, so it should spread over a few ticks without a spike
+        scenario.until(() -> !DailyRollover.isRunning()).run(() -> {});
+    }
+}
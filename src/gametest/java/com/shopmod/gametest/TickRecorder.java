@@ -0,0 +1,77 @@
+package com.shopmod.gametest;
+
+import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures how long each server tick takes (MSPT, without the idle wait between ticks)
+ * and hands the samples to every recording that is currently open.
+ */
+public class TickRecorder implements ModInitializer {
+    private static final List<Recording> active = new ArrayList<>();
+    private static long tickStart = 0;
+
+    /**
+     * Tick durations collected between start() and stop()
+     */
+    public static final class Recording {
+        private final String name;
+        private long[] samples = new long[256];
+        private int size = 0;
+
+        private Recording(String name) {
+            this.name = name;
+        }
+
+        private void add(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getTicks() {
+            return size;
+        }
+
+        /**
+         * Tick time in milliseconds at the given percentile (0-1)
+         */
+        public double percentileMs(double p) {
+            if (size == 0) return 0;
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(p * size) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+
+    @Override
+    public void onInitialize() {
+        ServerTickEvents.START_SERVER_TICK.register(server -> tickStart = System.nanoTime());
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            long nanos = System.nanoTime() - tickStart;
+            for (Recording recording : active) {
+                recording.add(nanos);
+            }
+        });
+    }
+
+    public static Recording start(String name) {
+        Recording recording = new Recording(name);
+        active.add(recording);
+        return recording;
+    }
+
+    public static void stop(Recording recording) {
+        active.remove(recording);
+    }
+}
@@ -0,0 +1,19 @@
+package com.shopmod.bench;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+
+/**
+ * Boots the vanilla registries (items, blocks, entity types) without a client or server,
+ * so benchmarks can touch Items/Blocks/EntityType like the mod does in game.
+ */
+public class Headless {
+    private static boolean booted = false;
+
+    public static synchronized void bootstrap() {
+        if (booted) return;
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        booted = true;
+    }
+}
@@ -0,0 +1,24 @@
+package com.shopmod.currency;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Money formatting, called for nearly every chat message, lore line and action bar update
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyFormatBenchmark {
+    @Param({"7", "1234567", "9223372036854775807"})
+    private long amount;
+
+    @Benchmark
+    public String format() {
+        return CurrencyManager.format(amount);
+    }
+}
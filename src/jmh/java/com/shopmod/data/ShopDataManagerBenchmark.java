@@ -0,0 +1,67 @@
+package com.shopmod.data;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Wallet persistence at server scale: every player changes, then the journal is flushed and
+ * compacted into shop_data.json; and a cold load (snapshot plus journal replay).
+ * Writes to a temp world folder on the local disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ShopDataManagerBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int players;
+
+    private Path worldDir;
+    private UUID[] playerIds;
+    private ShopDataManager manager;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        worldDir = Files.createTempDirectory("shopmod-bench");
+        playerIds = new UUID[players];
+        manager = new ShopDataManager(worldDir);
+        for (int i = 0; i < players; i++) {
+            playerIds[i] = new UUID(0x5109L, i);
+            manager.addMoney(playerIds[i], 1000 + i);
+        }
+        manager.save();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        manager.shutdown();
+        try (Stream<Path> files = Files.walk(worldDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public boolean save() {
+        for (UUID playerId : playerIds) {
+            manager.addMoney(playerId, 1);
+        }
+        return manager.save();
+    }
+
+    @Benchmark
+    public long load() {
+        ShopDataManager loaded = new ShopDataManager(worldDir);
+        long balance = loaded.getBalance(playerIds[players - 1]);
+        loaded.shutdown();
+        return balance;
+    }
+}
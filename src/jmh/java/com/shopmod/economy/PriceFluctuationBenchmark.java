@@ -0,0 +1,48 @@
+package com.shopmod.economy;
+
+import com.shopmod.bench.Headless;
+import com.shopmod.shop.ItemPricing;
+import com.shopmod.shop.PriceCatalog;
+import net.minecraft.world.item.Item;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fluctuating prices: the per-lookup multiplier and the periodic random walk over every tracked item
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceFluctuationBenchmark {
+    private Item[] items;
+    private long[] basePrices;
+
+    @Setup
+    public void setup() {
+        Headless.bootstrap();
+        PriceCatalog.useBundledDefaults();
+        items = ItemPricing.getPricedItems().toArray(Item[]::new);
+        basePrices = new long[items.length];
+        for (int i = 0; i < items.length; i++) {
+            basePrices[i] = ItemPricing.getBuyPrice(items[i]);
+            PriceFluctuation.registerItem(items[i]);
+        }
+    }
+
+    @Benchmark
+    public void getAdjustedPrice(Blackhole bh) {
+        for (int i = 0; i < items.length; i++) {
+            bh.consume(PriceFluctuation.getAdjustedPrice(items[i], basePrices[i]));
+        }
+    }
+
+    @Benchmark
+    public void updatePrices() {
+        PriceFluctuation.updatePrices();
+    }
+}
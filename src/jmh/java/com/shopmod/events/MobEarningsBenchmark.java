@@ -0,0 +1,53 @@
+package com.shopmod.events;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.shopmod.bench.Headless;
+import com.shopmod.income.RewardTables;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.Identifier;
+import net.minecraft.world.entity.EntityType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mob kill valuation over every entity type, so the fall-through default case is measured too.
+ * Uses the mod's bundled default reward table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MobEarningsBenchmark {
+    private static final String DEFAULT_TABLE = "/data/shop/shop_rewards/default.json";
+
+    private EntityType<?>[] types;
+    private RewardTables tables;
+
+    @Setup
+    public void setup() throws IOException {
+        Headless.bootstrap();
+        types = BuiltInRegistries.ENTITY_TYPE.stream().toArray(EntityType<?>[]::new);
+        try (Reader reader = new InputStreamReader(RewardTables.class.getResourceAsStream(DEFAULT_TABLE), StandardCharsets.UTF_8)) {
+            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+            tables = RewardTables.fromJson(Map.of(Identifier.fromNamespaceAndPath("shop", "shop_rewards/default.json"), json));
+        }
+    }
+
+    @Benchmark
+    public void getMobValue(Blackhole bh) {
+        for (EntityType<?> type : types) {
+            bh.consume(tables.getMobMoney(type, 2));
+            bh.consume(tables.getMobXp(type));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.shopmod.shop;
+
+import com.shopmod.bench.Headless;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Item;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price lookups as done by shop GUIs, sell commands and the sell wand.
+ * Walks every registered item, so unpriced items (the common case for /sell all) are included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemPricingBenchmark {
+    private Item[] items;
+
+    @Setup
+    public void setup() {
+        Headless.bootstrap();
+        PriceCatalog.useBundledDefaults();
+        items = BuiltInRegistries.ITEM.stream().toArray(Item[]::new);
+    }
+
+    @Benchmark
+    public void getBuyPrice(Blackhole bh) {
+        for (Item item : items) {
+            bh.consume(ItemPricing.getBuyPrice(item));
+        }
+    }
+
+    @Benchmark
+    public void getSellPrice(Blackhole bh) {
+        for (Item item : items) {
+            bh.consume(ItemPricing.getSellPrice(item));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.shopmod.util;
+
+import com.shopmod.bench.Headless;
+import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-player item counts: validating them against an unchanged inventory, reading
+ * a shop page worth of counts, and the mark/diff run for every rewarded block break.
+ * Should allocate nothing once warm (check with -prof gc)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryCountsBenchmark {
+    private static final int PLAYER_INVENTORY_SIZE = 41; // 36 main + 4 armor + offhand
+    private static final int SHOP_PAGE_SIZE = 44;
+
+    private SimpleContainer inventory;
+    private Item[] page;
+    private ItemStack[] harvest;
+    private final InventoryCounts counts = new InventoryCounts();
+
+    @Setup
+    public void setup() {
+        Headless.bootstrap();
+        Item[] mix = {Items.COBBLESTONE, Items.DIRT, Items.OAK_LOG, Items.IRON_ORE, Items.COAL,
+            Items.DIAMOND_PICKAXE, Items.TORCH, Items.BREAD, Items.RAW_IRON, Items.OAK_PLANKS};
+        inventory = new SimpleContainer(PLAYER_INVENTORY_SIZE);
+        for (int i = 0; i < 30; i++) {
+            Item item = mix[i % mix.length];
+            inventory.setItem(i, new ItemStack(item, Math.min(item.getDefaultMaxStackSize(), 16 + i)));
+        }
+        counts.track(inventory);
+        counts.compareSlots();
+
+        page = new Item[SHOP_PAGE_SIZE];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = i < mix.length ? mix[i] : Items.STONE;
+        }
+
+        // A timber harvest: a few stacks of logs picked up into empty slots
+        harvest = new ItemStack[] {
+            new ItemStack(Items.OAK_LOG, 64), new ItemStack(Items.OAK_LOG, 23), new ItemStack(Items.STICK, 7)};
+    }
+
+    @Benchmark
+    public void validateUnchanged() {
+        counts.compareSlots();
+    }
+
+    @Benchmark
+    public int shopPage() {
+        counts.compareSlots();
+        int total = 0;
+        for (Item item : page) {
+            total += counts.count(item);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int markAndTakeAdded() {
+        counts.mark();
+        for (int i = 0; i < harvest.length; i++) {
+            inventory.setItem(30 + i, harvest[i]);
+        }
+        counts.compareSlots();
+        int added = counts.takeAdded();
+
+        for (int i = 0; i < harvest.length; i++) {
+            inventory.setItem(30 + i, ItemStack.EMPTY);
+        }
+        counts.compareSlots();
+        return added;
+    }
+}
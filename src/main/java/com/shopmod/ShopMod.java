@@ -17,28 +17,32 @@ import com.shopmod.commands.TeleportCommand;
 import com.shopmod.commands.GamesCommand;
 import com.shopmod.commands.VillageCommand;
 import com.shopmod.commands.TenantCommand;
-import com.shopmod.lottery.LotteryManager;
 import com.shopmod.commands.LotteryCommand;
-import com.shopmod.business.BusinessManager;
 import com.shopmod.commands.BusinessCommand;
+import com.shopmod.currency.InterestIndex;
+import com.shopmod.economy.ModifierProfile;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.data.ShopDataManager;
 import com.shopmod.farm.FarmManager;
-import com.shopmod.property.PropertyManager;
-import com.shopmod.auction.AuctionManager;
-import com.shopmod.auction.AuctionItem;
+import com.shopmod.notifications.Notifications;
+import com.shopmod.perf.ShopProfiler;
+import com.shopmod.scheduler.ShopScheduler;
 import com.shopmod.stocks.StockOptionsManager;
 import com.shopmod.stocks.StockMarketManager;
-import com.shopmod.research.ResearchManager;
-import com.shopmod.blackmarket.BlackMarketManager;
-import com.shopmod.mining.MiningManager;
 import com.shopmod.income.IncomeManager;
+import com.shopmod.income.RewardTables;
+import com.shopmod.shop.PriceCatalog;
+import com.shopmod.shop.RecipePricing;
+import com.shopmod.util.InventoryCounts;
 import com.shopmod.spawner.SpawnerPickupHandler;
 import com.shopmod.upgrades.UpgradeManager;
 import com.shopmod.upgrades.UpgradeEffectApplier;
+import com.shopmod.economy.DailyRollover;
 import com.shopmod.economy.PriceFluctuation;
 import com.shopmod.crates.LuckyCrateManager;
 import com.shopmod.events.BlockEarningsHandler;
 import com.shopmod.events.MobEarningsHandler;
+import com.shopmod.events.PlacedBlocks;
 import com.shopmod.events.PlayerJoinHandler;
 import com.shopmod.events.WandUseHandler;
 import net.fabricmc.api.ModInitializer;
@@ -62,17 +66,58 @@ public class ShopMod implements ModInitializer {
 	public void onInitialize() {
 		LOGGER.info("Shop Mod is initializing!");
 		
+		// Initialize per-player state persistence (loads on server start, saves with the world)
+		PlayerStateStore.initialize();
+		LOGGER.info("Player state persistence initialized!");
+		
+		// Initialize scheduler for delayed and expiring tasks (auctions, options, boosters)
+		ShopScheduler.register();
+		LOGGER.info("Scheduler initialized!");
+		
+		// Initialize interest rate indexes (wallet, bank investments, credit cards)
+		InterestIndex.register();
+		LOGGER.info("Interest indexes initialized!");
+		
+		// Initialize cached per-player modifier profiles (upgrades, perks, pets, research, daily bonuses)
+		ModifierProfile.register();
+		LOGGER.info("Modifier profiles initialized!");
+		
+		// Initialize notification queue (merged earnings popups, daily digest)
+		Notifications.register();
+		LOGGER.info("Notifications initialized!");
+		
+		// Initialize block, crop and mob reward tables (datapack driven, reloaded with /reload)
+		RewardTables.register();
+		LOGGER.info("Reward tables registered!");
+		
+		// Initialize shop price catalog (datapack driven, reloaded with /reload)
+		PriceCatalog.register();
+		LOGGER.info("Price catalog registered!");
+		
+		// Fill in prices for craftable items from the recipe graph (server start and /reload)
+		RecipePricing.register();
+		LOGGER.info("Recipe pricing registered!");
+		
 		// Initialize income system (block breaking rewards)
 		IncomeManager.initialize();
 		LOGGER.info("Income system initialized!");
 		
+		// Initialize per-player inventory item counts (shop pages, selling, harvest detection)
+		InventoryCounts.register();
+		LOGGER.info("Inventory counts initialized!");
+		
 		// Initialize universal earnings systems
+		PlacedBlocks.register();
 		BlockEarningsHandler.register();
-		LOGGER.info("Block earnings system initialized!");
+		LOGGER.info("Block earnings system initialized (player-placed blocks excluded)!");
 		
 		MobEarningsHandler.register();
 		LOGGER.info("Mob earnings system initialized!");
 		
+		// Initialize daily rollover pipeline (spreads dawn processing across ticks)
+		DailyRollover.register();
+		LOGGER.info("Daily rollover pipeline initialized!");
+		
 		// Initialize player join handler (welcome message)
 		PlayerJoinHandler.register();
 		LOGGER.info("Player join handler initialized!");
@@ -98,6 +143,9 @@ public class ShopMod implements ModInitializer {
 		PriceFluctuation.updatePrices();
 		LOGGER.info("Stock options market initialized!");
 		
+		// Initialize stock options expiry
+		StockOptionsManager.initialize();
+		
 		// Initialize comprehensive stock market
 		StockMarketManager.initialize();
 		LOGGER.info("Stock market initialized!");
@@ -116,21 +164,15 @@ public class ShopMod implements ModInitializer {
 		// Save data on server stop
 		ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
 			if (dataManager != null) {
-				dataManager.save();
+				dataManager.shutdown();
 				LOGGER.info("Shop data saved!");
 			}
 		});
 		
 		// Register server tick event for price updates (based on Minecraft time) and daily resets
-		ServerTickEvents.END_SERVER_TICK.register(server -> {
+		ServerTickEvents.END_SERVER_TICK.register(ShopProfiler.timed("tick.shopmod", server -> {
 			long dayTime = server.overworld().getDayTime();
 			
-			// Process auction endings
-			AuctionManager.processAuctionEndings(dayTime);
-			
-			// Process expired stock options
-			StockOptionsManager.processExpiredOptions(dayTime, server);
-			
 			long timeOfDay = dayTime % 24000; // Time within current day (0-23999)
 			long currentDay = dayTime / 24000;
 			
@@ -161,80 +203,15 @@ public class ShopMod implements ModInitializer {
 				LOGGER.info("Stock market prices updated at " + timeLabel + "!");
 			}
 			
-			// Update crates and process investments at dawn (new day)
+			// Queue the dawn rollover (crates, interest, income, billing...) at the start of a new day
 			if (currentDay > lastDailyUpdate) {
-				LuckyCrateManager.updateDailyCrates(currentDay);
-				
-				// Generate new daily auctions and black market deals
-				AuctionItem.generateDailyAuctions(dayTime);
-				BlackMarketManager.generateDailyDeals();
-				
-				LOGGER.info("Lucky crates updated for day " + currentDay);
-				
-				// Process daily returns for all online players
-				server.getPlayerList().getPlayers().forEach(player -> {
-					// Process wallet interest (10% guaranteed)
-					com.shopmod.currency.CurrencyManager.processDailyInterest(player);
-					
-					// Process bank investments (risky returns)
-					com.shopmod.bank.BankManager.processDailyReturns(player);
-					
-					// Process loan payments
-					com.shopmod.loan.LoanManager.processDailyPayments(player, currentDay);
-					
-					// Process village resource economy (V2)
-					com.shopmod.village.VillageManager.processDailyVillage(player, currentDay);
-					
-					// Process trade center auto-selling
-					com.shopmod.village.TradeCenterManager.processAutoSell(player);
-					
-					// Process tenant events and rent collection
-					com.shopmod.tenant.TenantManager.processDailyTenants(player, currentDay);
-					
-					// Process automation system
-					com.shopmod.automation.AutomationManager.processDailyAutomation(player);
-					
-					// Reset automation stats
-					com.shopmod.automation.AutomationManager.resetDailyStats(player.getUUID());
-				});
-				
-			// Process stock market daily updates
-			StockMarketManager.updateDailyPrices(currentDay);
-			StockMarketManager.processDividends(currentDay, server.getPlayerList().getPlayers());
-			
-				PropertyManager.processDailyIncome(currentDay, server);
-				
-				// Process research bonuses (Money Printer, etc.)
-				ResearchManager.applyDailyIncome(server);
-				
-				// Process mining operations income
-				MiningManager.processDailyIncome(currentDay, server);
-				
-				// Process worker salaries and loyalty
-				com.shopmod.worker.WorkerManager.processDailyPayments(currentDay, server);
-			
-			// Process business daily income
-			BusinessManager.processDailyIncome(currentDay, server);
-				server.getPlayerList().getPlayers().forEach(player -> {
-					com.shopmod.insurance.InsuranceManager.processMonthlyBilling(player, currentDay);
-				});
-				
-				// Process credit card interest monthly
-				if (currentDay % 30 == 0) {  // Every 30 days
-					server.getPlayerList().getPlayers().forEach(player -> {
-						com.shopmod.bank.BankManager.processCreditCardInterest(player);
-					});
-				}
-				
-				// Process worker weekly loyalty updates and quit checks
-				if (currentDay % 7 == 0) {  // Every 7 days
-					com.shopmod.worker.WorkerManager.processWeeklyUpdates(currentDay, server);
-					LotteryManager.processWeeklyDraw(currentDay, server);
-				}
-				
+				DailyRollover.schedule(server, currentDay);
 				lastDailyUpdate = currentDay;
 			}
-		});
+			
+			// Drain queued rollover work within the per-tick budget
+			DailyRollover.tick(server);
+		}));
 		
 		// Register commands
 		CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
@@ -1,5 +1,7 @@
 package com.shopmod.achievements;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
@@ -16,6 +18,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class AchievementManager {
     private static final Map<UUID, AchievementProgress> playerProgress = new ConcurrentHashMap<>();
+    private static final PlayerShard<AchievementProgress> STATE = PlayerStateStore.register("achievements", playerProgress, AchievementProgress.class);
     private static final Map<String, Achievement> achievements = new LinkedHashMap<>();
     
     static {
@@ -26,6 +29,7 @@ public class AchievementManager {
      * Get or create progress for a player
      */
     public static AchievementProgress getProgress(ServerPlayer player) {
+        STATE.ensureLoaded(player.getUUID());
         return playerProgress.computeIfAbsent(player.getUUID(), id -> new AchievementProgress());
     }
     
@@ -33,6 +37,7 @@ public class AchievementManager {
      * Get progress by UUID
      */
     public static AchievementProgress getProgress(UUID playerId) {
+        STATE.ensureLoaded(playerId);
         return playerProgress.computeIfAbsent(playerId, id -> new AchievementProgress());
     }
     
@@ -358,6 +363,7 @@ public class AchievementManager {
     private static void unlockAchievement(ServerPlayer player, Achievement achievement) {
         AchievementProgress progress = getProgress(player);
         progress.completeAchievement(achievement.getId());
+        STATE.markDirty(player.getUUID());
         
         // Award cash reward
         CurrencyManager.addMoney(player, achievement.getCashReward());
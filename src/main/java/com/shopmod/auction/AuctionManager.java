@@ -1,6 +1,10 @@
 package com.shopmod.auction;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.scheduler.ShopScheduler;
+import com.shopmod.scheduler.TimerWheel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.ItemStack;
@@ -14,7 +18,9 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class AuctionManager {
     private static final Map<UUID, PlayerAuctionData> playerData = new ConcurrentHashMap<>();
+    private static final PlayerShard<PlayerAuctionData> STATE = PlayerStateStore.registerEager("auctions", playerData, PlayerAuctionData.class);
     private static List<AuctionItem> currentAuctions = new ArrayList<>();
+    private static final Map<AuctionItem, TimerWheel.Timer> endTimers = new IdentityHashMap<>();
     private static long lastAuctionReset = -1;
     private static final Random random = new Random();
     
@@ -38,6 +44,7 @@ public class AuctionManager {
      * Get player auction data
      */
     public static PlayerAuctionData getPlayerData(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return playerData.computeIfAbsent(playerUUID, k -> new PlayerAuctionData());
     }
     
@@ -49,11 +56,23 @@ public class AuctionManager {
         
         // Reset auctions at dawn (new day)
         if (currentDay > lastAuctionReset) {
+            endTimers.values().forEach(TimerWheel.Timer::cancel);
+            endTimers.clear();
             currentAuctions = AuctionItem.generateDailyAuctions(currentDayTime);
             lastAuctionReset = currentDay;
             
+            // Each auction ends itself when its time is up
+            for (AuctionItem auction : currentAuctions) {
+                endTimers.put(auction, ShopScheduler.scheduleAtDayTime(auction.getAuctionEndTime(), () -> endAuction(auction)));
+            }
+            
             // Clear old bids
-            playerData.values().forEach(data -> data.getPlayerBids().clear());
+            playerData.forEach((uuid, data) -> {
+                if (!data.getPlayerBids().isEmpty()) {
+                    data.getPlayerBids().clear();
+                    STATE.markDirty(uuid);
+                }
+            });
         }
         
         return currentAuctions;
@@ -97,6 +116,7 @@ public class AuctionManager {
         
         PlayerAuctionData data = getPlayerData(player.getUUID());
         data.getPlayerBids().put(auctionIndex, bidAmount);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             "§a§l[AUCTION] Bid placed: " + CurrencyManager.format(bidAmount) + "!"));
@@ -160,34 +180,29 @@ public class AuctionManager {
         
         // Remove from auctions
         currentAuctions.remove(auctionIndex);
+        ShopScheduler.cancel(endTimers.remove(auction));
         
         return true;
     }
     
     /**
-     * Process auction endings and award winners
+     * End an auction whose time is up (scheduled when the day's auctions are generated)
      */
-    public static void processAuctionEndings(long currentTime) {
-        Iterator<AuctionItem> iterator = currentAuctions.iterator();
+    private static void endAuction(AuctionItem auction) {
+        endTimers.remove(auction);
         
-        while (iterator.hasNext()) {
-            AuctionItem auction = iterator.next();
-            
-            if (auction.isExpired(currentTime)) {
-                // Check if a real player won
-                boolean playerWon = !auction.getCurrentBidder().equals("None") && 
-                                  Arrays.stream(NPC_NAMES).noneMatch(name -> name.equals(auction.getCurrentBidder()));
-                
-                if (playerWon) {
-                    // Find winning player
-                    // Server reference would need to be passed in or cached
-                    // For now, skip notification (items will be given via wonItems list)
-                }
-                
-                // Remove expired auction
-                iterator.remove();
-            }
+        // Check if a real player won
+        boolean playerWon = !auction.getCurrentBidder().equals("None") && 
+                          Arrays.stream(NPC_NAMES).noneMatch(name -> name.equals(auction.getCurrentBidder()));
+        
+        if (playerWon) {
+            // Find winning player
+            // Server reference would need to be passed in or cached
+            // For now, skip notification (items will be given via wonItems list)
         }
+        
+        // Remove expired auction
+        currentAuctions.remove(auction);
     }
     
     /**
@@ -60,6 +60,7 @@ public class AutomationGui extends SimpleGui {
             .addLoreLine(Component.literal("§e§lCLICK §7to toggle"))
             .setCallback((index, type, action) -> {
                 settings.autoPayLoans = !settings.autoPayLoans;
+                AutomationManager.markDirty(player.getUUID());
                 player.sendSystemMessage(Component.literal(
                     "§e§l[AUTOMATION] Auto-Pay Loans: " + (settings.autoPayLoans ? "§aON" : "§cOFF")));
                 setupDisplay();
@@ -77,6 +78,7 @@ public class AutomationGui extends SimpleGui {
             .addLoreLine(Component.literal("§e§lCLICK §7to toggle"))
             .setCallback((index, type, action) -> {
                 settings.autoCollectFarms = !settings.autoCollectFarms;
+                AutomationManager.markDirty(player.getUUID());
                 player.sendSystemMessage(Component.literal(
                     "§e§l[AUTOMATION] Auto-Collect Farms: " + (settings.autoCollectFarms ? "§aON" : "§cOFF")));
                 setupDisplay();
@@ -95,6 +97,7 @@ public class AutomationGui extends SimpleGui {
             .addLoreLine(Component.literal("§e§lCLICK §7to toggle"))
             .setCallback((index, type, action) -> {
                 settings.autoDepositWallet = !settings.autoDepositWallet;
+                AutomationManager.markDirty(player.getUUID());
                 player.sendSystemMessage(Component.literal(
                     "§e§l[AUTOMATION] Auto-Deposit Wallet: " + (settings.autoDepositWallet ? "§aON" : "§cOFF")));
                 setupDisplay();
@@ -135,6 +138,7 @@ public class AutomationGui extends SimpleGui {
             .addLoreLine(Component.literal("§7Decrease threshold"))
             .setCallback((index, type, action) -> {
                 settings.depositThreshold = Math.max(1000, settings.depositThreshold - 10_000);
+                AutomationManager.markDirty(player.getUUID());
                 player.sendSystemMessage(Component.literal(
                     String.format("§e§l[AUTOMATION] Threshold set to §6$%,d", settings.depositThreshold)));
                 setupDisplay();
@@ -146,6 +150,7 @@ public class AutomationGui extends SimpleGui {
             .addLoreLine(Component.literal("§7Decrease threshold"))
             .setCallback((index, type, action) -> {
                 settings.depositThreshold = Math.max(1000, settings.depositThreshold - 1_000);
+                AutomationManager.markDirty(player.getUUID());
                 player.sendSystemMessage(Component.literal(
                     String.format("§e§l[AUTOMATION] Threshold set to §6$%,d", settings.depositThreshold)));
                 setupDisplay();
@@ -167,6 +172,7 @@ public class AutomationGui extends SimpleGui {
             .addLoreLine(Component.literal("§7Increase threshold"))
             .setCallback((index, type, action) -> {
                 settings.depositThreshold += 1_000;
+                AutomationManager.markDirty(player.getUUID());
                 player.sendSystemMessage(Component.literal(
                     String.format("§e§l[AUTOMATION] Threshold set to §6$%,d", settings.depositThreshold)));
                 setupDisplay();
@@ -178,6 +184,7 @@ public class AutomationGui extends SimpleGui {
             .addLoreLine(Component.literal("§7Increase threshold"))
             .setCallback((index, type, action) -> {
                 settings.depositThreshold += 10_000;
+                AutomationManager.markDirty(player.getUUID());
                 player.sendSystemMessage(Component.literal(
                     String.format("§e§l[AUTOMATION] Threshold set to §6$%,d", settings.depositThreshold)));
                 setupDisplay();
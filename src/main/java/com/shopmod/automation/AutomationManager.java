@@ -1,10 +1,15 @@
 package com.shopmod.automation;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
 import com.shopmod.loan.LoanManager;
 import com.shopmod.farm.FarmManager;
-import com.shopmod.bank.BankManager;
+import com.shopmod.bank.AccountType;
+import com.shopmod.bank.LedgerTransaction;
+import com.shopmod.bank.TransactionRecord;
 import com.shopmod.insurance.InsuranceManager;
+import com.shopmod.notifications.Notifications;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.network.chat.Component;
 
@@ -17,6 +22,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class AutomationManager {
     private static final Map<UUID, AutomationSettings> settingsMap = new ConcurrentHashMap<>();
+    private static final PlayerShard<AutomationSettings> STATE = PlayerStateStore.register("automation", settingsMap, AutomationSettings.class);
     private static final Map<UUID, LinkedList<AutomationNotification>> notificationsMap = new ConcurrentHashMap<>();
     private static final int MAX_NOTIFICATIONS = 10;
     
@@ -43,9 +49,17 @@ public class AutomationManager {
      * Get or create automation settings for a player
      */
     public static AutomationSettings getSettings(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return settingsMap.computeIfAbsent(playerUUID, k -> new AutomationSettings());
     }
     
+    /**
+     * Marks a player's settings as changed; call after changing what getSettings returned
+     */
+    public static void markDirty(UUID playerUUID) {
+        STATE.markDirty(playerUUID);
+    }
+    
     /**
      * Get automation statistics for a player
      */
@@ -84,26 +98,31 @@ public class AutomationManager {
         switch (settingName.toLowerCase()) {
             case "loans" -> {
                 settings.autoPayLoans = !settings.autoPayLoans;
+                STATE.markDirty(player.getUUID());
                 player.sendSystemMessage(Component.literal(
                     "§e§l[AUTOMATION] Auto-Pay Loans: " + (settings.autoPayLoans ? "§aON" : "§cOFF")));
             }
             case "farms" -> {
                 settings.autoCollectFarms = !settings.autoCollectFarms;
+                STATE.markDirty(player.getUUID());
                 player.sendSystemMessage(Component.literal(
                     "§e§l[AUTOMATION] Auto-Collect Farms: " + (settings.autoCollectFarms ? "§aON" : "§cOFF")));
             }
             case "deposit" -> {
                 settings.autoDepositWallet = !settings.autoDepositWallet;
+                STATE.markDirty(player.getUUID());
                 player.sendSystemMessage(Component.literal(
                     "§e§l[AUTOMATION] Auto-Deposit Wallet: " + (settings.autoDepositWallet ? "§aON" : "§cOFF")));
             }
             case "sell" -> {
                 settings.autoSellHarvests = !settings.autoSellHarvests;
+                STATE.markDirty(player.getUUID());
                 player.sendSystemMessage(Component.literal(
                     "§e§l[AUTOMATION] Auto-Sell Harvests: " + (settings.autoSellHarvests ? "§aON" : "§cOFF")));
             }
             case "invest" -> {
                 settings.autoInvestDividends = !settings.autoInvestDividends;
+                STATE.markDirty(player.getUUID());
                 player.sendSystemMessage(Component.literal(
                     "§e§l[AUTOMATION] Auto-Invest Dividends: " + (settings.autoInvestDividends ? "§aON" : "§cOFF")));
             }
@@ -141,7 +160,7 @@ public class AutomationManager {
         
         // Send summary notification
         if (settings.hasAnyEnabled()) {
-            player.sendSystemMessage(Component.literal(
+            Notifications.chat(player, Component.literal(
                 String.format("§a§l[AUTOMATION] Daily automation complete! %d tasks processed.", 
                     settings.countEnabled())));
         }
@@ -218,7 +237,12 @@ public class AutomationManager {
         if (balance > settings.depositThreshold) {
             long depositAmount = balance - (settings.depositThreshold / 2);  // Leave half the threshold
             
-            if (BankManager.depositMoney(player, depositAmount)) {
+            boolean deposited = LedgerTransaction.begin(player)
+                .transfer(LedgerTransaction.Account.WALLET, LedgerTransaction.Account.SAVINGS, depositAmount)
+                .record(TransactionRecord.TransactionType.AUTO_DEPOSIT, depositAmount,
+                    "Auto-deposit of excess wallet", AccountType.SAVINGS)
+                .commit();
+            if (deposited) {
                 stats.moneyAutoDeposited += depositAmount;
                 addNotification(player.getUUID(), "Bank Deposit", 
                     "Moved excess wallet to bank", depositAmount);
@@ -1,16 +1,13 @@
 package com.shopmod.bank;
 
 import com.shopmod.currency.CurrencyManager;
-import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.ListTag;
-import net.minecraft.nbt.Tag;
-import net.minecraft.server.level.ServerLevel;
+import com.shopmod.currency.InterestIndex;
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.Level;
 
-import java.io.*;
-import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -18,12 +15,13 @@ import java.util.concurrent.ConcurrentHashMap;
  * Manages player bank storage and investments
  * Features:
  * - Item storage (like ender chest)
- * - Money investment with risky daily gains/losses
+ * - Money investment with risky daily gains/losses (compounded through InterestIndex)
  * - Difficulty-scaled risk/reward
  * - NOTE: Regular wallet balance (not invested) earns 10% per night - see CurrencyManager
  */
 public class BankManager {
     private static final Map<UUID, BankData> bankDataMap = new ConcurrentHashMap<>();
+    private static final PlayerShard<BankData> STATE = PlayerStateStore.register("bank", bankDataMap, BankData.class);
     private static final Random random = new Random();
     
     // Investment parameters - risky returns
@@ -39,6 +37,7 @@ public class BankManager {
     public static class BankData {
         private final List<ItemStack> storage = new ArrayList<>();
         private long investedMoney = 0;
+        private Double investedIndex = null;  // Savings index at last settlement; null until first settled
         private long lastProcessedDay = -1;
         private int storageLevel = 0; // 0 = base 27 slots, 1 = 36, 2 = 45, 3 = 54
         
@@ -130,7 +129,50 @@ public class BankManager {
      * Get or create bank data for a player
      */
     public static BankData getBankData(UUID playerUUID) {
-        return bankDataMap.computeIfAbsent(playerUUID, k -> new BankData());
+        STATE.ensureLoaded(playerUUID);
+        BankData data = bankDataMap.computeIfAbsent(playerUUID, k -> new BankData());
+        if (settleInterest(data)) {
+            STATE.markDirty(playerUUID);
+        }
+        return data;
+    }
+    
+    /**
+     * Marks a player's bank data as changed; call after changing what getBankData returned
+     */
+    public static void markDirty(UUID playerUUID) {
+        STATE.markDirty(playerUUID);
+    }
+    
+    /**
+     * Materializes investment returns and credit card interest accrued since the
+     * account was last read (see InterestIndex)
+     * @return true if anything changed
+     */
+    private static boolean settleInterest(BankData data) {
+        boolean changed = false;
+        double savingsIndex = InterestIndex.get(InterestIndex.Kind.SAVINGS);
+        if (data.investedIndex == null || data.investedIndex != savingsIndex) {
+            double growth = InterestIndex.growthSince(InterestIndex.Kind.SAVINGS, data.investedIndex);
+            data.setInvestedMoney((long)(data.investedMoney * growth));
+            data.investedIndex = savingsIndex;
+            data.setLastProcessedDay(InterestIndex.getLastAccrualDay());
+            changed = true;
+        }
+        
+        CreditCardData credit = data.getCreditCard();
+        long interest = credit.settleInterest();
+        if (interest > 0) {
+            data.addTransaction(new TransactionRecord(
+                TransactionRecord.TransactionType.INTEREST,
+                interest,
+                credit.getBalance(),
+                "Credit card interest",
+                AccountType.CREDIT
+            ));
+            changed = true;
+        }
+        return changed;
     }
     
     /**
@@ -139,14 +181,9 @@ public class BankManager {
     public static boolean depositMoney(ServerPlayer player, long amount) {
         if (amount <= 0) return false;
         
-        long balance = CurrencyManager.getBalance(player);
-        if (balance < amount) return false;
-        
-        BankData data = getBankData(player.getUUID());
-        CurrencyManager.removeMoney(player, amount);
-        data.setInvestedMoney(data.getInvestedMoney() + amount);
-        
-        return true;
+        return LedgerTransaction.begin(player)
+            .transfer(LedgerTransaction.Account.WALLET, LedgerTransaction.Account.SAVINGS, amount)
+            .commit();
     }
     
     /**
@@ -155,13 +192,9 @@ public class BankManager {
     public static boolean withdrawMoney(ServerPlayer player, long amount) {
         if (amount <= 0) return false;
         
-        BankData data = getBankData(player.getUUID());
-        if (data.getInvestedMoney() < amount) return false;
-        
-        data.setInvestedMoney(data.getInvestedMoney() - amount);
-        CurrencyManager.addMoney(player, amount);
-        
-        return true;
+        return LedgerTransaction.begin(player)
+            .transfer(LedgerTransaction.Account.SAVINGS, LedgerTransaction.Account.WALLET, amount)
+            .commit();
     }
     
     /**
@@ -198,6 +231,7 @@ public class BankManager {
         // Process upgrade
         CurrencyManager.removeMoney(player, cost);
         data.setStorageLevel(currentLevel + 1);
+        STATE.markDirty(player.getUUID());
         
         int newSlots = data.getStorageSize();
         player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
@@ -220,30 +254,14 @@ public class BankManager {
     }
     
     /**
-     * Process daily investment returns
-     * Call this when a new Minecraft day starts
+     * Roll today's investment return and apply it to every invested balance at once.
+     * All investors share the day's return; the range depends on difficulty.
      */
-    public static void processDailyReturns(ServerPlayer player) {
-        BankData data = getBankData(player.getUUID());
-        long invested = data.getInvestedMoney();
-        
-        if (invested <= 0) {
-            com.shopmod.ShopMod.LOGGER.info("Player " + player.getName().getString() + " has no investment, skipping daily returns");
-            return;
-        }
-        
-        long currentDay = player.level().getDayTime() / 24000L;
-        if (data.getLastProcessedDay() >= currentDay) {
-            com.shopmod.ShopMod.LOGGER.info("Player " + player.getName().getString() + " already processed for day " + currentDay);
-            return;
-        }
-        
-        data.setLastProcessedDay(currentDay);
-        com.shopmod.ShopMod.LOGGER.info("Processing returns for " + player.getName().getString() + " - Day " + currentDay + ", Invested: $" + invested);
-        
-        // Get difficulty
-        net.minecraft.world.Difficulty difficulty = player.level().getDifficulty();
-        
+    public static void accrueDailyReturns(MinecraftServer server, long currentDay) {
+        accrueDailyReturns(server.overworld().getDifficulty(), currentDay);
+    }
+    
+    public static void accrueDailyReturns(net.minecraft.world.Difficulty difficulty, long currentDay) {
         double maxGain, maxLoss;
         switch (difficulty) {
             case EASY -> {
@@ -262,62 +280,7 @@ public class BankManager {
         
         // Random return between -maxLoss and +maxGain
         double returnRate = (random.nextDouble() * (maxGain + maxLoss)) - maxLoss;
-        long changeAmount = (long)(invested * returnRate);
-        
-        long newAmount = Math.max(0, invested + changeAmount);
-        data.setInvestedMoney(newAmount);
-        
-        // Notify player with action bar
-        String message;
-        if (changeAmount > 0) {
-            message = String.format("§a§l[BANK] Investment earned §6$%,d§a! (%.1f%%)", 
-                                   changeAmount, returnRate * 100);
-        } else if (changeAmount < 0) {
-            message = String.format("§c§l[BANK] Investment lost §6$%,d§c (%.1f%%)", 
-                                   Math.abs(changeAmount), returnRate * 100);
-        } else {
-            message = "§e§l[BANK] Investment remained stable";
-        }
-        
-        player.displayClientMessage(net.minecraft.network.chat.Component.literal(message), true);
-    }
-    
-    /**
-     * Save bank data to NBT
-     */
-    public static CompoundTag saveBankData(UUID playerUUID, ServerPlayer player) {
-        BankData data = getBankData(playerUUID);
-        CompoundTag tag = new CompoundTag();
-        
-        // Save storage - simplified for now, items won't persist
-        // TODO: Fix ItemStack serialization for 1.21.11
-        ListTag storageList = new ListTag();
-        tag.put("Storage", storageList);
-        
-        // Save investment data
-        tag.putLong("InvestedMoney", data.investedMoney);
-        tag.putLong("LastProcessedDay", data.lastProcessedDay);
-        
-        return tag;
-    }
-    
-    /**
-     * Load bank data from NBT
-     */
-    public static void loadBankData(UUID playerUUID, CompoundTag tag, ServerPlayer player) {
-        BankData data = getBankData(playerUUID);
-        
-        // Clear existing storage
-        for (int i = 0; i < data.storage.size(); i++) {
-            data.storage.set(i, ItemStack.EMPTY);
-        }
-        
-        // Load storage - simplified for now
-        // TODO: Fix ItemStack serialization for 1.21.11
-        
-        // Load investment data - NBT persistence disabled for now due to API issues
-        // Data starts at 0 from BankData constructor
-        // TODO: Fix CompoundTag.getLong() Optional<Long> issue in 1.21.11
+        InterestIndex.accrue(InterestIndex.Kind.SAVINGS, returnRate, currentDay);
     }
     
     // ===== NEW ACCOUNT SYSTEM METHODS =====
@@ -328,23 +291,10 @@ public class BankManager {
     public static boolean depositToChecking(ServerPlayer player, long amount) {
         if (amount <= 0) return false;
         
-        long balance = CurrencyManager.getBalance(player);
-        if (balance < amount) return false;
-        
-        BankData data = getBankData(player.getUUID());
-        CurrencyManager.removeMoney(player, amount);
-        data.setCheckingBalance(data.getCheckingBalance() + amount);
-        
-        // Record transaction
-        data.addTransaction(new TransactionRecord(
-            TransactionRecord.TransactionType.DEPOSIT,
-            amount,
-            data.getCheckingBalance(),
-            "Deposit to checking",
-            AccountType.CHECKING
-        ));
-        
-        return true;
+        return LedgerTransaction.begin(player)
+            .transfer(LedgerTransaction.Account.WALLET, LedgerTransaction.Account.CHECKING, amount)
+            .record(TransactionRecord.TransactionType.DEPOSIT, amount, "Deposit to checking", AccountType.CHECKING)
+            .commit();
     }
     
     /**
@@ -353,22 +303,10 @@ public class BankManager {
     public static boolean withdrawFromChecking(ServerPlayer player, long amount) {
         if (amount <= 0) return false;
         
-        BankData data = getBankData(player.getUUID());
-        if (data.getCheckingBalance() < amount) return false;
-        
-        data.setCheckingBalance(data.getCheckingBalance() - amount);
-        CurrencyManager.addMoney(player, amount);
-        
-        // Record transaction
-        data.addTransaction(new TransactionRecord(
-            TransactionRecord.TransactionType.WITHDRAW,
-            amount,
-            data.getCheckingBalance(),
-            "Withdrawal from checking",
-            AccountType.CHECKING
-        ));
-        
-        return true;
+        return LedgerTransaction.begin(player)
+            .transfer(LedgerTransaction.Account.CHECKING, LedgerTransaction.Account.WALLET, amount)
+            .record(TransactionRecord.TransactionType.WITHDRAW, amount, "Withdrawal from checking", AccountType.CHECKING)
+            .commit();
     }
     
     /**
@@ -376,44 +314,13 @@ public class BankManager {
      */
     public static boolean transferBetweenAccounts(ServerPlayer player, AccountType from, AccountType to, long amount) {
         if (amount <= 0) return false;
+        if (from == AccountType.CREDIT || to == AccountType.CREDIT) return false;  // Use borrow/pay for credit
         
-        BankData data = getBankData(player.getUUID());
-        
-        // Determine source and destination balances
-        long sourceBalance = switch (from) {
-            case CHECKING -> data.getCheckingBalance();
-            case SAVINGS -> data.getInvestedMoney();
-            case INVESTMENT -> data.getInvestmentBalance();
-            case CREDIT -> 0;  // Can't transfer from credit
-        };
-        
-        if (sourceBalance < amount) return false;
-        
-        // Perform transfer
-        switch (from) {
-            case CHECKING -> data.setCheckingBalance(data.getCheckingBalance() - amount);
-            case SAVINGS -> data.setInvestedMoney(data.getInvestedMoney() - amount);
-            case INVESTMENT -> data.setInvestmentBalance(data.getInvestmentBalance() - amount);
-            case CREDIT -> {} // Can't transfer from credit
-        }
-        
-        switch (to) {
-            case CHECKING -> data.setCheckingBalance(data.getCheckingBalance() + amount);
-            case SAVINGS -> data.setInvestedMoney(data.getInvestedMoney() + amount);
-            case INVESTMENT -> data.setInvestmentBalance(data.getInvestmentBalance() + amount);
-            case CREDIT -> {} // Can't transfer to credit
-        }
-        
-        // Record transaction
-        data.addTransaction(new TransactionRecord(
-            TransactionRecord.TransactionType.TRANSFER,
-            amount,
-            sourceBalance - amount,
-            String.format("Transfer from %s to %s", from.getDisplayName(), to.getDisplayName()),
-            from
-        ));
-        
-        return true;
+        return LedgerTransaction.begin(player)
+            .transfer(LedgerTransaction.Account.of(from), LedgerTransaction.Account.of(to), amount)
+            .record(TransactionRecord.TransactionType.TRANSFER, amount,
+                String.format("Transfer from %s to %s", from.getDisplayName(), to.getDisplayName()), from)
+            .commit();
     }
     
     // ===== CREDIT CARD METHODS =====
@@ -434,18 +341,11 @@ public class BankManager {
             return false;
         }
         
-        if (credit.borrow(amount)) {
-            CurrencyManager.addMoney(player, amount);
-            
-            // Record transaction
-            data.addTransaction(new TransactionRecord(
-                TransactionRecord.TransactionType.CREDIT_BORROW,
-                amount,
-                credit.getBalance(),
-                "Credit card borrow",
-                AccountType.CREDIT
-            ));
-            
+        boolean committed = LedgerTransaction.begin(player)
+            .transfer(LedgerTransaction.Account.CREDIT, LedgerTransaction.Account.WALLET, amount)
+            .record(TransactionRecord.TransactionType.CREDIT_BORROW, amount, "Credit card borrow", AccountType.CREDIT)
+            .commit();
+        if (committed) {
             player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
                 String.format("§a§l[BANK] Borrowed §6$%,d§a! New balance: §6$%,d", 
                     amount, credit.getBalance())));
@@ -480,18 +380,11 @@ public class BankManager {
             return false;
         }
         
-        if (CurrencyManager.removeMoney(player, amount)) {
-            credit.pay(amount);
-            
-            // Record transaction
-            data.addTransaction(new TransactionRecord(
-                TransactionRecord.TransactionType.CREDIT_PAYMENT,
-                amount,
-                credit.getBalance(),
-                "Credit card payment",
-                AccountType.CREDIT
-            ));
-            
+        boolean committed = LedgerTransaction.begin(player)
+            .transfer(LedgerTransaction.Account.WALLET, LedgerTransaction.Account.CREDIT, amount)
+            .record(TransactionRecord.TransactionType.CREDIT_PAYMENT, amount, "Credit card payment", AccountType.CREDIT)
+            .commit();
+        if (committed) {
             player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
                 String.format("§a§l[BANK] Paid §6$%,d§a! Remaining: §6$%,d", 
                     amount, credit.getBalance())));
@@ -509,38 +402,10 @@ public class BankManager {
     }
     
     /**
-     * Process monthly credit card interest
-     * Called from ShopMod monthly processing
+     * Apply a month of credit card interest to every card at once.
+     * Late penalties are added per card when it is next settled.
      */
-    public static void processCreditCardInterest(ServerPlayer player) {
-        BankData data = getBankData(player.getUUID());
-        CreditCardData credit = data.getCreditCard();
-        
-        if (credit.getBalance() == 0) return;
-        
-        long balanceBefore = credit.getBalance();
-        
-        // Check if payment is late (more than 30 days since last payment)
-        java.time.LocalDateTime now = java.time.LocalDateTime.now();
-        java.time.LocalDateTime lastPayment = credit.getLastPaymentDate();
-        long daysSince = java.time.temporal.ChronoUnit.DAYS.between(lastPayment, now);
-        
-        boolean isLate = daysSince > 30;
-        credit.applyMonthlyInterest(isLate);
-        
-        long interest = credit.getBalance() - balanceBefore;
-        
-        // Record transaction
-        data.addTransaction(new TransactionRecord(
-            TransactionRecord.TransactionType.INTEREST,
-            interest,
-            credit.getBalance(),
-            isLate ? "Credit interest + LATE FEE" : "Credit card interest",
-            AccountType.CREDIT
-        ));
-        
-        player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
-            String.format("§c§l[BANK] Credit card interest charged: §6$%,d %s", 
-                interest, isLate ? "§c(LATE PENALTY!)" : "")));
+    public static void accrueCreditCardInterest(long currentDay) {
+        InterestIndex.accrue(InterestIndex.Kind.CREDIT, CreditCardData.MONTHLY_INTEREST_RATE, currentDay);
     }
 }
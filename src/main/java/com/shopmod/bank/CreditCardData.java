@@ -1,13 +1,16 @@
 package com.shopmod.bank;
 
+import com.shopmod.currency.InterestIndex;
+
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
  * Credit card account data
  */
 public class CreditCardData {
     private static final long CREDIT_LIMIT = 50_000;
-    private static final double MONTHLY_INTEREST_RATE = 0.10;  // 10% per month
+    static final double MONTHLY_INTEREST_RATE = 0.10;  // 10% per month
     private static final double LATE_PENALTY = 0.20;  // 20% extra on late payment
     private static final double MIN_PAYMENT_RATE = 0.05;  // 5% minimum payment
     private static final long MIN_PAYMENT_AMOUNT = 100;  // Or $100, whichever is higher
@@ -18,6 +21,8 @@ public class CreditCardData {
     private int missedPayments;
     private long totalBorrowed;
     private long totalPaid;
+    private Double interestIndex;  // Credit interest index at last settlement; null until first settled
+    private long interestPeriods;
     
     public CreditCardData() {
         this.balance = 0;
@@ -124,18 +129,34 @@ public class CreditCardData {
     }
     
     /**
-     * Apply monthly interest
+     * Materializes monthly interest compounded since the balance was last settled (see InterestIndex).
+     * A late payer pays the penalty rate for every period that passed.
+     * @return interest added to the balance
      */
-    public void applyMonthlyInterest(boolean isLate) {
-        if (balance == 0) return;
+    public long settleInterest() {
+        double current = InterestIndex.get(InterestIndex.Kind.CREDIT);
+        long currentPeriods = InterestIndex.getPeriods(InterestIndex.Kind.CREDIT);
+        if (interestIndex != null && interestIndex == current) return 0;
         
-        double rate = MONTHLY_INTEREST_RATE;
-        if (isLate) {
-            rate += LATE_PENALTY;  // 30% total if late
+        long interest = 0;
+        long missedPeriods = currentPeriods - interestPeriods;
+        if (balance > 0 && interestIndex != null && missedPeriods > 0) {
+            double growth = InterestIndex.growthSince(InterestIndex.Kind.CREDIT, interestIndex);
+            
+            boolean isLate = ChronoUnit.DAYS.between(lastPaymentDate, LocalDateTime.now()) > 30;
+            if (isLate) {
+                // 30% total per period if late
+                growth *= Math.pow((1 + MONTHLY_INTEREST_RATE + LATE_PENALTY) / (1 + MONTHLY_INTEREST_RATE), missedPeriods);
+            }
+            
+            long newBalance = Math.min(CREDIT_LIMIT, (long)(balance * growth));
+            interest = newBalance - balance;
+            balance = newBalance;
+            lastInterestDate = LocalDateTime.now();
         }
         
-        long interest = (long)(balance * rate);
-        balance = Math.min(CREDIT_LIMIT, balance + interest);
-        lastInterestDate = LocalDateTime.now();
+        interestIndex = current;
+        interestPeriods = currentPeriods;
+        return interest;
     }
 }
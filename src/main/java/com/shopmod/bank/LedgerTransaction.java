@@ -0,0 +1,338 @@
+package com.shopmod.bank;
+
+import com.shopmod.ShopMod;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Atomic multi-leg money movement across a player's wallet, bank accounts and credit card.
+ * Legs are staged with debit/credit, validated together against the resulting balances,
+ * then applied in one go: each player's bank data is marked dirty once and the wallet
+ * change goes out as a single journal record. If anything fails nothing is changed.
+ *
+ * Usage:
+ *   LedgerTransaction.begin(player)
+ *       .transfer(Account.WALLET, Account.CHECKING, 500)
+ *       .record(TransactionRecord.TransactionType.DEPOSIT, 500, "Deposit to checking", AccountType.CHECKING)
+ *       .commit();
+ *
+ * Must be used from the server thread.
+ */
+public class LedgerTransaction {
+    /**
+     * Everywhere a player's money can live. The balance of CREDIT is the available credit,
+     * so debiting it borrows and crediting it pays the card down.
+     */
+    public enum Account {
+        WALLET,
+        CHECKING,
+        SAVINGS,
+        INVESTMENT,
+        CREDIT;
+
+        public static Account of(AccountType type) {
+            return switch (type) {
+                case CHECKING -> CHECKING;
+                case SAVINGS -> SAVINGS;
+                case INVESTMENT -> INVESTMENT;
+                case CREDIT -> CREDIT;
+            };
+        }
+    }
+
+    /**
+     * Gross amounts moved in and out of each account for one player
+     */
+    private static class Legs {
+        final long[] debited = new long[Account.values().length];
+        final long[] credited = new long[Account.values().length];
+        final List<PendingRecord> records = new ArrayList<>();
+
+        long net(Account account) {
+            return credited[account.ordinal()] - debited[account.ordinal()];
+        }
+
+        boolean touchesBank() {
+            for (Account account : Account.values()) {
+                if (account != Account.WALLET && (debited[account.ordinal()] != 0 || credited[account.ordinal()] != 0)) {
+                    return true;
+                }
+            }
+            return !records.isEmpty();
+        }
+    }
+
+    /**
+     * A history entry whose balance-after is filled in once the legs are applied
+     */
+    private record PendingRecord(TransactionRecord.TransactionType type, long amount,
+                                 String description, AccountType accountType) {}
+
+    /**
+     * Bank state captured before applying so a failed commit can be undone
+     */
+    private record BankSnapshot(BankManager.BankData data, long checking, long invested, long investment,
+                                long creditBalance, long totalBorrowed, long totalPaid,
+                                LocalDateTime lastPayment, int missedPayments,
+                                List<TransactionRecord> history) {
+        static BankSnapshot of(BankManager.BankData data) {
+            CreditCardData credit = data.getCreditCard();
+            return new BankSnapshot(data, data.getCheckingBalance(), data.getInvestedMoney(),
+                data.getInvestmentBalance(), credit.getBalance(), credit.getTotalBorrowed(),
+                credit.getTotalPaid(), credit.getLastPaymentDate(), credit.getMissedPayments(),
+                new ArrayList<>(data.getTransactionHistory()));
+        }
+
+        void restore() {
+            data.setCheckingBalance(checking);
+            data.setInvestedMoney(invested);
+            data.setInvestmentBalance(investment);
+            CreditCardData credit = data.getCreditCard();
+            credit.setBalance(creditBalance);
+            credit.addTotalBorrowed(totalBorrowed - credit.getTotalBorrowed());
+            credit.addTotalPaid(totalPaid - credit.getTotalPaid());
+            credit.setLastPaymentDate(lastPayment);
+            credit.resetMissedPayments();
+            for (int i = 0; i < missedPayments; i++) {
+                credit.incrementMissedPayments();
+            }
+            // New entries go on the front and may have pushed old ones off the back
+            data.getTransactionHistory().clear();
+            data.getTransactionHistory().addAll(history);
+        }
+    }
+
+    private final Map<UUID, Legs> legsByPlayer = new LinkedHashMap<>();
+    private UUID currentPlayer;
+    private boolean finished = false;
+    private String failureReason;
+
+    private LedgerTransaction(UUID playerId) {
+        this.currentPlayer = playerId;
+    }
+
+    /**
+     * Starts a transaction whose legs apply to the given player
+     */
+    public static LedgerTransaction begin(UUID playerId) {
+        return new LedgerTransaction(playerId);
+    }
+
+    public static LedgerTransaction begin(ServerPlayer player) {
+        return begin(player.getUUID());
+    }
+
+    /**
+     * Switches the player that following legs apply to (for player-to-player transfers)
+     */
+    public LedgerTransaction forPlayer(UUID playerId) {
+        this.currentPlayer = playerId;
+        return this;
+    }
+
+    /**
+     * Stages money leaving an account
+     */
+    public LedgerTransaction debit(Account account, long amount) {
+        checkOpen(amount);
+        legs().debited[account.ordinal()] += amount;
+        return this;
+    }
+
+    /**
+     * Stages money entering an account
+     */
+    public LedgerTransaction credit(Account account, long amount) {
+        checkOpen(amount);
+        legs().credited[account.ordinal()] += amount;
+        return this;
+    }
+
+    /**
+     * Stages a debit from one account and a matching credit to another
+     */
+    public LedgerTransaction transfer(Account from, Account to, long amount) {
+        return debit(from, amount).credit(to, amount);
+    }
+
+    /**
+     * Adds a bank history entry on commit; its balance-after is taken from the account once applied
+     */
+    public LedgerTransaction record(TransactionRecord.TransactionType type, long amount,
+                                    String description, AccountType accountType) {
+        checkOpen(0);
+        legs().records.add(new PendingRecord(type, amount, description, accountType));
+        return this;
+    }
+
+    /**
+     * Checks every staged leg against the balances it would produce without changing anything
+     * @return true if the transaction can be committed
+     */
+    public boolean validate() {
+        failureReason = null;
+        if (ShopMod.dataManager == null && touchesWallet()) {
+            failureReason = "Shop data is not loaded";
+            return false;
+        }
+
+        for (Map.Entry<UUID, Legs> entry : legsByPlayer.entrySet()) {
+            UUID playerId = entry.getKey();
+            Legs legs = entry.getValue();
+
+            if (ShopMod.dataManager != null
+                    && ShopMod.dataManager.getBalance(playerId) + legs.net(Account.WALLET) < 0) {
+                failureReason = "Insufficient wallet funds";
+                return false;
+            }
+            if (!legs.touchesBank()) continue;
+
+            BankManager.BankData data = BankManager.getBankData(playerId);
+            if (data.getCheckingBalance() + legs.net(Account.CHECKING) < 0) {
+                failureReason = "Insufficient checking balance";
+                return false;
+            }
+            if (data.getInvestedMoney() + legs.net(Account.SAVINGS) < 0) {
+                failureReason = "Insufficient savings balance";
+                return false;
+            }
+            if (data.getInvestmentBalance() + legs.net(Account.INVESTMENT) < 0) {
+                failureReason = "Insufficient investment balance";
+                return false;
+            }
+            CreditCardData credit = data.getCreditCard();
+            long owed = credit.getBalance() - legs.net(Account.CREDIT);
+            if (owed > credit.getCreditLimit()) {
+                failureReason = "Insufficient credit";
+                return false;
+            }
+            if (owed < 0) {
+                failureReason = "Payment exceeds credit card balance";
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Validates and applies every leg, or nothing at all.
+     * A transaction can only be committed once.
+     * @return true if applied; on false see getFailureReason()
+     */
+    public boolean commit() {
+        if (finished) {
+            throw new IllegalStateException("Ledger transaction already committed");
+        }
+        finished = true;
+        if (!validate()) {
+            return false;
+        }
+
+        List<BankSnapshot> snapshots = new ArrayList<>();
+        List<UUID> appliedWallets = new ArrayList<>();
+        try {
+            // Bank side first - purely in memory and easy to undo
+            for (Map.Entry<UUID, Legs> entry : legsByPlayer.entrySet()) {
+                Legs legs = entry.getValue();
+                if (!legs.touchesBank()) continue;
+                BankManager.BankData data = BankManager.getBankData(entry.getKey());
+                snapshots.add(BankSnapshot.of(data));
+                applyBank(data, legs);
+                BankManager.markDirty(entry.getKey());
+            }
+
+            // Wallet last. Every wallet is checked before any is changed, so one player's
+            // leg can't go through while another's is refused
+            for (Map.Entry<UUID, Legs> entry : legsByPlayer.entrySet()) {
+                if (ShopMod.dataManager.getBalance(entry.getKey()) + entry.getValue().net(Account.WALLET) < 0) {
+                    throw new IllegalStateException("Wallet balance changed during commit");
+                }
+            }
+            // Each player's net change is a single journal record
+            for (Map.Entry<UUID, Legs> entry : legsByPlayer.entrySet()) {
+                Legs legs = entry.getValue();
+                long credited = legs.credited[Account.WALLET.ordinal()];
+                long debited = legs.debited[Account.WALLET.ordinal()];
+                if (credited == 0 && debited == 0) continue;
+                if (!ShopMod.dataManager.applyLedgerLegs(entry.getKey(), credited, debited)) {
+                    throw new IllegalStateException("Wallet balance changed during commit");
+                }
+                appliedWallets.add(entry.getKey());
+            }
+            return true;
+        } catch (RuntimeException e) {
+            ShopMod.LOGGER.error("Ledger transaction failed, rolling back", e);
+            for (UUID playerId : appliedWallets) {
+                Legs legs = legsByPlayer.get(playerId);
+                ShopMod.dataManager.revertLedgerLegs(playerId,
+                    legs.credited[Account.WALLET.ordinal()], legs.debited[Account.WALLET.ordinal()]);
+            }
+            for (BankSnapshot snapshot : snapshots) {
+                snapshot.restore();
+            }
+            failureReason = "Transaction failed";
+            return false;
+        }
+    }
+
+    /**
+     * Why the last validate() or commit() failed, or null
+     */
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    private static void applyBank(BankManager.BankData data, Legs legs) {
+        data.setCheckingBalance(data.getCheckingBalance() + legs.net(Account.CHECKING));
+        data.setInvestedMoney(data.getInvestedMoney() + legs.net(Account.SAVINGS));
+        data.setInvestmentBalance(data.getInvestmentBalance() + legs.net(Account.INVESTMENT));
+
+        CreditCardData credit = data.getCreditCard();
+        long borrowed = legs.debited[Account.CREDIT.ordinal()];
+        long paid = legs.credited[Account.CREDIT.ordinal()];
+        if (borrowed > 0 || paid > 0) {
+            credit.setBalance(credit.getBalance() + borrowed - paid);
+            credit.addTotalBorrowed(borrowed);
+        }
+        if (paid > 0) {
+            credit.addTotalPaid(paid);
+            credit.setLastPaymentDate(LocalDateTime.now());
+            credit.resetMissedPayments();
+        }
+
+        for (PendingRecord pending : legs.records) {
+            long balanceAfter = switch (pending.accountType()) {
+                case CHECKING -> data.getCheckingBalance();
+                case SAVINGS -> data.getInvestedMoney();
+                case INVESTMENT -> data.getInvestmentBalance();
+                case CREDIT -> credit.getBalance();
+            };
+            data.addTransaction(new TransactionRecord(pending.type(), pending.amount(), balanceAfter,
+                pending.description(), pending.accountType()));
+        }
+    }
+
+    private boolean touchesWallet() {
+        for (Legs legs : legsByPlayer.values()) {
+            if (legs.net(Account.WALLET) != 0 || legs.debited[Account.WALLET.ordinal()] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Legs legs() {
+        return legsByPlayer.computeIfAbsent(currentPlayer, id -> new Legs());
+    }
+
+    private void checkOpen(long amount) {
+        if (finished) {
+            throw new IllegalStateException("Ledger transaction already committed");
+        }
+        if (amount < 0) {
+            throw new IllegalArgumentException("Ledger leg amount must not be negative: " + amount);
+        }
+    }
+}
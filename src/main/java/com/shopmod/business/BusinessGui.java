@@ -28,6 +28,7 @@ public class BusinessGui extends SimpleGui {
     public BusinessGui(ServerPlayer player) {
         super(MenuType.GENERIC_9x6, player, false);
         this.player = player;
+        BusinessManager.settleIncome(player);
         this.setTitle(Component.literal("§a§l✦ Business Empire ✦"));
         updateDisplay();
     }
@@ -1,6 +1,10 @@
 package com.shopmod.business;
 
+import com.google.gson.reflect.TypeToken;
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.economy.EconomyPlayer;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 
@@ -13,6 +17,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class BusinessManager {
     private static final Map<UUID, List<Business>> playerBusinesses = new ConcurrentHashMap<>();
+    private static final PlayerShard<List<Business>> STATE = PlayerStateStore.register("businesses", playerBusinesses, new TypeToken<List<Business>>(){}.getType());
     private static final Random RANDOM = new Random();
     
     public enum BusinessType {
@@ -98,6 +103,7 @@ public class BusinessManager {
      * Get player's businesses
      */
     public static List<Business> getPlayerBusinesses(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return playerBusinesses.computeIfAbsent(playerUUID, k -> new ArrayList<>());
     }
     
@@ -105,6 +111,7 @@ public class BusinessManager {
      * Buy a new business
      */
     public static boolean buyBusiness(ServerPlayer player, BusinessType type) {
+        settleIncome(player);
         List<Business> businesses = getPlayerBusinesses(player.getUUID());
         
         // Check if already own this type
@@ -125,6 +132,7 @@ public class BusinessManager {
         long currentDay = player.level().getServer().overworld().getDayTime() / 24000;
         Business business = new Business(type, currentDay);
         businesses.add(business);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal("§a§l[BUSINESS] Purchased " + type.getDisplayName() + " for " + CurrencyManager.format(cost) + "!"));
         player.sendSystemMessage(Component.literal("§7Daily Income: §a+" + CurrencyManager.format(type.getBaseDailyIncome())));
@@ -136,6 +144,7 @@ public class BusinessManager {
      * Sell a business
      */
     public static boolean sellBusiness(ServerPlayer player, UUID businessId) {
+        settleIncome(player);
         List<Business> businesses = getPlayerBusinesses(player.getUUID());
         
         Business business = businesses.stream()
@@ -161,6 +170,7 @@ public class BusinessManager {
         CurrencyManager.addMoney(player, saleValue);
         
         businesses.remove(business);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal("§e§l[BUSINESS] Sold " + business.getType().getDisplayName() + " for " + CurrencyManager.format(saleValue)));
         if (uncollected > 0) {
@@ -174,6 +184,7 @@ public class BusinessManager {
      * Upgrade a business
      */
     public static boolean upgradeBusiness(ServerPlayer player, UUID businessId) {
+        settleIncome(player);
         List<Business> businesses = getPlayerBusinesses(player.getUUID());
         
         Business business = businesses.stream()
@@ -202,6 +213,7 @@ public class BusinessManager {
         // Upgrade
         CurrencyManager.removeMoney(player, cost);
         business.setLevel(business.getLevel() + 1);
+        STATE.markDirty(player.getUUID());
         
         long newIncome = business.getType().getDailyIncome(business.getLevel());
         player.sendSystemMessage(Component.literal("§a§l[BUSINESS] Upgraded " + business.getType().getDisplayName() + " to Level " + business.getLevel() + "!"));
@@ -243,6 +255,7 @@ public class BusinessManager {
         CurrencyManager.addMoney(player, income);
         business.setLastCollection(currentDay);
         business.addEarned(income);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal("§a§l[BUSINESS] Collected " + CurrencyManager.format(income) + " from " + business.getType().getDisplayName() + "!"));
         if (synergyBonus > 0) {
@@ -299,37 +312,54 @@ public class BusinessManager {
     }
     
     /**
-     * Process daily income for all players (called by server tick)
+     * Pay out business income for every day since each business was last collected.
+     * Runs at dawn for online players, on login and when the business GUI opens.
      */
-    public static void processDailyIncome(long currentDay, net.minecraft.server.MinecraftServer server) {
-        server.getPlayerList().getPlayers().forEach(player -> {
-            List<Business> businesses = getPlayerBusinesses(player.getUUID());
-            long totalIncome = 0;
+    public static void settleIncome(ServerPlayer player) {
+        settleIncome(player, player.level().getServer().overworld().getDayTime() / 24000);
+    }
+    
+    public static void settleIncome(ServerPlayer player, long currentDay) {
+        settleIncome(EconomyPlayer.of(player), currentDay);
+    }
+    
+    public static void settleIncome(EconomyPlayer player, long currentDay) {
+        List<Business> businesses = getPlayerBusinesses(player.getUUID());
+        long totalIncome = 0;
+        long maxDays = 0;
+        
+        for (Business business : businesses) {
+            long days = currentDay - business.getLastCollection();
+            if (days <= 0) continue;
             
-            for (Business business : businesses) {
-                if (business.isActive()) {
-                    long income = business.getType().getDailyIncome(business.getLevel());
-                    business.setLastCollection(currentDay);
-                    business.addEarned(income);
-                    totalIncome += income;
-                }
+            if (business.isActive()) {
+                long income = business.getType().getDailyIncome(business.getLevel()) * days;
+                business.addEarned(income);
+                totalIncome += income;
+                maxDays = Math.max(maxDays, days);
+            }
+            business.setLastCollection(currentDay);
+            STATE.markDirty(player.getUUID());
+        }
+        
+        if (totalIncome > 0) {
+            // Apply synergy bonus
+            double synergyBonus = getSynergyBonus(player.getUUID());
+            if (synergyBonus > 0) {
+                totalIncome = (long)(totalIncome * (1.0 + synergyBonus));
             }
             
-            if (totalIncome > 0) {
-                // Apply synergy bonus
-                double synergyBonus = getSynergyBonus(player.getUUID());
-                if (synergyBonus > 0) {
-                    totalIncome = (long)(totalIncome * (1.0 + synergyBonus));
-                }
-                
-                CurrencyManager.addMoney(player, totalIncome);
+            CurrencyManager.addMoney(player, totalIncome);
+            if (maxDays == 1) {
                 player.sendSystemMessage(Component.literal("§6§l[BUSINESS] §aYour businesses earned §6" + CurrencyManager.format(totalIncome) + "!"));
-                
-                if (synergyBonus > 0) {
-                    player.sendSystemMessage(Component.literal("§7(+" + (int)(synergyBonus * 100) + "% synergy bonus)"));
-                }
+            } else {
+                player.sendSystemMessage(Component.literal("§6§l[BUSINESS] §aYour businesses earned §6" + CurrencyManager.format(totalIncome) + " §aover " + maxDays + " days!"));
             }
-        });
+            
+            if (synergyBonus > 0) {
+                player.sendSystemMessage(Component.literal("§7(+" + (int)(synergyBonus * 100) + "% synergy bonus)"));
+            }
+        }
     }
     
     /**
@@ -6,10 +6,16 @@ import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import com.shopmod.ShopMod;
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.economy.DailyRollover;
+import com.shopmod.events.MobEarningsHandler;
 import com.shopmod.gui.ShopGui;
 import com.shopmod.gui.EnchantingGui;
+import com.shopmod.notifications.Notifications;
+import com.shopmod.perf.ShopProfiler;
 import com.shopmod.shop.ItemPricing;
+import com.shopmod.shop.PriceCatalog;
 import com.shopmod.shop.ShopTier;
+import com.shopmod.util.InventoryCounts;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.core.registries.BuiltInRegistries;
@@ -19,6 +25,8 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.network.chat.Component;
 
+import java.util.List;
+
 /**
  * Comprehensive shop commands - buy, sell, tiers, unlock, balance
  * All commands use player.getUUID() for data manager calls
@@ -46,6 +54,10 @@ public class ShopCommands {
             .then(Commands.literal("unlock")
                 .then(Commands.argument("tier", StringArgumentType.string())
                     .executes(ShopCommands::unlockTier)))
+            .then(Commands.literal("notifications")
+                .executes(ShopCommands::toggleNotifications))
+            .then(Commands.literal("grinder")
+                .executes(ShopCommands::showGrinderStats))
         );
 
         // Quick balance commands
@@ -59,8 +71,9 @@ public class ShopCommands {
                 .then(Commands.argument("amount", IntegerArgumentType.integer(1, 64))
                     .executes(ctx -> buyItem(ctx, IntegerArgumentType.getInteger(ctx, "amount"))))));
 
-        // Admin commands (TODO: Add permission check with proper MC 1.21.11 API)
+        // Admin commands (ops only)
         dispatcher.register(Commands.literal("shopadmin")
+            .requires(Commands.hasPermission(Commands.LEVEL_GAMEMASTERS))
             .then(Commands.literal("setmoney")
                 .then(Commands.argument("player", StringArgumentType.string())
                     .then(Commands.argument("amount", IntegerArgumentType.integer(0))
@@ -69,6 +82,18 @@ public class ShopCommands {
                 .then(Commands.argument("player", StringArgumentType.string())
                     .then(Commands.argument("amount", IntegerArgumentType.integer())
                         .executes(ShopCommands::addMoney))))
+            .then(Commands.literal("rollover")
+                .executes(ShopCommands::showRollover)
+                .then(Commands.literal("budget")
+                    .then(Commands.argument("ms", IntegerArgumentType.integer(1, 50))
+                        .executes(ShopCommands::setRolloverBudget))))
+            .then(Commands.literal("perf")
+                .executes(ShopCommands::showPerf)
+                .then(Commands.literal("reset")
+                    .executes(ShopCommands::resetPerf))
+                .then(Commands.literal("threshold")
+                    .then(Commands.argument("ms", IntegerArgumentType.integer(1, 1000))
+                        .executes(ShopCommands::setPerfThreshold))))
         );
 
         // Cleaner /sell command - defaults to ALL in hand (user requested!)
@@ -256,7 +281,8 @@ public class ShopCommands {
         long sellPrice = ItemPricing.getSellPrice(item);
         
         // Count how many they have
-        int available = countItemInInventory(player, item);
+        InventoryCounts counts = InventoryCounts.of(player);
+        int available = counts.count(item);
         int toSell = Math.min(amount, available);
         
         if (toSell == 0) {
@@ -266,7 +292,7 @@ public class ShopCommands {
         }
 
         // Remove items from inventory
-        int removed = removeItemFromInventory(player, item, toSell);
+        int removed = counts.remove(item, toSell);
         
         if (removed > 0) {
             long totalEarned = sellPrice * removed;
@@ -332,6 +358,7 @@ public class ShopCommands {
 
         long totalEarned = 0;
         int totalItemsSold = 0;
+        PriceCatalog prices = PriceCatalog.get();
         
         // Scan entire inventory
         for (int i = 0; i < player.getInventory().getContainerSize(); i++) {
@@ -339,9 +366,9 @@ public class ShopCommands {
             if (stack.isEmpty()) continue;
             
             Item item = stack.getItem();
-            if (!ItemPricing.canSell(item)) continue;
+            if (!prices.hasPrice(item)) continue;
             
-            long sellPrice = ItemPricing.getSellPrice(item);
+            long sellPrice = prices.getSellPrice(item);
             int count = stack.getCount();
             
             totalEarned += sellPrice * count;
@@ -469,6 +496,97 @@ public class ShopCommands {
         return 1;
     }
 
+    private static int showRollover(CommandContext<CommandSourceStack> ctx) {
+        CommandSourceStack source = ctx.getSource();
+        String state = DailyRollover.isRunning() ? "§eIn progress" : "§aIdle";
+        
+        source.sendSuccess(() -> Component.literal("§6§l===== DAILY ROLLOVER ====="), false);
+        source.sendSuccess(() -> Component.literal("§7Status: " + state + " §7(day " + DailyRollover.getRolloverDay() + ")"), false);
+        source.sendSuccess(() -> Component.literal("§7Backlog: §f" + DailyRollover.getPendingSteps() + 
+            " steps §7in §f" + DailyRollover.getPendingJobs() + " jobs"), false);
+        source.sendSuccess(() -> Component.literal("§7Progress: §f" + DailyRollover.getStepsRun() + " run, " + 
+            DailyRollover.getStepsSkipped() + " skipped over " + DailyRollover.getTicksUsed() + " ticks"), false);
+        source.sendSuccess(() -> Component.literal(String.format("§7Tick time: §favg %.2fms, max %.2fms §7(budget %dms)", 
+            DailyRollover.getAverageTickMs(), DailyRollover.getMaxTickMs(), DailyRollover.getBudgetMs())), false);
+        
+        return 1;
+    }
+
+    private static int showPerf(CommandContext<CommandSourceStack> ctx) {
+        CommandSourceStack source = ctx.getSource();
+        List<ShopProfiler.Stats> stats = ShopProfiler.getStats();
+        
+        source.sendSuccess(() -> Component.literal("§6§l===== SHOP PERFORMANCE ====="), false);
+        source.sendSuccess(() -> Component.literal("§7Last " + ShopProfiler.WINDOW + " samples per section, slowest p99 first. " +
+            "Slow-op log over §f" + ShopProfiler.getSlowThresholdMs() + "ms"), false);
+        if (stats.isEmpty()) {
+            source.sendSuccess(() -> Component.literal("§7No samples yet"), false);
+        }
+        for (ShopProfiler.Stats stat : stats) {
+            if (stat.samples() == 0) continue;
+            source.sendSuccess(() -> Component.literal(String.format("§e%s §7p50 §f%.2fms §7p99 §f%.2fms §7max §f%.2fms §8(n=%d)",
+                stat.name(), stat.p50Ms(), stat.p99Ms(), stat.maxMs(), stat.count())), false);
+        }
+        
+        return 1;
+    }
+
+    private static int toggleNotifications(CommandContext<CommandSourceStack> ctx) {
+        ServerPlayer player = ctx.getSource().getPlayer();
+        if (player == null) return 0;
+        
+        boolean enabled = Notifications.toggleEarningsPopups(player.getUUID());
+        player.sendSystemMessage(Component.literal(enabled
+            ? "§aEarnings popups enabled"
+            : "§eEarnings popups disabled §7(use /shop notifications to turn them back on)"));
+        return 1;
+    }
+    
+    private static int showGrinderStats(CommandContext<CommandSourceStack> ctx) {
+        ServerPlayer player = ctx.getSource().getPlayer();
+        if (player == null) return 0;
+        
+        MobEarningsHandler.KillStats stats = MobEarningsHandler.getKillStats(player.getUUID());
+        if (stats == null) {
+            player.sendSystemMessage(Component.literal("§7No mob kills recorded this session."));
+            return 1;
+        }
+        
+        player.sendSystemMessage(Component.literal("§6§l===== GRINDER STATS ====="));
+        player.sendSystemMessage(Component.literal("§7Kill rate: §f" + stats.killsLastMinute() + " §7kills/min"));
+        player.sendSystemMessage(Component.literal("§7This session: §f" + String.format("%,d", stats.totalKills()) + 
+            " §7kills, §6" + CurrencyManager.format(stats.totalMoney()) + "§7, §a" + String.format("%,d", stats.totalXp()) + " XP"));
+        int shown = 0;
+        for (var entry : stats.killsByType().entrySet()) {
+            if (shown++ == 5) break;
+            player.sendSystemMessage(Component.literal("§8 - §e" + entry.getKey().getDescription().getString() + 
+                "§7: §f" + String.format("%,d", entry.getValue())));
+        }
+        return 1;
+    }
+    
+    private static int resetPerf(CommandContext<CommandSourceStack> ctx) {
+        ShopProfiler.reset();
+        ctx.getSource().sendSuccess(() -> Component.literal("§aPerformance samples cleared"), true);
+        return 1;
+    }
+
+    private static int setPerfThreshold(CommandContext<CommandSourceStack> ctx) {
+        int ms = IntegerArgumentType.getInteger(ctx, "ms");
+        ShopProfiler.setSlowThresholdMs(ms);
+        
+        ctx.getSource().sendSuccess(() -> Component.literal("§aSlow operation threshold set to " + ms + "ms"), true);
+        return 1;
+    }
+
+    private static int setRolloverBudget(CommandContext<CommandSourceStack> ctx) {
+        int ms = IntegerArgumentType.getInteger(ctx, "ms");
+        DailyRollover.setBudgetMs(ms);
+        
+        ctx.getSource().sendSuccess(() -> Component.literal("§aDaily rollover budget set to " + ms + "ms per tick"), true);
+        return 1;
+    }
+
     private static int addMoney(CommandContext<CommandSourceStack> ctx) {
         String playerName = StringArgumentType.getString(ctx, "player");
         int amount = IntegerArgumentType.getInteger(ctx, "amount");
@@ -536,32 +654,4 @@ public class ShopCommands {
         gui.open();
         return 1;
     }
-
-    // Helper methods
-    private static int countItemInInventory(ServerPlayer player, Item item) {
-        int count = 0;
-        for (int i = 0; i < player.getInventory().getContainerSize(); i++) {
-            ItemStack stack = player.getInventory().getItem(i);
-            if (stack.is(item)) {
-                count += stack.getCount();
-            }
-        }
-        return count;
-    }
-
-    private static int removeItemFromInventory(ServerPlayer player, Item item, int amount) {
-        int remaining = amount;
-        
-        for (int i = 0; i < player.getInventory().getContainerSize(); i++) {
-            if (remaining <= 0) break;
-            ItemStack stack = player.getInventory().getItem(i);
-            if (stack.is(item)) {
-                int toRemove = Math.min(remaining, stack.getCount());
-                stack.shrink(toRemove);
-                remaining -= toRemove;
-            }
-        }
-        
-        return amount - remaining;
-    }
 }
@@ -2,6 +2,7 @@ package com.shopmod.currency;
 
 import com.shopmod.ShopMod;
 import com.shopmod.data.ShopDataManager;
+import com.shopmod.economy.EconomyPlayer;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
@@ -14,7 +15,7 @@ import java.util.UUID;
  * Helper class for currency operations.
  * Provides convenient methods for managing player money.
  * 
- * Wallet balance earns 10% interest per Minecraft night.
+ * Wallet balance earns 10% interest per Minecraft night, compounded through InterestIndex.
  * Bank investments are risky (see BankManager).
  */
 public class CurrencyManager {
@@ -58,6 +59,28 @@ public class CurrencyManager {
         return getBalance(player) >= amount;
     }
     
+    // Same operations for daily processing, which works on EconomyPlayer so it can run simulated
+    
+    public static long getBalance(EconomyPlayer player) {
+        if (ShopMod.dataManager == null) return 0;
+        return ShopMod.dataManager.getBalance(player.getUUID());
+    }
+    
+    public static void addMoney(EconomyPlayer player, long amount) {
+        if (ShopMod.dataManager != null) {
+            ShopMod.dataManager.addMoney(player.getUUID(), amount);
+        }
+    }
+    
+    public static boolean removeMoney(EconomyPlayer player, long amount) {
+        if (ShopMod.dataManager == null) return false;
+        return ShopMod.dataManager.removeMoney(player.getUUID(), amount);
+    }
+    
+    public static boolean canAfford(EconomyPlayer player, long amount) {
+        return getBalance(player) >= amount;
+    }
+    
     /**
      * Formats a currency amount for display
      * Example: 1234567 -> "$1,234,567"
@@ -134,27 +157,10 @@ public class CurrencyManager {
     }
     
     /**
-     * Process daily wallet interest (10% per night)
-     * Called by ShopMod daily event system
+     * Accrue one night of wallet interest (10%) for every player at once.
+     * Balances pick it up the next time they are read (see ShopDataManager.getPlayerData).
      */
-    public static void processDailyInterest(ServerPlayer player) {
-        long balance = getBalance(player);
-        
-        if (balance <= 0) {
-            return;
-        }
-        
-        long interest = (long)(balance * WALLET_INTEREST_RATE);
-        
-        if (interest > 0) {
-            addMoney(player, interest);
-            player.displayClientMessage(
-                net.minecraft.network.chat.Component.literal(
-                    String.format("§a§l[WALLET] Earned §6$%,d§a interest! (10%% on $%,d)", 
-                                interest, balance)
-                ), 
-                true
-            );
-        }
+    public static void accrueDailyInterest(long currentDay) {
+        InterestIndex.accrue(InterestIndex.Kind.WALLET, WALLET_INTEREST_RATE, currentDay);
     }
 }
@@ -0,0 +1,141 @@
+package com.shopmod.currency;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.shopmod.ShopMod;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.storage.LevelResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Global compounding rate indexes for interest-bearing balances.
+ * Each accrual adds ln(1 + rate) to the account kind's index, so a daily rollover is O(1)
+ * no matter how many players there are. Accounts keep their principal plus the index value
+ * at their last settlement; the balance is principal * exp(index - snapshot), materialized
+ * when the account is next read. Offline players compound exactly like online ones.
+ */
+public class InterestIndex {
+    public enum Kind {
+        WALLET,   // Wallet balance, 10% per night
+        SAVINGS,  // Bank investments, random daily return
+        CREDIT    // Credit card balance owed, monthly interest
+    }
+
+    private static final double[] index = new double[Kind.values().length];
+    private static final long[] periods = new long[Kind.values().length];
+    private static final long[] lastAccrued = new long[Kind.values().length]; // Day of each kind's last accrual; -1 = never
+    private static long lastAccrualDay = -1;
+
+    static {
+        reset();
+    }
+
+    public static void register() {
+        ServerLifecycleEvents.SERVER_STARTED.register(InterestIndex::load);
+        ServerLifecycleEvents.AFTER_SAVE.register((server, flush, force) -> save(server));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            save(server);
+            reset();
+        });
+    }
+
+    /**
+     * Compounds every account of this kind by the given rate, at most once per day.
+     * The rollover runs again for the current day after a restart, so a day that
+     * already accrued is ignored.
+     */
+    public static void accrue(Kind kind, double rate, long currentDay) {
+        if (currentDay <= lastAccrued[kind.ordinal()]) return;
+        lastAccrued[kind.ordinal()] = currentDay;
+        index[kind.ordinal()] += Math.log1p(Math.max(rate, -0.99));
+        periods[kind.ordinal()]++;
+        lastAccrualDay = Math.max(lastAccrualDay, currentDay);
+    }
+
+    /**
+     * Current index value; store this as the snapshot when settling an account
+     */
+    public static double get(Kind kind) {
+        return index[kind.ordinal()];
+    }
+
+    /**
+     * Number of accruals so far, for per-period penalties
+     */
+    public static long getPeriods(Kind kind) {
+        return periods[kind.ordinal()];
+    }
+
+    /**
+     * How much a balance has grown since it was settled at the given snapshot.
+     * A null snapshot (never settled) or one ahead of the index (lost index file) means no growth.
+     */
+    public static double growthSince(Kind kind, Double snapshot) {
+        double current = index[kind.ordinal()];
+        if (snapshot == null || snapshot >= current) return 1.0;
+        return Math.exp(current - snapshot);
+    }
+
+    public static long getLastAccrualDay() {
+        return lastAccrualDay;
+    }
+
+    private static void reset() {
+        java.util.Arrays.fill(index, 0);
+        java.util.Arrays.fill(periods, 0);
+        java.util.Arrays.fill(lastAccrued, -1);
+        lastAccrualDay = -1;
+    }
+
+    private static Path getFile(MinecraftServer server) {
+        return server.getWorldPath(LevelResource.ROOT).resolve("shopmod").resolve("interest_index.json");
+    }
+
+    private static void load(MinecraftServer server) {
+        reset();
+        Path file = getFile(server);
+        if (!Files.exists(file)) return;
+
+        try {
+            JsonObject root = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonObject();
+            lastAccrualDay = root.get("lastAccrualDay").getAsLong();
+            for (Kind kind : Kind.values()) {
+                String key = kind.name().toLowerCase();
+                if (root.has(key)) {
+                    JsonObject entry = root.getAsJsonObject(key);
+                    index[kind.ordinal()] = entry.get("index").getAsDouble();
+                    periods[kind.ordinal()] = entry.get("periods").getAsLong();
+                    // Files from before per-kind days only have the overall last day
+                    lastAccrued[kind.ordinal()] = entry.has("lastDay") ? entry.get("lastDay").getAsLong() : lastAccrualDay;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            ShopMod.LOGGER.error("Failed to load interest indexes from " + file, e);
+        }
+    }
+
+    private static void save(MinecraftServer server) {
+        JsonObject root = new JsonObject();
+        root.addProperty("lastAccrualDay", lastAccrualDay);
+        for (Kind kind : Kind.values()) {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("index", index[kind.ordinal()]);
+            entry.addProperty("periods", periods[kind.ordinal()]);
+            entry.addProperty("lastDay", lastAccrued[kind.ordinal()]);
+            root.add(kind.name().toLowerCase(), entry);
+        }
+
+        Path file = getFile(server);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, root.toString(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            ShopMod.LOGGER.error("Failed to save interest indexes to " + file, e);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.shopmod.daily;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.economy.ModifierProfile;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
@@ -19,6 +22,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class DailyRewardManager {
     private static final Map<UUID, DailyData> playerData = new ConcurrentHashMap<>();
+    private static final PlayerShard<DailyData> STATE = PlayerStateStore.register("daily_rewards", playerData, DailyData.class);
     private static final Random RANDOM = new Random();
     
     public static class DailyData {
@@ -57,6 +61,7 @@ public class DailyRewardManager {
     }
     
     public static DailyData getData(UUID playerId) {
+        STATE.ensureLoaded(playerId);
         return playerData.computeIfAbsent(playerId, id -> new DailyData());
     }
     
@@ -107,6 +112,7 @@ public class DailyRewardManager {
         
         data.setLastClaimDate(today);
         data.incrementTotalClaims();
+        STATE.markDirty(player.getUUID());
         
         int streak = data.getCurrentStreak();
         int dayInCycle = ((streak - 1) % 7) + 1; // 1-7
@@ -123,9 +129,11 @@ public class DailyRewardManager {
         // Check for milestone bonuses
         if (streak == 30 && !data.hasPermanentBonus5Percent()) {
             data.unlockPermanentBonus5Percent();
+            ModifierProfile.invalidate(player.getUUID());
         }
         if (streak == 100 && !data.hasPermanentBonus10Percent()) {
             data.unlockPermanentBonus10Percent();
+            ModifierProfile.invalidate(player.getUUID());
         }
         
         // Play sound
@@ -271,7 +279,11 @@ public class DailyRewardManager {
      * Get income boost multiplier from daily rewards
      */
     public static double getIncomeBoostMultiplier(ServerPlayer player) {
-        DailyData data = getData(player);
+        return getIncomeBoostMultiplier(player.getUUID());
+    }
+    
+    public static double getIncomeBoostMultiplier(UUID playerId) {
+        DailyData data = getData(playerId);
         double multiplier = 1.0;
         
         if (data.hasPermanentBonus5Percent()) {
@@ -0,0 +1,325 @@
+package com.shopmod.data;
+
+import com.google.gson.*;
+import com.shopmod.ShopMod;
+import com.shopmod.perf.ShopProfiler;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind journal backing ShopDataManager.
+ * Every mutation appends one compact JSON line holding the player's full record,
+ * so replay is idempotent (last line per player wins). A background thread writes
+ * the lines in batches and compacts the journal into the snapshot file once it grows.
+ * If a batch fails to write, its records are saved by rewriting the snapshot instead,
+ * retried until it succeeds.
+ */
+public class LedgerJournal {
+    private static final Gson GSON = new Gson();
+    private static final int BATCH_SIZE = 512;
+    private static final long FLUSH_INTERVAL_MS = 1000;
+    private static final int COMPACT_THRESHOLD = 20_000; // Journal lines before rewriting the snapshot
+
+    private final File snapshotFile;
+    private final File journalFile;
+    private final LinkedBlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+
+    // Writer thread only - latest record per player, used to write snapshots
+    private final Map<UUID, JsonObject> latest = new LinkedHashMap<>();
+    private FileOutputStream journalStream;
+    private Writer journalWriter;
+    private int journalRecords = 0;
+    private boolean snapshotPending = false; // A failed write left records that only a snapshot will save
+
+    private Thread writerThread;
+    private volatile boolean running = false;
+
+    /**
+     * A queued journal record, or a flush barrier when record is null
+     */
+    private record Entry(UUID playerId, JsonObject record, boolean compact, CompletableFuture<Void> done) {}
+
+    public LedgerJournal(File snapshotFile, File journalFile) {
+        this.snapshotFile = snapshotFile;
+        this.journalFile = journalFile;
+    }
+
+    /**
+     * Reads the snapshot and replays the journal on top of it.
+     * Must be called before start(). A torn last line from a crash is skipped.
+     */
+    public Map<UUID, JsonObject> recover() {
+        latest.clear();
+
+        if (snapshotFile.exists()) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(snapshotFile), StandardCharsets.UTF_8)) {
+                JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
+                if (root.has("players")) {
+                    for (JsonElement element : root.getAsJsonArray("players")) {
+                        JsonObject playerObj = element.getAsJsonObject();
+                        latest.put(UUID.fromString(playerObj.get("uuid").getAsString()), playerObj);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                ShopMod.LOGGER.error("Failed to read shop data snapshot " + snapshotFile, e);
+            }
+        }
+
+        int replayed = 0;
+        if (journalFile.exists()) {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(new FileInputStream(journalFile), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) continue;
+                    try {
+                        JsonObject playerObj = JsonParser.parseString(line).getAsJsonObject();
+                        latest.put(UUID.fromString(playerObj.get("uuid").getAsString()), playerObj);
+                        replayed++;
+                    } catch (RuntimeException e) {
+                        ShopMod.LOGGER.warn("Skipping corrupt shop journal line " + (replayed + 1));
+                    }
+                }
+            } catch (IOException e) {
+                ShopMod.LOGGER.error("Failed to replay shop data journal " + journalFile, e);
+            }
+        }
+
+        journalRecords = replayed;
+        if (replayed > 0) {
+            ShopMod.LOGGER.info("Replayed " + replayed + " shop journal records");
+        }
+        return new LinkedHashMap<>(latest);
+    }
+
+    /**
+     * Starts the background writer
+     */
+    public void start() {
+        if (running) return;
+        running = true;
+        writerThread = new Thread(this::runWriter, "Shop-Ledger-Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues a player's full record. Safe to call from the server thread; never blocks.
+     */
+    public void append(UUID playerId, JsonObject record) {
+        queue.add(new Entry(playerId, record, false, null));
+    }
+
+    /**
+     * Blocks until everything queued so far is on disk.
+     * @param compact also rewrite the snapshot and truncate the journal
+     * @return true if the flush completed successfully
+     */
+    public boolean flush(boolean compact) {
+        if (!running) {
+            // Writer not running (startup or after shutdown) - do the work inline
+            synchronized (this) {
+                try {
+                    drainInline(compact);
+                    return true;
+                } catch (IOException e) {
+                    ShopMod.LOGGER.error("Failed to flush shop data journal", e);
+                    return false;
+                }
+            }
+        }
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.add(new Entry(null, null, compact, done));
+        try {
+            done.get();
+            return true;
+        } catch (Exception e) {
+            ShopMod.LOGGER.error("Failed to flush shop data journal", e);
+            return false;
+        }
+    }
+
+    /**
+     * Flushes, compacts and stops the writer thread
+     */
+    public void shutdown() {
+        if (!running) return;
+        flush(true);
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeJournal();
+    }
+
+    private void runWriter() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        while (running) {
+            try {
+                Entry first = queue.poll(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (snapshotPending) {
+                        synchronized (this) {
+                            retrySnapshot();
+                        }
+                    }
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                synchronized (this) {
+                    writeBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                if (!running) break;
+            } catch (IOException e) {
+                ShopMod.LOGGER.error("Shop data journal write failed, saving the batch to the snapshot", e);
+                boolean saved;
+                synchronized (this) {
+                    saved = snapshotBatch(batch);
+                }
+                for (Entry entry : batch) {
+                    if (entry.done() == null) continue;
+                    if (saved) {
+                        entry.done().complete(null);
+                    } else {
+                        entry.done().completeExceptionally(e);
+                    }
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void drainInline(boolean compact) throws IOException {
+        List<Entry> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        batch.add(new Entry(null, null, compact, new CompletableFuture<>()));
+        try {
+            writeBatch(batch);
+        } catch (IOException e) {
+            ShopMod.LOGGER.error("Shop data journal write failed, saving the batch to the snapshot", e);
+            if (!snapshotBatch(batch)) throw e;
+        }
+    }
+
+    /**
+     * Saves a batch whose journal write failed by rewriting the snapshot.
+     * The journal may end in a torn line, so it is closed and truncated rather than appended to.
+     * @return true if the snapshot was written
+     */
+    private boolean snapshotBatch(List<Entry> batch) {
+        for (Entry entry : batch) {
+            if (entry.record() != null) {
+                latest.put(entry.playerId(), entry.record());
+            }
+        }
+        closeJournal();
+        snapshotPending = true;
+        return retrySnapshot();
+    }
+
+    private boolean retrySnapshot() {
+        try {
+            compact();
+            return true;
+        } catch (IOException e) {
+            ShopMod.LOGGER.error("Failed to write shop data snapshot, will retry", e);
+            return false;
+        }
+    }
+
+    private void writeBatch(List<Entry> batch) throws IOException {
+        long start = ShopProfiler.start();
+        Writer writer = openJournal();
+        boolean barrier = false;
+        boolean compact = false;
+
+        for (Entry entry : batch) {
+            if (entry.record() != null) {
+                writer.write(GSON.toJson(entry.record()));
+                writer.write('\n');
+                latest.put(entry.playerId(), entry.record());
+                journalRecords++;
+            } else {
+                barrier = true;
+                compact |= entry.compact();
+            }
+        }
+
+        writer.flush();
+        if (barrier) {
+            journalStream.getFD().sync();
+        }
+        if (compact || snapshotPending || journalRecords >= COMPACT_THRESHOLD) {
+            compact();
+        }
+        ShopProfiler.stop("persist.ledger.write", start, batch.size() + " records");
+
+        for (Entry entry : batch) {
+            if (entry.done() != null) entry.done().complete(null);
+        }
+    }
+
+    /**
+     * Writes the snapshot atomically, then truncates the journal.
+     * A crash between the two steps is harmless since replay is idempotent.
+     */
+    private void compact() throws IOException {
+        long start = ShopProfiler.start();
+        JsonObject root = new JsonObject();
+        JsonArray playersArray = new JsonArray();
+        for (JsonObject record : latest.values()) {
+            playersArray.add(record);
+        }
+        root.add("players", playersArray);
+
+        File tmpFile = new File(snapshotFile.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmpFile);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            GSON.toJson(root, writer);
+            writer.flush();
+            out.getFD().sync();
+        }
+        Files.move(tmpFile.toPath(), snapshotFile.toPath(),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        closeJournal();
+        new FileOutputStream(journalFile).close(); // Truncate
+        journalRecords = 0;
+        snapshotPending = false;
+        ShopProfiler.stop("persist.ledger.compact", start, latest.size() + " players");
+    }
+
+    private Writer openJournal() throws IOException {
+        if (journalWriter == null) {
+            journalStream = new FileOutputStream(journalFile, true);
+            journalWriter = new BufferedWriter(new OutputStreamWriter(journalStream, StandardCharsets.UTF_8));
+        }
+        return journalWriter;
+    }
+
+    private void closeJournal() {
+        if (journalWriter == null) return;
+        try {
+            journalWriter.close();
+        } catch (IOException e) {
+            ShopMod.LOGGER.error("Failed to close shop data journal", e);
+        }
+        journalWriter = null;
+        journalStream = null;
+    }
+}
@@ -0,0 +1,116 @@
+package com.shopmod.data;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One subsystem's per-player state as seen by PlayerStateStore.
+ * Wraps the manager's own UUID map and tracks which players changed since the last save,
+ * so only those shards get serialized and written.
+ * 
+ * Lazy shards only hold players that are resident in the store's LRU (online or recently
+ * referenced); eager shards keep every player in memory for subsystems that process
+ * offline players (e.g. lottery draws).
+ */
+public class PlayerShard<T> {
+    private final String id;
+    private final Map<UUID, T> states;
+    private final Type type;
+    private final boolean eager;
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+    PlayerShard(String id, Map<UUID, T> states, Type type, boolean eager) {
+        this.id = id;
+        this.states = states;
+        this.type = type;
+        this.eager = eager;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isEager() {
+        return eager;
+    }
+
+    /**
+     * Marks a player's state as changed, loading it first if the player isn't resident.
+     * Call where state is changed, or from a getter whose callers change what it returns.
+     * A player with no entry in the map gets their shard file deleted on the next save.
+     */
+    public void markDirty(UUID playerId) {
+        ensureLoaded(playerId);
+        dirty.add(playerId);
+    }
+
+    /**
+     * Makes sure the player's saved state is in the map. Use in getters and on read-only
+     * paths so that reading a player doesn't schedule a write of their state.
+     */
+    public void ensureLoaded(UUID playerId) {
+        if (!eager) {
+            PlayerStateStore.ensureResident(playerId);
+        }
+    }
+
+    boolean isDirty(UUID playerId) {
+        return dirty.contains(playerId);
+    }
+
+    public int getDirtyCount() {
+        return dirty.size();
+    }
+
+    /**
+     * A serialized player shard ready to be written off-thread; json is null for deletions
+     */
+    record Snapshot(String shardId, UUID playerId, JsonElement json) {}
+
+    /**
+     * Serializes every dirty player and clears their dirty flag.
+     * Must run on the server thread so the captured state is consistent.
+     */
+    List<Snapshot> drainDirty(Gson gson) {
+        List<Snapshot> snapshots = new ArrayList<>(dirty.size());
+        for (UUID playerId : dirty) {
+            dirty.remove(playerId);
+            T state = states.get(playerId);
+            snapshots.add(new Snapshot(id, playerId, state == null ? null : gson.toJsonTree(state, type)));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Puts loaded state into the map unless the player already has newer in-memory state
+     */
+    void load(UUID playerId, JsonElement json, Gson gson) {
+        T state = gson.fromJson(json, type);
+        if (state != null) {
+            states.putIfAbsent(playerId, state);
+        }
+    }
+
+    /**
+     * Drops a clean player's state from memory; it is reloaded from disk on next access
+     */
+    void evict(UUID playerId) {
+        states.remove(playerId);
+    }
+
+    /**
+     * Drops all in-memory state (after the final save on server stop)
+     */
+    void clear() {
+        states.clear();
+        dirty.clear();
+    }
+}
@@ -0,0 +1,366 @@
+package com.shopmod.data;
+
+import com.google.gson.*;
+import com.mojang.serialization.JsonOps;
+import com.shopmod.ShopMod;
+import com.shopmod.perf.ShopProfiler;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.Identifier;
+import net.minecraft.resources.RegistryOps;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.storage.LevelResource;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Shared persistence for the per-player state held by the economy managers.
+ *
+ * Each manager registers its UUID map once as a PlayerShard and marks players dirty
+ * when their state changes. On every world autosave and on shutdown only the dirty
+ * players are serialized (on the server thread) and written as one small file per
+ * player and subsystem (off-thread): world/shopmod/<subsystem>/<uuid>.json
+ * 
+ * Player state is loaded on demand: all of a player's lazy shards are read when they
+ * join or are first referenced, kept in a bounded LRU while resident (pinned while
+ * online), and evicted once they are offline and flushed. Eager shards are loaded in
+ * full at SERVER_STARTED.
+ */
+public class PlayerStateStore {
+    private static final String DATA_DIR = "shopmod";
+    private static final int MAX_RESIDENT_PLAYERS = 2048; // Offline players kept in memory beyond this are evicted
+
+    private static final Map<String, PlayerShard<?>> shards = new LinkedHashMap<>();
+    // Access-ordered: eldest entry is the least recently used player
+    private static final LinkedHashMap<UUID, Boolean> residents = new LinkedHashMap<>(256, 0.75f, true);
+    private static final Set<UUID> pinned = new HashSet<>();
+    // Players with a write still queued or running, and how many; updated by the writer without the store lock
+    private static final Map<UUID, Integer> writing = new ConcurrentHashMap<>();
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Shop-State-Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Gson gson = createGson();
+    private static RegistryOps<JsonElement> registryOps = null;
+    private static Path rootDir = null; // Null while no server is running
+    private static MinecraftServer server = null;
+
+    public static void initialize() {
+        ServerLifecycleEvents.SERVER_STARTED.register(PlayerStateStore::onServerStarted);
+        ServerLifecycleEvents.AFTER_SAVE.register((server, flush, force) -> saveDirty(false));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> onServerStopped());
+
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> pin(handler.getPlayer().getUUID()));
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> unpin(handler.getPlayer().getUUID()));
+    }
+
+    /**
+     * Registers a manager's per-player map under a unique subsystem id.
+     * Players are loaded into it on demand and evicted when idle.
+     */
+    public static <T> PlayerShard<T> register(String id, Map<UUID, T> states, Type type) {
+        return register(id, states, type, false);
+    }
+
+    /**
+     * Registers a per-player map that always holds every player, for subsystems whose
+     * periodic processing must see offline players. Loaded in full at server start.
+     */
+    public static <T> PlayerShard<T> registerEager(String id, Map<UUID, T> states, Type type) {
+        return register(id, states, type, true);
+    }
+
+    private static synchronized <T> PlayerShard<T> register(String id, Map<UUID, T> states, Type type, boolean eager) {
+        if (shards.containsKey(id)) {
+            throw new IllegalStateException("Duplicate player state subsystem: " + id);
+        }
+        PlayerShard<T> shard = new PlayerShard<>(id, states, type, eager);
+        shards.put(id, shard);
+
+        // Manager class loaded after server start - catch it up
+        if (rootDir != null) {
+            if (eager) {
+                loadShard(shard);
+            } else {
+                for (UUID playerId : residents.keySet()) {
+                    loadPlayer(shard, playerId);
+                }
+            }
+        }
+        return shard;
+    }
+
+    /**
+     * Loads all of a player's lazy shards if they aren't resident yet and marks them
+     * most recently used. Called by PlayerShard before any access.
+     */
+    static synchronized void ensureResident(UUID playerId) {
+        if (rootDir == null) return;
+        if (residents.get(playerId) != null) return; // get() also refreshes LRU order
+
+        for (PlayerShard<?> shard : shards.values()) {
+            if (!shard.isEager()) {
+                loadPlayer(shard, playerId);
+            }
+        }
+        residents.put(playerId, Boolean.TRUE);
+    }
+
+    private static synchronized void pin(UUID playerId) {
+        ensureResident(playerId);
+        pinned.add(playerId);
+    }
+
+    private static synchronized void unpin(UUID playerId) {
+        pinned.remove(playerId);
+    }
+
+    /**
+     * Number of players whose lazy state is currently in memory
+     */
+    public static synchronized int getResidentCount() {
+        return residents.size();
+    }
+
+    /**
+     * Serializes every dirty player of every subsystem and writes them off-thread.
+     * @param wait block until the files are on disk (used on shutdown)
+     */
+    public static synchronized void saveDirty(boolean wait) {
+        if (rootDir == null) return;
+
+        long start = ShopProfiler.start();
+        List<PlayerShard.Snapshot> snapshots = new ArrayList<>();
+        for (PlayerShard<?> shard : shards.values()) {
+            snapshots.addAll(shard.drainDirty(gson));
+        }
+        ShopProfiler.stop("persist.player_state.serialize", start, snapshots.size() + " shards");
+        if (snapshots.isEmpty()) {
+            if (!wait) evictIdle();
+            return;
+        }
+
+        // Until the files are on disk the drained players must not be evicted and reloaded from stale files
+        Set<UUID> players = new HashSet<>();
+        for (PlayerShard.Snapshot snapshot : snapshots) {
+            players.add(snapshot.playerId());
+        }
+        for (UUID playerId : players) {
+            writing.merge(playerId, 1, Integer::sum);
+        }
+
+        Path root = rootDir;
+        MinecraftServer owner = server;
+        Future<?> write = WRITER.submit(() -> {
+            try {
+                writeSnapshots(root, snapshots);
+            } finally {
+                for (UUID playerId : players) {
+                    writing.computeIfPresent(playerId, (id, count) -> count > 1 ? count - 1 : null);
+                }
+            }
+            // Players flushed by this write may now be evicted - do it back on the server thread
+            if (!wait) owner.execute(PlayerStateStore::evictIdle);
+        });
+        if (wait) {
+            try {
+                write.get();
+            } catch (Exception e) {
+                ShopMod.LOGGER.error("Failed to save player state", e);
+            }
+        }
+    }
+
+    /**
+     * Number of players waiting to be written, per subsystem
+     */
+    public static synchronized Map<String, Integer> getDirtyCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (PlayerShard<?> shard : shards.values()) {
+            counts.put(shard.getId(), shard.getDirtyCount());
+        }
+        return counts;
+    }
+
+    private static synchronized void onServerStarted(MinecraftServer startedServer) {
+        server = startedServer;
+        rootDir = startedServer.getWorldPath(LevelResource.ROOT).resolve(DATA_DIR);
+        registryOps = startedServer.registryAccess().createSerializationContext(JsonOps.INSTANCE);
+
+        int loaded = 0;
+        for (PlayerShard<?> shard : shards.values()) {
+            if (shard.isEager()) {
+                loaded += loadShard(shard);
+            }
+        }
+        ShopMod.LOGGER.info("Loaded " + loaded + " eager player state files; other player state loads on demand");
+    }
+
+    private static synchronized void onServerStopped() {
+        saveDirty(true);
+
+        // Static maps outlive the server in singleplayer - don't leak state into the next world
+        for (PlayerShard<?> shard : shards.values()) {
+            shard.clear();
+        }
+        residents.clear();
+        pinned.clear();
+        writing.clear();
+        rootDir = null;
+        registryOps = null;
+        server = null;
+    }
+
+    /**
+     * Evicts least recently used players until the cache is back under its bound.
+     * Online players and players with unsaved or unwritten changes are never evicted.
+     */
+    private static synchronized void evictIdle() {
+        if (rootDir == null || residents.size() <= MAX_RESIDENT_PLAYERS) return;
+
+        Iterator<UUID> eldest = residents.keySet().iterator();
+        while (residents.size() > MAX_RESIDENT_PLAYERS && eldest.hasNext()) {
+            UUID playerId = eldest.next();
+            if (pinned.contains(playerId) || isDirty(playerId)) continue;
+
+            for (PlayerShard<?> shard : shards.values()) {
+                if (!shard.isEager()) {
+                    shard.evict(playerId);
+                }
+            }
+            eldest.remove();
+        }
+    }
+
+    private static boolean isDirty(UUID playerId) {
+        if (writing.containsKey(playerId)) return true;
+        for (PlayerShard<?> shard : shards.values()) {
+            if (!shard.isEager() && shard.isDirty(playerId)) return true;
+        }
+        return false;
+    }
+
+    private static void loadPlayer(PlayerShard<?> shard, UUID playerId) {
+        Path file = rootDir.resolve(shard.getId()).resolve(playerId + ".json");
+        if (!Files.exists(file)) return;
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            shard.load(playerId, JsonParser.parseReader(reader), gson);
+        } catch (IOException | RuntimeException e) {
+            ShopMod.LOGGER.error("Failed to load player state " + file, e);
+        }
+    }
+
+    private static int loadShard(PlayerShard<?> shard) {
+        Path dir = rootDir.resolve(shard.getId());
+        if (!Files.isDirectory(dir)) return 0;
+
+        int loaded = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    UUID playerId = UUID.fromString(name.substring(0, name.length() - ".json".length()));
+                    shard.load(playerId, JsonParser.parseReader(reader), gson);
+                    loaded++;
+                } catch (IOException | RuntimeException e) {
+                    ShopMod.LOGGER.error("Failed to load player state " + file, e);
+                }
+            }
+        } catch (IOException e) {
+            ShopMod.LOGGER.error("Failed to list player state for " + shard.getId(), e);
+        }
+        return loaded;
+    }
+
+    private static void writeSnapshots(Path root, List<PlayerShard.Snapshot> snapshots) {
+        long start = ShopProfiler.start();
+        Gson compact = new Gson();
+        for (PlayerShard.Snapshot snapshot : snapshots) {
+            Path dir = root.resolve(snapshot.shardId());
+            Path file = dir.resolve(snapshot.playerId() + ".json");
+            try {
+                if (snapshot.json() == null) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                Files.createDirectories(dir);
+                Path tmpFile = dir.resolve(snapshot.playerId() + ".json.tmp");
+                try (Writer writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+                    compact.toJson(snapshot.json(), writer);
+                }
+                Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                ShopMod.LOGGER.error("Failed to write player state " + file, e);
+            }
+        }
+        ShopProfiler.stop("persist.player_state.write", start, snapshots.size() + " shards");
+    }
+
+    /**
+     * Gson with adapters for the Minecraft and java.time types that appear in manager data classes
+     */
+    private static Gson createGson() {
+        return new GsonBuilder()
+            .serializeSpecialFloatingPointValues()
+            .registerTypeAdapter(LocalDateTime.class, new TreeAdapter<LocalDateTime>(
+                time -> new JsonPrimitive(time.toString()),
+                json -> LocalDateTime.parse(json.getAsString())))
+            .registerTypeAdapter(LocalDate.class, new TreeAdapter<LocalDate>(
+                date -> new JsonPrimitive(date.toString()),
+                json -> LocalDate.parse(json.getAsString())))
+            .registerTypeHierarchyAdapter(Item.class, new TreeAdapter<Item>(
+                item -> new JsonPrimitive(BuiltInRegistries.ITEM.getKey(item).toString()),
+                json -> BuiltInRegistries.ITEM.getValue(Identifier.parse(json.getAsString()))))
+            .registerTypeHierarchyAdapter(BlockPos.class, new TreeAdapter<BlockPos>(
+                pos -> new JsonPrimitive(pos.asLong()),
+                json -> BlockPos.of(json.getAsLong())))
+            .registerTypeAdapter(ItemStack.class, new TreeAdapter<ItemStack>(
+                PlayerStateStore::serializeStack,
+                PlayerStateStore::deserializeStack))
+            .create();
+    }
+
+    // Empty stacks are written as {} rather than null so lists of slots keep their EMPTY entries
+    private static JsonElement serializeStack(ItemStack stack) {
+        if (stack.isEmpty() || registryOps == null) return new JsonObject();
+        return ItemStack.OPTIONAL_CODEC.encodeStart(registryOps, stack).result().orElseGet(JsonObject::new);
+    }
+
+    private static ItemStack deserializeStack(JsonElement json) {
+        if (registryOps == null || (json.isJsonObject() && json.getAsJsonObject().isEmpty())) return ItemStack.EMPTY;
+        return ItemStack.OPTIONAL_CODEC.parse(registryOps, json).result().orElse(ItemStack.EMPTY);
+    }
+
+    private record TreeAdapter<T>(Function<T, JsonElement> writer, Function<JsonElement, T> reader)
+            implements JsonSerializer<T>, JsonDeserializer<T> {
+        @Override
+        public JsonElement serialize(T src, Type type, JsonSerializationContext ctx) {
+            return writer.apply(src);
+        }
+
+        @Override
+        public T deserialize(JsonElement json, Type type, JsonDeserializationContext ctx) {
+            return reader.apply(json);
+        }
+    }
+}
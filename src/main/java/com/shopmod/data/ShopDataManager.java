@@ -1,37 +1,67 @@
 package com.shopmod.data;
 
 import com.google.gson.*;
+import com.shopmod.currency.InterestIndex;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 
-import java.io.*;
+import java.io.File;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages persistent player currency data across server restarts.
  * Stores balances, playtime, and statistics for each player using JSON.
+ * 
+ * Mutations are write-behind: each one appends the player's record to
+ * shop_data.journal (see LedgerJournal) instead of rewriting shop_data.json.
  */
 public class ShopDataManager {
     private final ConcurrentHashMap<UUID, PlayerShopData> playerData = new ConcurrentHashMap<>();
-    private final MinecraftServer server;
     private final File dataFile;
-    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private final LedgerJournal journal;
     
     public ShopDataManager(MinecraftServer server) {
-        this.server = server;
         // Get the world save directory (world folder)
-        Path worldPath = server.getWorldPath(net.minecraft.world.level.storage.LevelResource.ROOT);
+        this(server.getWorldPath(net.minecraft.world.level.storage.LevelResource.ROOT));
+    }
+    
+    /**
+     * Loads shop data from a world folder directly (benchmarks and offline tools)
+     */
+    public ShopDataManager(Path worldPath) {
         this.dataFile = worldPath.resolve("shop_data.json").toFile();
+        this.journal = new LedgerJournal(dataFile, worldPath.resolve("shop_data.journal").toFile());
         load();
+        journal.start();
     }
     
     /**
-     * Gets or creates shop data for a player
+     * Gets or creates shop data for a player, with wallet interest settled up to now
      */
     public PlayerShopData getPlayerData(UUID playerId) {
-        return playerData.computeIfAbsent(playerId, id -> new PlayerShopData());
+        PlayerShopData data = playerData.computeIfAbsent(playerId, id -> new PlayerShopData());
+        settleInterest(playerId, data);
+        return data;
+    }
+    
+    /**
+     * Materializes wallet interest compounded since the balance was last settled (see InterestIndex)
+     */
+    private void settleInterest(UUID playerId, PlayerShopData data) {
+        double index = InterestIndex.get(InterestIndex.Kind.WALLET);
+        if (data.interestIndex != null && data.interestIndex == index) return;
+        
+        long interest = 0;
+        if (data.balance > 0) {
+            interest = (long)(data.balance * (InterestIndex.growthSince(InterestIndex.Kind.WALLET, data.interestIndex) - 1));
+        }
+        data.interestIndex = index;
+        data.balance += interest;
+        data.totalEarned += interest;
+        markDirty(playerId, data);
     }
     
     /**
@@ -52,7 +82,7 @@ public class ShopDataManager {
         PlayerShopData data = getPlayerData(playerId);
         data.balance += amount;
         data.totalEarned += amount;
-        save();
+        markDirty(playerId, data);
     }
     
     public void addMoney(ServerPlayer player, long amount) {
@@ -68,7 +98,7 @@ public class ShopDataManager {
         if (data.balance >= amount) {
             data.balance -= amount;
             data.totalSpent += amount;
-            save();
+            markDirty(playerId, data);
             return true;
         }
         return false;
@@ -77,6 +107,33 @@ public class ShopDataManager {
     public boolean removeMoney(ServerPlayer player, long amount) {
         return removeMoney(player.getUUID(), amount);
     }
+
+    /**
+     * Applies the wallet legs of a committed LedgerTransaction as one journal record
+     * @return true if successful, false (and nothing changed) if the wallet would go negative
+     */
+    public boolean applyLedgerLegs(UUID playerId, long credited, long debited) {
+        PlayerShopData data = getPlayerData(playerId);
+        if (data.balance + credited - debited < 0) {
+            return false;
+        }
+        data.balance += credited - debited;
+        data.totalEarned += credited;
+        data.totalSpent += debited;
+        markDirty(playerId, data);
+        return true;
+    }
+
+    /**
+     * Undoes applyLedgerLegs for a LedgerTransaction that failed after applying them
+     */
+    public void revertLedgerLegs(UUID playerId, long credited, long debited) {
+        PlayerShopData data = getPlayerData(playerId);
+        data.balance -= credited - debited;
+        data.totalEarned -= credited;
+        data.totalSpent -= debited;
+        markDirty(playerId, data);
+    }
     
     /**
      * Sets a player's balance
@@ -84,7 +141,7 @@ public class ShopDataManager {
     public void setBalance(UUID playerId, long amount) {
         PlayerShopData data = getPlayerData(playerId);
         data.balance = amount;
-        save();
+        markDirty(playerId, data);
     }
     
     public void setBalance(ServerPlayer player, long amount) {
@@ -104,7 +161,7 @@ public class ShopDataManager {
     public void updatePlaytime(UUID playerId, long currentTick) {
         PlayerShopData data = getPlayerData(playerId);
         data.totalPlaytimeTicks = currentTick;
-        save();
+        markDirty(playerId, data);
     }
     
     /**
@@ -113,7 +170,7 @@ public class ShopDataManager {
     public void recordPassiveIncome(UUID playerId, long worldTime) {
         PlayerShopData data = getPlayerData(playerId);
         data.lastPassiveIncomeTime = worldTime;
-        save();
+        markDirty(playerId, data);
     }
     
     /**
@@ -129,112 +186,105 @@ public class ShopDataManager {
     public void setLastPassiveIncomeTime(UUID playerId, long time) {
         PlayerShopData data = getPlayerData(playerId);
         data.lastPassiveIncomeTime = time;
-        save();
+        markDirty(playerId, data);
     }
     
     /**
      * Increments items bought counter
      */
     public void recordItemBought(UUID playerId) {
-        getPlayerData(playerId).itemsBought++;
-        save();
+        PlayerShopData data = getPlayerData(playerId);
+        data.itemsBought++;
+        markDirty(playerId, data);
     }
     
     /**
      * Increments items sold counter
      */
     public void recordItemSold(UUID playerId) {
-        getPlayerData(playerId).itemsSold++;
-        save();
+        PlayerShopData data = getPlayerData(playerId);
+        data.itemsSold++;
+        markDirty(playerId, data);
     }
     
     /**
-     * Saves all player data to disk using JSON
+     * Queues a player's current record on the journal (cheap, never touches shop_data.json)
+     */
+    private void markDirty(UUID playerId, PlayerShopData data) {
+        journal.append(playerId, toJson(playerId, data));
+    }
+    
+    /**
+     * Flushes the journal and compacts it into shop_data.json.
+     * Blocks until the data is on disk.
      */
     public boolean save() {
-        try (FileWriter writer = new FileWriter(dataFile)) {
-            JsonObject root = new JsonObject();
-            JsonArray playersArray = new JsonArray();
-            
-            for (UUID playerId : playerData.keySet()) {
-                JsonObject playerObj = new JsonObject();
-                PlayerShopData data = playerData.get(playerId);
-                
-                playerObj.addProperty("uuid", playerId.toString());
-                playerObj.addProperty("balance", data.balance);
-                playerObj.addProperty("totalEarned", data.totalEarned);
-                playerObj.addProperty("totalSpent", data.totalSpent);
-                playerObj.addProperty("totalPlaytimeTicks", data.totalPlaytimeTicks);
-                playerObj.addProperty("lastPassiveIncomeTime", data.lastPassiveIncomeTime);
-                playerObj.addProperty("itemsBought", data.itemsBought);
-                playerObj.addProperty("itemsSold", data.itemsSold);
-                
-                // Save unlocked tiers
-                JsonArray tiersArray = new JsonArray();
-                for (int tier : data.unlockedTiers) {
-                    tiersArray.add(tier);
-                }
-                playerObj.add("unlockedTiers", tiersArray);
-                
-                playersArray.add(playerObj);
-            }
-            
-            root.add("players", playersArray);
-            GSON.toJson(root, writer);
-            return true;
-        } catch (IOException e) {
-            e.printStackTrace();
-            return false;
-        }
+        return journal.flush(true);
+    }
+    
+    /**
+     * Flushes everything and stops the background writer. Called on server stop.
+     */
+    public void shutdown() {
+        journal.shutdown();
     }
     
     /**
-     * Loads all player data from disk using JSON
+     * Loads the shop_data.json snapshot and replays any journal records written after it
      */
     public boolean load() {
-        if (!dataFile.exists()) {
-            return false;
+        Map<UUID, JsonObject> records = journal.recover();
+        for (Map.Entry<UUID, JsonObject> entry : records.entrySet()) {
+            try {
+                playerData.put(entry.getKey(), fromJson(entry.getValue()));
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        return !records.isEmpty();
+    }
+    
+    static JsonObject toJson(UUID playerId, PlayerShopData data) {
+        JsonObject playerObj = new JsonObject();
+        playerObj.addProperty("uuid", playerId.toString());
+        playerObj.addProperty("balance", data.balance);
+        playerObj.addProperty("totalEarned", data.totalEarned);
+        playerObj.addProperty("totalSpent", data.totalSpent);
+        playerObj.addProperty("totalPlaytimeTicks", data.totalPlaytimeTicks);
+        playerObj.addProperty("lastPassiveIncomeTime", data.lastPassiveIncomeTime);
+        playerObj.addProperty("itemsBought", data.itemsBought);
+        playerObj.addProperty("itemsSold", data.itemsSold);
+        if (data.interestIndex != null) {
+            playerObj.addProperty("interestIndex", data.interestIndex);
         }
         
-        try (FileReader reader = new FileReader(dataFile)) {
-            JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
-            
-            if (root.has("players")) {
-                JsonArray playersArray = root.getAsJsonArray("players");
-                
-                for (JsonElement element : playersArray) {
-                    JsonObject playerObj = element.getAsJsonObject();
-                    
-                    UUID playerId = UUID.fromString(playerObj.get("uuid").getAsString());
-                    
-                    PlayerShopData data = new PlayerShopData();
-                    data.balance = playerObj.has("balance") ? playerObj.get("balance").getAsLong() : 0;
-                    data.totalEarned = playerObj.has("totalEarned") ? playerObj.get("totalEarned").getAsLong() : 0;
-                    data.totalSpent = playerObj.has("totalSpent") ? playerObj.get("totalSpent").getAsLong() : 0;
-                    data.totalPlaytimeTicks = playerObj.has("totalPlaytimeTicks") ? playerObj.get("totalPlaytimeTicks").getAsLong() : 0;
-                    data.lastPassiveIncomeTime = playerObj.has("lastPassiveIncomeTime") ? playerObj.get("lastPassiveIncomeTime").getAsLong() : 0;
-                    data.itemsBought = playerObj.has("itemsBought") ? playerObj.get("itemsBought").getAsInt() : 0;
-                    data.itemsSold = playerObj.has("itemsSold") ? playerObj.get("itemsSold").getAsInt() : 0;
-                    
-                    // Load unlocked tiers
-                    if (playerObj.has("unlockedTiers")) {
-                        JsonArray tiersArray = playerObj.getAsJsonArray("unlockedTiers");
-                        for (JsonElement tierElement : tiersArray) {
-                            data.unlockedTiers.add(tierElement.getAsInt());
-                        }
-                    } else {
-                        // Default: Tier 0 unlocked
-                        data.unlockedTiers.add(0);
-                    }
-                    
-                    playerData.put(playerId, data);
-                }
-                return true;
+        // Save unlocked tiers
+        JsonArray tiersArray = new JsonArray();
+        for (int tier : data.unlockedTiers) {
+            tiersArray.add(tier);
+        }
+        playerObj.add("unlockedTiers", tiersArray);
+        return playerObj;
+    }
+    
+    static PlayerShopData fromJson(JsonObject playerObj) {
+        PlayerShopData data = new PlayerShopData();
+        data.balance = playerObj.has("balance") ? playerObj.get("balance").getAsLong() : 0;
+        data.totalEarned = playerObj.has("totalEarned") ? playerObj.get("totalEarned").getAsLong() : 0;
+        data.totalSpent = playerObj.has("totalSpent") ? playerObj.get("totalSpent").getAsLong() : 0;
+        data.totalPlaytimeTicks = playerObj.has("totalPlaytimeTicks") ? playerObj.get("totalPlaytimeTicks").getAsLong() : 0;
+        data.lastPassiveIncomeTime = playerObj.has("lastPassiveIncomeTime") ? playerObj.get("lastPassiveIncomeTime").getAsLong() : 0;
+        data.itemsBought = playerObj.has("itemsBought") ? playerObj.get("itemsBought").getAsInt() : 0;
+        data.itemsSold = playerObj.has("itemsSold") ? playerObj.get("itemsSold").getAsInt() : 0;
+        data.interestIndex = playerObj.has("interestIndex") ? playerObj.get("interestIndex").getAsDouble() : null;
+        
+        // Load unlocked tiers (Tier 0 is always added by the constructor)
+        if (playerObj.has("unlockedTiers")) {
+            for (JsonElement tierElement : playerObj.getAsJsonArray("unlockedTiers")) {
+                data.unlockedTiers.add(tierElement.getAsInt());
             }
-        } catch (IOException | JsonParseException e) {
-            e.printStackTrace();
         }
-        return false;
+        return data;
     }
     
     /**
@@ -251,7 +301,7 @@ public class ShopDataManager {
     public void unlockTier(UUID playerId, int tierId) {
         PlayerShopData data = getPlayerData(playerId);
         data.unlockedTiers.add(tierId);
-        save();
+        markDirty(playerId, data);
     }
     
     /**
@@ -278,6 +328,7 @@ public class ShopDataManager {
         public int itemsBought = 0;
         public int itemsSold = 0;
         public java.util.Set<Integer> unlockedTiers = new java.util.HashSet<>();
+        public Double interestIndex = null; // Wallet interest index at last settlement; null until first settled
         
         public PlayerShopData() {
             // Tier 0 (Starter) is always unlocked
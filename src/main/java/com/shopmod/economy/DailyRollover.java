@@ -0,0 +1,316 @@
+package com.shopmod.economy;
+
+import com.shopmod.ShopMod;
+import com.shopmod.auction.AuctionItem;
+import com.shopmod.automation.AutomationManager;
+import com.shopmod.bank.BankManager;
+import com.shopmod.blackmarket.BlackMarketManager;
+import com.shopmod.business.BusinessManager;
+import com.shopmod.crates.LuckyCrateManager;
+import com.shopmod.currency.CurrencyManager;
+import com.shopmod.insurance.InsuranceManager;
+import com.shopmod.loan.LoanManager;
+import com.shopmod.lottery.LotteryManager;
+import com.shopmod.mining.MiningManager;
+import com.shopmod.notifications.Notifications;
+import com.shopmod.perf.ShopProfiler;
+import com.shopmod.property.PropertyManager;
+import com.shopmod.research.ResearchManager;
+import com.shopmod.stocks.StockMarketManager;
+import com.shopmod.tenant.TenantManager;
+import com.shopmod.village.TradeCenterManager;
+import com.shopmod.village.VillageManager;
+import com.shopmod.worker.WorkerManager;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Spreads the dawn rollover over several ticks.
+ * When a new day starts, the world-wide steps and one job per player are queued,
+ * then drained each tick until the per-tick time budget runs out.
+ *
+ * Ordering guarantees:
+ * - World steps (interest indexes, prices, crates, lottery) run before any player's job for that day
+ * - A player's steps always run in the order they were queued, and day N finishes before day N+1
+ * - A player who disconnects mid-rollover has their remaining steps run immediately,
+ *   after any world steps still queued ahead of them
+ *
+ * Property, business and mining income is settled lazily (see their settleIncome methods),
+ * so only online players need a job; offline owners are caught up when they return.
+ *
+ * Chat lines a player's steps send through Notifications are folded into one digest,
+ * sent by the job's last step.
+ */
+public class DailyRollover {
+    public static final int DEFAULT_BUDGET_MS = 5;
+
+    private static final Deque<Job> queue = new ArrayDeque<>();
+    private static final Map<UUID, List<Job>> jobsByPlayer = new HashMap<>();
+    private static int budgetMs = Integer.getInteger("shopmod.rolloverBudgetMs", DEFAULT_BUDGET_MS);
+
+    // Stats for the current/last rollover, shown by /shopadmin rollover
+    private static long rolloverDay = -1;
+    private static int stepsRun = 0;
+    private static int stepsSkipped = 0;
+    private static int ticksUsed = 0;
+    private static long maxTickNanos = 0;
+    private static long totalNanos = 0;
+
+    /**
+     * One subsystem's work for one player; player is null for world steps
+     */
+    private record Step(String subsystem, Consumer<ServerPlayer> action) {}
+
+    /**
+     * Ordered steps for one player (or the world when playerId is null) on one day
+     */
+    private static class Job {
+        final UUID playerId;
+        final String name;
+        final boolean needsPlayer;
+        final Deque<Step> steps = new ArrayDeque<>();
+
+        Job(UUID playerId, String name, boolean needsPlayer) {
+            this.playerId = playerId;
+            this.name = name;
+            this.needsPlayer = needsPlayer;
+        }
+
+        Job step(String subsystem, Consumer<ServerPlayer> action) {
+            steps.add(new Step(subsystem, action));
+            return this;
+        }
+    }
+
+    public static void register() {
+        // Finish a leaving player's rollover while they're still in the player list
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> finishPlayer(handler.getPlayer()));
+
+        // Don't lose a half-drained day on shutdown
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> drainAll(server));
+    }
+
+    /**
+     * Queue everything that happens at dawn of the given day
+     */
+    public static void schedule(MinecraftServer server, long currentDay) {
+        long dayTime = server.overworld().getDayTime();
+        rolloverDay = currentDay;
+        stepsRun = 0;
+        stepsSkipped = 0;
+        ticksUsed = 0;
+        maxTickNanos = 0;
+        totalNanos = 0;
+
+        boolean monthly = currentDay % 30 == 0;
+        boolean weekly = currentDay % 7 == 0;
+
+        // World-wide steps first so per-player steps see the new day's interest, prices and crates
+        Job world = new Job(null, "world", false)
+            .step("wallet_interest", p -> CurrencyManager.accrueDailyInterest(currentDay))
+            .step("bank_returns", p -> BankManager.accrueDailyReturns(server, currentDay))
+            .step("crates", p -> LuckyCrateManager.updateDailyCrates(currentDay))
+            .step("auctions", p -> AuctionItem.generateDailyAuctions(dayTime))
+            .step("black_market", p -> BlackMarketManager.generateDailyDeals())
+            .step("stock_prices", p -> StockMarketManager.updateDailyPrices(currentDay))
+            .step("dividends", p -> StockMarketManager.processDividends(currentDay));
+        if (monthly) {
+            world.step("credit_interest", p -> BankManager.accrueCreditCardInterest(currentDay));
+        }
+        if (weekly) {
+            world.step("lottery", p -> LotteryManager.processWeeklyDraw(currentDay, server));
+        }
+        enqueue(world);
+
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            Job job = new Job(player.getUUID(), player.getName().getString(), true)
+                .step("loans", p -> LoanManager.processDailyPayments(p, currentDay))
+                .step("village", p -> VillageManager.processDailyVillage(p, currentDay))
+                .step("trade_center", TradeCenterManager::processAutoSell)
+                .step("tenants", p -> TenantManager.processDailyTenants(p, currentDay))
+                .step("automation", AutomationManager::processDailyAutomation)
+                .step("automation_reset", p -> AutomationManager.resetDailyStats(p.getUUID()))
+                .step("dividends", StockMarketManager::settleDividends)
+                .step("property", p -> PropertyManager.settleIncome(p, currentDay))
+                .step("research", ResearchManager::applyDailyIncome)
+                .step("mining", p -> MiningManager.settleIncome(p, currentDay))
+                .step("workers", WorkerManager::processDailyPayments)
+                .step("business", p -> BusinessManager.settleIncome(p, currentDay))
+                .step("insurance", p -> InsuranceManager.processMonthlyBilling(p, currentDay));
+            if (weekly) {
+                job.step("worker_weekly", WorkerManager::processWeeklyUpdates);
+            }
+            job.step("digest", p -> Notifications.sendDigest(p, currentDay));
+            enqueue(job);
+        }
+
+        ShopMod.LOGGER.info("Queued daily rollover for day " + currentDay + ": " + getPendingSteps() + " steps");
+    }
+
+    /**
+     * Run queued steps until this tick's budget is used up.
+     * At least one step runs per tick so the rollover always makes progress.
+     */
+    public static void tick(MinecraftServer server) {
+        if (queue.isEmpty()) return;
+
+        long start = System.nanoTime();
+        long deadline = start + budgetMs * 1_000_000L;
+        do {
+            Job job = queue.peekFirst();
+            Step step = job.steps.pollFirst();
+            if (step != null) {
+                ServerPlayer player = job.needsPlayer ? server.getPlayerList().getPlayer(job.playerId) : null;
+                runStep(job, step, player);
+            }
+            if (job.steps.isEmpty()) {
+                removeJob(queue.pollFirst());
+            }
+        } while (!queue.isEmpty() && System.nanoTime() < deadline);
+
+        long elapsed = System.nanoTime() - start;
+        ticksUsed++;
+        totalNanos += elapsed;
+        maxTickNanos = Math.max(maxTickNanos, elapsed);
+
+        if (queue.isEmpty()) {
+            ShopMod.LOGGER.info(String.format("Daily rollover for day %d finished: %d steps over %d ticks (max %.2fms/tick)",
+                rolloverDay, stepsRun, ticksUsed, maxTickNanos / 1_000_000.0));
+        }
+    }
+
+    /**
+     * Run all of a player's remaining steps now, in order.
+     * World jobs queued ahead of them are run first so the player still sees that day's world state.
+     */
+    public static void finishPlayer(ServerPlayer player) {
+        List<Job> jobs = jobsByPlayer.remove(player.getUUID());
+        if (jobs == null) return;
+
+        for (Job job : jobs) {
+            Iterator<Job> ahead = queue.iterator();
+            while (ahead.hasNext()) {
+                Job other = ahead.next();
+                if (other == job) break;
+                if (other.playerId == null) {
+                    while (!other.steps.isEmpty()) {
+                        runStep(other, other.steps.pollFirst(), null);
+                    }
+                    ahead.remove();
+                }
+            }
+            while (!job.steps.isEmpty()) {
+                runStep(job, job.steps.pollFirst(), job.needsPlayer ? player : null);
+            }
+            queue.remove(job);
+        }
+    }
+
+    /**
+     * Run everything still queued, ignoring the budget
+     */
+    public static void drainAll(MinecraftServer server) {
+        while (!queue.isEmpty()) {
+            Job job = queue.pollFirst();
+            ServerPlayer player = job.needsPlayer ? server.getPlayerList().getPlayer(job.playerId) : null;
+            while (!job.steps.isEmpty()) {
+                runStep(job, job.steps.pollFirst(), player);
+            }
+            removeJob(job);
+        }
+    }
+
+    public static int getBudgetMs() {
+        return budgetMs;
+    }
+
+    public static void setBudgetMs(int ms) {
+        budgetMs = Math.max(1, ms);
+    }
+
+    public static boolean isRunning() {
+        return !queue.isEmpty();
+    }
+
+    public static long getRolloverDay() {
+        return rolloverDay;
+    }
+
+    public static int getPendingJobs() {
+        return queue.size();
+    }
+
+    public static int getPendingSteps() {
+        int steps = 0;
+        for (Job job : queue) {
+            steps += job.steps.size();
+        }
+        return steps;
+    }
+
+    public static int getStepsRun() {
+        return stepsRun;
+    }
+
+    public static int getStepsSkipped() {
+        return stepsSkipped;
+    }
+
+    public static int getTicksUsed() {
+        return ticksUsed;
+    }
+
+    public static double getMaxTickMs() {
+        return maxTickNanos / 1_000_000.0;
+    }
+
+    public static double getAverageTickMs() {
+        return ticksUsed == 0 ? 0 : totalNanos / 1_000_000.0 / ticksUsed;
+    }
+
+    private static void enqueue(Job job) {
+        if (job.steps.isEmpty()) return;
+        queue.addLast(job);
+        if (job.playerId != null) {
+            jobsByPlayer.computeIfAbsent(job.playerId, id -> new ArrayList<>()).add(job);
+        }
+    }
+
+    private static void removeJob(Job job) {
+        if (job == null || job.playerId == null) return;
+        List<Job> jobs = jobsByPlayer.get(job.playerId);
+        if (jobs != null) {
+            jobs.remove(job);
+            if (jobs.isEmpty()) {
+                jobsByPlayer.remove(job.playerId);
+            }
+        }
+    }
+
+    private static void runStep(Job job, Step step, ServerPlayer player) {
+        if (job.needsPlayer && player == null) {
+            // Player left without a disconnect event (e.g. server stopping) - nothing to pay out to
+            stepsSkipped++;
+            return;
+        }
+        long start = ShopProfiler.start();
+        if (player != null) {
+            Notifications.collectDigest(player.getUUID());
+        }
+        try {
+            step.action().accept(player);
+            stepsRun++;
+        } catch (RuntimeException e) {
+            stepsSkipped++;
+            ShopMod.LOGGER.error("Daily rollover step " + step.subsystem() + " failed for " + job.name, e);
+        } finally {
+            Notifications.stopCollecting();
+            ShopProfiler.stop("rollover." + step.subsystem(), start, job.name);
+        }
+    }
+}
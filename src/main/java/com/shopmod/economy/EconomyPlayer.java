@@ -0,0 +1,49 @@
+package com.shopmod.economy;
+
+import com.shopmod.notifications.Notifications;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.UUID;
+
+/**
+ * The parts of a player that daily economy processing needs.
+ * Real players are wrapped with of(ServerPlayer); the simulation harness supplies
+ * synthetic players so the daily logic can run without a live server.
+ */
+public interface EconomyPlayer {
+    UUID getUUID();
+
+    void sendSystemMessage(Component message);
+
+    /**
+     * Puts the stack in the player's inventory
+     * @return false if it didn't fit (or the player has no inventory)
+     */
+    boolean giveItem(ItemStack stack);
+
+    static EconomyPlayer of(ServerPlayer player) {
+        return new Online(player);
+    }
+
+    /**
+     * A connected player; chat goes through Notifications so rollover lines join the daily digest
+     */
+    record Online(ServerPlayer player) implements EconomyPlayer {
+        @Override
+        public UUID getUUID() {
+            return player.getUUID();
+        }
+
+        @Override
+        public void sendSystemMessage(Component message) {
+            Notifications.chat(player, message);
+        }
+
+        @Override
+        public boolean giveItem(ItemStack stack) {
+            return player.getInventory().add(stack);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.shopmod.economy;
+
+import com.shopmod.daily.DailyRewardManager;
+import com.shopmod.perks.PerkManager;
+import com.shopmod.pets.PetsManager;
+import com.shopmod.research.ResearchManager;
+import com.shopmod.upgrades.UpgradeManager;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Every earnings modifier a player has, combined once and cached.
+ *
+ * Sources: shop upgrades, permanent perks and active boosters, the equipped pet,
+ * research, and daily streak bonuses. Whatever changes one of these calls invalidate(),
+ * so earnings handlers just read the cached profile instead of asking each manager.
+ */
+public record ModifierProfile(double income, double xp, double sellPrice, double propertyIncome) {
+    private static final Map<UUID, ModifierProfile> profiles = new ConcurrentHashMap<>();
+
+    public static void register() {
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> invalidate(handler.getPlayer().getUUID()));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> profiles.clear());
+    }
+
+    /**
+     * The player's current profile, computed on first use after a change
+     */
+    public static ModifierProfile of(UUID playerId) {
+        ModifierProfile profile = profiles.get(playerId);
+        return profile != null ? profile : profiles.computeIfAbsent(playerId, ModifierProfile::compute);
+    }
+
+    /**
+     * Drops the cached profile; call after changing anything that feeds into it
+     */
+    public static void invalidate(UUID playerId) {
+        profiles.remove(playerId);
+    }
+
+    /**
+     * Drops every cached profile (bulk reloads)
+     */
+    public static void invalidateAll() {
+        profiles.clear();
+    }
+
+    private static ModifierProfile compute(UUID playerId) {
+        PerkManager.PlayerPerks perks = PerkManager.getPerks(playerId);
+        double pet = PetsManager.getPetsData(playerId).getBonus(PetsManager.PetBonus.INCOME_BOOST);
+
+        double income = UpgradeManager.getIncomeMultiplier(playerId)
+            * perks.getIncomeMultiplier()
+            * (1.0 + pet)
+            * DailyRewardManager.getIncomeBoostMultiplier(playerId);
+        double xp = UpgradeManager.getXPMultiplier(playerId) * perks.getXpMultiplier();
+
+        return new ModifierProfile(income, xp,
+            UpgradeManager.getSellPriceMultiplier(playerId),
+            ResearchManager.getPropertyIncomeMultiplier(playerId));
+    }
+}
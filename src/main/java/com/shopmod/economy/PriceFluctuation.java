@@ -1,16 +1,23 @@
 package com.shopmod.economy;
 
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.world.item.Item;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages dynamic price fluctuations for items in the shop (stock market system)
  * Prices change based on time and random market conditions
+ *
+ * Multipliers are kept in double arrays indexed by item raw id; 0 means the item isn't
+ * tracked yet. Tracked ids are also kept densely so a market-wide update is one loop
+ * over primitive arrays with no boxing or key-set copies.
  */
 public class PriceFluctuation {
-    private static final Map<Item, Double> priceMultipliers = new ConcurrentHashMap<>();
-    private static final Map<Item, Double> previousMultipliers = new ConcurrentHashMap<>();
+    private static double[] priceMultipliers = new double[BuiltInRegistries.ITEM.size()];
+    private static double[] previousMultipliers = new double[priceMultipliers.length]; // 0 = no previous value
+    private static int[] trackedIds = new int[256];
+    private static int trackedCount = 0;
+    private static long epoch = 0; // Bumped whenever tracked multipliers move
     private static final Random random = new Random();
     
     // Base fluctuation range
@@ -22,26 +29,30 @@ public class PriceFluctuation {
      * Update all price multipliers (call this every hour in-game or real-time)
      */
     public static void updatePrices() {
-        for (Item item : new ArrayList<>(priceMultipliers.keySet())) {
-            double current = priceMultipliers.getOrDefault(item, 1.0);
-            previousMultipliers.put(item, current);
+        double[] current = priceMultipliers;
+        double[] previous = previousMultipliers;
+        int[] ids = trackedIds;
+        for (int i = 0; i < trackedCount; i++) {
+            int id = ids[i];
+            double multiplier = current[id];
+            previous[id] = multiplier;
             
             // Random walk with bounds
             double change = (random.nextDouble() - 0.5) * CHANGE_PER_HOUR * 2;
-            double newMultiplier = Math.max(MIN_MULTIPLIER, 
-                                  Math.min(MAX_MULTIPLIER, current + change));
-            
-            priceMultipliers.put(item, newMultiplier);
+            current[id] = Math.max(MIN_MULTIPLIER, Math.min(MAX_MULTIPLIER, multiplier + change));
         }
+        epoch++;
     }
     
     /**
      * Get current price multiplier for an item
      */
     public static double getPriceMultiplier(Item item) {
-        return priceMultipliers.computeIfAbsent(item, k -> 
-            0.8 + (random.nextDouble() * 0.4) // Start between 0.8-1.2
-        );
+        int id = Item.getId(item);
+        if (id < priceMultipliers.length && priceMultipliers[id] != 0) {
+            return priceMultipliers[id];
+        }
+        return track(id, 0.8 + (random.nextDouble() * 0.4)); // Start between 0.8-1.2
     }
     
     /**
@@ -50,7 +61,10 @@ public class PriceFluctuation {
      */
     public static String getPriceChangeDisplay(Item item) {
         double current = getPriceMultiplier(item);
-        double previous = previousMultipliers.getOrDefault(item, current);
+        double previous = previousMultipliers[Item.getId(item)];
+        if (previous == 0) {
+            previous = current;
+        }
         
         if (Math.abs(current - previous) < 0.001) {
             return "§7→ 0.0%"; // No change
@@ -65,6 +79,25 @@ public class PriceFluctuation {
         }
     }
     
+    /**
+     * Relative change since the last update (0.125 = +12.5%); 0 for untracked items.
+     * Unlike getPriceMultiplier this never starts tracking the item.
+     */
+    public static double getChange(Item item) {
+        int id = Item.getId(item);
+        if (id >= priceMultipliers.length || priceMultipliers[id] == 0 || previousMultipliers[id] == 0) {
+            return 0;
+        }
+        return (priceMultipliers[id] - previousMultipliers[id]) / previousMultipliers[id];
+    }
+    
+    /**
+     * Increases every time market prices move, so orderings by price change know when to rebuild
+     */
+    public static long getEpoch() {
+        return epoch;
+    }
+    
     /**
      * Apply multiplier to a base price
      */
@@ -76,16 +109,21 @@ public class PriceFluctuation {
      * Register an item for price tracking
      */
     public static void registerItem(Item item) {
-        if (!priceMultipliers.containsKey(item)) {
-            priceMultipliers.put(item, 0.9 + (random.nextDouble() * 0.2));
+        int id = Item.getId(item);
+        if (id >= priceMultipliers.length || priceMultipliers[id] == 0) {
+            track(id, 0.9 + (random.nextDouble() * 0.2));
         }
     }
     
     /**
      * Get all tracked items
      */
-    public static Set<Item> getTrackedItems() {
-        return priceMultipliers.keySet();
+    public static List<Item> getTrackedItems() {
+        List<Item> items = new ArrayList<>(trackedCount);
+        for (int i = 0; i < trackedCount; i++) {
+            items.add(BuiltInRegistries.ITEM.byId(trackedIds[i]));
+        }
+        return items;
     }
     
     /**
@@ -94,14 +132,29 @@ public class PriceFluctuation {
     public static void triggerMarketEvent(boolean crash) {
         double targetMultiplier = crash ? 0.6 : 1.8;
         
-        for (Item item : priceMultipliers.keySet()) {
-            double current = priceMultipliers.get(item);
-            previousMultipliers.put(item, current);
+        for (int i = 0; i < trackedCount; i++) {
+            int id = trackedIds[i];
+            double current = priceMultipliers[id];
+            previousMultipliers[id] = current;
             
             // Move 30% towards the target
             double newValue = current + ((targetMultiplier - current) * 0.3);
-            priceMultipliers.put(item, Math.max(MIN_MULTIPLIER, 
-                                      Math.min(MAX_MULTIPLIER, newValue)));
+            priceMultipliers[id] = Math.max(MIN_MULTIPLIER, Math.min(MAX_MULTIPLIER, newValue));
+        }
+        epoch++;
+    }
+    
+    private static double track(int id, double multiplier) {
+        if (id >= priceMultipliers.length) {
+            int size = Math.max(id + 1, BuiltInRegistries.ITEM.size());
+            priceMultipliers = Arrays.copyOf(priceMultipliers, size);
+            previousMultipliers = Arrays.copyOf(previousMultipliers, size);
+        }
+        if (trackedCount == trackedIds.length) {
+            trackedIds = Arrays.copyOf(trackedIds, trackedCount * 2);
         }
+        trackedIds[trackedCount++] = id;
+        priceMultipliers[id] = multiplier;
+        return multiplier;
     }
 }
@@ -0,0 +1,103 @@
+package com.shopmod.events;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+
+import java.util.Arrays;
+
+/**
+ * One player's unpaid mob kills plus their kill-rate stats.
+ *
+ * Kills are counted per entity type raw id in primitive arrays, together with the summed
+ * base money and XP, so a kill costs a few array writes. MobEarningsHandler pays the
+ * tally out in one batch and calls clearPending(). The last minute of kills is kept in
+ * one-second buckets for the grinder stats.
+ */
+final class KillTally {
+    private static final int RATE_SECONDS = 60;
+
+    // Unpaid kills, by entity type raw id
+    final int[] kills;
+    final long[] baseMoney;
+    final long[] baseXp;
+    private int[] touchedIds = new int[8];
+    private int touched = 0;
+
+    // Stats since the player joined
+    final int[] sessionKills;
+    long sessionTotalKills = 0;
+    long sessionMoney = 0;
+    long sessionXp = 0;
+    private final int[] killsPerSecond = new int[RATE_SECONDS];
+    private long lastSecond = 0;
+
+    KillTally() {
+        int types = BuiltInRegistries.ENTITY_TYPE.size();
+        this.kills = new int[types];
+        this.baseMoney = new long[types];
+        this.baseXp = new long[types];
+        this.sessionKills = new int[types];
+    }
+
+    void add(int typeId, long money, int xp, long second) {
+        if (kills[typeId] == 0) {
+            if (touched == touchedIds.length) {
+                touchedIds = Arrays.copyOf(touchedIds, touched * 2);
+            }
+            touchedIds[touched++] = typeId;
+        }
+        kills[typeId]++;
+        baseMoney[typeId] += money;
+        baseXp[typeId] += xp;
+
+        sessionKills[typeId]++;
+        sessionTotalKills++;
+        advance(second);
+        killsPerSecond[(int) (second % RATE_SECONDS)]++;
+    }
+
+    boolean hasPending() {
+        return touched > 0;
+    }
+
+    int getPendingTypes() {
+        return touched;
+    }
+
+    int getPendingTypeId(int index) {
+        return touchedIds[index];
+    }
+
+    /**
+     * Zeroes the unpaid counters after a payout
+     */
+    void clearPending() {
+        for (int i = 0; i < touched; i++) {
+            int id = touchedIds[i];
+            kills[id] = 0;
+            baseMoney[id] = 0;
+            baseXp[id] = 0;
+        }
+        touched = 0;
+    }
+
+    int getKillsLastMinute(long second) {
+        advance(second);
+        int total = 0;
+        for (int count : killsPerSecond) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Empties the buckets for seconds that passed without kills
+     */
+    private void advance(long second) {
+        if (second <= lastSecond) return;
+        long gap = Math.min(second - lastSecond, RATE_SECONDS);
+        for (long s = second - gap + 1; s <= second; s++) {
+            killsPerSecond[(int) (s % RATE_SECONDS)] = 0;
+        }
+        lastSecond = second;
+    }
+}
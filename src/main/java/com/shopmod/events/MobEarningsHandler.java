@@ -1,9 +1,16 @@
 package com.shopmod.events;
 
 import com.shopmod.currency.CurrencyManager;
-import com.shopmod.upgrades.UpgradeManager;
+import com.shopmod.economy.ModifierProfile;
+import com.shopmod.income.RewardTables;
+import com.shopmod.notifications.Notifications;
+import com.shopmod.perf.ShopProfiler;
 import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
-import net.minecraft.network.chat.Component;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.*;
@@ -15,17 +22,60 @@ import net.minecraft.world.entity.monster.piglin.PiglinBrute;
 import net.minecraft.world.entity.boss.enderdragon.EnderDragon;
 import net.minecraft.world.entity.boss.wither.WitherBoss;
 
-import java.util.Random;
+import java.util.*;
 
 /**
  * Dynamic mob drops system
  * Mobs drop random amounts of money and bonus XP when killed
+ *
+ * Kills are tallied per player and entity type and paid out in one batch every
+ * SETTLE_TICKS (-Dshopmod.mobSettleTicks, default 20), so a mob farm costs one balance
+ * update, one XP grant and one popup per second instead of one per kill. Each kill's
+ * -20%..+40% roll and rounding down are kept statistically: small batches roll and round
+ * every kill, large ones draw the batch total from a normal distribution with the same
+ * mean and variance.
  */
 public class MobEarningsHandler {
+    public static final int DEFAULT_SETTLE_TICKS = 20;
+    
+    // Per-kill multiplier is uniform on [0.8, 1.4]: mean 1.1, variance 0.6^2 / 12
+    private static final double ROLL_MIN = 0.8;
+    private static final double ROLL_RANGE = 0.6;
+    private static final double ROLL_MAX = ROLL_MIN + ROLL_RANGE;
+    private static final double ROLL_VARIANCE = ROLL_RANGE * ROLL_RANGE / 12;
+    private static final int EXACT_ROLL_LIMIT = 16;
+    
     private static final Random random = new Random();
+    private static final Map<UUID, KillTally> tallies = new HashMap<>();
+    private static final int settleTicks = Math.max(1, Integer.getInteger("shopmod.mobSettleTicks", DEFAULT_SETTLE_TICKS));
+    private static long tickCount = 0;
+    
+    /**
+     * A player's mob farming since they joined, for /shop grinder
+     */
+    public record KillStats(int killsLastMinute, long totalKills, long totalMoney, long totalXp,
+                            Map<EntityType<?>, Integer> killsByType) {}
     
     public static void register() {
         ServerLivingEntityEvents.AFTER_DEATH.register(MobEarningsHandler::onEntityDeath);
+        
+        ServerTickEvents.END_SERVER_TICK.register(ShopProfiler.timed("tick.mob_earnings", server -> {
+            tickCount++;
+            if (tickCount % settleTicks != 0) return;
+            settleAll(server);
+        }));
+        
+        // Pay out before the player leaves; stats are per session
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            KillTally tally = tallies.remove(handler.getPlayer().getUUID());
+            if (tally != null) {
+                settle(tally, handler.getPlayer());
+            }
+        });
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> {
+            settleAll(server);
+            tallies.clear();
+        });
     }
     
     /**
@@ -38,126 +88,132 @@ public class MobEarningsHandler {
         }
         if (killer == null) return;
         
-        long baseMoney = getMobValue(entity);
-        int baseXP = getMobXP(entity);
+        RewardTables table = RewardTables.get();
+        long baseMoney = table.getMobMoney(entity.getType(), entity instanceof Slime slime ? slime.getSize() : 1);
+        int baseXP = table.getMobXp(entity.getType());
         
         if (baseMoney <= 0 && baseXP <= 0) return;
         
-        // Add randomness (-20% to +40%)
-        double randomMultiplier = 0.8 + (random.nextDouble() * 0.6);
-        
-        // Apply upgrade multipliers
-        double incomeMultiplier = UpgradeManager.getIncomeMultiplier(killer.getUUID());
-        double xpMultiplier = UpgradeManager.getXPMultiplier(killer.getUUID());
-        
-        long finalMoney = (long)(baseMoney * randomMultiplier * incomeMultiplier);
-        int finalXP = (int)(baseXP * randomMultiplier * xpMultiplier);
-        
-        // Award money and XP
-        if (finalMoney > 0) {
-            CurrencyManager.addMoney(killer, finalMoney);
+        KillTally tally = tallies.get(killer.getUUID());
+        if (tally == null) {
+            tally = new KillTally();
+            tallies.put(killer.getUUID(), tally);
         }
-        if (finalXP > 0) {
-            killer.giveExperiencePoints(finalXP);
+        tally.add(BuiltInRegistries.ENTITY_TYPE.getId(entity.getType()), baseMoney, baseXP, tickCount / 20);
+    }
+    
+    /**
+     * Kill-rate stats for a player, or null if they haven't killed anything this session
+     */
+    public static KillStats getKillStats(UUID playerId) {
+        KillTally tally = tallies.get(playerId);
+        if (tally == null) return null;
+        
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 0; id < tally.sessionKills.length; id++) {
+            if (tally.sessionKills[id] > 0) ids.add(id);
         }
+        ids.sort((a, b) -> Integer.compare(tally.sessionKills[b], tally.sessionKills[a]));
         
-        // Show earnings in action bar
-        if (finalMoney > 0 || finalXP > 0) {
-            String message = "§c" + entity.getName().getString() + ": §6+$" + String.format("%,d", finalMoney);
-            if (finalXP > 0) {
-                message += " §a+" + finalXP + " XP";
+        Map<EntityType<?>, Integer> byType = new LinkedHashMap<>();
+        for (int id : ids) {
+            byType.put(BuiltInRegistries.ENTITY_TYPE.byId(id), tally.sessionKills[id]);
+        }
+        return new KillStats(tally.getKillsLastMinute(tickCount / 20), tally.sessionTotalKills,
+            tally.sessionMoney, tally.sessionXp, byType);
+    }
+    
+    /**
+     * Pay out every online player's tally. The player is looked up now rather than kept
+     * from the kill, so a respawned player is paid rather than their old entity.
+     */
+    private static void settleAll(MinecraftServer server) {
+        for (Map.Entry<UUID, KillTally> entry : tallies.entrySet()) {
+            ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
+            if (player != null) {
+                settle(entry.getValue(), player);
             }
-            killer.displayClientMessage(Component.literal(message), true);
         }
     }
     
     /**
-     * Get base money value for a mob
+     * Pay out everything the player killed since the last settlement
      */
-    private static long getMobValue(LivingEntity entity) {
-        EntityType<?> type = entity.getType();
-        
-        // Boss mobs
-        if (type == EntityType.ENDER_DRAGON) return 50000;
-        if (type == EntityType.WITHER) return 25000;
-        if (type == EntityType.WARDEN) return 10000;
-        if (type == EntityType.ELDER_GUARDIAN) return 5000;
+    private static void settle(KillTally tally, ServerPlayer player) {
+        if (!tally.hasPending()) return;
         
-        // Hostile mobs (high value)
-        if (type == EntityType.BLAZE) return 150;
-        if (type == EntityType.ENDERMAN) return 120;
-        if (type == EntityType.CREEPER) return 80;
-        if (type == EntityType.SKELETON || type == EntityType.STRAY || type == EntityType.WITHER_SKELETON) return 70;
-        if (type == EntityType.ZOMBIE || type == EntityType.HUSK || type == EntityType.DROWNED) return 60;
-        if (type == EntityType.SPIDER || type == EntityType.CAVE_SPIDER) return 50;
-        if (type == EntityType.WITCH) return 200;
-        if (type == EntityType.PHANTOM) return 100;
-        if (type == EntityType.PILLAGER || type == EntityType.VINDICATOR) return 150;
-        if (type == EntityType.RAVAGER) return 500;
-        if (type == EntityType.GHAST) return 200;
-        if (type == EntityType.HOGLIN) return 120;
-        if (type == EntityType.PIGLIN_BRUTE) return 150;
-        if (type == EntityType.PIGLIN) return 80;
-        if (type == EntityType.MAGMA_CUBE || type == EntityType.SLIME) {
-            if (entity instanceof Slime slime) {
-                int size = slime.getSize();
-                return 20 * size; // Bigger = more money
+        // Apply upgrade multipliers
+        ModifierProfile modifiers = ModifierProfile.of(player.getUUID());
+        double incomeMultiplier = modifiers.income();
+        double xpMultiplier = modifiers.xp();
+        
+        long finalMoney = 0;
+        long totalXp = 0;
+        int kills = 0;
+        for (int i = 0; i < tally.getPendingTypes(); i++) {
+            int id = tally.getPendingTypeId(i);
+            int count = tally.kills[id];
+            double moneyEach = tally.baseMoney[id] * incomeMultiplier / count;
+            double xpEach = tally.baseXp[id] * xpMultiplier / count;
+            
+            if (count <= EXACT_ROLL_LIMIT) {
+                // Same as paying each kill on its own
+                for (int k = 0; k < count; k++) {
+                    double roll = ROLL_MIN + random.nextDouble() * ROLL_RANGE;
+                    finalMoney += (long) (moneyEach * roll);
+                    totalXp += (long) (xpEach * roll);
+                }
+            } else {
+                // Money and XP share each kill's roll, so they share the draw
+                double deviation = random.nextGaussian();
+                finalMoney += batchTotal(count, moneyEach, deviation);
+                totalXp += batchTotal(count, xpEach, deviation);
             }
+            kills += count;
         }
-        if (type == EntityType.GUARDIAN) return 100;
-        if (type == EntityType.SHULKER) return 150;
+        tally.clearPending();
         
-        // Neutral/Passive mobs (low value)
-        if (type == EntityType.COW || type == EntityType.MOOSHROOM) return 15;
-        if (type == EntityType.PIG) return 12;
-        if (type == EntityType.SHEEP) return 13;
-        if (type == EntityType.CHICKEN) return 8;
-        if (type == EntityType.RABBIT) return 10;
-        if (type == EntityType.WOLF) return 25; // Wolves
-        if (type == EntityType.IRON_GOLEM) return 0; // Protect villagers!
-        if (type == EntityType.SNOW_GOLEM) return 0;
-        if (type == EntityType.VILLAGER) return 0; // Never reward killing villagers
+        int finalXP = (int) Math.min(totalXp, Integer.MAX_VALUE);
         
-        // Other animals
-        if (type == EntityType.HORSE || type == EntityType.DONKEY) return 30;
-        if (type == EntityType.LLAMA) return 25;
-        if (type == EntityType.FOX) return 20;
-        if (type == EntityType.TURTLE) return 18;
-        if (type == EntityType.DOLPHIN) return 0; // Protect dolphins!
-        if (type == EntityType.SQUID || type == EntityType.GLOW_SQUID) return 12;
-        if (type == EntityType.BAT) return 5;
-        if (type == EntityType.PARROT) return 15;
+        // Award money and XP
+        if (finalMoney > 0) {
+            CurrencyManager.addMoney(player, finalMoney);
+        }
+        if (finalXP > 0) {
+            player.giveExperiencePoints(finalXP);
+        }
+        tally.sessionMoney += finalMoney;
+        tally.sessionXp += finalXP;
         
-        return 10; // Default for unknown mobs
+        // Show earnings in action bar (merged with other recent earnings)
+        Notifications.earned(player, Notifications.Source.KILLS, kills, finalMoney, finalXP);
     }
     
     /**
-     * Get base XP value for a mob
+     * Sum of count kills worth value * roll each, each rounded down, drawn from the normal
+     * distribution with the same mean and (approximately) variance
+     * @param deviation a standard normal draw
      */
-    private static int getMobXP(LivingEntity entity) {
-        EntityType<?> type = entity.getType();
-        
-        // Boss mobs
-        if (type == EntityType.ENDER_DRAGON) return 1000;
-        if (type == EntityType.WITHER) return 500;
-        if (type == EntityType.WARDEN) return 300;
-        if (type == EntityType.ELDER_GUARDIAN) return 150;
-        
-        // Hostile mobs
-        if (type == EntityType.BLAZE) return 10;
-        if (type == EntityType.ENDERMAN) return 8;
-        if (type == EntityType.CREEPER) return 7;
-        if (type == EntityType.SKELETON || type == EntityType.ZOMBIE) return 6;
-        if (type == EntityType.SPIDER) return 5;
-        if (type == EntityType.WITCH) return 15;
-        if (type == EntityType.PHANTOM) return 8;
-        if (type == EntityType.PILLAGER) return 12;
-        if (type == EntityType.RAVAGER) return 40;
-        if (entity instanceof Ghast) return 18;
-        
-        // Passive mobs give minimal XP
-        if (entity instanceof Animal) return 2;
-        
-        return 3; // Default
+    private static long batchTotal(int count, double value, double deviation) {
+        double total = count * expectedFloor(value) + deviation * Math.sqrt(count * ROLL_VARIANCE) * value;
+        return Math.round(Math.clamp(total, count * Math.floor(value * ROLL_MIN), count * Math.floor(value * ROLL_MAX)));
+    }
+    
+    /**
+     * Mean of floor(value * roll) over the uniform roll
+     */
+    private static double expectedFloor(double value) {
+        double low = value * ROLL_MIN;
+        double high = value * ROLL_MAX;
+        if (high <= low) return Math.floor(low);
+        return (floorIntegral(high) - floorIntegral(low)) / (high - low);
+    }
+    
+    /**
+     * Integral of floor(x) from 0 to x
+     */
+    private static double floorIntegral(double x) {
+        double whole = Math.floor(x);
+        return whole * (whole - 1) / 2 + whole * (x - whole);
     }
 }
@@ -0,0 +1,153 @@
+package com.shopmod.events;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.Identifier;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.piston.PistonMovingBlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Which blocks in a chunk were placed by players, so breaking them again pays nothing.
+ *
+ * Stored as a persistent attachment on the chunk: one 4096-bit set (512 bytes) per
+ * 16x16x16 section that contains a placed block, keyed by section Y. Chunks and sections
+ * without placed blocks store nothing. A bit is set when a player places a block
+ * (BlockItemMixin) and cleared as soon as the block at that position is replaced by a
+ * different one - breaking, pistons, explosions, generation (LevelChunkMixin). Changes to
+ * the same block's properties (lit redstone ore, leaf distance, crop age) keep the bit, and
+ * a block moved by a piston takes its bit along (PistonBaseBlockMixin and
+ * PistonMovingBlockEntityMixin), so neither can launder a placed block.
+ */
+public final class PlacedBlocks {
+    private static final int SECTION_LONGS = 4096 / 64;
+
+    private record Section(int y, long[] bits) {
+        static final Codec<Section> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            Codec.INT.fieldOf("y").forGetter(Section::y),
+            Codec.LONG_STREAM.xmap(LongStream::toArray, Arrays::stream).fieldOf("bits").forGetter(Section::bits)
+        ).apply(instance, Section::new));
+    }
+
+    private static final Codec<PlacedBlocks> CODEC = Section.CODEC.listOf().xmap(PlacedBlocks::fromSections, PlacedBlocks::toSections);
+
+    private static final AttachmentType<PlacedBlocks> TYPE = AttachmentRegistry.create(
+        Identifier.fromNamespaceAndPath("shop", "placed_blocks"),
+        builder -> builder.persistent(CODEC));
+
+    private final Int2ObjectMap<long[]> sections = new Int2ObjectOpenHashMap<>();
+
+    /**
+     * Implemented by moving piston blocks to carry the bit from source to destination.
+     * Not saved: a block mid-move when its chunk unloads arrives as natural.
+     */
+    public interface Carrier {
+        boolean shop$isPlaced();
+
+        void shop$setPlaced(boolean placed);
+    }
+
+    /**
+     * Loads the class so the attachment type is registered during mod init
+     */
+    public static void register() {
+    }
+
+    /**
+     * Whether the block at pos was placed by a player and hasn't changed since
+     */
+    public static boolean isPlaced(Level level, BlockPos pos) {
+        PlacedBlocks placed = level.getChunkAt(pos).getAttached(TYPE);
+        if (placed == null) return false;
+        long[] bits = placed.sections.get(SectionPos.blockToSectionCoord(pos.getY()));
+        if (bits == null) return false;
+        int index = index(pos);
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public static void markPlaced(Level level, BlockPos pos) {
+        LevelChunk chunk = level.getChunkAt(pos);
+        PlacedBlocks placed = chunk.getAttached(TYPE);
+        if (placed == null) {
+            placed = new PlacedBlocks();
+            chunk.setAttached(TYPE, placed);
+        }
+        long[] bits = placed.sections.computeIfAbsent(SectionPos.blockToSectionCoord(pos.getY()), y -> new long[SECTION_LONGS]);
+        int index = index(pos);
+        bits[index >>> 6] |= 1L << index;
+        chunk.markUnsaved();
+    }
+
+    /**
+     * A moving block came to rest at pos; it is placed again if it was placed where it started
+     */
+    public static void onMoveFinished(Level level, BlockPos pos, PistonMovingBlockEntity entity) {
+        if (level.isClientSide() || !((Carrier) entity).shop$isPlaced()) return;
+        if (level.getBlockState(pos).is(entity.getMovedState().getBlock())) {
+            markPlaced(level, pos);
+        }
+    }
+
+    /**
+     * The block at pos was replaced; forget that it was placed
+     */
+    public static void onBlockChanged(LevelChunk chunk, BlockPos pos) {
+        PlacedBlocks placed = chunk.getAttached(TYPE);
+        if (placed == null) return;
+        int sectionY = SectionPos.blockToSectionCoord(pos.getY());
+        long[] bits = placed.sections.get(sectionY);
+        if (bits == null) return;
+        int index = index(pos);
+        long mask = 1L << index;
+        if ((bits[index >>> 6] & mask) == 0) return;
+
+        bits[index >>> 6] &= ~mask;
+        if (isEmpty(bits)) {
+            placed.sections.remove(sectionY);
+            if (placed.sections.isEmpty()) {
+                chunk.removeAttached(TYPE);
+            }
+        }
+        chunk.markUnsaved();
+    }
+
+    private static int index(BlockPos pos) {
+        return (pos.getY() & 15) << 8 | (pos.getZ() & 15) << 4 | (pos.getX() & 15);
+    }
+
+    private static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+
+    private static PlacedBlocks fromSections(List<Section> list) {
+        PlacedBlocks placed = new PlacedBlocks();
+        for (Section section : list) {
+            if (section.bits().length == SECTION_LONGS && !isEmpty(section.bits())) {
+                placed.sections.put(section.y(), section.bits());
+            }
+        }
+        return placed;
+    }
+
+    private List<Section> toSections() {
+        List<Section> list = new ArrayList<>(sections.size());
+        for (Int2ObjectMap.Entry<long[]> entry : sections.int2ObjectEntrySet()) {
+            list.add(new Section(entry.getIntKey(), entry.getValue()));
+        }
+        return list;
+    }
+}
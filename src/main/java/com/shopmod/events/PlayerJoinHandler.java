@@ -1,11 +1,16 @@
 package com.shopmod.events;
 
+import com.shopmod.business.BusinessManager;
+import com.shopmod.mining.MiningManager;
+import com.shopmod.property.PropertyManager;
+import com.shopmod.scheduler.ShopScheduler;
+import com.shopmod.stocks.StockMarketManager;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 
 /**
- * Handles player join events - shows welcome message
+ * Handles player join events - settles offline income and shows welcome message
  */
 public class PlayerJoinHandler {
     
@@ -13,29 +18,29 @@ public class PlayerJoinHandler {
         ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
             ServerPlayer player = handler.getPlayer();
             
-            // Send welcome message after a short delay
-            server.execute(() -> {
-                try {
-                    Thread.sleep(2000); // Wait 2 seconds for client to fully load
-                    
-                    player.sendSystemMessage(Component.literal("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━"));
-                    player.sendSystemMessage(Component.literal(""));
-                    player.sendSystemMessage(Component.literal("  §6§l✦ Welcome to the Shop Mod! ✦"));
-                    player.sendSystemMessage(Component.literal(""));
-                    player.sendSystemMessage(Component.literal("  §7Type §e§l/hub §7to access all features!"));
-                    player.sendSystemMessage(Component.literal(""));
-                    player.sendSystemMessage(Component.literal("  §7Quick commands:"));
-                    player.sendSystemMessage(Component.literal("  §8• §e/shop §7- Main marketplace"));
-                    player.sendSystemMessage(Component.literal("  §8• §e/property §7- Real estate system"));
-                    player.sendSystemMessage(Component.literal("  §8• §e/auction §7- Auction house"));
-                    player.sendSystemMessage(Component.literal("  §8• §e/wand §7- Get your sell wand"));
-                    player.sendSystemMessage(Component.literal(""));
-                    player.sendSystemMessage(Component.literal("  §7Earn money by: §aMining §8• §aChopping §8• §aKilling mobs"));
-                    player.sendSystemMessage(Component.literal(""));
-                    player.sendSystemMessage(Component.literal("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━"));
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
+            // Pay out income that accrued while offline
+            PropertyManager.settleIncome(player);
+            BusinessManager.settleIncome(player);
+            MiningManager.settleIncome(player);
+            StockMarketManager.settleDividends(player);
+            
+            // Send welcome message once the client has had 2 seconds to fully load
+            ShopScheduler.schedule(player.getUUID(), 40, p -> {
+                p.sendSystemMessage(Component.literal("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━"));
+                p.sendSystemMessage(Component.literal(""));
+                p.sendSystemMessage(Component.literal("  §6§l✦ Welcome to the Shop Mod! ✦"));
+                p.sendSystemMessage(Component.literal(""));
+                p.sendSystemMessage(Component.literal("  §7Type §e§l/hub §7to access all features!"));
+                p.sendSystemMessage(Component.literal(""));
+                p.sendSystemMessage(Component.literal("  §7Quick commands:"));
+                p.sendSystemMessage(Component.literal("  §8• §e/shop §7- Main marketplace"));
+                p.sendSystemMessage(Component.literal("  §8• §e/property §7- Real estate system"));
+                p.sendSystemMessage(Component.literal("  §8• §e/auction §7- Auction house"));
+                p.sendSystemMessage(Component.literal("  §8• §e/wand §7- Get your sell wand"));
+                p.sendSystemMessage(Component.literal(""));
+                p.sendSystemMessage(Component.literal("  §7Earn money by: §aMining §8• §aChopping §8• §aKilling mobs"));
+                p.sendSystemMessage(Component.literal(""));
+                p.sendSystemMessage(Component.literal("§8§m━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━"));
             });
         });
     }
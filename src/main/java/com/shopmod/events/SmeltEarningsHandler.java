@@ -1,10 +1,10 @@
 package com.shopmod.events;
 
 import com.shopmod.currency.CurrencyManager;
-import com.shopmod.upgrades.UpgradeManager;
+import com.shopmod.economy.ModifierProfile;
+import com.shopmod.notifications.Notifications;
 import net.fabricmc.fabric.api.event.player.UseBlockCallback;
 import net.minecraft.core.BlockPos;
-import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
@@ -38,8 +38,9 @@ public class SmeltEarningsHandler {
         int baseXPPerItem = 1;     // 1 XP per smelted item
         
         // Apply multipliers
-        double incomeMultiplier = UpgradeManager.getIncomeMultiplier(player.getUUID());
-        double xpMultiplier = UpgradeManager.getXPMultiplier(player.getUUID());
+        ModifierProfile modifiers = ModifierProfile.of(player.getUUID());
+        double incomeMultiplier = modifiers.income();
+        double xpMultiplier = modifiers.xp();
         
         long totalMoney = (long)(baseMoneyPerItem * itemCount * incomeMultiplier);
         int totalXP = (int)(baseXPPerItem * itemCount * xpMultiplier);
@@ -53,12 +54,6 @@ public class SmeltEarningsHandler {
         }
         
         // Notify
-        if (totalMoney > 0 || totalXP > 0) {
-            String message = "§e" + itemCount + " items smelted: §6+$" + String.format("%,d", totalMoney);
-            if (totalXP > 0) {
-                message += " §a+" + totalXP + " XP";
-            }
-            player.displayClientMessage(Component.literal(message), true);
-        }
+        Notifications.earned(player, Notifications.Source.SMELTED, itemCount, totalMoney, totalXP);
     }
 }
@@ -1,6 +1,7 @@
 package com.shopmod.events;
 
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.shop.PriceCatalog;
 import com.shopmod.wand.SellWandManager;
 import net.fabricmc.fabric.api.event.player.UseBlockCallback;
 import net.minecraft.core.BlockPos;
@@ -46,12 +47,13 @@ public class WandUseHandler {
             // Calculate total value
             long totalValue = 0;
             int itemCount = 0;
+            PriceCatalog prices = PriceCatalog.get();
             
             // Check all chest slots
             for (int i = 0; i < chest.getContainerSize(); i++) {
                 ItemStack stack = chest.getItem(i);
                 if (!stack.isEmpty()) {
-                    long value = SellWandManager.calculateSellValue(stack, multiplier);
+                    long value = SellWandManager.calculateSellValue(prices, stack, multiplier);
                     totalValue += value;
                     itemCount += stack.getCount();
                     chest.setItem(i, ItemStack.EMPTY);
@@ -65,6 +67,7 @@ public class WandUseHandler {
                 // Update wand statistics
                 wandData.addSold(totalValue);
                 wandData.addItemsSold(itemCount);
+                SellWandManager.markDirty(serverPlayer.getUUID());
                 
                 // Send success message
                 serverPlayer.sendSystemMessage(Component.literal(
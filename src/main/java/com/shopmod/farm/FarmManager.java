@@ -1,5 +1,7 @@
 package com.shopmod.farm;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
 import com.shopmod.village.ResourceType;
 import net.minecraft.network.chat.Component;
@@ -14,6 +16,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class FarmManager {
     private static final Map<UUID, PlayerFarms> playerFarms = new ConcurrentHashMap<>();
+    private static final PlayerShard<PlayerFarms> STATE = PlayerStateStore.register("farms", playerFarms, PlayerFarms.class);
     
     /**
      * Player farm data
@@ -75,9 +78,17 @@ public class FarmManager {
      * Get or create player farms
      */
     public static PlayerFarms getPlayerFarms(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return playerFarms.computeIfAbsent(playerUUID, k -> new PlayerFarms());
     }
     
+    /**
+     * Marks a player's farms as changed; call after changing what getPlayerFarms returned
+     */
+    public static void markDirty(UUID playerUUID) {
+        STATE.markDirty(playerUUID);
+    }
+    
     /**
      * Purchase a farm
      */
@@ -112,6 +123,7 @@ public class FarmManager {
         // Purchase
         CurrencyManager.removeMoney(player, cost);
         farms.getFarms().put(farmType, new FarmData());
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             String.format("§a§l[FARM] Purchased %s for %s!",
@@ -134,6 +146,7 @@ public class FarmManager {
         }
         
         data.setActive(!data.isActive());
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             String.format("§%s§l[FARM] %s %s!",
@@ -163,6 +176,7 @@ public class FarmManager {
         CurrencyManager.addMoney(player, value);
         
         farms.getHarvestedResources().put(resourceType, available - amount);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             String.format("§a§l[FARM] Collected %d %s and sold for %s!",
@@ -181,6 +195,7 @@ public class FarmManager {
             if (farms.getLastProcessedDay() >= currentDay) {
                 continue; // Already processed today
             }
+            STATE.markDirty(playerUUID);
             
             long totalSalary = 0;
             double productionMultiplier = farms.hasFertilizer() ? 1.5 : 1.0;
@@ -270,6 +285,7 @@ public class FarmManager {
         
         CurrencyManager.removeMoney(player, cost);
         farms.setFarmLevel(farms.getFarmLevel() + 1);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             String.format("§a§l[FARM] Upgraded to Farm Level %d!", farms.getFarmLevel())));
@@ -283,6 +299,7 @@ public class FarmManager {
     public static void toggleAutoSell(ServerPlayer player) {
         PlayerFarms farms = getPlayerFarms(player.getUUID());
         farms.setAutoSellEnabled(!farms.isAutoSellEnabled());
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             "§" + (farms.isAutoSellEnabled() ? "a" : "c") + "§l[FARM] Auto-Sell " + 
@@ -315,6 +332,7 @@ public class FarmManager {
         
         CurrencyManager.removeMoney(player, cost);
         farms.setHasFertilizer(true);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal("§a§l[FARM] Fertilizer applied! Next harvest +50%"));
         
@@ -335,6 +353,9 @@ public class FarmManager {
                 entry.setValue(0L);  // Reset to 0 after collection
             }
         }
+        if (totalCollected > 0) {
+            STATE.markDirty(player.getUUID());
+        }
         
         return totalCollected;
     }
@@ -4,17 +4,18 @@ import com.shopmod.bank.BankManager;
 import com.shopmod.currency.CurrencyManager;
 import eu.pb4.sgui.api.ClickType;
 import eu.pb4.sgui.api.elements.GuiElementBuilder;
-import eu.pb4.sgui.api.gui.SimpleGui;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.inventory.MenuType;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 
+import java.util.List;
+
 /**
  * Bank GUI for item storage and money investment
  */
-public class BankGui extends SimpleGui {
+public class BankGui extends DiffingGui {
     private final ServerPlayer player;
     private final BankManager.BankData bankData;
     private static final int STORAGE_START = 0;
@@ -44,29 +45,26 @@ public class BankGui extends SimpleGui {
         this.storageEnd = Math.min(bankData.getStorageSize() - 1, 26);  // Max 27 slots in first 3 rows
         
         this.setTitle(Component.literal("§6§lBank"));
-        setupGui();
+        redraw();
     }
     
-    private void setupGui() {
-        // Setup storage slots (0 to storageEnd)
+    @Override
+    protected void render() {
+        // Setup storage slots (0 to storageEnd); only slots whose stack changed are re-sent
         for (int i = STORAGE_START; i <= storageEnd; i++) {
             if (i < bankData.getStorage().size()) {
                 ItemStack storedItem = bankData.getStorage().get(i);
-                if (!storedItem.isEmpty()) {
-                    setSlot(i, storedItem, (index, type, action) -> {
-                        handleStorageClick(index, type);
-                    });
-                } else {
-                    setSlot(i, ItemStack.EMPTY, (index, type, action) -> {
+                setSlot(i, stackKey(storedItem), () -> new GuiElementBuilder(storedItem)
+                    .setCallback((index, type, action) -> {
                         handleStorageClick(index, type);
-                    });
-                }
+                    })
+                );
             }
         }
         
         // Grey out locked storage slots
         for (int i = storageEnd + 1; i <= 26; i++) {
-            setSlot(i, new GuiElementBuilder(Items.GRAY_STAINED_GLASS_PANE)
+            setSlot(i, "locked", () -> new GuiElementBuilder(Items.GRAY_STAINED_GLASS_PANE)
                 .setName(Component.literal("§c§lLocked"))
                 .addLoreLine(Component.literal("§7Upgrade storage to unlock")));
         }
@@ -77,7 +75,7 @@ public class BankGui extends SimpleGui {
             if (i >= WITHDRAW_100 && i <= WITHDRAW_ALL) continue;
             if (i == INFO_SLOT || i == BALANCE_SLOT || i == UPGRADE_SLOT) continue;  // Skip control slots
             
-            setSlot(i, new GuiElementBuilder(Items.GRAY_STAINED_GLASS_PANE)
+            setSlot(i, "pane", () -> new GuiElementBuilder(Items.GRAY_STAINED_GLASS_PANE)
                 .setName(Component.literal("")));
         }
         
@@ -91,35 +89,35 @@ public class BankGui extends SimpleGui {
     
     private void setupDepositButtons() {
         // $100 button
-        setSlot(DEPOSIT_100, new GuiElementBuilder(Items.GOLD_NUGGET)
+        setSlot(DEPOSIT_100, "deposit", () -> new GuiElementBuilder(Items.GOLD_NUGGET)
             .setName(Component.literal("§e§lDeposit $100"))
             .addLoreLine(Component.literal("§7Click to invest"))
             .setCallback((index, type, action) -> depositMoney(100))
         );
         
         // $1,000 button
-        setSlot(DEPOSIT_1K, new GuiElementBuilder(Items.GOLD_INGOT)
+        setSlot(DEPOSIT_1K, "deposit", () -> new GuiElementBuilder(Items.GOLD_INGOT)
             .setName(Component.literal("§e§lDeposit $1,000"))
             .addLoreLine(Component.literal("§7Click to invest"))
             .setCallback((index, type, action) -> depositMoney(1000))
         );
         
         // $10,000 button
-        setSlot(DEPOSIT_10K, new GuiElementBuilder(Items.GOLD_BLOCK)
+        setSlot(DEPOSIT_10K, "deposit", () -> new GuiElementBuilder(Items.GOLD_BLOCK)
             .setName(Component.literal("§e§lDeposit $10,000"))
             .addLoreLine(Component.literal("§7Click to invest"))
             .setCallback((index, type, action) -> depositMoney(10000))
         );
         
         // $100,000 button
-        setSlot(DEPOSIT_100K, new GuiElementBuilder(Items.EMERALD)
+        setSlot(DEPOSIT_100K, "deposit", () -> new GuiElementBuilder(Items.EMERALD)
             .setName(Component.literal("§e§lDeposit $100,000"))
             .addLoreLine(Component.literal("§7Click to invest"))
             .setCallback((index, type, action) -> depositMoney(100000))
         );
         
         // Deposit ALL button
-        setSlot(DEPOSIT_ALL, new GuiElementBuilder(Items.EMERALD_BLOCK)
+        setSlot(DEPOSIT_ALL, "depositAll", () -> new GuiElementBuilder(Items.EMERALD_BLOCK)
             .setName(Component.literal("§a§l§lINVEST ALL"))
             .addLoreLine(Component.literal("§7Invest entire wallet"))
             .glow()
@@ -132,35 +130,35 @@ public class BankGui extends SimpleGui {
     
     private void setupWithdrawButtons() {
         // $100 button  
-        setSlot(WITHDRAW_100, new GuiElementBuilder(Items.IRON_NUGGET)
+        setSlot(WITHDRAW_100, "withdraw", () -> new GuiElementBuilder(Items.IRON_NUGGET)
             .setName(Component.literal("§6§lWithdraw $100"))
             .addLoreLine(Component.literal("§7Click to withdraw"))
             .setCallback((index, type, action) -> withdrawMoney(100))
         );
         
         // $1,000 button
-        setSlot(WITHDRAW_1K, new GuiElementBuilder(Items.IRON_INGOT)
+        setSlot(WITHDRAW_1K, "withdraw", () -> new GuiElementBuilder(Items.IRON_INGOT)
             .setName(Component.literal("§6§lWithdraw $1,000"))
             .addLoreLine(Component.literal("§7Click to withdraw"))
             .setCallback((index, type, action) -> withdrawMoney(1000))
         );
         
         // $10,000 button
-        setSlot(WITHDRAW_10K, new GuiElementBuilder(Items.IRON_BLOCK)
+        setSlot(WITHDRAW_10K, "withdraw", () -> new GuiElementBuilder(Items.IRON_BLOCK)
             .setName(Component.literal("§6§lWithdraw $10,000"))
             .addLoreLine(Component.literal("§7Click to withdraw"))
             .setCallback((index, type, action) -> withdrawMoney(10000))
         );
         
         // $100,000 button
-        setSlot(WITHDRAW_100K, new GuiElementBuilder(Items.DIAMOND)
+        setSlot(WITHDRAW_100K, "withdraw", () -> new GuiElementBuilder(Items.DIAMOND)
             .setName(Component.literal("§6§lWithdraw $100,000"))
             .addLoreLine(Component.literal("§7Click to withdraw"))
             .setCallback((index, type, action) -> withdrawMoney(100000))
         );
         
         // Withdraw ALL button
-        setSlot(WITHDRAW_ALL, new GuiElementBuilder(Items.DIAMOND_BLOCK)
+        setSlot(WITHDRAW_ALL, "withdrawAll", () -> new GuiElementBuilder(Items.DIAMOND_BLOCK)
             .setName(Component.literal("§c§l§lWITHDRAW ALL"))
             .addLoreLine(Component.literal("§7Withdraw all investments"))
             .glow()
@@ -250,8 +248,9 @@ public class BankGui extends SimpleGui {
                 }
             }
         }
+        BankManager.markDirty(player.getUUID());
         
-        setupGui(); // Refresh
+        redraw(); // Refresh
     }
     
 
@@ -263,7 +262,7 @@ public class BankGui extends SimpleGui {
         
         String status = lastDay < currentDay ? "§e⏳ Pending" : "§a✓ Processed";
         
-        setSlot(INFO_SLOT, new GuiElementBuilder(Items.PAPER)
+        setSlot(INFO_SLOT, List.of(invested, status), () -> new GuiElementBuilder(Items.PAPER)
             .setName(Component.literal("§e§lInvestment Info"))
             .addLoreLine(Component.literal("§7"))
             .addLoreLine(Component.literal("§7Invested: §6$" + String.format("%,d", invested)))
@@ -281,7 +280,7 @@ public class BankGui extends SimpleGui {
     private void setupBalanceDisplay() {
         long balance = CurrencyManager.getBalance(player);
         
-        setSlot(BALANCE_SLOT, new GuiElementBuilder(Items.GOLD_INGOT)
+        setSlot(BALANCE_SLOT, List.of("balance", balance), () -> new GuiElementBuilder(Items.GOLD_INGOT)
             .setName(Component.literal("§6§lWallet Balance"))
             .addLoreLine(Component.literal("§7"))
             .addLoreLine(Component.literal("§6$" + String.format("%,d", balance)))
@@ -293,6 +292,19 @@ public class BankGui extends SimpleGui {
         int level = bankData.getStorageLevel();
         int slots = bankData.getStorageSize();
         
+        setSlot(UPGRADE_SLOT, List.of(level, slots), () -> buildUpgradeButton(level, slots));
+        
+        // Hub button
+        setSlot(52, "hub", () -> new GuiElementBuilder(Items.NETHER_STAR)
+            .setName(Component.literal("§6§l✦ Shop Hub"))
+            .addLoreLine(Component.literal("§7Return to main menu"))
+            .setCallback((index, type, action) -> {
+                new HubGui(player).open();
+            })
+        );
+    }
+    
+    private GuiElementBuilder buildUpgradeButton(int level, int slots) {
         GuiElementBuilder builder = new GuiElementBuilder(Items.CHEST);
         builder.setName(Component.literal("§b§lUpgrade Storage"));
         builder.addLoreLine(Component.literal("§7Current: §eLevel " + level + " §8(" + slots + " slots)"));
@@ -311,19 +323,10 @@ public class BankGui extends SimpleGui {
             builder.addLoreLine(Component.literal("§a§lMaximum level reached!"));
         }
         
-        setSlot(UPGRADE_SLOT, builder.setCallback((index, type, action) -> {
+        return builder.setCallback((index, type, action) -> {
             if (BankManager.upgradeStorage(player)) {
-                setupGui(); // Refresh
+                redraw(); // Refresh
             }
-        }));
-        
-        // Hub button
-        setSlot(52, new GuiElementBuilder(Items.NETHER_STAR)
-            .setName(Component.literal("§6§l✦ Shop Hub"))
-            .addLoreLine(Component.literal("§7Return to main menu"))
-            .setCallback((index, type, action) -> {
-                new HubGui(player).open();
-            })
-        );
+        });
     }
 }
@@ -0,0 +1,135 @@
+package com.shopmod.gui;
+
+import eu.pb4.sgui.api.elements.GuiElementBuilderInterface;
+import eu.pb4.sgui.api.elements.GuiElementInterface;
+import eu.pb4.sgui.api.gui.SimpleGui;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.inventory.MenuType;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * A SimpleGui that redraws by diffing slots instead of clearing and rebuilding all of them.
+ *
+ * render() describes the whole screen every time, but elements set with a key are only
+ * built and sent when the key differs from the one already in that slot. A key must cover
+ * everything the element shows and everything its callback captures; an element whose
+ * key is unchanged keeps the callback from the frame that built it. Unkeyed elements are
+ * always sent, and slots render() leaves empty are cleared. When a slot is set twice in
+ * one frame only the last element counts.
+ */
+public abstract class DiffingGui extends SimpleGui {
+    private final Object[] keys; // Key of the element on screen; null = unkeyed or empty
+    private final Object[] pendingKeys;
+    private final Supplier<GuiElementInterface>[] pending; // This frame's elements
+    private boolean rendering = false;
+    private boolean restart = false;
+
+    @SuppressWarnings("unchecked")
+    protected DiffingGui(MenuType<?> type, ServerPlayer player, boolean manipulatePlayerSlots) {
+        super(type, player, manipulatePlayerSlots);
+        this.keys = new Object[getSize()];
+        this.pendingKeys = new Object[getSize()];
+        this.pending = (Supplier<GuiElementInterface>[]) new Supplier<?>[getSize()];
+    }
+
+    /**
+     * Describes the full screen through setSlot; called by redraw()
+     */
+    protected abstract void render();
+
+    /**
+     * Renders the screen and sends only the slots that changed since the last frame
+     */
+    protected void redraw() {
+        if (rendering) {
+            // render() changed state it depends on; start the frame over once it returns
+            restart = true;
+            return;
+        }
+        rendering = true;
+        try {
+            do {
+                restart = false;
+                Arrays.fill(pending, null);
+                Arrays.fill(pendingKeys, null);
+                render();
+            } while (restart);
+        } finally {
+            rendering = false;
+        }
+
+        for (int i = 0; i < pending.length; i++) {
+            Supplier<GuiElementInterface> element = pending[i];
+            Object key = pendingKeys[i];
+            pending[i] = null;
+            pendingKeys[i] = null;
+
+            if (element == null) {
+                if (getSlot(i) != null) {
+                    clearSlot(i);
+                }
+            } else if (key == null || !key.equals(keys[i])) {
+                super.setSlot(i, element.get());
+                keys[i] = key;
+            }
+        }
+    }
+
+    /**
+     * Sets a slot whose element only needs rebuilding when key changes
+     */
+    protected void setSlot(int index, Object key, Supplier<? extends GuiElementBuilderInterface<?>> element) {
+        if (rendering) {
+            pending[index] = () -> element.get().build();
+            pendingKeys[index] = key;
+        } else if (!key.equals(keys[index])) {
+            super.setSlot(index, element.get().build());
+            keys[index] = key;
+        }
+    }
+
+    @Override
+    public void setSlot(int index, GuiElementInterface element) {
+        if (rendering) {
+            pending[index] = () -> element;
+            pendingKeys[index] = null;
+        } else {
+            keys[index] = null;
+            super.setSlot(index, element);
+        }
+    }
+
+    @Override
+    public void clearSlot(int index) {
+        if (rendering) {
+            pending[index] = null;
+            pendingKeys[index] = null;
+        } else {
+            keys[index] = null;
+            super.clearSlot(index);
+        }
+    }
+
+    /**
+     * A key that equals another for stacks with the same item, count and components.
+     * The stack is copied, so later changes to it show up as a different key.
+     */
+    protected static Object stackKey(ItemStack stack) {
+        return new StackKey(stack.copy());
+    }
+
+    private record StackKey(ItemStack stack) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StackKey other && ItemStack.matches(stack, other.stack);
+        }
+
+        @Override
+        public int hashCode() {
+            return ItemStack.hashItemAndComponents(stack) * 31 + stack.getCount();
+        }
+    }
+}
@@ -339,6 +339,7 @@ public class FarmGui extends SimpleGui {
         }
         
         if (totalValue > 0) {
+            FarmManager.markDirty(player.getUUID());
             CurrencyManager.addMoney(player, totalValue);
             player.sendSystemMessage(Component.literal(
                 "§a§l[FARM] Harvested " + totalItems + " items and sold for §6" + 
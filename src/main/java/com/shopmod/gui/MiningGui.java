@@ -20,6 +20,7 @@ public class MiningGui extends SimpleGui {
     public MiningGui(ServerPlayer player) {
         super(MenuType.GENERIC_9x4, player, false);
         this.player = player;
+        MiningManager.settleIncome(player);
         this.data = MiningManager.getMiningData(player.getUUID());
         this.setTitle(Component.literal("§8§l⛏ Mining Operations"));
         setupDisplay();
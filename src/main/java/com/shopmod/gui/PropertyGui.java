@@ -19,6 +19,7 @@ public class PropertyGui extends SimpleGui {
     public PropertyGui(ServerPlayer player) {
         super(MenuType.GENERIC_9x6, player, false);
         this.player = player;
+        PropertyManager.settleIncome(player);
         this.setTitle(Component.literal("§6§lProperty Investment"));
         updateDisplay();
     }
@@ -2,15 +2,16 @@ package com.shopmod.gui;
 
 import com.shopmod.ShopMod;
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.economy.ModifierProfile;
 import com.shopmod.economy.PriceFluctuation;
 import com.shopmod.crates.LuckyCrateManager;
 import com.shopmod.bank.BankManager;
 import com.shopmod.shop.*;
 import com.shopmod.upgrades.UpgradeManager;
 import com.shopmod.upgrades.UpgradeType;
+import com.shopmod.util.InventoryCounts;
 import eu.pb4.sgui.api.ClickType;
 import eu.pb4.sgui.api.elements.GuiElementBuilder;
-import eu.pb4.sgui.api.gui.SimpleGui;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.EntityType;
@@ -25,15 +26,17 @@ import java.util.*;
  * Comprehensive categorized shop GUI
  * Categories: Food, Ores, Building Blocks, Tools, Combat, Farming, Redstone, Decorative, Spawners, Enchants
  */
-public class ShopGui extends SimpleGui {
+public class ShopGui extends DiffingGui {
     private final ServerPlayer player;
     private Category currentCategory = Category.FOOD;
     private int page = 0;
     private BuyQuantity buyQuantity = BuyQuantity.ONE;
     private SellQuantity sellQuantity = SellQuantity.ALL;
+    private ShopIndex.Sort sort = ShopIndex.Sort.CATALOG;
     private boolean viewingCategories = true; // Track if showing category selection - start with categories
     private static final int SELL_BOX_SLOT = 46; // Bottom-left corner (next to prev page button)
     private static final int BACK_BUTTON_SLOT = 0; // Top-left corner when viewing items
+    private static final int SORT_SLOT = 50;
     
     private enum BuyQuantity {
         ONE(1, "1x"),
@@ -114,33 +117,29 @@ public class ShopGui extends SimpleGui {
         this.setAutoUpdate(true);
         this.setLockPlayerInventory(false);
         
-        updateDisplay();
+        redraw();
     }
     
-    private void updateDisplay() {
-        // Clear all slots
-        for (int i = 0; i < 54; i++) {
-            this.clearSlot(i);
-        }
-        
+    @Override
+    protected void render() {
         if (viewingCategories) {
             // Show category selector (top 2 rows)
             setupCategoryButtons();
             // Show welcome message
-            setSlot(22, new GuiElementBuilder(Items.NETHER_STAR)
+            setSlot(22, "welcome", () -> new GuiElementBuilder(Items.NETHER_STAR)
                 .setName(Component.literal("§6§l✦ SHOP MENU ✦"))
                 .addLoreLine(Component.literal("§7Select a category to browse"))
             );
         } else {
             // Show back button when viewing items
-            setSlot(BACK_BUTTON_SLOT, new GuiElementBuilder(Items.BARRIER)
+            setSlot(BACK_BUTTON_SLOT, "back", () -> new GuiElementBuilder(Items.BARRIER)
                 .setName(Component.literal("§c§l← BACK"))
                 .addLoreLine(Component.literal("§7Return to categories"))
                 .setCallback((index, type, action) -> {
                     viewingCategories = true;
                     page = 0;
                     this.setTitle(Component.literal("Shop - Categories"));
-                    updateDisplay();
+                    redraw();
                 })
             );
             
@@ -149,13 +148,14 @@ public class ShopGui extends SimpleGui {
         }
         
         // Balance display (bottom right corner) - always show
-        setSlot(53, new GuiElementBuilder(Items.GOLD_INGOT)
-            .setName(Component.literal("§6§lBalance: " + CurrencyManager.format(CurrencyManager.getBalance(player))))
+        long balance = CurrencyManager.getBalance(player);
+        setSlot(53, List.of("balance", balance), () -> new GuiElementBuilder(Items.GOLD_INGOT)
+            .setName(Component.literal("§6§lBalance: " + CurrencyManager.format(balance)))
             .addLoreLine(Component.literal("§7Your current money"))
         );
         
         // Hub button (bottom row, second to right) - always show
-        setSlot(48, new GuiElementBuilder(Items.NETHER_STAR)
+        setSlot(48, "hub", () -> new GuiElementBuilder(Items.NETHER_STAR)
             .setName(Component.literal("§6§l✦ Shop Hub"))
             .addLoreLine(Component.literal("§7Return to main menu"))
             .setCallback((index, type, action) -> {
@@ -197,7 +197,7 @@ public class ShopGui extends SimpleGui {
     }
     
     private void setupSellBox() {
-        setSlot(SELL_BOX_SLOT, new GuiElementBuilder(Items.GOLD_NUGGET)
+        setSlot(SELL_BOX_SLOT, sellQuantity, () -> new GuiElementBuilder(Items.GOLD_NUGGET)
             .setName(Component.literal("§6§lSell Quantity: §f" + sellQuantity.display))
             .addLoreLine(Component.literal("§7Click to cycle"))
             .addLoreLine(Component.literal(""))
@@ -211,13 +211,13 @@ public class ShopGui extends SimpleGui {
             .addLoreLine(Component.literal("§eRight-Click inventory items to sell!"))
             .setCallback((index, type, action) -> {
                 sellQuantity = sellQuantity.next();
-                updateDisplay();
+                redraw();
             })
         );
     }
     
     private void setupBuyQuantitySelector() {
-        setSlot(49, new GuiElementBuilder(Items.HOPPER)
+        setSlot(49, buyQuantity, () -> new GuiElementBuilder(Items.HOPPER)
             .setName(Component.literal("§b§lBuy Quantity: §f" + buyQuantity.display))
             .addLoreLine(Component.literal("§7Click to cycle"))
             .addLoreLine(Component.literal(""))
@@ -229,7 +229,7 @@ public class ShopGui extends SimpleGui {
             .addLoreLine(Component.literal("§f• Max §7- Buy as many as you can afford"))
             .setCallback((index, type, action) -> {
                 buyQuantity = buyQuantity.next();
-                updateDisplay();
+                redraw();
             })
         );
     }
@@ -240,25 +240,22 @@ public class ShopGui extends SimpleGui {
         for (int i = 0; i < Math.min(categories.length, 18); i++) {
             Category cat = categories[i];
             
-            GuiElementBuilder builder = new GuiElementBuilder(cat.icon)
+            setSlot(i, cat, () -> new GuiElementBuilder(cat.icon)
                 .setName(Component.literal("§7" + cat.displayName))
-                .addLoreLine(Component.literal("§7Click to view"));
-            
-            final Category targetCategory = cat;
-            builder.setCallback((index, type, action) -> {
-                currentCategory = targetCategory;
-                viewingCategories = false;
-                page = 0;
-                this.setTitle(Component.literal("Shop - " + currentCategory.displayName));
-                updateDisplay();
-            });
-            
-            setSlot(i, builder);
+                .addLoreLine(Component.literal("§7Click to view"))
+                .setCallback((index, type, action) -> {
+                    currentCategory = cat;
+                    viewingCategories = false;
+                    page = 0;
+                    this.setTitle(Component.literal("Shop - " + currentCategory.displayName));
+                    redraw();
+                })
+            );
         }
         
         // Add bottom navigation buttons (only on categories page)
         // Slot 45: Bank
-        setSlot(45, new GuiElementBuilder(Items.GOLD_BLOCK)
+        setSlot(45, "bank", () -> new GuiElementBuilder(Items.GOLD_BLOCK)
             .setName(Component.literal("§6§lBank"))
             .addLoreLine(Component.literal("§7Click to open bank"))
             .addLoreLine(Component.literal("§7Store items and invest money!"))
@@ -269,7 +266,7 @@ public class ShopGui extends SimpleGui {
         );
         
         // Slot 46: Anvil
-        setSlot(46, new GuiElementBuilder(Items.ANVIL)
+        setSlot(46, "anvil", () -> new GuiElementBuilder(Items.ANVIL)
             .setName(Component.literal("§f§lAnvil"))
             .addLoreLine(Component.literal("§7Click to open anvil"))
             .addLoreLine(Component.literal("§7Repair and rename items!"))
@@ -281,7 +278,7 @@ public class ShopGui extends SimpleGui {
         );
         
         // Slot 49: Market Info
-        setSlot(49, new GuiElementBuilder(Items.PAPER)
+        setSlot(49, "marketInfo", () -> new GuiElementBuilder(Items.PAPER)
             .setName(Component.literal("§b§lMarket Info"))
             .addLoreLine(Component.literal("§7Stock Market: §a Active"))
             .addLoreLine(Component.literal("§7Prices update every hour"))
@@ -291,129 +288,42 @@ public class ShopGui extends SimpleGui {
         );
         
         // Slot 52: Refresh Shop
-        setSlot(52, new GuiElementBuilder(Items.COMPASS)
+        setSlot(52, "refresh", () -> new GuiElementBuilder(Items.COMPASS)
             .setName(Component.literal("§e§lRefresh Shop"))
             .addLoreLine(Component.literal("§7Click to refresh display"))
             .setCallback((index, type, action) -> {
-                updateDisplay();
+                redraw();
                 player.sendSystemMessage(Component.literal("§aShop refreshed!"));
             })
         );
     }
     
     private void setupFoodCategory() {
-        List<Item> items = new ArrayList<>();
-        // Collect all food items from ItemPricing
-        for (Map.Entry<Item, ItemPricing.PriceData> entry : ItemPricing.getAllPrices().entrySet()) {
-            Item item = entry.getKey();
-            if (isFoodItem(item)) {
-                items.add(item);
-            }
-        }
-        displayItemGrid(items, 1);
+        displayItemGrid(ShopIndex.get().getCategory("food"), 1);
     }
     
     private void setupOresCategory() {
-        List<Item> items = Arrays.asList(
-            Items.COAL, Items.COAL_ORE, Items.DEEPSLATE_COAL_ORE,
-            Items.IRON_INGOT, Items.IRON_ORE, Items.DEEPSLATE_IRON_ORE, Items.RAW_IRON,
-            Items.COPPER_INGOT, Items.COPPER_ORE, Items.DEEPSLATE_COPPER_ORE, Items.RAW_COPPER,
-            Items.GOLD_INGOT, Items.GOLD_ORE, Items.DEEPSLATE_GOLD_ORE, Items.RAW_GOLD, Items.NETHER_GOLD_ORE,
-            Items.REDSTONE, Items.REDSTONE_ORE, Items.DEEPSLATE_REDSTONE_ORE,
-            Items.LAPIS_LAZULI, Items.LAPIS_ORE, Items.DEEPSLATE_LAPIS_ORE,
-            Items.DIAMOND, Items.DIAMOND_ORE, Items.DEEPSLATE_DIAMOND_ORE,
-            Items.EMERALD, Items.EMERALD_ORE, Items.DEEPSLATE_EMERALD_ORE,
-            Items.QUARTZ, Items.NETHER_QUARTZ_ORE,
-            Items.NETHERITE_INGOT, Items.NETHERITE_SCRAP, Items.ANCIENT_DEBRIS,
-            Items.AMETHYST_SHARD
-        );
-        displayItemGrid(filterAvailable(items), 1);
+        displayItemGrid(ShopIndex.get().getCategory("ores"), 1);
     }
     
     private void setupBlocksCategory() {
-        List<Item> items = Arrays.asList(
-            Items.STONE, Items.COBBLESTONE, Items.STONE_BRICKS, Items.SMOOTH_STONE,
-            Items.DIRT, Items.GRASS_BLOCK, Items.COARSE_DIRT, Items.PODZOL,
-            Items.SAND, Items.RED_SAND, Items.SANDSTONE, Items.RED_SANDSTONE,
-            Items.GRAVEL, Items.CLAY, Items.TERRACOTTA,
-            Items.OAK_PLANKS, Items.SPRUCE_PLANKS, Items.BIRCH_PLANKS, Items.JUNGLE_PLANKS,
-            Items.ACACIA_PLANKS, Items.DARK_OAK_PLANKS, Items.MANGROVE_PLANKS, Items.CHERRY_PLANKS,
-            Items.OAK_LOG, Items.SPRUCE_LOG, Items.BIRCH_LOG, Items.JUNGLE_LOG,
-            Items.GLASS, Items.WHITE_STAINED_GLASS, Items.BLACK_STAINED_GLASS,
-            Items.BRICKS, Items.NETHER_BRICKS, Items.END_STONE_BRICKS,
-            Items.QUARTZ_BLOCK, Items.PURPUR_BLOCK, Items.PRISMARINE,
-            Items.OBSIDIAN, Items.CRYING_OBSIDIAN, Items.NETHERRACK, Items.BASALT,
-            Items.GLOWSTONE, Items.SEA_LANTERN, Items.REDSTONE_LAMP
-        );
-        displayItemGrid(filterAvailable(items), 1);
+        displayItemGrid(ShopIndex.get().getCategory("blocks"), 1);
     }
     
     private void setupToolsCategory() {
-        List<Item> items = Arrays.asList(
-            Items.WOODEN_PICKAXE, Items.WOODEN_AXE, Items.WOODEN_SHOVEL, Items.WOODEN_HOE, Items.WOODEN_SWORD,
-            Items.STONE_PICKAXE, Items.STONE_AXE, Items.STONE_SHOVEL, Items.STONE_HOE, Items.STONE_SWORD,
-            Items.IRON_PICKAXE, Items.IRON_AXE, Items.IRON_SHOVEL, Items.IRON_HOE, Items.IRON_SWORD,
-            Items.GOLDEN_PICKAXE, Items.GOLDEN_AXE, Items.GOLDEN_SHOVEL, Items.GOLDEN_HOE, Items.GOLDEN_SWORD,
-            Items.DIAMOND_PICKAXE, Items.DIAMOND_AXE, Items.DIAMOND_SHOVEL, Items.DIAMOND_HOE, Items.DIAMOND_SWORD,
-            Items.NETHERITE_PICKAXE, Items.NETHERITE_AXE, Items.NETHERITE_SHOVEL, Items.NETHERITE_HOE, Items.NETHERITE_SWORD,
-            Items.BOW, Items.CROSSBOW, Items.TRIDENT, Items.SHIELD,
-            Items.LEATHER_HELMET, Items.LEATHER_CHESTPLATE, Items.LEATHER_LEGGINGS, Items.LEATHER_BOOTS,
-            Items.IRON_HELMET, Items.IRON_CHESTPLATE, Items.IRON_LEGGINGS, Items.IRON_BOOTS,
-            Items.DIAMOND_HELMET, Items.DIAMOND_CHESTPLATE, Items.DIAMOND_LEGGINGS, Items.DIAMOND_BOOTS,
-            Items.NETHERITE_HELMET, Items.NETHERITE_CHESTPLATE, Items.NETHERITE_LEGGINGS, Items.NETHERITE_BOOTS,
-            Items.ELYTRA, Items.SHEARS, Items.FISHING_ROD, Items.FLINT_AND_STEEL
-        );
-        displayItemGrid(filterAvailable(items), 1);
+        displayItemGrid(ShopIndex.get().getCategory("tools"), 1);
     }
     
     private void setupFarmingCategory() {
-        List<Item> items = Arrays.asList(
-            Items.WHEAT_SEEDS, Items.WHEAT, Items.HAY_BLOCK,
-            Items.CARROT, Items.POTATO, Items.BEETROOT_SEEDS, Items.BEETROOT,
-            Items.MELON_SEEDS, Items.MELON_SLICE, Items.MELON,
-            Items.PUMPKIN_SEEDS, Items.PUMPKIN, Items.CARVED_PUMPKIN,
-            Items.SUGAR_CANE, Items.SUGAR, Items.PAPER,
-            Items.COCOA_BEANS, Items.BROWN_MUSHROOM, Items.RED_MUSHROOM,
-            Items.BONE_MEAL, Items.COMPOSTER, Items.FARMLAND,
-            Items.OAK_SAPLING, Items.SPRUCE_SAPLING, Items.BIRCH_SAPLING,
-            Items.JUNGLE_SAPLING, Items.ACACIA_SAPLING, Items.DARK_OAK_SAPLING,
-            Items.MANGROVE_PROPAGULE, Items.CHERRY_SAPLING, Items.AZALEA,
-            Items.EGG, Items.MILK_BUCKET, Items.HONEY_BOTTLE, Items.HONEYCOMB
-        );
-        displayItemGrid(filterAvailable(items), 1);
+        displayItemGrid(ShopIndex.get().getCategory("farming"), 1);
     }
     
     private void setupRedstoneCategory() {
-        List<Item> items = Arrays.asList(
-            Items.REDSTONE, Items.REDSTONE_TORCH, Items.REDSTONE_BLOCK,
-            Items.REPEATER, Items.COMPARATOR, Items.OBSERVER,
-            Items.PISTON, Items.STICKY_PISTON, Items.DISPENSER, Items.DROPPER,
-            Items.HOPPER, Items.CHEST, Items.BARREL, Items.FURNACE,
-            Items.LEVER, Items.STONE_BUTTON, Items.OAK_BUTTON, Items.OAK_PRESSURE_PLATE,
-            Items.TRIPWIRE_HOOK, Items.TNT, Items.NOTE_BLOCK,
-            Items.DAYLIGHT_DETECTOR, Items.LIGHTNING_ROD, Items.TARGET,
-            Items.RAIL, Items.POWERED_RAIL, Items.DETECTOR_RAIL, Items.ACTIVATOR_RAIL,
-            Items.MINECART, Items.CHEST_MINECART, Items.HOPPER_MINECART, Items.TNT_MINECART
-        );
-        displayItemGrid(filterAvailable(items), 1);
+        displayItemGrid(ShopIndex.get().getCategory("redstone"), 1);
     }
     
     private void setupDecorativeCategory() {
-        List<Item> items = Arrays.asList(
-            Items.FLOWER_POT, Items.PAINTING, Items.ITEM_FRAME, Items.ARMOR_STAND,
-            Items.TORCH, Items.SOUL_TORCH, Items.LANTERN, Items.SOUL_LANTERN,
-            Items.CANDLE, Items.CAMPFIRE, Items.SOUL_CAMPFIRE,
-            Items.WHITE_CARPET, Items.WHITE_BANNER, Items.WHITE_BED,
-            Items.BOOKSHELF, Items.LECTERN, Items.ENCHANTING_TABLE,
-            Items.CRAFTING_TABLE, Items.SMITHING_TABLE, Items.BREWING_STAND,
-            Items.ANVIL, Items.GRINDSTONE, Items.LOOM, Items.STONECUTTER,
-            Items.LADDER, Items.SCAFFOLDING,
-            Items.BELL, Items.BEACON, Items.CONDUIT,
-            Items.POPPY, Items.DANDELION, Items.BLUE_ORCHID, Items.ALLIUM,
-            Items.SUNFLOWER, Items.ROSE_BUSH, Items.PEONY, Items.LILY_PAD,
-            Items.VINE, Items.GLOW_LICHEN, Items.MOSS_BLOCK, Items.MOSS_CARPET
-        );
-        displayItemGrid(filterAvailable(items), 1);
+        displayItemGrid(ShopIndex.get().getCategory("decorative"), 1);
     }
     
     private void setupSpawnersCategory() {
@@ -441,7 +351,7 @@ public class ShopGui extends SimpleGui {
                 .setName(Component.literal("§e← Previous Page"))
                 .setCallback((index, type, action) -> {
                     page--;
-                    updateDisplay();
+                    redraw();
                 })
             );
         }
@@ -451,7 +361,7 @@ public class ShopGui extends SimpleGui {
                 .setName(Component.literal("§eNext Page →"))
                 .setCallback((index, type, action) -> {
                     page++;
-                    updateDisplay();
+                    redraw();
                 })
             );
         }
@@ -537,7 +447,7 @@ public class ShopGui extends SimpleGui {
             ItemStack spawnerItem = SpawnerPricing.createBaseSpawner();
             player.addItem(spawnerItem);
             CurrencyManager.sendMoneySpentMessage(player, price, "Purchased " + SpawnerPricing.BASE_SPAWNER_NAME);
-            updateDisplay();
+            redraw();
         }
     }
     
@@ -557,7 +467,7 @@ public class ShopGui extends SimpleGui {
             ItemStack eggItem = SpawnerPricing.createSpawnEggItem(egg.entityType);
             player.addItem(eggItem);
             CurrencyManager.sendMoneySpentMessage(player, egg.price, "Purchased " + egg.displayName);
-            updateDisplay();
+            redraw();
         }
     }
     
@@ -584,23 +494,23 @@ public class ShopGui extends SimpleGui {
         
         // Page navigation
         if (page > 0) {
-            setSlot(45, new GuiElementBuilder(Items.ARROW)
+            setSlot(45, List.of("previous", page, totalPages), () -> new GuiElementBuilder(Items.ARROW)
                 .setName(Component.literal("§e← Previous Page"))
                 .addLoreLine(Component.literal("§7Page " + (page + 1) + "/" + totalPages))
                 .setCallback((index, type, action) -> {
                     page--;
-                    updateDisplay();
+                    redraw();
                 })
             );
         }
         
         if (page < totalPages - 1) {
-            setSlot(52, new GuiElementBuilder(Items.ARROW)
+            setSlot(52, List.of("next", page, totalPages), () -> new GuiElementBuilder(Items.ARROW)
                 .setName(Component.literal("§eNext Page →"))
                 .addLoreLine(Component.literal("§7Page " + (page + 2) + "/" + totalPages))
                 .setCallback((index, type, action) -> {
                     page++;
-                    updateDisplay();
+                    redraw();
                 })
             );
         }
@@ -648,7 +558,7 @@ public class ShopGui extends SimpleGui {
             ItemStack book = EnchantmentShop.createEnchantedBook(enchant.name, player.level().registryAccess());
             player.addItem(book);
             CurrencyManager.sendMoneySpentMessage(player, enchant.price, "Purchased " + enchant.name + " " + enchant.level);
-            updateDisplay();
+            redraw();
         }
     }
     
@@ -742,7 +652,7 @@ public class ShopGui extends SimpleGui {
             // TODO: Add sound effect
         }
         
-        updateDisplay();
+        redraw();
     }
     
     private void setupTiersTab() {
@@ -812,7 +722,7 @@ public class ShopGui extends SimpleGui {
                                 if (CurrencyManager.removeMoney(player, tier.getUnlockCost())) {
                                     ShopMod.dataManager.unlockTier(player.getUUID(), tier.getId());
                                     player.sendSystemMessage(Component.literal("§a✓ Unlocked " + tier.getColor() + tier.getName() + " §atier!"));
-                                    updateDisplay();
+                                    redraw();
                                 }
                             } else {
                                 CurrencyManager.sendInsufficientFundsMessage(player, tier.getUnlockCost());
@@ -828,72 +738,112 @@ public class ShopGui extends SimpleGui {
         }
     }
     
-    private void displayItemGrid(List<Item> items, int startSlot) {
+    private void displayItemGrid(ShopIndex.Ordering items, int startSlot) {
         // Pagination - now we have slots 1-44 available (44 slots per page)
-        // Skip slots: 0 (back), 45-48 (navigation/sell), 49 (buy qty), 50-52 (empty/nav), 53 (balance)
+        // Skip slots: 0 (back), 45-48 (navigation/sell), 49 (buy qty), 50 (sort), 51-52 (empty/nav), 53 (balance)
         int itemsPerPage = 44;
         int totalPages = Math.max(1, (items.size() + itemsPerPage - 1) / itemsPerPage);
-        int startIndex = page * itemsPerPage;
-        int endIndex = Math.min(startIndex + itemsPerPage, items.size());
         
         // Display items from slot 1-44 (avoiding slot 0 for back button and 45+ for bottom row)
+        InventoryCounts counts = InventoryCounts.of(player);
         int slot = startSlot;
-        for (int i = startIndex; i < endIndex; i++) {
+        for (Item item : items.page(sort, page, itemsPerPage)) {
             // Skip slot 0 (back button) and slots 45+ (bottom row)
             if (slot == 0) slot = 1;
             if (slot >= 45) break;
             
-            Item item = items.get(i);
-            addBuyItem(slot++, item);
+            addBuyItem(slot++, item, counts);
         }
         
         // Page navigation
         if (page > 0) {
-            setSlot(45, new GuiElementBuilder(Items.ARROW)
+            setSlot(45, List.of("previous", page, totalPages), () -> new GuiElementBuilder(Items.ARROW)
                 .setName(Component.literal("§e← Previous Page"))
                 .addLoreLine(Component.literal("§7Page " + (page + 1) + "/" + totalPages))
                 .setCallback((index, type, action) -> {
                     page--;
-                    updateDisplay();
+                    redraw();
                 })
             );
         }
         
         if (page < totalPages - 1) {
-            setSlot(52, new GuiElementBuilder(Items.ARROW)
+            setSlot(52, List.of("next", page, totalPages), () -> new GuiElementBuilder(Items.ARROW)
                 .setName(Component.literal("§eNext Page →"))
                 .addLoreLine(Component.literal("§7Page " + (page + 2) + "/" + totalPages))
                 .setCallback((index, type, action) -> {
                     page++;
-                    updateDisplay();
+                    redraw();
                 })
             );
         }
         
-        // Sell mode toggle (bottom left)
-        setSlot(46, new GuiElementBuilder(Items.GOLD_NUGGET)
-            .setName(Component.literal("§6Right-click to Sell!"))
-            .addLoreLine(Component.literal("§7Hold Shift + Right-click items"))
-            .addLoreLine(Component.literal("§7to quick-sell them!"))
+        // Sort order (cycles through the precomputed orderings)
+        setSlot(SORT_SLOT, sort, () -> new GuiElementBuilder(Items.COMPARATOR)
+            .setName(Component.literal("§d§lSort: §f" + sort.getDisplayName()))
+            .addLoreLine(Component.literal("§7Click to cycle"))
+            .addLoreLine(Component.literal(""))
+            .addLoreLine(Component.literal("§7Next: §f" + sort.next().getDisplayName()))
+            .setCallback((index, type, action) -> {
+                sort = sort.next();
+                page = 0;
+                redraw();
+            })
         );
     }
     
-    private void addBuyItem(int slot, Item item) {
-        long baseBuyPrice = ItemPricing.getBuyPrice(item);
-        long baseSellPrice = ItemPricing.getSellPrice(item);
+    private void addBuyItem(int slot, Item item, InventoryCounts counts) {
+        PriceCatalog prices = PriceCatalog.get();
+        long baseBuyPrice = prices.getBuyPrice(item);
+        long baseSellPrice = prices.getSellPrice(item);
         
         // Apply stock market price fluctuations
         long buyPrice = PriceFluctuation.getAdjustedPrice(item, baseBuyPrice);
         long adjustedSellPrice = PriceFluctuation.getAdjustedPrice(item, baseSellPrice);
         
         // Apply sell price upgrade multiplier
-        double sellMultiplier = UpgradeManager.getSellPriceMultiplier(player.getUUID());
+        double sellMultiplier = ModifierProfile.of(player.getUUID()).sellPrice();
         long sellPrice = (long) (adjustedSellPrice * sellMultiplier);
         
-        ShopTier tier = ItemPricing.getTier(item);
+        ShopTier tier = prices.getTier(item);
         boolean tierUnlocked = ShopMod.dataManager.hasTierUnlocked(player.getUUID(), tier.getId());
-        boolean canAfford = CurrencyManager.canAfford(player, buyPrice);
-        int playerHas = countItemInInventory(player, item);
+        int playerHas = counts.count(item);
+        
+        // Calculate actual buy amount and cost
+        int buyAmount = buyQuantity.amount;
+        if (buyAmount == Integer.MAX_VALUE) {
+            // Max mode: calculate how many they can afford
+            long balance = CurrencyManager.getBalance(player);
+            buyAmount = (int) Math.min(balance / buyPrice, 2304); // Cap at 36 stacks
+        }
+        
+        // Apply bulk discounts: 10% for 64+, 5% for 16+
+        double discountRate = buyAmount >= 64 ? 0.10 : buyAmount >= 16 ? 0.05 : 0.0;
+        
+        long totalCost = (long)(buyPrice * buyAmount * (1.0 - discountRate));
+        boolean canAffordBulk = CurrencyManager.canAfford(player, totalCost);
+        
+        // The balance only shows through buyAmount and canAffordBulk, so other balance changes keep the element
+        BuyKey key = new BuyKey(item, prices.getVersion(), PriceFluctuation.getEpoch(), buyPrice, sellPrice,
+            tierUnlocked, playerHas, buyQuantity, buyAmount, canAffordBulk, sellQuantity);
+        setSlot(slot, key, () -> buildBuyItem(key, tier, discountRate, totalCost));
+    }
+    
+    /**
+     * Everything a buy item shows or its callback captures
+     */
+    private record BuyKey(Item item, int catalogVersion, long priceEpoch, long buyPrice, long sellPrice,
+                          boolean tierUnlocked, int playerHas, BuyQuantity buyQuantity, int buyAmount,
+                          boolean canAffordBulk, SellQuantity sellQuantity) {
+    }
+    
+    private GuiElementBuilder buildBuyItem(BuyKey key, ShopTier tier, double discountRate, long totalCost) {
+        Item item = key.item();
+        long buyPrice = key.buyPrice();
+        long sellPrice = key.sellPrice();
+        boolean tierUnlocked = key.tierUnlocked();
+        int playerHas = key.playerHas();
+        int buyAmount = key.buyAmount();
         
         // Get price change display
         String priceChange = PriceFluctuation.getPriceChangeDisplay(item);
@@ -918,28 +868,9 @@ public class ShopGui extends SimpleGui {
             // Set glow effect to make it more obvious
             builder.glow();
         } else {
-            // Calculate actual buy amount and cost
-            int buyAmount = buyQuantity.amount;
-            if (buyAmount == Integer.MAX_VALUE) {
-                // Max mode: calculate how many they can afford
-                long balance = CurrencyManager.getBalance(player);
-                buyAmount = (int) Math.min(balance / buyPrice, 2304); // Cap at 36 stacks
-            }
-            
-            // Apply bulk discounts
-            double discountRate = 0.0;
-            if (buyAmount >= 64) {
-                discountRate = 0.10; // 10% discount for 64+
-            } else if (buyAmount >= 16) {
-                discountRate = 0.05; // 5% discount for 16+
-            }
-            
-            long totalCost = (long)(buyPrice * buyAmount * (1.0 - discountRate));
-            boolean canAffordBulk = CurrencyManager.canAfford(player, totalCost);
-            
             builder.addLoreLine(Component.literal(""))
-                .addLoreLine(Component.literal(canAffordBulk ? "§a§lLEFT CLICK TO BUY" : "§c§lCAN'T AFFORD!"))
-                .addLoreLine(Component.literal("§7Buy Mode: §b" + buyQuantity.display))
+                .addLoreLine(Component.literal(key.canAffordBulk() ? "§a§lLEFT CLICK TO BUY" : "§c§lCAN'T AFFORD!"))
+                .addLoreLine(Component.literal("§7Buy Mode: §b" + key.buyQuantity().display))
                 .addLoreLine(Component.literal("§7Amount: §f" + buyAmount + " §7items"));
             
             if (discountRate > 0) {
@@ -955,7 +886,7 @@ public class ShopGui extends SimpleGui {
             
             if (playerHas > 0) {
                 // Calculate sell amount and earnings
-                int sellAmount = sellQuantity.amount;
+                int sellAmount = key.sellQuantity().amount;
                 if (sellAmount == Integer.MAX_VALUE) {
                     sellAmount = playerHas; // All
                 } else {
@@ -964,7 +895,7 @@ public class ShopGui extends SimpleGui {
                 long totalEarnings = sellPrice * sellAmount;
                 
                 builder.addLoreLine(Component.literal("§6§lRIGHT CLICK TO SELL"))
-                    .addLoreLine(Component.literal("§7Sell Mode: §6" + sellQuantity.display))
+                    .addLoreLine(Component.literal("§7Sell Mode: §6" + key.sellQuantity().display))
                     .addLoreLine(Component.literal("§7Amount: §f" + sellAmount + " §7items"))
                     .addLoreLine(Component.literal("§7Total Earnings: §6" + CurrencyManager.format(totalEarnings)))
                     .addLoreLine(Component.literal(""))
@@ -977,7 +908,7 @@ public class ShopGui extends SimpleGui {
             // Sell ALL on shift+right-click
             if (type == ClickType.MOUSE_RIGHT_SHIFT && playerHas > 0) {
                 sellAnyItem(item, playerHas);
-                updateDisplay();
+                redraw();
             } else if (type == ClickType.MOUSE_RIGHT && playerHas > 0) {
                 // Regular right-click: sell based on current mode
                 int sellAmount = sellQuantity.amount;
@@ -987,32 +918,32 @@ public class ShopGui extends SimpleGui {
                     sellAmount = Math.min(sellAmount, playerHas);
                 }
                 sellAnyItem(item, sellAmount);
-                updateDisplay();
+                redraw();
             } else if (tierUnlocked && type == ClickType.MOUSE_LEFT) {
-                // Buying with current quantity mode
-                int buyAmount = buyQuantity.amount;
-                if (buyAmount == Integer.MAX_VALUE) {
+                // Buying with current quantity mode, against the balance at click time
+                int amount = buyQuantity.amount;
+                if (amount == Integer.MAX_VALUE) {
                     // Max mode: calculate how many they can afford
                     long balance = CurrencyManager.getBalance(player);
-                    buyAmount = (int) Math.min(balance / buyPrice, 2304); // Cap at 36 stacks
+                    amount = (int) Math.min(balance / buyPrice, 2304); // Cap at 36 stacks
                 }
                 
                 // Apply bulk discounts
-                double discountRate = 0.0;
-                if (buyAmount >= 64) {
-                    discountRate = 0.10; // 10% discount for 64+
-                } else if (buyAmount >= 16) {
-                    discountRate = 0.05; // 5% discount for 16+
+                double rate = 0.0;
+                if (amount >= 64) {
+                    rate = 0.10; // 10% discount for 64+
+                } else if (amount >= 16) {
+                    rate = 0.05; // 5% discount for 16+
                 }
                 
-                buyItem(item, buyPrice, buyAmount, discountRate);
+                buyItem(item, buyPrice, amount, rate);
             } else if (!tierUnlocked) {
                 // Locked item clicked
                 player.sendSystemMessage(Component.literal("§c✗ Unlock " + tier.getColor() + tier.getName() + " §cfirst!"));
             }
         });
         
-        setSlot(slot, builder);
+        return builder;
     }
     
     private void buyItem(Item item, long priceEach, int amount, double discountRate) {
@@ -1025,17 +956,19 @@ public class ShopGui extends SimpleGui {
         
         if (CurrencyManager.removeMoney(player, totalPrice)) {
             player.addItem(new ItemStack(item, amount));
+            InventoryCounts.invalidate(player);
             String message = "Purchased " + amount + "x " + item.getName(item.getDefaultInstance()).getString();
             if (discountRate > 0) {
                 message += " §a(§l" + (int)(discountRate * 100) + "% BULK DISCOUNT!§a)";
             }
             CurrencyManager.sendMoneySpentMessage(player, totalPrice, message);
-            updateDisplay();
+            redraw();
         }
     }
     
     private void sellItem(Item item, long priceEach, int amount) {
-        int available = countItemInInventory(player, item);
+        InventoryCounts counts = InventoryCounts.of(player);
+        int available = counts.count(item);
         int toSell = Math.min(amount, available);
         
         if (toSell == 0) {
@@ -1043,19 +976,19 @@ public class ShopGui extends SimpleGui {
             return;
         }
         
-        int removed = removeItemFromInventory(player, item, toSell);
+        int removed = counts.remove(item, toSell);
         
         if (removed > 0) {
             long totalEarned = priceEach * removed;
             CurrencyManager.addMoney(player, totalEarned);
             CurrencyManager.sendMoneyReceivedMessage(player, totalEarned, "Sold " + removed + "x " + item.getName(item.getDefaultInstance()).getString());
-            updateDisplay();
+            redraw();
         }
     }
     
     private void sellAnyItem(Item item, int amount) {
         // First, verify player actually has the items and remove them
-        int actualAmount = removeItemFromInventory(player, item, amount);
+        int actualAmount = InventoryCounts.of(player).remove(item, amount);
         
         if (actualAmount <= 0) {
             player.sendSystemMessage(Component.literal("§cYou don't have any of that item!"));
@@ -1065,7 +998,7 @@ public class ShopGui extends SimpleGui {
         long sellPrice = ItemPricing.getSellPrice(item);
         
         // Apply sell price boost upgrade
-        double sellMultiplier = UpgradeManager.getSellPriceMultiplier(player.getUUID());
+        double sellMultiplier = ModifierProfile.of(player.getUUID()).sellPrice();
         long finalSellPrice = (long) (sellPrice * sellMultiplier);
         
         // Allow selling ANY item, even if not in shop
@@ -1085,96 +1018,24 @@ public class ShopGui extends SimpleGui {
         ));
     }
     
-    private List<Item> filterAvailable(List<Item> items) {
-        List<Item> result = new ArrayList<>();
-        for (Item item : items) {
-            if (ItemPricing.getBuyPrice(item) > 0) {
-                result.add(item);
-            }
-        }
-        return result;
-    }
-    
     private void setupCombatCategory() {
-        List<Item> items = Arrays.asList(
-            Items.ARROW, Items.SPECTRAL_ARROW, Items.TIPPED_ARROW,
-            Items.BOW, Items.CROSSBOW, Items.TRIDENT,
-            Items.WOODEN_SWORD, Items.STONE_SWORD, Items.IRON_SWORD, Items.GOLDEN_SWORD, Items.DIAMOND_SWORD, Items.NETHERITE_SWORD,
-            Items.WOODEN_AXE, Items.STONE_AXE, Items.IRON_AXE, Items.GOLDEN_AXE, Items.DIAMOND_AXE, Items.NETHERITE_AXE,
-            Items.SHIELD, Items.TOTEM_OF_UNDYING,
-            Items.TNT, Items.TNT_MINECART, Items.FIRE_CHARGE, Items.FIREWORK_ROCKET,
-            Items.LEATHER_HELMET, Items.LEATHER_CHESTPLATE, Items.LEATHER_LEGGINGS, Items.LEATHER_BOOTS,
-            Items.CHAINMAIL_HELMET, Items.CHAINMAIL_CHESTPLATE, Items.CHAINMAIL_LEGGINGS, Items.CHAINMAIL_BOOTS,
-            Items.IRON_HELMET, Items.IRON_CHESTPLATE, Items.IRON_LEGGINGS, Items.IRON_BOOTS,
-            Items.GOLDEN_HELMET, Items.GOLDEN_CHESTPLATE, Items.GOLDEN_LEGGINGS, Items.GOLDEN_BOOTS,
-            Items.DIAMOND_HELMET, Items.DIAMOND_CHESTPLATE, Items.DIAMOND_LEGGINGS, Items.DIAMOND_BOOTS,
-            Items.NETHERITE_HELMET, Items.NETHERITE_CHESTPLATE, Items.NETHERITE_LEGGINGS, Items.NETHERITE_BOOTS
-        );
-        displayItemGrid(filterAvailable(items), 1);
+        displayItemGrid(ShopIndex.get().getCategory("combat"), 1);
     }
     
     private void setupPotionsCategory() {
-        List<Item> items = Arrays.asList(
-            Items.POTION, Items.SPLASH_POTION, Items.LINGERING_POTION,
-            Items.GLASS_BOTTLE, Items.BREWING_STAND, Items.CAULDRON,
-            Items.NETHER_WART, Items.BLAZE_POWDER, Items.MAGMA_CREAM,
-            Items.FERMENTED_SPIDER_EYE, Items.SPIDER_EYE, Items.GLISTERING_MELON_SLICE,
-            Items.GOLDEN_CARROT, Items.PUFFERFISH, Items.RABBIT_FOOT,
-            Items.GHAST_TEAR, Items.PHANTOM_MEMBRANE,
-            Items.GLOWSTONE_DUST, Items.REDSTONE, Items.GUNPOWDER, Items.DRAGON_BREATH,
-            Items.HONEY_BOTTLE, Items.SUGAR, Items.TURTLE_HELMET
-        );
-        displayItemGrid(filterAvailable(items), 1);
+        displayItemGrid(ShopIndex.get().getCategory("potions"), 1);
     }
     
     private void setupNetherCategory() {
-        List<Item> items = Arrays.asList(
-            Items.NETHERRACK, Items.NETHER_BRICKS, Items.RED_NETHER_BRICKS, Items.CRACKED_NETHER_BRICKS,
-            Items.SOUL_SAND, Items.SOUL_SOIL, Items.BASALT, Items.SMOOTH_BASALT, Items.BLACKSTONE,
-            Items.CRIMSON_NYLIUM, Items.WARPED_NYLIUM, Items.CRIMSON_FUNGUS, Items.WARPED_FUNGUS,
-            Items.CRIMSON_ROOTS, Items.WARPED_ROOTS, Items.NETHER_SPROUTS, Items.CRIMSON_STEM, Items.WARPED_STEM,
-            Items.SHROOMLIGHT, Items.GLOWSTONE, Items.MAGMA_BLOCK,
-            Items.NETHER_WART, Items.NETHER_WART_BLOCK, Items.WARPED_WART_BLOCK,
-            Items.NETHER_QUARTZ_ORE, Items.QUARTZ, Items.QUARTZ_BLOCK,
-            Items.ANCIENT_DEBRIS, Items.NETHERITE_SCRAP, Items.NETHERITE_INGOT,
-            Items.BLAZE_ROD, Items.BLAZE_POWDER, Items.GHAST_TEAR, Items.MAGMA_CREAM,
-            Items.NETHER_GOLD_ORE, Items.NETHER_STAR,
-            Items.GILDED_BLACKSTONE, Items.RESPAWN_ANCHOR, Items.CRYING_OBSIDIAN
-        );
-        displayItemGrid(filterAvailable(items), 1);
+        displayItemGrid(ShopIndex.get().getCategory("nether"), 1);
     }
     
     private void setupEndCategory() {
-        List<Item> items = Arrays.asList(
-            Items.END_STONE, Items.END_STONE_BRICKS, Items.PURPUR_BLOCK, Items.PURPUR_PILLAR,
-            Items.END_ROD, Items.CHORUS_FRUIT, Items.POPPED_CHORUS_FRUIT, Items.CHORUS_FLOWER, Items.CHORUS_PLANT,
-            Items.ENDER_PEARL, Items.ENDER_EYE, Items.ENDER_CHEST,
-            Items.SHULKER_BOX, Items.WHITE_SHULKER_BOX, Items.ORANGE_SHULKER_BOX, Items.MAGENTA_SHULKER_BOX,
-            Items.LIGHT_BLUE_SHULKER_BOX, Items.YELLOW_SHULKER_BOX, Items.LIME_SHULKER_BOX,
-            Items.PINK_SHULKER_BOX, Items.GRAY_SHULKER_BOX, Items.LIGHT_GRAY_SHULKER_BOX,
-            Items.CYAN_SHULKER_BOX, Items.PURPLE_SHULKER_BOX, Items.BLUE_SHULKER_BOX,
-            Items.BROWN_SHULKER_BOX, Items.GREEN_SHULKER_BOX, Items.RED_SHULKER_BOX, Items.BLACK_SHULKER_BOX,
-            Items.SHULKER_SHELL, Items.ELYTRA, Items.DRAGON_BREATH, Items.DRAGON_HEAD, Items.DRAGON_EGG
-        );
-        displayItemGrid(filterAvailable(items), 1);
+        displayItemGrid(ShopIndex.get().getCategory("end"), 1);
     }
     
     private void setupOceanCategory() {
-        List<Item> items = Arrays.asList(
-            Items.PRISMARINE, Items.PRISMARINE_BRICKS, Items.DARK_PRISMARINE, Items.PRISMARINE_SHARD,
-            Items.SEA_LANTERN, Items.PRISMARINE_CRYSTALS,
-            Items.SPONGE, Items.WET_SPONGE,
-            Items.HEART_OF_THE_SEA, Items.CONDUIT, Items.NAUTILUS_SHELL,
-            Items.KELP, Items.DRIED_KELP, Items.DRIED_KELP_BLOCK, Items.SEAGRASS, Items.SEA_PICKLE,
-            Items.TUBE_CORAL_BLOCK, Items.BRAIN_CORAL_BLOCK,
-            Items.BUBBLE_CORAL_BLOCK, Items.FIRE_CORAL_BLOCK, Items.HORN_CORAL_BLOCK,
-            Items.TUBE_CORAL, Items.BRAIN_CORAL, Items.BUBBLE_CORAL, Items.FIRE_CORAL, Items.HORN_CORAL,
-            Items.COD, Items.COOKED_COD, Items.SALMON, Items.COOKED_SALMON,
-            Items.TROPICAL_FISH, Items.PUFFERFISH,
-            Items.TRIDENT, Items.TURTLE_HELMET, Items.TURTLE_SCUTE,
-            Items.OAK_BOAT, Items.SPRUCE_BOAT, Items.BIRCH_BOAT, Items.JUNGLE_BOAT
-        );
-        displayItemGrid(filterAvailable(items), 1);
+        displayItemGrid(ShopIndex.get().getCategory("ocean"), 1);
     }
     
     private void setupUpgradesCategory() {
@@ -1230,7 +1091,7 @@ public class ShopGui extends SimpleGui {
                             player.sendSystemMessage(Component.literal(
                                 "§a§l✓ Upgraded " + upgrade.getDisplayName() + " §ato Level " + nextLevel + "!"
                             ));
-                            updateDisplay();
+                            redraw();
                         }
                     } else {
                         CurrencyManager.sendInsufficientFundsMessage(player, upgradeCost);
@@ -1245,43 +1106,4 @@ public class ShopGui extends SimpleGui {
             setSlot(slots[i], builder);
         }
     }
-    
-    private boolean isFoodItem(Item item) {
-        return item == Items.BREAD || item == Items.COOKED_BEEF || item == Items.COOKED_PORKCHOP ||
-               item == Items.COOKED_CHICKEN || item == Items.COOKED_MUTTON || item == Items.COOKED_RABBIT ||
-               item == Items.COOKED_COD || item == Items.COOKED_SALMON || item == Items.BAKED_POTATO ||
-               item == Items.COOKIE || item == Items.CAKE || item == Items.PUMPKIN_PIE ||
-               item == Items.APPLE || item == Items.GOLDEN_APPLE || item == Items.ENCHANTED_GOLDEN_APPLE ||
-               item == Items.MELON_SLICE || item == Items.SWEET_BERRIES || item == Items.GLOW_BERRIES ||
-               item == Items.CARROT || item == Items.GOLDEN_CARROT || item == Items.POTATO ||
-               item == Items.POISONOUS_POTATO || item == Items.BEETROOT || item == Items.BEETROOT_SOUP ||
-               item == Items.MUSHROOM_STEW || item == Items.RABBIT_STEW || item == Items.SUSPICIOUS_STEW;
-    }
-    
-    private int countItemInInventory(ServerPlayer player, Item item) {
-        int count = 0;
-        for (int i = 0; i < player.getInventory().getContainerSize(); i++) {
-            ItemStack stack = player.getInventory().getItem(i);
-            if (stack.is(item)) {
-                count += stack.getCount();
-            }
-        }
-        return count;
-    }
-    
-    private int removeItemFromInventory(ServerPlayer player, Item item, int amount) {
-        int remaining = amount;
-        
-        for (int i = 0; i < player.getInventory().getContainerSize(); i++) {
-            if (remaining <= 0) break;
-            ItemStack stack = player.getInventory().getItem(i);
-            if (stack.is(item)) {
-                int toRemove = Math.min(remaining, stack.getCount());
-                stack.shrink(toRemove);
-                remaining -= toRemove;
-            }
-        }
-        
-        return amount - remaining;
-    }
 }
@@ -4,7 +4,6 @@ import com.shopmod.currency.CurrencyManager;
 import com.shopmod.stocks.StockMarketManager;
 import com.shopmod.stocks.StockMarketManager.*;
 import eu.pb4.sgui.api.elements.GuiElementBuilder;
-import eu.pb4.sgui.api.gui.SimpleGui;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.inventory.MenuType;
@@ -16,7 +15,7 @@ import java.util.*;
 /**
  * Comprehensive Stock Market Trading GUI
  */
-public class StockMarketGui extends SimpleGui {
+public class StockMarketGui extends DiffingGui {
     private final ServerPlayer player;
     private ViewMode currentView = ViewMode.MARKET;
     private String selectedTicker = null;
@@ -31,20 +30,17 @@ public class StockMarketGui extends SimpleGui {
     public StockMarketGui(ServerPlayer player) {
         super(MenuType.GENERIC_9x6, player, false);
         this.player = player;
+        StockMarketManager.settleDividends(player);
         this.setTitle(Component.literal("§6§l⚡ Stock Market Exchange"));
-        updateDisplay();
+        redraw();
     }
     
-    private void updateDisplay() {
-        // Clear GUI
-        for (int i = 0; i < 54; i++) {
-            this.clearSlot(i);
-        }
-        
+    @Override
+    protected void render() {
         // Background border
         for (int i = 0; i < 9; i++) {
-            setSlot(i, createBorderItem());
-            setSlot(45 + i, createBorderItem());
+            setSlot(i, "border", this::createBorderItem);
+            setSlot(45 + i, "border", this::createBorderItem);
         }
         
         // Navigation
@@ -74,35 +70,35 @@ public class StockMarketGui extends SimpleGui {
     
     private void setupNavigation() {
         // Market View button
-        setSlot(0, new GuiElementBuilder(Items.EMERALD)
+        setSlot(0, currentView, () -> new GuiElementBuilder(Items.EMERALD)
             .setName(Component.literal(currentView == ViewMode.MARKET ? "§a§l● Market" : "§7Market"))
             .addLoreLine(Component.literal("§7View all companies"))
             .setCallback((index, type, action) -> {
                 currentView = ViewMode.MARKET;
                 selectedTicker = null;
-                updateDisplay();
+                redraw();
             })
         );
         
         // Portfolio View button
-        setSlot(1, new GuiElementBuilder(Items.CHEST)
+        setSlot(1, currentView, () -> new GuiElementBuilder(Items.CHEST)
             .setName(Component.literal(currentView == ViewMode.PORTFOLIO ? "§a§l● Portfolio" : "§7Portfolio"))
             .addLoreLine(Component.literal("§7Your holdings"))
             .setCallback((index, type, action) -> {
                 currentView = ViewMode.PORTFOLIO;
                 selectedTicker = null;
-                updateDisplay();
+                redraw();
             })
         );
         
         // News View button
-        setSlot(2, new GuiElementBuilder(Items.PAPER)
+        setSlot(2, currentView, () -> new GuiElementBuilder(Items.PAPER)
             .setName(Component.literal(currentView == ViewMode.NEWS ? "§a§l● News" : "§7News"))
             .addLoreLine(Component.literal("§7Market events"))
             .setCallback((index, type, action) -> {
                 currentView = ViewMode.NEWS;
                 selectedTicker = null;
-                updateDisplay();
+                redraw();
             })
         );
         
@@ -110,11 +106,13 @@ public class StockMarketGui extends SimpleGui {
         long balance = CurrencyManager.getBalance(player);
         PlayerPortfolio portfolio = StockMarketManager.getPortfolio(player.getUUID());
         
-        setSlot(4, new GuiElementBuilder(Items.PLAYER_HEAD)
+        long portfolioValue = portfolio.getTotalValue();
+        
+        setSlot(4, List.of("player", balance, portfolioValue), () -> new GuiElementBuilder(Items.PLAYER_HEAD)
             .setName(Component.literal("§e§l" + player.getName().getString()))
             .addLoreLine(Component.literal("§7Cash: §6" + CurrencyManager.format(balance)))
-            .addLoreLine(Component.literal("§7Portfolio: §6" + CurrencyManager.format(portfolio.getTotalValue())))
-            .addLoreLine(Component.literal("§7Total: §6" + CurrencyManager.format(balance + portfolio.getTotalValue())))
+            .addLoreLine(Component.literal("§7Portfolio: §6" + CurrencyManager.format(portfolioValue)))
+            .addLoreLine(Component.literal("§7Total: §6" + CurrencyManager.format(balance + portfolioValue)))
         );
         
         // Market trend indicator
@@ -122,14 +120,14 @@ public class StockMarketGui extends SimpleGui {
         Item trendItem = trend == MarketTrend.BULL ? Items.GREEN_WOOL : 
                         trend == MarketTrend.BEAR ? Items.RED_WOOL : Items.YELLOW_WOOL;
         
-        setSlot(8, new GuiElementBuilder(trendItem)
+        setSlot(8, trend, () -> new GuiElementBuilder(trendItem)
             .setName(Component.literal("§6§lMarket: §f" + trend.displayName))
             .addLoreLine(Component.literal("§7Trend: " + String.format("%.1f%%", trend.bias * 100)))
         );
     }
     
     private void displayMarketView() {
-        setSlot(3, new GuiElementBuilder(Items.BOOK)
+        setSlot(3, "market", () -> new GuiElementBuilder(Items.BOOK)
             .setName(Component.literal("§6§lStock Market"))
             .addLoreLine(Component.literal("§7Click any company to trade"))
             .addLoreLine(Component.literal("§7Transaction fee: §c1%"))
@@ -155,6 +153,11 @@ public class StockMarketGui extends SimpleGui {
     
     private void displayCompanyItem(int slot, StockCompany company) {
         double dailyChange = company.getDailyChange();
+        List<Object> key = List.of(company.getTicker(), company.getCurrentPrice(), dailyChange);
+        setSlot(slot, key, () -> buildCompanyItem(company, dailyChange));
+    }
+    
+    private GuiElementBuilder buildCompanyItem(StockCompany company, double dailyChange) {
         String changeColor = dailyChange > 0 ? "§a" : dailyChange < 0 ? "§c" : "§7";
         String arrow = dailyChange > 0 ? "▲" : dailyChange < 0 ? "▼" : "■";
         
@@ -175,23 +178,23 @@ public class StockMarketGui extends SimpleGui {
             .setCallback((index, type, action) -> {
                 selectedTicker = company.getTicker();
                 currentView = ViewMode.TRADING;
-                updateDisplay();
+                redraw();
             });
         
-        setSlot(slot, builder);
+        return builder;
     }
     
     private void displayTradingView() {
         if (selectedTicker == null) {
             currentView = ViewMode.MARKET;
-            updateDisplay();
+            redraw();
             return;
         }
         
         StockCompany company = StockMarketManager.getCompany(selectedTicker);
         if (company == null) {
             currentView = ViewMode.MARKET;
-            updateDisplay();
+            redraw();
             return;
         }
         
@@ -263,7 +266,7 @@ public class StockMarketGui extends SimpleGui {
             .setCallback((index, type, action) -> {
                 currentView = ViewMode.MARKET;
                 selectedTicker = null;
-                updateDisplay();
+                redraw();
             })
         );
     }
@@ -314,7 +317,7 @@ public class StockMarketGui extends SimpleGui {
         if (canAfford) {
             builder.setCallback((index, type, action) -> {
                 if (StockMarketManager.buyShares(player, company.getTicker(), shares)) {
-                    updateDisplay();
+                    redraw();
                 }
             });
         }
@@ -344,7 +347,7 @@ public class StockMarketGui extends SimpleGui {
             .addLoreLine(Component.literal("§e§lCLICK to sell"))
             .setCallback((index, type, action) -> {
                 if (StockMarketManager.sellShares(player, company.getTicker(), shares)) {
-                    updateDisplay();
+                    redraw();
                 }
             });
         
@@ -433,7 +436,7 @@ public class StockMarketGui extends SimpleGui {
             .setCallback((index, type, action) -> {
                 selectedTicker = holding.getTicker();
                 currentView = ViewMode.TRADING;
-                updateDisplay();
+                redraw();
             });
         
         setSlot(slot, builder);
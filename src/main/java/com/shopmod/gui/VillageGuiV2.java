@@ -4,16 +4,17 @@ import com.shopmod.currency.CurrencyManager;
 import com.shopmod.village.*;
 import eu.pb4.sgui.api.ClickType;
 import eu.pb4.sgui.api.elements.GuiElementBuilder;
-import eu.pb4.sgui.api.gui.SimpleGui;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.inventory.MenuType;
 import net.minecraft.world.item.Items;
 
+import java.util.List;
+
 /**
  * Enhanced Village GUI with tabs for workers, resources, buildings, and trade center
  */
-public class VillageGuiV2 extends SimpleGui {
+public class VillageGuiV2 extends DiffingGui {
     private final ServerPlayer player;
     private ViewMode currentView = ViewMode.WORKERS;
     
@@ -25,15 +26,11 @@ public class VillageGuiV2 extends SimpleGui {
         super(MenuType.GENERIC_9x6, player, false);
         this.player = player;
         this.setTitle(Component.literal("§6§lDigital Village"));
-        updateDisplay();
+        redraw();
     }
     
-    private void updateDisplay() {
-        // Clear GUI
-        for (int i = 0; i < 54; i++) {
-            this.clearSlot(i);
-        }
-        
+    @Override
+    protected void render() {
         VillageManager.Village village = VillageManager.getVillage(player.getUUID());
         
         // Top info bar
@@ -59,7 +56,7 @@ public class VillageGuiV2 extends SimpleGui {
         String levelName = VillageManager.getVillageLevelName(village.getVillageLevel());
         
         // Village level
-        setSlot(0, new GuiElementBuilder(Items.EMERALD_BLOCK)
+        setSlot(0, List.of("level", village.getVillageLevel()), () -> new GuiElementBuilder(Items.EMERALD_BLOCK)
             .setName(Component.literal("§6§l" + levelName))
             .addLoreLine(Component.literal("§7Level: §e" + village.getVillageLevel()))
             .addLoreLine(Component.literal(""))
@@ -69,7 +66,7 @@ public class VillageGuiV2 extends SimpleGui {
         );
         
         // Worker info
-        setSlot(2, new GuiElementBuilder(Items.PLAYER_HEAD)
+        setSlot(2, List.of("workers", village.getTotalWorkerCount(), village.getTotalWorkerSlots()), () -> new GuiElementBuilder(Items.PLAYER_HEAD)
             .setName(Component.literal("§e§lWorkers"))
             .addLoreLine(Component.literal("§7Active: §a" + village.getTotalWorkerCount() + 
                 "/" + village.getTotalWorkerSlots()))
@@ -82,7 +79,7 @@ public class VillageGuiV2 extends SimpleGui {
         int foodNeeded = village.getTotalWorkerCount();
         boolean hasFood = food >= foodNeeded;
         
-        setSlot(4, new GuiElementBuilder(hasFood ? Items.BREAD : Items.ROTTEN_FLESH)
+        setSlot(4, List.of("food", food, foodNeeded), () -> new GuiElementBuilder(hasFood ? Items.BREAD : Items.ROTTEN_FLESH)
             .setName(Component.literal(hasFood ? "§a§lWell Fed" : "§c§lFOOD SHORTAGE!"))
             .addLoreLine(Component.literal("§7Daily Need: §e" + foodNeeded))
             .addLoreLine(Component.literal("§7Available: " + (hasFood ? "§a" : "§c") + food))
@@ -91,7 +88,7 @@ public class VillageGuiV2 extends SimpleGui {
         );
         
         // Auto-manage toggle
-        setSlot(6, new GuiElementBuilder(village.isAutoManage() ? Items.REDSTONE_TORCH : Items.LEVER)
+        setSlot(6, List.of("autoManage", village.isAutoManage()), () -> new GuiElementBuilder(village.isAutoManage() ? Items.REDSTONE_TORCH : Items.LEVER)
             .setName(Component.literal(village.isAutoManage() ? 
                 "§e§lAuto-Manage: ON" : "§a§lManual Mode: ON"))
             .addLoreLine(Component.literal(""))
@@ -105,14 +102,15 @@ public class VillageGuiV2 extends SimpleGui {
             .addLoreLine(Component.literal("§e§lCLICK to toggle"))
             .setCallback((index, type, action) -> {
                 VillageManager.toggleAutoManage(player);
-                updateDisplay();
+                redraw();
             })
         );
         
         // Balance
-        setSlot(8, new GuiElementBuilder(Items.GOLD_INGOT)
+        long balance = CurrencyManager.getBalance(player);
+        setSlot(8, List.of("balance", balance), () -> new GuiElementBuilder(Items.GOLD_INGOT)
             .setName(Component.literal("§6§lBalance"))
-            .addLoreLine(Component.literal(CurrencyManager.format(CurrencyManager.getBalance(player))))
+            .addLoreLine(Component.literal(CurrencyManager.format(balance)))
         );
     }
     
@@ -121,57 +119,57 @@ public class VillageGuiV2 extends SimpleGui {
      */
     private void setupTabs(VillageManager.Village village) {
         // Workers tab
-        setSlot(45, new GuiElementBuilder(currentView == ViewMode.WORKERS ? Items.DIAMOND_SWORD : Items.IRON_SWORD)
+        setSlot(45, currentView, () -> new GuiElementBuilder(currentView == ViewMode.WORKERS ? Items.DIAMOND_SWORD : Items.IRON_SWORD)
             .setName(Component.literal("§e§lWorkers"))
             .addLoreLine(Component.literal("§7Hire, upgrade, and manage workers"))
             .setCallback((index, type, action) -> {
                 currentView = ViewMode.WORKERS;
-                updateDisplay();
+                redraw();
             })
         );
         
         // Resources tab
-        setSlot(46, new GuiElementBuilder(currentView == ViewMode.RESOURCES ? Items.DIAMOND : Items.COAL)
+        setSlot(46, currentView, () -> new GuiElementBuilder(currentView == ViewMode.RESOURCES ? Items.DIAMOND : Items.COAL)
             .setName(Component.literal("§a§lResources"))
             .addLoreLine(Component.literal("§7View village warehouse"))
             .setCallback((index, type, action) -> {
                 currentView = ViewMode.RESOURCES;
-                updateDisplay();
+                redraw();
             })
         );
         
         // Buildings tab
-        setSlot(47, new GuiElementBuilder(currentView == ViewMode.BUILDINGS ? Items.BRICKS : Items.BRICK)
+        setSlot(47, currentView, () -> new GuiElementBuilder(currentView == ViewMode.BUILDINGS ? Items.BRICKS : Items.BRICK)
             .setName(Component.literal("§6§lBuildings"))
             .addLoreLine(Component.literal("§7Construct and upgrade buildings"))
             .setCallback((index, type, action) -> {
                 currentView = ViewMode.BUILDINGS;
-                updateDisplay();
+                redraw();
             })
         );
         
         // Trade Center tab
-        setSlot(48, new GuiElementBuilder(currentView == ViewMode.TRADE_CENTER ? Items.EMERALD_BLOCK : Items.EMERALD)
+        setSlot(48, currentView, () -> new GuiElementBuilder(currentView == ViewMode.TRADE_CENTER ? Items.EMERALD_BLOCK : Items.EMERALD)
             .setName(Component.literal("§2§lTrade Center"))
             .addLoreLine(Component.literal("§7Export and sell resources"))
             .setCallback((index, type, action) -> {
                 currentView = ViewMode.TRADE_CENTER;
-                updateDisplay();
+                redraw();
             })
         );
         
         // Guide tab
-        setSlot(49, new GuiElementBuilder(currentView == ViewMode.GUIDE ? Items.ENCHANTED_BOOK : Items.BOOK)
+        setSlot(49, currentView, () -> new GuiElementBuilder(currentView == ViewMode.GUIDE ? Items.ENCHANTED_BOOK : Items.BOOK)
             .setName(Component.literal("§d§lGuide"))
             .addLoreLine(Component.literal("§7Learn how the village works"))
             .setCallback((index, type, action) -> {
                 currentView = ViewMode.GUIDE;
-                updateDisplay();
+                redraw();
             })
         );
         
         // Close button
-        setSlot(53, new GuiElementBuilder(Items.BARRIER)
+        setSlot(53, "close", () -> new GuiElementBuilder(Items.BARRIER)
             .setName(Component.literal("§c§lClose"))
             .setCallback((index, type, action) -> this.close())
         );
@@ -243,13 +241,13 @@ public class VillageGuiV2 extends SimpleGui {
                 
                 if (type == ClickType.MOUSE_LEFT) {
                     VillageManager.hireWorker(player, workerType);
-                    updateDisplay();
+                    redraw();
                 } else if (type == ClickType.MOUSE_LEFT_SHIFT) {
                     VillageManager.upgradeWorker(player, workerType);
-                    updateDisplay();
+                    redraw();
                 } else if (type == ClickType.MOUSE_RIGHT) {
                     VillageManager.fireWorker(player, workerType);
-                    updateDisplay();
+                    redraw();
                 }
             });
             
@@ -332,7 +330,7 @@ public class VillageGuiV2 extends SimpleGui {
             
             builder.setCallback((index, type, action) -> {
                 VillageManager.buildBuilding(player, building);
-                updateDisplay();
+                redraw();
             });
             
             setSlot(slot, builder);
@@ -377,13 +375,13 @@ public class VillageGuiV2 extends SimpleGui {
             builder.setCallback((index, type1, action) -> {
                 if (type1 == ClickType.MOUSE_LEFT) {
                     TradeCenterManager.sellResource(player, type, 1);
-                    updateDisplay();
+                    redraw();
                 } else if (type1 == ClickType.MOUSE_LEFT_SHIFT) {
                     TradeCenterManager.sellAllResource(player, type);
-                    updateDisplay();
+                    redraw();
                 } else if (type1 == ClickType.MOUSE_RIGHT) {
                     TradeCenterManager.toggleAutoSell(player, type);
-                    updateDisplay();
+                    redraw();
                 }
             });
             
@@ -1,7 +1,8 @@
 package com.shopmod.income;
 
 import com.shopmod.ShopMod;
-import com.shopmod.upgrades.UpgradeManager;
+import com.shopmod.economy.ModifierProfile;
+import com.shopmod.notifications.Notifications;
 import net.fabricmc.fabric.api.event.player.PlayerBlockBreakEvents;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerPlayer;
@@ -63,17 +64,14 @@ public class IncomeManager {
         // Award money if there's a reward
         if (reward > 0 && ShopMod.dataManager != null) {
             // Apply income multiplier upgrade
-            double multiplier = UpgradeManager.getIncomeMultiplier(serverPlayer.getUUID());
+            double multiplier = ModifierProfile.of(serverPlayer.getUUID()).income();
             int finalReward = (int) Math.round(reward * multiplier);
             
             ShopMod.dataManager.addMoney(serverPlayer.getUUID(), finalReward);
             
             // Show money notification in action bar only
-            String message = "§6+$" + String.format("%,d", finalReward);
-            if (multiplier > 1.0) {
-                message += " §7(§e" + String.format("%.0f", multiplier * 100) + "%§7)";
-            }
-            serverPlayer.displayClientMessage(Component.literal(message), true);
+            Notifications.earned(serverPlayer, activityType.equals("farming") ? Notifications.Source.HARVESTS : Notifications.Source.BLOCKS,
+                1, finalReward, 0);
         }
     }
     
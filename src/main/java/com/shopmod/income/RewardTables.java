@@ -0,0 +1,217 @@
+package com.shopmod.income;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.shopmod.ShopMod;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.Identifier;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Block, crop and mob rewards, loaded from data/<namespace>/shop_rewards/*.json.
+ *
+ * Files are applied in identifier order and later entries replace earlier ones, so a
+ * datapack can retune single blocks or override the mod's default.json outright.
+ * Everything is baked into arrays indexed by raw id (block state, item, entity type)
+ * and published as one immutable snapshot, swapped atomically on /reload.
+ *
+ * File format:
+ * {
+ *   "blocks":       { "minecraft:diamond_ore": { "money": 100, "xp": 5 } },
+ *   "crops":        { "minecraft:wheat": 3 },
+ *   "mobs":         { "minecraft:zombie": { "money": 60, "xp": 6 },
+ *                     "minecraft:slime":  { "money_per_size": 20 } },
+ *   "mob_defaults": { "money": 10, "xp": 3, "passive_xp": 2 }
+ * }
+ * Mobs without money/xp fall back to mob_defaults; passive_xp applies to friendly mob categories.
+ */
+public final class RewardTables {
+    private static final String DIRECTORY = "shop_rewards";
+    private static final RewardTables EMPTY = new RewardTables(new int[0], new int[0], new int[0], new long[0], new int[0], new boolean[0]);
+
+    private static volatile RewardTables current = EMPTY;
+
+    private final int[] blockMoney;   // By block state id
+    private final int[] blockXp;
+    private final int[] cropMoney;    // By item id
+    private final long[] mobMoney;    // By entity type id; per size point when mobScalesWithSize
+    private final int[] mobXp;
+    private final boolean[] mobScalesWithSize;
+
+    private RewardTables(int[] blockMoney, int[] blockXp, int[] cropMoney,
+                         long[] mobMoney, int[] mobXp, boolean[] mobScalesWithSize) {
+        this.blockMoney = blockMoney;
+        this.blockXp = blockXp;
+        this.cropMoney = cropMoney;
+        this.mobMoney = mobMoney;
+        this.mobXp = mobXp;
+        this.mobScalesWithSize = mobScalesWithSize;
+    }
+
+    public static void register() {
+        ResourceManagerHelper.get(PackType.SERVER_DATA).registerReloadListener(new SimpleSynchronousResourceReloadListener() {
+            @Override
+            public Identifier getFabricId() {
+                return Identifier.fromNamespaceAndPath("shop", "rewards");
+            }
+
+            @Override
+            public void onResourceManagerReload(ResourceManager manager) {
+                current = load(manager);
+            }
+        });
+    }
+
+    /**
+     * The live tables; hold the result for the duration of one calculation
+     */
+    public static RewardTables get() {
+        return current;
+    }
+
+    public int getBlockMoney(BlockState state) {
+        int id = Block.getId(state);
+        return id < blockMoney.length ? blockMoney[id] : 0;
+    }
+
+    public int getBlockXp(BlockState state) {
+        int id = Block.getId(state);
+        return id < blockXp.length ? blockXp[id] : 0;
+    }
+
+    public int getCropMoney(Item item) {
+        int id = Item.getId(item);
+        return id < cropMoney.length ? cropMoney[id] : 0;
+    }
+
+    /**
+     * Money for killing a mob; size only matters for mobs rewarded per size (slimes, magma cubes)
+     */
+    public long getMobMoney(EntityType<?> type, int size) {
+        int id = BuiltInRegistries.ENTITY_TYPE.getId(type);
+        if (id >= mobMoney.length) return 0;
+        return mobScalesWithSize[id] ? mobMoney[id] * size : mobMoney[id];
+    }
+
+    public int getMobXp(EntityType<?> type) {
+        int id = BuiltInRegistries.ENTITY_TYPE.getId(type);
+        return id < mobXp.length ? mobXp[id] : 0;
+    }
+
+    private static RewardTables load(ResourceManager manager) {
+        Map<Identifier, Resource> files = new TreeMap<>(manager.listResources(DIRECTORY, path -> path.getPath().endsWith(".json")));
+        Map<Identifier, JsonObject> parsed = new LinkedHashMap<>();
+        for (Map.Entry<Identifier, Resource> file : files.entrySet()) {
+            try (Reader reader = file.getValue().openAsReader()) {
+                parsed.put(file.getKey(), JsonParser.parseReader(reader).getAsJsonObject());
+            } catch (IOException | RuntimeException e) {
+                ShopMod.LOGGER.error("Failed to read reward table " + file.getKey() + ", skipping it", e);
+            }
+        }
+        return fromJson(parsed);
+    }
+
+    /**
+     * Bakes tables from parsed reward files, applied in iteration order.
+     * Public for tools and benchmarks that load the JSON themselves.
+     */
+    public static RewardTables fromJson(Map<Identifier, JsonObject> files) {
+        Map<Block, int[]> blocks = new HashMap<>();
+        Map<Item, Integer> crops = new HashMap<>();
+        Map<EntityType<?>, JsonObject> mobs = new HashMap<>();
+        JsonObject mobDefaults = new JsonObject();
+
+        for (Map.Entry<Identifier, JsonObject> file : files.entrySet()) {
+            JsonObject json = file.getValue();
+            try {
+                readEntries(json, "blocks", BuiltInRegistries.BLOCK::containsKey, BuiltInRegistries.BLOCK::getValue, file.getKey(),
+                    (block, value) -> blocks.put(block, new int[]{intField(value.getAsJsonObject(), "money"), intField(value.getAsJsonObject(), "xp")}));
+                readEntries(json, "crops", BuiltInRegistries.ITEM::containsKey, BuiltInRegistries.ITEM::getValue, file.getKey(),
+                    (item, value) -> crops.put(item, value.getAsInt()));
+                readEntries(json, "mobs", BuiltInRegistries.ENTITY_TYPE::containsKey, BuiltInRegistries.ENTITY_TYPE::getValue, file.getKey(),
+                    (type, value) -> mobs.put(type, value.getAsJsonObject()));
+                if (json.has("mob_defaults")) {
+                    json.getAsJsonObject("mob_defaults").entrySet().forEach(e -> mobDefaults.add(e.getKey(), e.getValue()));
+                }
+            } catch (RuntimeException e) {
+                ShopMod.LOGGER.error("Malformed reward table " + file.getKey() + ", entries after the error are skipped", e);
+            }
+        }
+
+        int[] blockMoney = new int[Block.BLOCK_STATE_REGISTRY.size()];
+        int[] blockXp = new int[blockMoney.length];
+        for (Map.Entry<Block, int[]> entry : blocks.entrySet()) {
+            for (BlockState state : entry.getKey().getStateDefinition().getPossibleStates()) {
+                blockMoney[Block.getId(state)] = entry.getValue()[0];
+                blockXp[Block.getId(state)] = entry.getValue()[1];
+            }
+        }
+
+        int[] cropMoney = new int[BuiltInRegistries.ITEM.size()];
+        crops.forEach((item, money) -> cropMoney[Item.getId(item)] = money);
+
+        long defaultMoney = intField(mobDefaults, "money");
+        int defaultXp = intField(mobDefaults, "xp");
+        int passiveXp = mobDefaults.has("passive_xp") ? intField(mobDefaults, "passive_xp") : defaultXp;
+        int mobCount = BuiltInRegistries.ENTITY_TYPE.size();
+        long[] mobMoney = new long[mobCount];
+        int[] mobXp = new int[mobCount];
+        boolean[] scalesWithSize = new boolean[mobCount];
+        for (EntityType<?> type : BuiltInRegistries.ENTITY_TYPE) {
+            int id = BuiltInRegistries.ENTITY_TYPE.getId(type);
+            JsonObject mob = mobs.get(type);
+            int fallbackXp = type.getCategory().isFriendly() ? passiveXp : defaultXp;
+            if (mob == null) {
+                mobMoney[id] = defaultMoney;
+                mobXp[id] = fallbackXp;
+                continue;
+            }
+            scalesWithSize[id] = mob.has("money_per_size");
+            mobMoney[id] = scalesWithSize[id] ? intField(mob, "money_per_size") : mob.has("money") ? intField(mob, "money") : defaultMoney;
+            mobXp[id] = mob.has("xp") ? intField(mob, "xp") : fallbackXp;
+        }
+
+        ShopMod.LOGGER.info("Loaded reward tables from " + files.size() + " file(s): "
+            + blocks.size() + " blocks, " + crops.size() + " crops, " + mobs.size() + " mobs");
+        return new RewardTables(blockMoney, blockXp, cropMoney, mobMoney, mobXp, scalesWithSize);
+    }
+
+    private interface EntryConsumer<T> {
+        void accept(T key, JsonElement value);
+    }
+
+    /**
+     * Resolves each id in a section; unknown ids (e.g. from a missing mod) are logged and skipped
+     */
+    private static <T> void readEntries(JsonObject json, String section, Predicate<Identifier> exists,
+                                        Function<Identifier, T> lookup, Identifier file, EntryConsumer<T> consumer) {
+        if (!json.has(section)) return;
+        for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject(section).entrySet()) {
+            Identifier id = Identifier.tryParse(entry.getKey());
+            if (id == null || !exists.test(id)) {
+                ShopMod.LOGGER.warn("Unknown " + section + " entry '" + entry.getKey() + "' in " + file);
+                continue;
+            }
+            consumer.accept(lookup.apply(id), entry.getValue());
+        }
+    }
+
+    private static int intField(JsonObject json, String field) {
+        return json.has(field) ? json.get(field).getAsInt() : 0;
+    }
+}
@@ -1,7 +1,11 @@
 package com.shopmod.insurance;
 
+import com.google.gson.reflect.TypeToken;
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
 import com.shopmod.bank.BankManager;
+import com.shopmod.notifications.Notifications;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.network.chat.Component;
 
@@ -15,7 +19,9 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class InsuranceManager {
     private static final Map<UUID, List<InsurancePolicy>> policiesMap = new ConcurrentHashMap<>();
+    private static final PlayerShard<List<InsurancePolicy>> POLICY_STATE = PlayerStateStore.register("insurance_policies", policiesMap, new TypeToken<List<InsurancePolicy>>(){}.getType());
     private static final Map<UUID, LinkedList<InsuranceClaim>> claimsMap = new ConcurrentHashMap<>();
+    private static final PlayerShard<LinkedList<InsuranceClaim>> CLAIM_STATE = PlayerStateStore.register("insurance_claims", claimsMap, new TypeToken<LinkedList<InsuranceClaim>>(){}.getType());
     private static final int MAX_CLAIMS_HISTORY = 20;
     private static final int MAX_CLAIMS_PER_MONTH = 5;  // Fraud prevention
     
@@ -23,6 +29,7 @@ public class InsuranceManager {
      * Get all policies for a player
      */
     public static List<InsurancePolicy> getPolicies(UUID playerUUID) {
+        POLICY_STATE.ensureLoaded(playerUUID);
         return policiesMap.computeIfAbsent(playerUUID, k -> new ArrayList<>());
     }
     
@@ -30,6 +37,7 @@ public class InsuranceManager {
      * Get claims history for a player
      */
     public static List<InsuranceClaim> getClaims(UUID playerUUID) {
+        CLAIM_STATE.ensureLoaded(playerUUID);
         return claimsMap.computeIfAbsent(playerUUID, k -> new LinkedList<>());
     }
     
@@ -80,6 +88,7 @@ public class InsuranceManager {
         // Create and add policy
         InsurancePolicy policy = new InsurancePolicy(type, premium, type.getCoverageAmount());
         getPolicies(playerUUID).add(policy);
+        POLICY_STATE.markDirty(playerUUID);
         
         player.sendSystemMessage(Component.literal(
             String.format("§a§l[INSURANCE] %s purchased! Monthly premium: §6$%,d", 
@@ -102,6 +111,7 @@ public class InsuranceManager {
         }
         
         policy.setActive(false);
+        POLICY_STATE.markDirty(playerUUID);
         player.sendSystemMessage(Component.literal(
             "§e§l[INSURANCE] " + type.getDisplayName() + " cancelled."));
         
@@ -176,6 +186,7 @@ public class InsuranceManager {
         
         // Increase policy premium multiplier
         policy.incrementClaimsCount();
+        POLICY_STATE.markDirty(playerUUID);
         
         // Add to claims history
         addClaim(playerUUID, claim);
@@ -194,6 +205,7 @@ public class InsuranceManager {
      * Add claim to history (keep last 20)
      */
     private static void addClaim(UUID playerUUID, InsuranceClaim claim) {
+        CLAIM_STATE.markDirty(playerUUID);
         LinkedList<InsuranceClaim> claims = 
             (LinkedList<InsuranceClaim>) claimsMap.computeIfAbsent(playerUUID, k -> new LinkedList<>());
         
@@ -221,6 +233,7 @@ public class InsuranceManager {
             long daysSince = ChronoUnit.DAYS.between(lastPayment, now);
             
             if (daysSince < 30) continue;  // Not time to pay yet
+            POLICY_STATE.markDirty(playerUUID);
             
             long premium = policy.getMonthlyPremium();
             
@@ -230,7 +243,7 @@ public class InsuranceManager {
                     policy.setLastPaymentDate(now);
                     policy.resetMissedPayments();
                     
-                    player.sendSystemMessage(Component.literal(
+                    Notifications.chat(player, Component.literal(
                         String.format("§e§l[INSURANCE] Paid §6$%,d §efor %s", 
                             premium, policy.getType().getDisplayName())));
                 }
@@ -241,12 +254,12 @@ public class InsuranceManager {
                 if (policy.getMissedPayments() >= 2) {
                     // Cancel after 2 missed payments
                     policy.setActive(false);
-                    player.sendSystemMessage(Component.literal(
+                    Notifications.chat(player, Component.literal(
                         String.format("§c§l[INSURANCE] %s cancelled due to non-payment!", 
                             policy.getType().getDisplayName())));
                 } else {
                     // Warning
-                    player.sendSystemMessage(Component.literal(
+                    Notifications.chat(player, Component.literal(
                         String.format("§c§l[INSURANCE] Missed payment for %s! Cancel after %d more missed payment(s).", 
                             policy.getType().getDisplayName(), 2 - policy.getMissedPayments())));
                 }
@@ -1,8 +1,12 @@
 package com.shopmod.loan;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.ShopMod;
 import com.shopmod.bank.BankManager;
+import com.shopmod.bank.LedgerTransaction;
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.economy.EconomyPlayer;
 import com.shopmod.shop.ShopTier;
 import net.minecraft.server.level.ServerPlayer;
 
@@ -16,6 +20,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class LoanManager {
     private static final Map<UUID, LoanData> activeLoanS = new ConcurrentHashMap<>();
+    private static final PlayerShard<LoanData> STATE = PlayerStateStore.register("loans", activeLoanS, LoanData.class);
     
     // Total loan interest rates (applied once over entire loan period)
     private static final double MIN_INTEREST_RATE = 0.20;  // 20% total interest (excellent credit - score 100)
@@ -119,6 +124,7 @@ public class LoanManager {
      * Check if player has an active loan
      */
     public static boolean hasActiveLoan(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return activeLoanS.containsKey(playerUUID);
     }
     
@@ -126,6 +132,7 @@ public class LoanManager {
      * Get player's active loan
      */
     public static LoanData getLoan(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return activeLoanS.get(playerUUID);
     }
     
@@ -153,16 +160,11 @@ public class LoanManager {
         }
         
         int creditScore = calculateCreditScore(player.getUUID());
-        double totalInterestRate = calculateInterestRate(creditScore);
-        
-        // Calculate total amount to repay (principal + total interest)
-        // Interest is applied ONCE over the entire loan period, not daily!
+        LoanData loan = createLoan(player.getUUID(), amount, durationDays);
+        double totalInterestRate = loan.getInterestRate();
         long totalInterest = (long)(amount * totalInterestRate);
         long totalToRepay = amount + totalInterest;
-        long dailyPayment = totalToRepay / durationDays;
-        
-        LoanData loan = new LoanData(amount, totalInterestRate, dailyPayment);
-        activeLoanS.put(player.getUUID(), loan);
+        long dailyPayment = loan.getDailyPayment();
         
         CurrencyManager.addMoney(player, amount);
         
@@ -183,15 +185,37 @@ public class LoanManager {
         return true;
     }
     
+    /**
+     * Record a new loan at the player's current credit score (no checks, no payout)
+     */
+    public static LoanData createLoan(UUID playerUUID, long amount, int durationDays) {
+        double totalInterestRate = calculateInterestRate(calculateCreditScore(playerUUID));
+        
+        // Calculate total amount to repay (principal + total interest)
+        // Interest is applied ONCE over the entire loan period, not daily!
+        long totalToRepay = amount + (long)(amount * totalInterestRate);
+        long dailyPayment = totalToRepay / durationDays;
+        
+        LoanData loan = new LoanData(amount, totalInterestRate, dailyPayment);
+        activeLoanS.put(playerUUID, loan);
+        STATE.markDirty(playerUUID);
+        return loan;
+    }
+    
     /**
      * Process daily loan payment
      */
     public static void processDailyPayments(ServerPlayer player, long currentDay) {
+        processDailyPayments(EconomyPlayer.of(player), currentDay);
+    }
+    
+    public static void processDailyPayments(EconomyPlayer player, long currentDay) {
         LoanData loan = getLoan(player.getUUID());
         if (loan == null) return;
         
         // Skip if already paid today
         if (loan.getLastPaymentDay() >= currentDay) return;
+        STATE.markDirty(player.getUUID()); // Every path below updates the loan
         
         // Check for delay request
         if (loan.isDelayRequested()) {
@@ -229,6 +253,7 @@ public class LoanManager {
             if (loan.getRemainingBalance() <= 0) {
                 // Loan paid off!
                 activeLoanS.remove(player.getUUID());
+                STATE.markDirty(player.getUUID());
                 player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
                     "§a§l[LOAN] PAID OFF! You're debt-free!"));
             } else {
@@ -243,10 +268,11 @@ public class LoanManager {
             long bankInvestment = BankManager.getBankData(player.getUUID()).getInvestedMoney();
             
             if (bankInvestment >= shortfall) {
-                // Auto-withdraw from bank to cover loan payment
-                CurrencyManager.removeMoney(player, balance); // Use all wallet money
-                BankManager.withdrawMoney(player, shortfall); // Withdraw remainder from bank
-                CurrencyManager.removeMoney(player, shortfall); // Take the withdrawn amount for payment
+                // Auto-withdraw from bank to cover loan payment: all wallet money plus the remainder from savings
+                LedgerTransaction.begin(player.getUUID())
+                    .debit(LedgerTransaction.Account.WALLET, balance)
+                    .debit(LedgerTransaction.Account.SAVINGS, shortfall)
+                    .commit();
                 
                 loan.setRemainingBalance(loan.getRemainingBalance() - payment);
                 loan.addTotalPaid(payment);
@@ -256,6 +282,7 @@ public class LoanManager {
                 if (loan.getRemainingBalance() <= 0) {
                     // Loan paid off!
                     activeLoanS.remove(player.getUUID());
+                    STATE.markDirty(player.getUUID());
                     player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
                         "§a§l[LOAN] PAID OFF! You're debt-free!"));
                 } else {
@@ -307,6 +334,7 @@ public class LoanManager {
         
         CurrencyManager.removeMoney(player, fee);
         loan.setDelayRequested(true);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
             "§a§l[LOAN] Payment delayed! Fee: §6" + CurrencyManager.format(fee)));
@@ -341,10 +369,12 @@ public class LoanManager {
             CurrencyManager.removeMoney(player, actualPayment);
             loan.setRemainingBalance(loan.getRemainingBalance() - actualPayment);
             loan.addTotalPaid(actualPayment);
+            STATE.markDirty(player.getUUID());
             
             if (loan.getRemainingBalance() <= 0) {
                 // Loan paid off!
                 activeLoanS.remove(player.getUUID());
+                STATE.markDirty(player.getUUID());
                 player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
                     "§a§l[LOAN] CONGRATULATIONS! Loan fully paid off!"));
                 player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
@@ -368,10 +398,12 @@ public class LoanManager {
                 
                 loan.setRemainingBalance(loan.getRemainingBalance() - actualPayment);
                 loan.addTotalPaid(actualPayment);
+                STATE.markDirty(player.getUUID());
                 
                 if (loan.getRemainingBalance() <= 0) {
                     // Loan paid off!
                     activeLoanS.remove(player.getUUID());
+                    STATE.markDirty(player.getUUID());
                     player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
                         "§a§l[LOAN] CONGRATULATIONS! Loan fully paid off!"));
                     player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
@@ -402,6 +434,7 @@ public class LoanManager {
      * Get active loan (for automation system)
      */
     public static LoanData getActiveLoan(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return activeLoanS.get(playerUUID);
     }
     
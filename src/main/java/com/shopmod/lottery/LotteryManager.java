@@ -1,5 +1,7 @@
 package com.shopmod.lottery;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
@@ -14,6 +16,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class LotteryManager {
     private static final Map<UUID, PlayerLotteryData> playerData = new ConcurrentHashMap<>();
+    private static final PlayerShard<PlayerLotteryData> STATE = PlayerStateStore.registerEager("lottery", playerData, PlayerLotteryData.class);
     private static final Random RANDOM = new Random();
     
     // Lottery constants
@@ -88,6 +91,7 @@ public class LotteryManager {
      * Get player lottery data
      */
     public static PlayerLotteryData getPlayerData(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return playerData.computeIfAbsent(playerUUID, k -> new PlayerLotteryData());
     }
     
@@ -143,6 +147,7 @@ public class LotteryManager {
         data.getActiveTickets().add(ticket);
         data.addSpent(TICKET_COST);
         data.incrementTicketsPlayed();
+        STATE.markDirty(player.getUUID());
         
         // Add to jackpot pool
         totalTicketSalesThisWeek += TICKET_COST;
@@ -252,6 +257,7 @@ public class LotteryManager {
             
             // Clear tickets for next draw
             data.clearActiveTickets();
+            STATE.markDirty(playerUUID);
         }
         
         // Handle jackpot winners
@@ -263,6 +269,7 @@ public class LotteryManager {
                 if (winner != null) {
                     CurrencyManager.addMoney(winner, jackpotPerWinner);
                     getPlayerData(winnerUUID).addWon(jackpotPerWinner);
+                    STATE.markDirty(winnerUUID);
                     
                     winner.sendSystemMessage(Component.literal("§6§l═══════════════════════════════"));
                     winner.sendSystemMessage(Component.literal("§e§l✦✦✦ JACKPOT WINNER! ✦✦✦"));
@@ -1,6 +1,9 @@
 package com.shopmod.mining;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.notifications.Notifications;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 
@@ -12,6 +15,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class MiningManager {
     private static final Map<UUID, MiningData> playerMines = new ConcurrentHashMap<>();
+    private static final PlayerShard<MiningData> STATE = PlayerStateStore.register("mining", playerMines, MiningData.class);
     
     public enum MineType {
         COAL_MINE("Coal Mine", 12500, 300, 1.0),      // 50% cheaper
@@ -49,6 +53,7 @@ public class MiningManager {
     public static class MiningData {
         private final Map<MineType, Integer> mineLevels = new HashMap<>();
         private long totalEarned = 0;
+        private long lastSettledDay = -1;
         
         public int getMineLevel(MineType type) {
             return mineLevels.getOrDefault(type, 0);
@@ -64,6 +69,8 @@ public class MiningManager {
         
         public long getTotalEarned() { return totalEarned; }
         public void addEarned(long amount) { this.totalEarned += amount; }
+        public long getLastSettledDay() { return lastSettledDay; }
+        public void setLastSettledDay(long day) { this.lastSettledDay = day; }
         
         public long calculateDailyIncome() {
             long total = 0;
@@ -75,10 +82,13 @@ public class MiningManager {
     }
     
     public static MiningData getMiningData(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return playerMines.computeIfAbsent(playerUUID, k -> new MiningData());
     }
     
     public static boolean purchaseMine(ServerPlayer player, MineType type) {
+        // Pay out income at the old levels before the new level starts earning
+        settleIncome(player);
         MiningData data = getMiningData(player.getUUID());
         int currentLevel = data.getMineLevel(type);
         long cost = type.getCost(currentLevel);
@@ -91,6 +101,7 @@ public class MiningManager {
         
         CurrencyManager.removeMoney(player, cost);
         data.setMineLevel(type, currentLevel + 1);
+        STATE.markDirty(player.getUUID());
         
         if (currentLevel == 0) {
             player.sendSystemMessage(Component.literal(
@@ -106,31 +117,57 @@ public class MiningManager {
         return true;
     }
     
-    public static void processDailyIncome(long currentDay, net.minecraft.server.MinecraftServer server) {
-        server.getPlayerList().getPlayers().forEach(player -> {
-            MiningData data = getMiningData(player.getUUID());
-            long baseIncome = data.calculateDailyIncome();
-            
-            // Apply worker bonus (20% income boost per mine if worker assigned with MINING skill 5+)
-            long totalIncome = baseIncome;
-            for (MineType mineType : MineType.values()) {
-                if (data.hasMine(mineType)) {
-                    String mineId = "MINE_" + mineType.name();
-                    double workerBonus = com.shopmod.worker.WorkerManager.getWorkerBonus(player.getUUID(), mineId);
-                    if (workerBonus >= 0.25) { // MINING skill level 5 gives 25% bonus
-                        long mineIncome = mineType.getIncome(data.getMineLevel(mineType));
-                        totalIncome += (long)(mineIncome * 0.20); // 20% bonus for this mine
-                    }
-                }
-            }
-            
-            if (totalIncome > 0) {
-                CurrencyManager.addMoney(player, totalIncome);
-                data.addEarned(totalIncome);
-                player.sendSystemMessage(Component.literal(
+    /**
+     * Pay out mine income for every day since the last settlement.
+     * Runs at dawn for online players, on login and when the mining GUI opens.
+     */
+    public static void settleIncome(ServerPlayer player) {
+        settleIncome(player, player.level().getServer().overworld().getDayTime() / 24000);
+    }
+    
+    public static void settleIncome(ServerPlayer player, long currentDay) {
+        MiningData data = getMiningData(player.getUUID());
+        
+        long lastDay = data.getLastSettledDay();
+        data.setLastSettledDay(currentDay);
+        if (lastDay != currentDay) STATE.markDirty(player.getUUID());
+        if (lastDay < 0 || currentDay <= lastDay) return;
+        
+        long days = currentDay - lastDay;
+        long totalIncome = getDailyIncome(player.getUUID(), data) * days;
+        
+        if (totalIncome > 0) {
+            CurrencyManager.addMoney(player, totalIncome);
+            data.addEarned(totalIncome);
+            if (days == 1) {
+                Notifications.chat(player, Component.literal(
                     "§6§l[MINING] §aYour mines produced §6$" + CurrencyManager.format(totalIncome) + "!"));
+            } else {
+                Notifications.chat(player, Component.literal(
+                    "§6§l[MINING] §aYour mines produced §6$" + CurrencyManager.format(totalIncome) + 
+                    " §aover " + days + " days!"));
             }
-        });
+        }
+    }
+    
+    /**
+     * Daily income including worker bonuses
+     */
+    private static long getDailyIncome(UUID playerUUID, MiningData data) {
+        long totalIncome = data.calculateDailyIncome();
+        
+        // Apply worker bonus (20% income boost per mine if worker assigned with MINING skill 5+)
+        for (MineType mineType : MineType.values()) {
+            if (data.hasMine(mineType)) {
+                String mineId = "MINE_" + mineType.name();
+                double workerBonus = com.shopmod.worker.WorkerManager.getWorkerBonus(playerUUID, mineId);
+                if (workerBonus >= 0.25) { // MINING skill level 5 gives 25% bonus
+                    long mineIncome = mineType.getIncome(data.getMineLevel(mineType));
+                    totalIncome += (long)(mineIncome * 0.20); // 20% bonus for this mine
+                }
+            }
+        }
+        return totalIncome;
     }
     
     /**
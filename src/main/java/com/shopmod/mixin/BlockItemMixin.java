@@ -0,0 +1,25 @@
+package com.shopmod.mixin;
+
+import com.shopmod.events.PlacedBlocks;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionResult;
+import net.minecraft.world.item.BlockItem;
+import net.minecraft.world.item.context.BlockPlaceContext;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Remembers blocks placed by players so breaking them doesn't pay
+ */
+@Mixin(BlockItem.class)
+public class BlockItemMixin {
+    
+    @Inject(method = "place", at = @At("RETURN"))
+    private void shop$markPlaced(BlockPlaceContext context, CallbackInfoReturnable<InteractionResult> cir) {
+        if (cir.getReturnValue().consumesAction() && context.getPlayer() instanceof ServerPlayer) {
+            PlacedBlocks.markPlaced(context.getLevel(), context.getClickedPos());
+        }
+    }
+}
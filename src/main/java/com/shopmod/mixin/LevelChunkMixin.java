@@ -0,0 +1,31 @@
+package com.shopmod.mixin;
+
+import com.shopmod.events.PlacedBlocks;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Forgets a player-placed block as soon as anything replaces the block at its position
+ */
+@Mixin(LevelChunk.class)
+public class LevelChunkMixin {
+    
+    /**
+     * A non-null return is the previous state, i.e. the state really changed. Only a
+     * different block counts: property changes (lit redstone ore, leaf distance, snowy
+     * grass) keep the bit, while breaking and pistons swap in air or moving_piston. A moved
+     * block gets its bit back at the destination (PistonMovingBlockEntityMixin).
+     */
+    @Inject(method = "setBlockState", at = @At("RETURN"))
+    private void shop$clearPlaced(BlockPos pos, BlockState state, int flags, CallbackInfoReturnable<BlockState> cir) {
+        BlockState previous = cir.getReturnValue();
+        if (previous != null && previous.getBlock() != state.getBlock()) {
+            PlacedBlocks.onBlockChanged((LevelChunk) (Object) this, pos);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.shopmod.mixin;
+
+import com.llamalad7.mixinextras.injector.wrapoperation.Operation;
+import com.llamalad7.mixinextras.injector.wrapoperation.WrapOperation;
+import com.llamalad7.mixinextras.sugar.Local;
+import com.shopmod.events.PlacedBlocks;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.piston.MovingPistonBlock;
+import net.minecraft.world.level.block.piston.PistonBaseBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+
+/**
+ * Hands a pushed or pulled block's placed bit to the moving block that carries it
+ */
+@Mixin(PistonBaseBlock.class)
+public class PistonBaseBlockMixin {
+    
+    /**
+     * Blocks are turned into moving blocks furthest first, so each one's source position
+     * still holds it (and its bit) when its moving block is created
+     */
+    @WrapOperation(method = "moveBlocks", at = @At(value = "INVOKE",
+        target = "Lnet/minecraft/world/level/block/piston/MovingPistonBlock;newMovingBlockEntity(Lnet/minecraft/core/BlockPos;Lnet/minecraft/world/level/block/state/BlockState;Lnet/minecraft/world/level/block/state/BlockState;Lnet/minecraft/core/Direction;ZZ)Lnet/minecraft/world/level/block/entity/BlockEntity;"))
+    private BlockEntity shop$carryPlaced(BlockPos pos, BlockState state, BlockState movedState, Direction direction,
+                                        boolean extending, boolean isSourcePiston, Operation<BlockEntity> original,
+                                        @Local(argsOnly = true) Level level) {
+        BlockEntity entity = original.call(pos, state, movedState, direction, extending, isSourcePiston);
+        if (!isSourcePiston && !level.isClientSide() && entity instanceof PlacedBlocks.Carrier carrier) {
+            Direction movement = extending ? direction : direction.getOpposite();
+            carrier.shop$setPlaced(PlacedBlocks.isPlaced(level, pos.relative(movement.getOpposite())));
+        }
+        return entity;
+    }
+}
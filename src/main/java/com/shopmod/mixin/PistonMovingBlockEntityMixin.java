@@ -0,0 +1,49 @@
+package com.shopmod.mixin;
+
+import com.shopmod.events.PlacedBlocks;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.block.piston.PistonMovingBlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Sets the placed bit again where a moving block that carried one comes to rest
+ */
+@Mixin(PistonMovingBlockEntity.class)
+public abstract class PistonMovingBlockEntityMixin extends BlockEntity implements PlacedBlocks.Carrier {
+    @Unique
+    private boolean shop$placed = false;
+    
+    private PistonMovingBlockEntityMixin(BlockEntityType<?> type, BlockPos pos, BlockState state) {
+        super(type, pos, state);
+    }
+    
+    @Override
+    public boolean shop$isPlaced() {
+        return shop$placed;
+    }
+    
+    @Override
+    public void shop$setPlaced(boolean placed) {
+        this.shop$placed = placed;
+    }
+    
+    @Inject(method = "tick", at = @At(value = "INVOKE", shift = At.Shift.AFTER,
+        target = "Lnet/minecraft/world/level/Level;setBlock(Lnet/minecraft/core/BlockPos;Lnet/minecraft/world/level/block/state/BlockState;I)Z"))
+    private static void shop$restorePlaced(Level level, BlockPos pos, BlockState state, PistonMovingBlockEntity entity, CallbackInfo ci) {
+        PlacedBlocks.onMoveFinished(level, pos, entity);
+    }
+    
+    @Inject(method = "finalTick", at = @At(value = "INVOKE", shift = At.Shift.AFTER,
+        target = "Lnet/minecraft/world/level/Level;setBlock(Lnet/minecraft/core/BlockPos;Lnet/minecraft/world/level/block/state/BlockState;I)Z"))
+    private void shop$restorePlacedFinal(CallbackInfo ci) {
+        PlacedBlocks.onMoveFinished(level, worldPosition, (PistonMovingBlockEntity) (Object) this);
+    }
+}
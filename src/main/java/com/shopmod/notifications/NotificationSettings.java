@@ -0,0 +1,11 @@
+package com.shopmod.notifications;
+
+/**
+ * Stores notification preferences for a player
+ */
+public class NotificationSettings {
+    // Action-bar popups for block, mob, smelt and harvest earnings
+    public boolean earningsPopups = true;
+
+    public NotificationSettings() {}
+}
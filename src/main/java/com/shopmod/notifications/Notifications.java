@@ -0,0 +1,211 @@
+package com.shopmod.notifications;
+
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
+import com.shopmod.perf.ShopProfiler;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.Util;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player queue for economy messages.
+ *
+ * Earnings (blocks, kills, smelting, harvests) are summed and shown as at most one
+ * action-bar update per window; the first earning after a quiet window shows at once.
+ * Earnings popups are cosmetic, so they're dropped for AFK players and for players
+ * who turned them off with /shop notifications.
+ *
+ * Chat lines sent through chat() while the daily rollover is running a player's steps
+ * are held back and sent as one digest message when that player's rollover finishes.
+ * Outside the rollover chat() sends straight away.
+ */
+public class Notifications {
+    public static final int DEFAULT_WINDOW_TICKS = 20;
+    public static final int DEFAULT_AFK_SECONDS = 120;
+
+    private static final Map<UUID, NotificationSettings> settingsMap = new ConcurrentHashMap<>();
+    private static final PlayerShard<NotificationSettings> STATE = PlayerStateStore.register("notifications", settingsMap, NotificationSettings.class);
+
+    private static final Map<UUID, PendingEarnings> earnings = new HashMap<>();
+    private static final Map<UUID, List<Component>> digests = new HashMap<>();
+    private static final StringBuilder message = new StringBuilder();
+    private static UUID collecting = null;
+    private static long currentTick = 0;
+
+    private static final int windowTicks = Integer.getInteger("shopmod.notifyWindowTicks", DEFAULT_WINDOW_TICKS);
+    private static final long afkMillis = Integer.getInteger("shopmod.afkSeconds", DEFAULT_AFK_SECONDS) * 1000L;
+
+    /**
+     * What an earning came from; counts are shown next to the total
+     */
+    public enum Source {
+        BLOCKS("§e", "block", "blocks"),
+        KILLS("§c", "kill", "kills"),
+        SMELTED("§e", "item smelted", "items smelted"),
+        HARVESTS("§a", "harvest", "harvests");
+
+        private final String color;
+        private final String singular;
+        private final String plural;
+
+        Source(String color, String singular, String plural) {
+            this.color = color;
+            this.singular = singular;
+            this.plural = plural;
+        }
+    }
+
+    private static final Source[] SOURCES = Source.values();
+
+    /**
+     * Earnings not yet shown to one player
+     */
+    private static class PendingEarnings {
+        final int[] counts = new int[SOURCES.length];
+        ServerPlayer player;
+        long money = 0;
+        int xp = 0;
+        boolean dirty = false;
+        long lastShownTick = Long.MIN_VALUE / 2;
+    }
+
+    public static void register() {
+        ServerTickEvents.END_SERVER_TICK.register(ShopProfiler.timed("tick.notifications", server -> {
+            currentTick++;
+            for (PendingEarnings pending : earnings.values()) {
+                if (pending.dirty && currentTick - pending.lastShownTick >= windowTicks) {
+                    show(pending);
+                }
+            }
+        }));
+
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            earnings.remove(handler.getPlayer().getUUID());
+            digests.remove(handler.getPlayer().getUUID());
+        });
+
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            earnings.clear();
+            digests.clear();
+            collecting = null;
+        });
+    }
+
+    /**
+     * Queue an earnings popup; the money and XP must already have been paid out
+     */
+    public static void earned(ServerPlayer player, Source source, int count, long money, int xp) {
+        if (money <= 0 && xp <= 0) return;
+        if (!wantsPopups(player)) return;
+
+        PendingEarnings pending = earnings.computeIfAbsent(player.getUUID(), id -> new PendingEarnings());
+        pending.player = player;
+        pending.counts[source.ordinal()] += count;
+        pending.money += money;
+        pending.xp += xp;
+        pending.dirty = true;
+
+        if (currentTick - pending.lastShownTick >= windowTicks) {
+            show(pending);
+        }
+    }
+
+    /**
+     * Send a chat line, or add it to the player's digest while their rollover steps run
+     */
+    public static void chat(ServerPlayer player, Component line) {
+        if (player.getUUID().equals(collecting)) {
+            digests.computeIfAbsent(collecting, id -> new ArrayList<>()).add(line);
+        } else {
+            player.sendSystemMessage(line);
+        }
+    }
+
+    /**
+     * Start holding back chat() lines for a player (DailyRollover, around each of their steps)
+     */
+    public static void collectDigest(UUID playerId) {
+        collecting = playerId;
+    }
+
+    public static void stopCollecting() {
+        collecting = null;
+    }
+
+    /**
+     * Send everything held back for the player as one message
+     */
+    public static void sendDigest(ServerPlayer player, long day) {
+        List<Component> lines = digests.remove(player.getUUID());
+        if (lines == null || lines.isEmpty()) return;
+        if (lines.size() == 1) {
+            player.sendSystemMessage(lines.get(0));
+            return;
+        }
+
+        MutableComponent digest = Component.literal("§6§l☀ Day " + day + " Summary");
+        for (Component line : lines) {
+            digest.append("\n").append(line);
+        }
+        player.sendSystemMessage(digest);
+    }
+
+    /**
+     * Flip the player's earnings popups on or off
+     * @return whether popups are now on
+     */
+    public static boolean toggleEarningsPopups(UUID playerId) {
+        STATE.markDirty(playerId);
+        NotificationSettings settings = settingsMap.computeIfAbsent(playerId, k -> new NotificationSettings());
+        settings.earningsPopups = !settings.earningsPopups;
+        if (!settings.earningsPopups) {
+            earnings.remove(playerId);
+        }
+        return settings.earningsPopups;
+    }
+
+    public static boolean isAfk(ServerPlayer player) {
+        return Util.getMillis() - player.getLastActionTime() > afkMillis;
+    }
+
+    private static boolean wantsPopups(ServerPlayer player) {
+        STATE.ensureLoaded(player.getUUID());
+        NotificationSettings settings = settingsMap.get(player.getUUID());
+        if (settings != null && !settings.earningsPopups) return false;
+        return !isAfk(player);
+    }
+
+    private static void show(PendingEarnings pending) {
+        message.setLength(0);
+        message.append("§6+$").append(String.format("%,d", pending.money));
+        if (pending.xp > 0) {
+            message.append(" §a+").append(pending.xp).append(" XP");
+        }
+
+        boolean first = true;
+        for (Source source : SOURCES) {
+            int count = pending.counts[source.ordinal()];
+            if (count == 0) continue;
+            message.append(first ? " §7(" : "§7, ").append(source.color).append(count).append(' ')
+                .append(count == 1 ? source.singular : source.plural);
+            pending.counts[source.ordinal()] = 0;
+            first = false;
+        }
+        if (!first) {
+            message.append("§7)");
+        }
+
+        pending.player.displayClientMessage(Component.literal(message.toString()), true);
+        pending.money = 0;
+        pending.xp = 0;
+        pending.dirty = false;
+        pending.lastShownTick = currentTick;
+    }
+}
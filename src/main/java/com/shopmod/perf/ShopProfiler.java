@@ -0,0 +1,144 @@
+package com.shopmod.perf;
+
+import com.shopmod.ShopMod;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lightweight timing for tick handlers, rollover steps and persistence flushes.
+ * Each named section keeps its last WINDOW samples so /shopadmin perf can show rolling
+ * p50/p99/max. Anything slower than the slow-op threshold is logged with its context.
+ *
+ * Recording is cheap (two nanoTime calls and a ring buffer write) and safe from any thread.
+ */
+public class ShopProfiler {
+    public static final int WINDOW = 1200; // Samples kept per section - one minute of ticks
+    public static final int DEFAULT_SLOW_MS = 20;
+
+    private static final Map<String, Section> sections = new ConcurrentHashMap<>();
+    private static volatile long slowThresholdNanos = Integer.getInteger("shopmod.slowOpMs", DEFAULT_SLOW_MS) * 1_000_000L;
+
+    /**
+     * Rolling window of durations for one section
+     */
+    public static final class Section {
+        private final String name;
+        private final long[] samples = new long[WINDOW];
+        private int next = 0;
+        private int size = 0;
+        private long count = 0;
+
+        private Section(String name) {
+            this.name = name;
+        }
+
+        public void record(long nanos, String context) {
+            synchronized (this) {
+                samples[next] = nanos;
+                next = (next + 1) % WINDOW;
+                size = Math.min(size + 1, WINDOW);
+                count++;
+            }
+            if (nanos >= slowThresholdNanos) {
+                ShopMod.LOGGER.warn(String.format("Slow operation: %s took %.2fms%s",
+                    name, nanos / 1_000_000.0, context == null ? "" : " (" + context + ")"));
+            }
+        }
+
+        private synchronized void clear() {
+            next = 0;
+            size = 0;
+            count = 0;
+        }
+
+        private synchronized Stats snapshot() {
+            long[] window = Arrays.copyOf(samples, size);
+            Arrays.sort(window);
+            return new Stats(name, count, size,
+                percentile(window, 0.50), percentile(window, 0.99), size == 0 ? 0 : window[size - 1] / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Percentiles in milliseconds over a section's current window
+     */
+    public record Stats(String name, long count, int samples, double p50Ms, double p99Ms, double maxMs) {}
+
+    /**
+     * The section with this name, created on first use. Hold on to it in hot paths.
+     */
+    public static Section section(String name) {
+        return sections.computeIfAbsent(name, Section::new);
+    }
+
+    /**
+     * Wraps a tick handler so every invocation is timed under the given section
+     */
+    public static ServerTickEvents.EndTick timed(String name, ServerTickEvents.EndTick handler) {
+        Section section = section(name);
+        return server -> {
+            long start = System.nanoTime();
+            try {
+                handler.onEndTick(server);
+            } finally {
+                section.record(System.nanoTime() - start, null);
+            }
+        };
+    }
+
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    public static void stop(String name, long start) {
+        stop(name, start, null);
+    }
+
+    /**
+     * Records the time since start() under the section; context is only used in the slow-op log
+     */
+    public static void stop(String name, long start, String context) {
+        section(name).record(System.nanoTime() - start, context);
+    }
+
+    /**
+     * Stats for every section, slowest p99 first
+     */
+    public static List<Stats> getStats() {
+        List<Stats> stats = new ArrayList<>();
+        for (Section section : sections.values()) {
+            stats.add(section.snapshot());
+        }
+        stats.sort(Comparator.comparingDouble(Stats::p99Ms).reversed());
+        return stats;
+    }
+
+    /**
+     * Empties every section's window (sections stay registered since tick wrappers hold them)
+     */
+    public static void reset() {
+        for (Section section : sections.values()) {
+            section.clear();
+        }
+    }
+
+    public static int getSlowThresholdMs() {
+        return (int) (slowThresholdNanos / 1_000_000L);
+    }
+
+    public static void setSlowThresholdMs(int ms) {
+        slowThresholdNanos = Math.max(1, ms) * 1_000_000L;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
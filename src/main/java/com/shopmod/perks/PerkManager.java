@@ -1,6 +1,11 @@
 package com.shopmod.perks;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.scheduler.ShopScheduler;
+import com.shopmod.scheduler.TimerWheel;
+import com.shopmod.economy.ModifierProfile;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 
@@ -12,9 +17,17 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class PerkManager {
     private static final Map<UUID, PlayerPerks> playerPerks = new ConcurrentHashMap<>();
+    private static final PlayerShard<PlayerPerks> STATE = PlayerStateStore.register("perks", playerPerks, PlayerPerks.class);
     
     public static PlayerPerks getPerks(UUID playerId) {
-        return playerPerks.computeIfAbsent(playerId, id -> new PlayerPerks());
+        STATE.ensureLoaded(playerId);
+        PlayerPerks perks = playerPerks.computeIfAbsent(playerId, id -> new PlayerPerks());
+        if (perks.owner == null) {
+            // Freshly created or loaded - hand booster expiry to the scheduler
+            perks.owner = playerId;
+            perks.scheduleExpiries();
+        }
+        return perks;
     }
     
     public static PlayerPerks getPerks(ServerPlayer player) {
@@ -25,8 +38,10 @@ public class PerkManager {
         // Permanent perks
         private final Set<PermanentPerk> ownedPerks = new HashSet<>();
         
-        // Active boosters (type -> expiry time)
+        // Active boosters (type -> expiry time); removed by a scheduled task when they run out
         private final Map<TemporaryBooster, Long> activeBoosters = new HashMap<>();
+        private transient UUID owner;
+        private transient Map<TemporaryBooster, TimerWheel.Timer> expiryTimers;
         
         public boolean hasPerk(PermanentPerk perk) {
             return ownedPerks.contains(perk);
@@ -34,6 +49,8 @@ public class PerkManager {
         
         public void unlockPerk(PermanentPerk perk) {
             ownedPerks.add(perk);
+            markDirty();
+            invalidateProfile();
         }
         
         public Set<PermanentPerk> getOwnedPerks() {
@@ -42,18 +59,15 @@ public class PerkManager {
         
         public void activateBooster(TemporaryBooster booster) {
             long duration = booster.getDurationMinutes() * 60 * 1000; // Convert to ms
-            activeBoosters.put(booster, System.currentTimeMillis() + duration);
+            long expiry = System.currentTimeMillis() + duration;
+            activeBoosters.put(booster, expiry);
+            scheduleExpiry(booster, expiry);
+            markDirty();
+            invalidateProfile();
         }
         
         public boolean hasActiveBooster(TemporaryBooster booster) {
-            Long expiry = activeBoosters.get(booster);
-            if (expiry == null) return false;
-            
-            if (System.currentTimeMillis() > expiry) {
-                activeBoosters.remove(booster);
-                return false;
-            }
-            return true;
+            return activeBoosters.containsKey(booster);
         }
         
         public long getBoosterTimeRemaining(TemporaryBooster booster) {
@@ -65,12 +79,55 @@ public class PerkManager {
         }
         
         public Map<TemporaryBooster, Long> getActiveBoosters() {
-            // Clean expired boosters
-            activeBoosters.entrySet().removeIf(entry -> 
-                System.currentTimeMillis() > entry.getValue());
             return new HashMap<>(activeBoosters);
         }
         
+        /**
+         * Drop boosters that ran out while the player was unloaded and schedule the rest
+         */
+        private void scheduleExpiries() {
+            long now = System.currentTimeMillis();
+            if (activeBoosters.values().removeIf(expiry -> expiry <= now)) {
+                markDirty();
+            }
+            for (Map.Entry<TemporaryBooster, Long> entry : activeBoosters.entrySet()) {
+                scheduleExpiry(entry.getKey(), entry.getValue());
+            }
+        }
+        
+        private void scheduleExpiry(TemporaryBooster booster, long expiry) {
+            if (expiryTimers == null) {
+                expiryTimers = new EnumMap<>(TemporaryBooster.class);
+            }
+            // 50ms per tick; a lagging server lets boosters run slightly long
+            long delayTicks = (expiry - System.currentTimeMillis() + 49) / 50;
+            ShopScheduler.cancel(expiryTimers.put(booster, ShopScheduler.schedule(delayTicks, () -> expireBooster(booster))));
+        }
+        
+        private void expireBooster(TemporaryBooster booster) {
+            expiryTimers.remove(booster);
+            if (activeBoosters.remove(booster) == null || owner == null) return;
+            invalidateProfile();
+            markDirty();
+            
+            ServerPlayer player = ShopScheduler.getPlayer(owner);
+            if (player != null) {
+                player.sendSystemMessage(Component.literal("§e" + booster.getName() + " §7has worn off."));
+            }
+        }
+        
+        private void markDirty() {
+            if (owner != null && playerPerks.get(owner) == this) {
+                STATE.markDirty(owner);
+            }
+        }
+        
+        private void invalidateProfile() {
+            if (owner != null) {
+                ModifierProfile.invalidate(owner);
+            }
+        }
+        
         // Calculate multipliers
         public double getIncomeMultiplier() {
             double multiplier = 1.0;
@@ -1,6 +1,9 @@
 package com.shopmod.pets;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.economy.ModifierProfile;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 
@@ -12,6 +15,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class PetsManager {
     private static final Map<UUID, PetsData> playerPets = new ConcurrentHashMap<>();
+    private static final PlayerShard<PetsData> STATE = PlayerStateStore.register("pets", playerPets, PetsData.class);
     
     public enum PetType {
         DOG("§6Loyal Dog", 5000, "§7+5% Mining Speed", PetBonus.MINING_SPEED, 0.05),
@@ -83,6 +87,7 @@ public class PetsManager {
     }
     
     public static PetsData getPetsData(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return playerPets.computeIfAbsent(playerUUID, k -> new PetsData());
     }
     
@@ -102,6 +107,7 @@ public class PetsManager {
         
         CurrencyManager.removeMoney(player, type.getCost());
         data.addPet(type);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             "§a§l[PETS] Unlocked " + type.getDisplayName() + "!"));
@@ -109,6 +115,7 @@ public class PetsManager {
         // Auto-equip first pet
         if (data.getActivePet() == null) {
             data.setActivePet(type);
+            ModifierProfile.invalidate(player.getUUID());
             player.sendSystemMessage(Component.literal("§7Automatically equipped!"));
         }
         
@@ -124,6 +131,8 @@ public class PetsManager {
         }
         
         data.setActivePet(type);
+        STATE.markDirty(player.getUUID());
+        ModifierProfile.invalidate(player.getUUID());
         player.sendSystemMessage(Component.literal(
             "§a§l[PETS] Equipped " + type.getDisplayName() + "!"));
         player.sendSystemMessage(Component.literal("§7" + type.getDescription()));
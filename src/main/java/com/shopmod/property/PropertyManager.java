@@ -1,7 +1,10 @@
 package com.shopmod.property;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
-import com.shopmod.research.ResearchManager;
+import com.shopmod.economy.EconomyPlayer;
+import com.shopmod.economy.ModifierProfile;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.network.chat.Component;
 
@@ -14,6 +17,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class PropertyManager {
     private static final Map<UUID, PlayerProperties> playerProperties = new ConcurrentHashMap<>();
+    private static final PlayerShard<PlayerProperties> STATE = PlayerStateStore.register("properties", playerProperties, PlayerProperties.class);
     private static final Random RANDOM = new Random();
     
     // Digital villager names for renters
@@ -82,15 +86,26 @@ public class PropertyManager {
      * Get player's properties
      */
     public static PlayerProperties getPlayerProperties(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return playerProperties.computeIfAbsent(playerUUID, k -> new PlayerProperties());
     }
     
+    /**
+     * Marks a player's properties as changed; call after changing what getPlayerProperties returned
+     */
+    public static void markDirty(UUID playerUUID) {
+        STATE.markDirty(playerUUID);
+    }
+    
     /**
      * Purchase property
      */
     public static boolean purchaseProperty(ServerPlayer player, PropertyType propertyType, int quantity) {
         if (quantity <= 0) return false;
         
+        // Pay out income at the old rate before the new property starts earning
+        settleIncome(player);
+        
         PlayerProperties props = getPlayerProperties(player.getUUID());
         
         // Check level requirement
@@ -122,6 +137,7 @@ public class PropertyManager {
         } else {
             data.quantity = quantity;
         }
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             "§a§l[PROPERTY] Purchased " + quantity + "x " + propertyType.getDisplayName() + "!"));
@@ -157,6 +173,7 @@ public class PropertyManager {
         
         CurrencyManager.removeMoney(player, upgradeCost);
         props.setPropertyLevel(currentLevel + 1);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             "§a§l[PROPERTY] Level upgraded to " + props.getPropertyLevel() + "!"));
@@ -167,89 +184,117 @@ public class PropertyManager {
     }
     
     /**
-     * Process daily property income (called from server tick with server instance)
+     * Pay out property income for every day since the last settlement.
+     * Runs at dawn for online players, on login and when the property GUI opens,
+     * so any number of missed days is caught up in one step.
      */
-    public static void processDailyIncome(long currentDay, net.minecraft.server.MinecraftServer server) {
-        for (Map.Entry<UUID, PlayerProperties> entry : playerProperties.entrySet()) {
-            UUID playerUUID = entry.getKey();
-            PlayerProperties props = entry.getValue();
+    public static void settleIncome(ServerPlayer player) {
+        settleIncome(player, player.level().getServer().overworld().getDayTime() / 24000);
+    }
+    
+    public static void settleIncome(ServerPlayer player, long currentDay) {
+        settleIncome(EconomyPlayer.of(player), currentDay);
+    }
+    
+    public static void settleIncome(EconomyPlayer player, long currentDay) {
+        UUID playerUUID = player.getUUID();
+        PlayerProperties props = getPlayerProperties(playerUUID);
+        
+        long lastDay = props.getLastProcessedDay();
+        if (lastDay < 0) {
+            // Nothing has accrued yet - start the clock today
+            props.setLastProcessedDay(currentDay);
+            STATE.markDirty(playerUUID);
+            return;
+        }
+        long days = currentDay - lastDay;
+        if (days <= 0) return;
+        STATE.markDirty(playerUUID);
+        
+        // Calculate total income with research bonuses and rental bonuses
+        double multiplier = ModifierProfile.of(playerUUID).propertyIncome();
+        long totalIncome = 0;
+        
+        for (PropertyData propData : props.getProperties().values()) {
+            long dailyIncome = propData.getPropertyType().getDailyIncome() * propData.getQuantity();
+            long rentedDays = settleRental(player, propData, days);
             
-            // Skip if already processed today
-            if (props.getLastProcessedDay() >= currentDay) continue;
+            // Rented days earn +50% rent bonus
+            long baseIncome = dailyIncome * (days - rentedDays) + (long)(dailyIncome * 1.5) * rentedDays;
+            long finalIncome = (long)(baseIncome * multiplier);
             
-            // Calculate total income with research bonuses and rental bonuses
-            long totalIncome = 0;
+            totalIncome += finalIncome;
+            propData.addEarnings(finalIncome);
+        }
+        
+        if (totalIncome > 0) {
+            CurrencyManager.addMoney(player, totalIncome);
             
-            for (PropertyData propData : props.getProperties().values()) {
-                long baseIncome = propData.getPropertyType().getDailyIncome() * propData.getQuantity();
-                
-                // If rented, +50% income but check for repairs
-                if (propData.isRented()) {
-                    baseIncome = (long)(baseIncome * 1.5); // +50% rent bonus
-                    
-                    // Check repair countdown
-                    int daysLeft = propData.getDaysUntilRepair();
-                    if (daysLeft > 0) {
-                        propData.setDaysUntilRepair(daysLeft - 1);
-                    } else if (daysLeft == 0) {
-                        // Repair needed!
-                        long repairCost = (long)(propData.getPropertyType().getPurchaseCost() * 0.15);
-                        
-                        // Apply worker discount (30% reduction if worker assigned with MAINTENANCE skill 5+)
-                        String propertyId = "PROPERTY_" + propData.getPropertyType().name();
-                        double workerBonus = com.shopmod.worker.WorkerManager.getWorkerBonus(playerUUID, propertyId);
-                        if (workerBonus >= 0.25) { // MAINTENANCE skill level 5 gives 25% bonus
-                            repairCost = (long)(repairCost * 0.70); // 30% discount
-                        }
-                        
-                        ServerPlayer player = server.getPlayerList().getPlayer(playerUUID);
-                        if (player != null) {
-                            if (CurrencyManager.canAfford(player, repairCost)) {
-                                CurrencyManager.removeMoney(player, repairCost);
-                                player.sendSystemMessage(Component.literal(
-                                    "§c§l[PROPERTY] Repair bill: -" + CurrencyManager.format(repairCost)));
-                                player.sendSystemMessage(Component.literal(
-                                    "§7" + propData.getRenterName() + " caused damage to your " + 
-                                    propData.getPropertyType().getDisplayName()));
-                            } else {
-                                // Can't afford - evict renter
-                                player.sendSystemMessage(Component.literal(
-                                    "§c§l[PROPERTY] Can't afford repairs! " + propData.getRenterName() + " evicted."));
-                                propData.setRented(false);
-                                propData.setRenterName("");
-                                propData.setDaysUntilRepair(-1);
-                            }
-                        }
-                        
-                        // Reset countdown
-                        propData.setDaysUntilRepair(7 + RANDOM.nextInt(8));
-                    }
+            if (days == 1) {
+                player.sendSystemMessage(Component.literal(
+                    "§e§l[PROPERTY] Daily income: §6+" + CurrencyManager.format(totalIncome)));
+            } else {
+                player.sendSystemMessage(Component.literal(
+                    "§e§l[PROPERTY] Income for " + days + " days: §6+" + CurrencyManager.format(totalIncome)));
+            }
+        }
+        
+        props.setLastProcessedDay(currentDay);
+    }
+    
+    /**
+     * Runs a rental's repair countdown forward by the given number of days,
+     * jumping from one repair to the next instead of stepping day by day.
+     * @return how many of those days the property was rented
+     */
+    private static long settleRental(EconomyPlayer player, PropertyData propData, long days) {
+        long rentedDays = 0;
+        long remaining = days;
+        
+        while (propData.isRented() && remaining > 0) {
+            int daysLeft = propData.getDaysUntilRepair();
+            if (daysLeft < 0 || daysLeft >= remaining) {
+                // No repair due within the period
+                if (daysLeft > 0) {
+                    propData.setDaysUntilRepair((int)(daysLeft - remaining));
                 }
-                
-                // Apply research multiplier
-                double multiplier = ResearchManager.getPropertyIncomeMultiplier(playerUUID);
-                long finalIncome = (long)(baseIncome * multiplier);
-                
-                totalIncome += finalIncome;
-                propData.addEarnings(finalIncome);
+                rentedDays += remaining;
+                break;
             }
             
-            if (totalIncome > 0) {
-                // Find player
-                if (server != null) {
-                    ServerPlayer player = server.getPlayerList().getPlayer(playerUUID);
-                    if (player != null) {
-                        // Award income
-                        CurrencyManager.addMoney(player, totalIncome);
-                        
-                        player.sendSystemMessage(Component.literal(
-                            "§e§l[PROPERTY] Daily income: §6+" + CurrencyManager.format(totalIncome)));
-                    }
-                }
+            // Countdown hits zero after daysLeft days; the repair lands on the day after (which still earns rent)
+            rentedDays += daysLeft + 1;
+            remaining -= daysLeft + 1;
+            
+            long repairCost = (long)(propData.getPropertyType().getPurchaseCost() * 0.15);
+            
+            // Apply worker discount (30% reduction if worker assigned with MAINTENANCE skill 5+)
+            String propertyId = "PROPERTY_" + propData.getPropertyType().name();
+            double workerBonus = com.shopmod.worker.WorkerManager.getWorkerBonus(player.getUUID(), propertyId);
+            if (workerBonus >= 0.25) { // MAINTENANCE skill level 5 gives 25% bonus
+                repairCost = (long)(repairCost * 0.70); // 30% discount
             }
             
-            props.setLastProcessedDay(currentDay);
+            if (CurrencyManager.canAfford(player, repairCost)) {
+                CurrencyManager.removeMoney(player, repairCost);
+                player.sendSystemMessage(Component.literal(
+                    "§c§l[PROPERTY] Repair bill: -" + CurrencyManager.format(repairCost)));
+                player.sendSystemMessage(Component.literal(
+                    "§7" + propData.getRenterName() + " caused damage to your " + 
+                    propData.getPropertyType().getDisplayName()));
+            } else {
+                // Can't afford - evict renter
+                player.sendSystemMessage(Component.literal(
+                    "§c§l[PROPERTY] Can't afford repairs! " + propData.getRenterName() + " evicted."));
+                propData.setRented(false);
+                propData.setRenterName("");
+            }
+            
+            // Reset countdown
+            propData.setDaysUntilRepair(7 + RANDOM.nextInt(8));
         }
+        
+        return rentedDays;
     }
     
     /**
@@ -257,6 +302,7 @@ public class PropertyManager {
      */
     public static boolean rentOutProperty(ServerPlayer player, PropertyType propertyType) {
         // Delegate to TenantManager for proper tenant tracking
+        settleIncome(player);
         return com.shopmod.tenant.TenantManager.rentOutProperty(player, propertyType);
     }
     
@@ -265,6 +311,7 @@ public class PropertyManager {
      */
     public static boolean evictRenter(ServerPlayer player, PropertyType propertyType) {
         // Delegate to TenantManager for proper tenant tracking
+        settleIncome(player);
         return com.shopmod.tenant.TenantManager.evictTenant(player, propertyType);
     }
     
@@ -272,6 +319,7 @@ public class PropertyManager {
      * Sell property
      */
     public static boolean sellProperty(ServerPlayer player, PropertyType propertyType, int quantity) {
+        settleIncome(player);
         PlayerProperties props = getPlayerProperties(player.getUUID());
         PropertyData data = props.getProperties().get(propertyType);
         
@@ -288,6 +336,7 @@ public class PropertyManager {
         if (data.getQuantity() <= 0) {
             props.getProperties().remove(propertyType);
         }
+        STATE.markDirty(player.getUUID());
         
         CurrencyManager.addMoney(player, sellPrice);
         
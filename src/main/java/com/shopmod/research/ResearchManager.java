@@ -1,22 +1,30 @@
 package com.shopmod.research;
 
+import com.google.gson.reflect.TypeToken;
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.economy.ModifierProfile;
+import com.shopmod.notifications.Notifications;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages research purchases and applies bonuses
  */
 public class ResearchManager {
-    private static final Map<UUID, Set<ResearchType>> playerResearch = new HashMap<>();
+    private static final Map<UUID, Set<ResearchType>> playerResearch = new ConcurrentHashMap<>();
+    private static final PlayerShard<Set<ResearchType>> STATE = PlayerStateStore.register("research", playerResearch, new TypeToken<Set<ResearchType>>(){}.getType());
     
     /**
      * Check if player has researched something
      */
     public static boolean hasResearch(UUID playerId, ResearchType research) {
+        STATE.ensureLoaded(playerId);
         return playerResearch.getOrDefault(playerId, new HashSet<>()).contains(research);
     }
     
@@ -62,6 +70,8 @@ public class ResearchManager {
         // Purchase
         CurrencyManager.removeMoney(player, research.getCost());
         playerResearch.computeIfAbsent(playerId, k -> new HashSet<>()).add(research);
+        STATE.markDirty(playerId);
+        ModifierProfile.invalidate(playerId);
         
         player.sendSystemMessage(Component.literal("§a§lResearch Complete!"));
         player.sendSystemMessage(Component.literal("§7Unlocked: " + research.getDisplayName()));
@@ -74,6 +84,7 @@ public class ResearchManager {
      * Get all research for a player
      */
     public static Set<ResearchType> getPlayerResearch(UUID playerId) {
+        STATE.ensureLoaded(playerId);
         return new HashSet<>(playerResearch.getOrDefault(playerId, new HashSet<>()));
     }
     
@@ -165,12 +176,19 @@ public class ResearchManager {
      */
     public static void applyDailyIncome(MinecraftServer server) {
         for (ServerPlayer player : server.getPlayerList().getPlayers()) {
-            long income = getDailyPassiveIncome(player.getUUID());
-            if (income > 0) {
-                CurrencyManager.addMoney(player, income);
-                player.sendSystemMessage(Component.literal("§a§l[Money Printer] +" + 
-                    CurrencyManager.format(income)));
-            }
+            applyDailyIncome(player);
+        }
+    }
+    
+    /**
+     * Apply one player's daily passive research income
+     */
+    public static void applyDailyIncome(ServerPlayer player) {
+        long income = getDailyPassiveIncome(player.getUUID());
+        if (income > 0) {
+            CurrencyManager.addMoney(player, income);
+            Notifications.chat(player, Component.literal("§a§l[Money Printer] +" + 
+                CurrencyManager.format(income)));
         }
     }
 }
@@ -0,0 +1,99 @@
+package com.shopmod.scheduler;
+
+import com.shopmod.ShopMod;
+import com.shopmod.perf.ShopProfiler;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Central scheduler for delayed and expiring economy tasks.
+ * Subsystems register a deadline once instead of scanning or sleeping every tick.
+ *
+ * Two clocks are available:
+ * - Server ticks, for real-time delays (welcome messages, booster expiry)
+ * - Overworld day time, for deadlines stored as MC time (auctions, stock options).
+ *   Sleeping or /time add jumps straight over them and fires everything passed.
+ *
+ * Pending tasks are dropped when the server stops; subsystems with persisted
+ * deadlines re-register them on load.
+ */
+public class ShopScheduler {
+    private static final TimerWheel ticks = new TimerWheel("tick", 0);
+    private static final TimerWheel dayTime = new TimerWheel("dayTime", 0);
+    private static MinecraftServer server = null;
+
+    public static void register() {
+        ServerLifecycleEvents.SERVER_STARTED.register(startedServer -> {
+            server = startedServer;
+            dayTime.advanceTo(startedServer.overworld().getDayTime());
+        });
+        ServerTickEvents.END_SERVER_TICK.register(ShopProfiler.timed("tick.scheduler", ShopScheduler::tick));
+        ServerLifecycleEvents.SERVER_STOPPED.register(stoppedServer -> {
+            int dropped = ticks.getPending() + dayTime.getPending();
+            ticks.clear();
+            dayTime.clear();
+            server = null;
+            if (dropped > 0) {
+                ShopMod.LOGGER.info("Dropped " + dropped + " scheduled tasks on shutdown");
+            }
+        });
+    }
+
+    private static void tick(MinecraftServer tickingServer) {
+        ticks.advanceTo(ticks.getNow() + 1);
+        dayTime.advanceTo(tickingServer.overworld().getDayTime());
+    }
+
+    /**
+     * Runs the task after the given number of server ticks (at least one)
+     */
+    public static TimerWheel.Timer schedule(long delayTicks, Runnable task) {
+        return ticks.schedule(ticks.getNow() + Math.max(1, delayTicks), task);
+    }
+
+    /**
+     * Runs the task after the given number of server ticks if the player is still online
+     */
+    public static TimerWheel.Timer schedule(UUID playerId, long delayTicks, Consumer<ServerPlayer> task) {
+        return schedule(delayTicks, () -> {
+            ServerPlayer player = getPlayer(playerId);
+            if (player != null) {
+                task.accept(player);
+            }
+        });
+    }
+
+    /**
+     * Runs the task once the overworld day time reaches the deadline
+     */
+    public static TimerWheel.Timer scheduleAtDayTime(long deadline, Runnable task) {
+        return dayTime.schedule(deadline, task);
+    }
+
+    /**
+     * Cancels a task returned by one of the schedule methods; null is ignored
+     */
+    public static boolean cancel(TimerWheel.Timer timer) {
+        return timer != null && timer.cancel();
+    }
+
+    /**
+     * The online player with this UUID, or null (also null while no server is running)
+     */
+    public static ServerPlayer getPlayer(UUID playerId) {
+        return server == null ? null : server.getPlayerList().getPlayer(playerId);
+    }
+
+    public static int getPendingTicks() {
+        return ticks.getPending();
+    }
+
+    public static int getPendingDayTime() {
+        return dayTime.getPending();
+    }
+}
@@ -0,0 +1,224 @@
+package com.shopmod.scheduler;
+
+import com.shopmod.ShopMod;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timer wheel: 4 levels of 64 slots, so scheduling and cancelling are O(1)
+ * and advancing one tick only touches the timers that are due (plus an occasional cascade).
+ * Timers more than 64^4 ticks out wait in an overflow list until the top level wraps.
+ *
+ * The wheel has no clock of its own; the owner advances it to the current time.
+ * Not thread safe - use from the server thread.
+ */
+public class TimerWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final int OVERFLOW = LEVELS;
+
+    private final String name;
+    private final Timer[][] wheel = new Timer[LEVELS + 1][SLOTS];  // Head of each slot's list; overflow uses [LEVELS][0]
+    private long now;
+    private int pending = 0;
+
+    /**
+     * A scheduled task. Keep it to cancel the task before it runs.
+     */
+    public static final class Timer {
+        private final long deadline;
+        private final Runnable task;
+        private TimerWheel owner;
+        private Timer prev, next;
+        private int level, slot;
+
+        private Timer(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * True until the task has run or been cancelled
+         */
+        public boolean isPending() {
+            return owner != null;
+        }
+
+        /**
+         * Stops the task from running
+         * @return false if it already ran or was cancelled
+         */
+        public boolean cancel() {
+            if (owner == null) return false;
+            owner.unlink(this);
+            return true;
+        }
+    }
+
+    public TimerWheel(String name, long now) {
+        this.name = name;
+        this.now = now;
+    }
+
+    /**
+     * Runs the task once the wheel reaches the deadline (next advance if it is already past)
+     */
+    public Timer schedule(long deadline, Runnable task) {
+        Timer timer = new Timer(deadline, task);
+        insert(timer, now + 1);
+        return timer;
+    }
+
+    /**
+     * Advances to the given time, running every task that comes due in deadline order.
+     * Going backwards re-files the pending timers against the new time instead.
+     */
+    public void advanceTo(long time) {
+        if (time < now) {
+            rebase(time);
+            return;
+        }
+        while (now < time) {
+            if (pending == 0) {
+                now = time;
+                return;
+            }
+            now++;
+            cascade();
+            fire((int) (now & SLOT_MASK));
+        }
+    }
+
+    public long getNow() {
+        return now;
+    }
+
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * Drops every pending timer without running it
+     */
+    public void clear() {
+        for (Timer timer : drain()) {
+            timer.owner = null;
+        }
+    }
+
+    /**
+     * Files a timer by how far away it is; anything overdue is due at the earliest tick given
+     */
+    private void insert(Timer timer, long earliest) {
+        long due = Math.max(timer.deadline, earliest);
+        long delta = due - now;
+        int level = 0;
+        while (level < LEVELS && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = level == OVERFLOW ? 0 : (int) ((due >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+        timer.owner = this;
+        timer.level = level;
+        timer.slot = slot;
+        timer.prev = null;
+        timer.next = wheel[level][slot];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        wheel[level][slot] = timer;
+        pending++;
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            wheel[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.owner = null;
+        timer.prev = timer.next = null;
+        pending--;
+    }
+
+    /**
+     * Moves timers from the higher level slots that start at this tick down a level,
+     * highest first so they can keep falling through to level 0
+     */
+    private void cascade() {
+        if ((now & SLOT_MASK) != 0) return;
+
+        int top = 1;
+        while (top < LEVELS && (now & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) {
+            top++;
+        }
+        if (top == LEVELS) {
+            refile(OVERFLOW, 0);
+            top = LEVELS - 1;
+        }
+        for (int level = top; level >= 1; level--) {
+            refile(level, (int) ((now >>> (SLOT_BITS * level)) & SLOT_MASK));
+        }
+    }
+
+    private void refile(int level, int slot) {
+        List<Timer> timers = new ArrayList<>();
+        Timer timer;
+        while ((timer = wheel[level][slot]) != null) {
+            unlink(timer);
+            timers.add(timer);
+        }
+        // Cascading happens before this tick's slot fires, so timers due now still make it
+        for (Timer t : timers) {
+            insert(t, now);
+        }
+    }
+
+    /**
+     * Runs everything in a level 0 slot. Tasks may schedule or cancel freely:
+     * nothing new can land in the slot being fired, since new timers are due no earlier than now + 1.
+     */
+    private void fire(int slot) {
+        Timer timer;
+        while ((timer = wheel[0][slot]) != null) {
+            unlink(timer);
+            try {
+                timer.task.run();
+            } catch (RuntimeException e) {
+                ShopMod.LOGGER.error("Scheduled task on " + name + " wheel failed", e);
+            }
+        }
+    }
+
+    private void rebase(long time) {
+        List<Timer> timers = drain();
+        now = time;
+        for (Timer timer : timers) {
+            insert(timer, now + 1);
+        }
+    }
+
+    private List<Timer> drain() {
+        List<Timer> timers = new ArrayList<>(pending);
+        for (Timer[] level : wheel) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                for (Timer timer = level[slot]; timer != null; timer = timer.next) {
+                    timers.add(timer);
+                }
+                level[slot] = null;
+            }
+        }
+        pending = 0;
+        return timers;
+    }
+}
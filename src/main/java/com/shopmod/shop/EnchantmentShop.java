@@ -23,94 +23,35 @@ public class EnchantmentShop {
         public final String name;
         public final int level;
         public final long price;
+        public final long sellPrice;
         public final ShopTier tier;
         public final String description;
         
-        public EnchantData(String name, int level, long price, ShopTier tier, String description) {
+        public EnchantData(String name, int level, long price, long sellPrice, ShopTier tier, String description) {
             this.name = name;
             this.level = level;
             this.price = price;
+            this.sellPrice = sellPrice;
             this.tier = tier;
             this.description = description;
         }
     }
     
-    private static final List<EnchantData> ENCHANTMENTS = new ArrayList<>();
-    
-    static {
-        // NOTE: MC 1.21.11 completely redesigned enchantment system
-        // Enchantments are now ResourceKey<Enchantment> based, not direct Enchantment objects
-        // This simple shop just tracks prices - actual enchantment application needs
-        // new API with Holder<Enchantment>, RegistryAccess, etc.
-        
-        // TIER 0 - STARTER (Basic utility)
-        addEnchant("Unbreaking I", 1, 200, ShopTier.STARTER, "Increases item durability");
-        addEnchant("Efficiency I", 1, 250, ShopTier.STARTER, "Increases mining speed");
-        
-        // TIER 1 - FARMER (Basic enchantments)
-        addEnchant("Unbreaking II", 2, 500, ShopTier.FARMER, "Better durability");
-        addEnchant("Efficiency II", 2, 600, ShopTier.FARMER, "Faster mining");
-        addEnchant("Fortune I", 1, 800, ShopTier.FARMER, "More block drops");
-        addEnchant("Looting I", 1, 700, ShopTier.FARMER, "More mob drops");
-        addEnchant("Feather Falling I", 1, 300, ShopTier.FARMER, "Reduces fall damage");
-        
-        // TIER 2 - ENGINEER (Intermediate enchantments)
-        addEnchant("Unbreaking III", 3, 1200, ShopTier.ENGINEER, "Great durability");
-        addEnchant("Efficiency III", 3, 1400, ShopTier.ENGINEER, "Fast mining");
-        addEnchant("Fortune II", 2, 2000, ShopTier.ENGINEER, "Better block drops");
-        addEnchant("Looting II", 2, 1800, ShopTier.ENGINEER, "Better mob drops");
-        addEnchant("Sharpness I", 1, 500, ShopTier.ENGINEER, "Increases melee damage");
-        addEnchant("Protection I", 1, 600, ShopTier.ENGINEER, "Reduces damage");
-        addEnchant("Power I", 1, 500, ShopTier.ENGINEER, "Increases arrow damage");
-        addEnchant("Silk Touch", 1, 2500, ShopTier.ENGINEER, "Mine blocks intact");
-        
-        // TIER 3 - MERCHANT (Advanced enchantments)
-        addEnchant("Fortune III", 3, 5000, ShopTier.MERCHANT, "Maximum block drops");
-        addEnchant("Looting III", 3, 4500, ShopTier.MERCHANT, "Maximum mob drops");
-        addEnchant("Sharpness II", 2, 1200, ShopTier.MERCHANT, "More melee damage");
-        addEnchant("Sharpness III", 3, 2400, ShopTier.MERCHANT, "Great melee damage");
-        addEnchant("Protection II", 2, 1500, ShopTier.MERCHANT, "Better protection");
-        addEnchant("Protection III", 3, 3000, ShopTier.MERCHANT, "Great protection");
-        addEnchant("Power II", 2, 1200, ShopTier.MERCHANT, "More arrow damage");
-        addEnchant("Power III", 3, 2400, ShopTier.MERCHANT, "Great arrow damage");
-        addEnchant("Fire Aspect I", 1, 2000, ShopTier.MERCHANT, "Sets targets on fire");
-        addEnchant("Flame", 1, 2000, ShopTier.MERCHANT, "Flaming arrows");
-        addEnchant("Thorns I", 1, 1500, ShopTier.MERCHANT, "Reflects damage");
-        
-        // TIER 4 - NETHER MASTER (Powerful enchantments)
-        addEnchant("Sharpness IV", 4, 4800, ShopTier.NETHER_MASTER, "Excellent melee damage");
-        addEnchant("Protection IV", 4, 6000, ShopTier.NETHER_MASTER, "Excellent protection");
-        addEnchant("Power IV", 4, 4800, ShopTier.NETHER_MASTER, "Excellent arrow damage");
-        addEnchant("Fire Aspect II", 2, 4000, ShopTier.NETHER_MASTER, "More fire damage");
-        addEnchant("Thorns II", 2, 3000, ShopTier.NETHER_MASTER, "Better damage reflection");
-        addEnchant("Feather Falling IV", 4, 3000, ShopTier.NETHER_MASTER, "Maximum fall protection");
-        addEnchant("Depth Strider III", 3, 3500, ShopTier.NETHER_MASTER, "Fast underwater movement");
-        addEnchant("Respiration III", 3, 3000, ShopTier.NETHER_MASTER, "Breathe underwater longer");
-        addEnchant("Channeling", 1, 5000, ShopTier.NETHER_MASTER, "Summon lightning with trident");
-        addEnchant("Riptide I", 1, 3000, ShopTier.NETHER_MASTER, "Throw yourself with trident");
-        
-        // TIER 5 - ELITE (Top-tier enchantments)
-        addEnchant("Sharpness V", 5, 10000, ShopTier.ELITE, "Maximum melee damage");
-        addEnchant("Power V", 5, 10000, ShopTier.ELITE, "Maximum arrow damage");
-        addEnchant("Thorns III", 3, 6000, ShopTier.ELITE, "Maximum damage reflection");
-        addEnchant("Riptide III", 3, 8000, ShopTier.ELITE, "Maximum trident propulsion");
-        addEnchant("Loyalty III", 3, 8000, ShopTier.ELITE, "Trident always returns");
-        addEnchant("Mending", 1, 15000, ShopTier.ELITE, "Repair with XP - RARE!");
-        addEnchant("Infinity", 1, 12000, ShopTier.ELITE, "Unlimited arrows - RARE!");
-        addEnchant("Frost Walker II", 2, 10000, ShopTier.ELITE, "Walk on water");
-    }
-    
-    private static void addEnchant(String name, int level, long price, ShopTier tier, String description) {
-        ENCHANTMENTS.add(new EnchantData(name, level, price, tier, description));
-    }
+    // NOTE: MC 1.21.11 completely redesigned enchantment system
+    // Enchantments are now ResourceKey<Enchantment> based, not direct Enchantment objects
+    // Prices come from the "enchantments" section of the PriceCatalog; the book itself
+    // is built from the name in createEnchantedBook
     
+    /**
+     * Every enchantment in catalog order (read-only)
+     */
     public static List<EnchantData> getAllEnchantments() {
-        return new ArrayList<>(ENCHANTMENTS);
+        return PriceCatalog.get().getEnchantments();
     }
     
     public static List<EnchantData> getEnchantsForTier(ShopTier tier) {
         List<EnchantData> result = new ArrayList<>();
-        for (EnchantData data : ENCHANTMENTS) {
+        for (EnchantData data : PriceCatalog.get().getEnchantments()) {
             if (data.tier == tier) {
                 result.add(data);
             }
@@ -119,17 +60,13 @@ public class EnchantmentShop {
     }
     
     public static long getPrice(String enchantName) {
-        for (EnchantData data : ENCHANTMENTS) {
-            if (data.name.equalsIgnoreCase(enchantName)) {
-                return data.price;
-            }
-        }
-        return -1; // Not found
+        EnchantData data = PriceCatalog.get().getEnchantment(enchantName);
+        return data != null ? data.price : -1; // -1 = not found
     }
     
     public static long getSellPrice(String enchantName) {
-        long buyPrice = getPrice(enchantName);
-        return buyPrice > 0 ? (long)(buyPrice * 0.8) : 0; // 80% sell-back
+        EnchantData data = PriceCatalog.get().getEnchantment(enchantName);
+        return data != null ? data.sellPrice : 0;
     }
     
     /**
@@ -139,13 +76,7 @@ public class EnchantmentShop {
         ItemStack book = new ItemStack(Items.ENCHANTED_BOOK);
         
         // Find the enchantment data
-        EnchantData data = null;
-        for (EnchantData e : ENCHANTMENTS) {
-            if (e.name.equalsIgnoreCase(enchantName)) {
-                data = e;
-                break;
-            }
-        }
+        EnchantData data = PriceCatalog.get().getEnchantment(enchantName);
         
         if (data == null) {
             return book;
@@ -0,0 +1,415 @@
+package com.shopmod.shop;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.shopmod.ShopMod;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.Identifier;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.item.Item;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shop prices for items, spawn eggs and enchanted books, loaded from data/<namespace>/shop_prices/*.json.
+ *
+ * Files are applied in identifier order and later entries replace earlier ones, so a
+ * datapack can retune single items or override the mod's default.json outright. Each load
+ * is baked into one immutable snapshot and swapped in atomically on /reload; readers that
+ * need several prices for one render or sale should hold get() for the whole operation.
+ *
+ * File format:
+ * {
+ *   "sell_ratio":   0.8,
+ *   "items":        { "minecraft:diamond": { "buy": 500, "tier": "merchant", "sell_ratio": 0.5 } },
+ *   "categories":   { "ores": [ "minecraft:coal", "minecraft:diamond" ] },
+ *   "spawn_eggs":   { "minecraft:cow": { "name": "Cow Spawn Egg", "buy": 2500, "tier": "farmer", "description": "§7..." } },
+ *   "enchantments": { "Mending": { "level": 1, "buy": 15000, "tier": "elite", "description": "..." } },
+ *   "derived":      { "crafting_margin": 0.1, "sell_ratio": 0.8 }
+ * }
+ * sell_ratio on an entry overrides the file's, which defaults to 0.8. An entry with a buy
+ * price of 0 removes it. A category list replaces the earlier list of that name; unpriced
+ * items are left out of it. "derived" configures RecipePricing, which fills in prices for
+ * craftable items the files don't list.
+ */
+public final class PriceCatalog {
+    private static final String DIRECTORY = "shop_prices";
+    private static final String BUNDLED = "/data/shop/shop_prices/default.json";
+    private static final double DEFAULT_SELL_RATIO = 0.8; // 20% shop fee
+    private static final double DEFAULT_CRAFTING_MARGIN = 0.1;
+    private static final AtomicInteger VERSIONS = new AtomicInteger();
+    private static final PriceCatalog EMPTY = new PriceCatalog(new long[0], new long[0], new ShopTier[0],
+        List.of(), Map.of(), Map.of(), List.of(), Map.of(), List.of(), DEFAULT_CRAFTING_MARGIN, DEFAULT_SELL_RATIO);
+
+    private static volatile PriceCatalog current = EMPTY;
+
+    private final int version;
+    private final PriceCatalog base;  // The hand-priced catalog this one was derived from, or itself
+    private final int derivedCount;
+    private final long[] buyPrices;   // By item id
+    private final long[] sellPrices;
+    private final ShopTier[] tiers;   // Null = not in the shop
+    private final List<Item> pricedItems; // In catalog order
+    private final Map<String, List<Item>> categories;
+    private final Map<EntityType<?>, SpawnerPricing.SpawnEggData> spawnEggs;
+    private final List<SpawnerPricing.SpawnEggData> spawnEggList;
+    private final Map<String, EnchantmentShop.EnchantData> enchantments; // By lower-case name
+    private final List<EnchantmentShop.EnchantData> enchantmentList;
+    private final double craftingMargin;
+    private final double derivedSellRatio;
+
+    private PriceCatalog(long[] buyPrices, long[] sellPrices, ShopTier[] tiers, List<Item> pricedItems,
+                         Map<String, List<Item>> categories,
+                         Map<EntityType<?>, SpawnerPricing.SpawnEggData> spawnEggs, List<SpawnerPricing.SpawnEggData> spawnEggList,
+                         Map<String, EnchantmentShop.EnchantData> enchantments, List<EnchantmentShop.EnchantData> enchantmentList,
+                         double craftingMargin, double derivedSellRatio) {
+        this.version = VERSIONS.getAndIncrement();
+        this.base = this;
+        this.derivedCount = 0;
+        this.buyPrices = buyPrices;
+        this.sellPrices = sellPrices;
+        this.tiers = tiers;
+        this.pricedItems = pricedItems;
+        this.categories = categories;
+        this.spawnEggs = spawnEggs;
+        this.spawnEggList = spawnEggList;
+        this.enchantments = enchantments;
+        this.enchantmentList = enchantmentList;
+        this.craftingMargin = craftingMargin;
+        this.derivedSellRatio = derivedSellRatio;
+    }
+
+    /**
+     * A copy of base with derived prices filled in for the items it doesn't price
+     */
+    private PriceCatalog(PriceCatalog base, long[] buyPrices, long[] sellPrices, ShopTier[] tiers, int derivedCount) {
+        this.version = VERSIONS.getAndIncrement();
+        this.base = base;
+        this.derivedCount = derivedCount;
+        this.buyPrices = buyPrices;
+        this.sellPrices = sellPrices;
+        this.tiers = tiers;
+        this.pricedItems = base.pricedItems;
+        this.categories = base.categories;
+        this.spawnEggs = base.spawnEggs;
+        this.spawnEggList = base.spawnEggList;
+        this.enchantments = base.enchantments;
+        this.enchantmentList = base.enchantmentList;
+        this.craftingMargin = base.craftingMargin;
+        this.derivedSellRatio = base.derivedSellRatio;
+    }
+
+    public static void register() {
+        ResourceManagerHelper.get(PackType.SERVER_DATA).registerReloadListener(new SimpleSynchronousResourceReloadListener() {
+            @Override
+            public Identifier getFabricId() {
+                return Identifier.fromNamespaceAndPath("shop", "prices");
+            }
+
+            @Override
+            public void onResourceManagerReload(ResourceManager manager) {
+                current = load(manager);
+            }
+        });
+    }
+
+    /**
+     * The live catalog; hold the result for the duration of one render or transaction
+     */
+    public static PriceCatalog get() {
+        return current;
+    }
+
+    /**
+     * Installs the mod's bundled default.json, for benchmarks and tools that run without a server
+     */
+    public static void useBundledDefaults() {
+        try (Reader reader = new InputStreamReader(PriceCatalog.class.getResourceAsStream(BUNDLED), StandardCharsets.UTF_8)) {
+            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+            current = fromJson(Map.of(Identifier.fromNamespaceAndPath("shop", DIRECTORY + "/default.json"), json));
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't read bundled price catalog", e);
+        }
+    }
+
+    /**
+     * Swaps in a derived catalog, unless a /reload replaced its base in the meantime
+     */
+    static boolean publishDerived(PriceCatalog derived) {
+        if (current.base != derived.base) return false;
+        current = derived;
+        return true;
+    }
+
+    /**
+     * Increases with every load, so caches built from a catalog can tell when it was replaced
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * The catalog with only the prices from the JSON files
+     */
+    public PriceCatalog getBase() {
+        return base;
+    }
+
+    public int getDerivedCount() {
+        return derivedCount;
+    }
+
+    public double getCraftingMargin() {
+        return craftingMargin;
+    }
+
+    /**
+     * Fills in derivedBuy (by item id, 0 = none) for items this catalog doesn't price.
+     * Sell prices use the "derived" sell ratio; tiers come from derivedTiers.
+     */
+    public PriceCatalog withDerived(long[] derivedBuy, ShopTier[] derivedTiers) {
+        PriceCatalog base = this.base;
+        int size = Math.max(base.buyPrices.length, derivedBuy.length);
+        long[] buy = Arrays.copyOf(base.buyPrices, size);
+        long[] sell = Arrays.copyOf(base.sellPrices, size);
+        ShopTier[] tier = Arrays.copyOf(base.tiers, size);
+        int count = 0;
+        for (int id = 0; id < derivedBuy.length; id++) {
+            if (tier[id] == null && derivedBuy[id] > 0) {
+                buy[id] = derivedBuy[id];
+                sell[id] = (long) (derivedBuy[id] * base.derivedSellRatio);
+                tier[id] = derivedTiers[id];
+                count++;
+            }
+        }
+        return new PriceCatalog(base, buy, sell, tier, count);
+    }
+
+    public long getBuyPrice(Item item) {
+        int id = Item.getId(item);
+        return id < buyPrices.length ? buyPrices[id] : 0;
+    }
+
+    public long getSellPrice(Item item) {
+        int id = Item.getId(item);
+        return id < sellPrices.length ? sellPrices[id] : 0;
+    }
+
+    public ShopTier getTier(Item item) {
+        int id = Item.getId(item);
+        return id < tiers.length ? tiers[id] : null;
+    }
+
+    public boolean hasPrice(Item item) {
+        return getTier(item) != null;
+    }
+
+    /**
+     * Every item the JSON files price, in catalog order (read-only); derived prices aren't listed
+     */
+    public List<Item> getPricedItems() {
+        return pricedItems;
+    }
+
+    /**
+     * The priced items listed in a category, in listed order (read-only, empty if unknown)
+     */
+    public List<Item> getCategory(String category) {
+        return categories.getOrDefault(category, List.of());
+    }
+
+    public Set<String> getCategoryNames() {
+        return categories.keySet();
+    }
+
+    public SpawnerPricing.SpawnEggData getSpawnEgg(EntityType<?> type) {
+        return spawnEggs.get(type);
+    }
+
+    public List<SpawnerPricing.SpawnEggData> getSpawnEggs() {
+        return spawnEggList;
+    }
+
+    public EnchantmentShop.EnchantData getEnchantment(String name) {
+        return enchantments.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    public List<EnchantmentShop.EnchantData> getEnchantments() {
+        return enchantmentList;
+    }
+
+    private static PriceCatalog load(ResourceManager manager) {
+        Map<Identifier, Resource> files = new TreeMap<>(manager.listResources(DIRECTORY, path -> path.getPath().endsWith(".json")));
+        Map<Identifier, JsonObject> parsed = new LinkedHashMap<>();
+        for (Map.Entry<Identifier, Resource> file : files.entrySet()) {
+            try (Reader reader = file.getValue().openAsReader()) {
+                parsed.put(file.getKey(), JsonParser.parseReader(reader).getAsJsonObject());
+            } catch (IOException | RuntimeException e) {
+                ShopMod.LOGGER.error("Failed to read price file " + file.getKey() + ", skipping it", e);
+            }
+        }
+        return fromJson(parsed);
+    }
+
+    private record ItemPrice(long buy, long sell, ShopTier tier) {}
+
+    /**
+     * Bakes a catalog from parsed price files, applied in iteration order.
+     * Public for tools and benchmarks that load the JSON themselves.
+     */
+    public static PriceCatalog fromJson(Map<Identifier, JsonObject> files) {
+        Map<Item, ItemPrice> items = new LinkedHashMap<>();
+        Map<String, List<Item>> categoryLists = new LinkedHashMap<>();
+        Map<EntityType<?>, SpawnerPricing.SpawnEggData> eggs = new LinkedHashMap<>();
+        Map<String, EnchantmentShop.EnchantData> enchants = new LinkedHashMap<>();
+        double craftingMargin = DEFAULT_CRAFTING_MARGIN;
+        double derivedSellRatio = DEFAULT_SELL_RATIO;
+
+        for (Map.Entry<Identifier, JsonObject> file : files.entrySet()) {
+            JsonObject json = file.getValue();
+            Identifier fileId = file.getKey();
+            try {
+                double fileRatio = json.has("sell_ratio") ? json.get("sell_ratio").getAsDouble() : DEFAULT_SELL_RATIO;
+                readEntries(json, "items", BuiltInRegistries.ITEM, fileId, (item, entry) -> {
+                    long buy = entry.get("buy").getAsLong();
+                    if (buy <= 0) {
+                        items.remove(item);
+                    } else {
+                        items.put(item, new ItemPrice(buy, sellPrice(entry, buy, fileRatio), tier(entry)));
+                    }
+                });
+                readEntries(json, "spawn_eggs", BuiltInRegistries.ENTITY_TYPE, fileId, (type, entry) -> {
+                    long buy = entry.get("buy").getAsLong();
+                    if (buy <= 0) {
+                        eggs.remove(type);
+                    } else {
+                        eggs.put(type, new SpawnerPricing.SpawnEggData(type, entry.get("name").getAsString(), buy,
+                            sellPrice(entry, buy, fileRatio), tier(entry), stringField(entry, "description")));
+                    }
+                });
+                if (json.has("enchantments")) {
+                    for (Map.Entry<String, JsonElement> e : json.getAsJsonObject("enchantments").entrySet()) {
+                        try {
+                            JsonObject entry = e.getValue().getAsJsonObject();
+                            String key = e.getKey().toLowerCase(Locale.ROOT);
+                            long buy = entry.get("buy").getAsLong();
+                            if (buy <= 0) {
+                                enchants.remove(key);
+                            } else {
+                                enchants.put(key, new EnchantmentShop.EnchantData(e.getKey(), entry.get("level").getAsInt(), buy,
+                                    sellPrice(entry, buy, fileRatio), tier(entry), stringField(entry, "description")));
+                            }
+                        } catch (RuntimeException ex) {
+                            malformedEntry("enchantments", e.getKey(), fileId, ex);
+                        }
+                    }
+                }
+                if (json.has("categories")) {
+                    for (Map.Entry<String, JsonElement> category : json.getAsJsonObject("categories").entrySet()) {
+                        if (!category.getValue().isJsonArray()) {
+                            ShopMod.LOGGER.warn("Skipping malformed category " + category.getKey() + " in " + fileId + ": not a list");
+                            continue;
+                        }
+                        List<Item> list = new ArrayList<>();
+                        for (JsonElement element : category.getValue().getAsJsonArray()) {
+                            try {
+                                Identifier id = Identifier.tryParse(element.getAsString());
+                                if (id == null || !BuiltInRegistries.ITEM.containsKey(id)) {
+                                    ShopMod.LOGGER.warn("Unknown item '" + element.getAsString() + "' in category " + category.getKey() + " of " + fileId);
+                                    continue;
+                                }
+                                list.add(BuiltInRegistries.ITEM.getValue(id));
+                            } catch (RuntimeException ex) {
+                                malformedEntry("categories", category.getKey() + " item " + element, fileId, ex);
+                            }
+                        }
+                        categoryLists.put(category.getKey(), list);
+                    }
+                }
+                if (json.has("derived")) {
+                    JsonObject derived = json.getAsJsonObject("derived");
+                    if (derived.has("crafting_margin")) craftingMargin = derived.get("crafting_margin").getAsDouble();
+                    if (derived.has("sell_ratio")) derivedSellRatio = derived.get("sell_ratio").getAsDouble();
+                }
+            } catch (RuntimeException e) {
+                ShopMod.LOGGER.error("Malformed price file " + fileId + ", the rest of the file is skipped", e);
+            }
+        }
+
+        int size = BuiltInRegistries.ITEM.size();
+        long[] buyPrices = new long[size];
+        long[] sellPrices = new long[size];
+        ShopTier[] tiers = new ShopTier[size];
+        for (Map.Entry<Item, ItemPrice> entry : items.entrySet()) {
+            int id = Item.getId(entry.getKey());
+            buyPrices[id] = entry.getValue().buy();
+            sellPrices[id] = entry.getValue().sell();
+            tiers[id] = entry.getValue().tier();
+        }
+
+        Map<String, List<Item>> categories = new HashMap<>();
+        categoryLists.forEach((name, list) -> categories.put(name,
+            list.stream().filter(item -> buyPrices[Item.getId(item)] > 0).toList()));
+
+        ShopMod.LOGGER.info("Loaded price catalog from " + files.size() + " file(s): "
+            + items.size() + " items, " + categories.size() + " categories, "
+            + eggs.size() + " spawn eggs, " + enchants.size() + " enchantments");
+        return new PriceCatalog(buyPrices, sellPrices, tiers, List.copyOf(items.keySet()), Map.copyOf(categories),
+            Map.copyOf(eggs), List.copyOf(eggs.values()), Map.copyOf(enchants), List.copyOf(enchants.values()),
+            craftingMargin, derivedSellRatio);
+    }
+
+    private interface EntryConsumer<T> {
+        void accept(T key, JsonObject entry);
+    }
+
+    /**
+     * Resolves each id in a section; unknown ids (e.g. from a missing mod) and malformed
+     * entries are logged and skipped
+     */
+    private static <T> void readEntries(JsonObject json, String section, Registry<T> registry,
+                                        Identifier file, EntryConsumer<T> consumer) {
+        if (!json.has(section)) return;
+        for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject(section).entrySet()) {
+            Identifier id = Identifier.tryParse(entry.getKey());
+            if (id == null || !registry.containsKey(id)) {
+                ShopMod.LOGGER.warn("Unknown " + section + " entry '" + entry.getKey() + "' in " + file);
+                continue;
+            }
+            try {
+                consumer.accept(registry.getValue(id), entry.getValue().getAsJsonObject());
+            } catch (RuntimeException e) {
+                malformedEntry(section, entry.getKey(), file, e);
+            }
+        }
+    }
+
+    private static void malformedEntry(String section, String key, Identifier file, RuntimeException e) {
+        ShopMod.LOGGER.warn("Skipping malformed " + section + " entry '" + key + "' in " + file + ": " + e.getMessage());
+    }
+
+    private static long sellPrice(JsonObject entry, long buy, double fileRatio) {
+        double ratio = entry.has("sell_ratio") ? entry.get("sell_ratio").getAsDouble() : fileRatio;
+        return (long) (buy * ratio);
+    }
+
+    private static ShopTier tier(JsonObject entry) {
+        return ShopTier.valueOf(entry.get("tier").getAsString().toUpperCase(Locale.ROOT));
+    }
+
+    private static String stringField(JsonObject json, String field) {
+        return json.has(field) ? json.get(field).getAsString() : "";
+    }
+}
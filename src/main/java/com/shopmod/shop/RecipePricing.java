@@ -0,0 +1,348 @@
+package com.shopmod.shop;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.shopmod.ShopMod;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.fabricmc.loader.api.metadata.ModMetadata;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.Identifier;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.packs.repository.KnownPack;
+import net.minecraft.server.packs.repository.Pack;
+import net.minecraft.util.context.ContextMap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.PlacementInfo;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.display.RecipeDisplay;
+import net.minecraft.world.item.crafting.display.SlotDisplayContext;
+import net.minecraft.world.level.storage.LevelResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Derives prices for craftable items the price catalog doesn't list, by walking the
+ * recipe graph up from the hand-priced items. Rebalancing raw materials then carries
+ * through to everything made from them.
+ *
+ * An item costs its cheapest recipe: for each ingredient the cheapest priced item that
+ * fits, summed, plus the catalog's crafting margin, divided by the output count. Costs are
+ * memoized per item. A recipe that leads back to an item still being costed is a cycle
+ * (ingot -> block -> ingot) and is skipped; items that only failed because of a cycle are
+ * retried once the rest of the graph is priced. The tier is the highest ingredient tier.
+ *
+ * Runs at server start and after /reload. The result is cached in
+ * world/shopmod/derived_prices.json under a hash of the selected datapacks, loaded mods,
+ * world datapack files and the hand-priced catalog, so a restart with nothing changed
+ * skips the walk. /reload always recomputes.
+ */
+public final class RecipePricing {
+    private static final int MAX_PASSES = 8;
+
+    /**
+     * One way to make an item: each ingredient is the raw ids of the items that fit it
+     */
+    record Recipe(int output, int count, int[][] ingredients) {}
+
+    /**
+     * Derived buy prices and tiers by item id (0 / null = not derived)
+     */
+    record Derived(long[] buy, ShopTier[] tiers, int count, int cycles) {}
+
+    public static void register() {
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> apply(server, true));
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+            if (success) apply(server, false);
+        });
+    }
+
+    private static void apply(MinecraftServer server, boolean useCache) {
+        long start = System.nanoTime();
+        PriceCatalog base = PriceCatalog.get().getBase();
+        String key = cacheKey(server, base);
+        Path file = getFile(server);
+
+        Derived derived = useCache ? readCache(file, key) : null;
+        boolean cached = derived != null;
+        if (derived == null) {
+            derived = derive(base, collectRecipes(server));
+            writeCache(file, key, derived);
+        }
+
+        if (!PriceCatalog.publishDerived(base.withDerived(derived.buy(), derived.tiers()))) {
+            ShopMod.LOGGER.warn("Price catalog was reloaded while deriving recipe prices; keeping the newer catalog");
+            return;
+        }
+        ShopMod.LOGGER.info(String.format("Derived prices for %d craftable items %s in %.1fms (%d recipe cycles skipped)",
+            derived.count(), cached ? "from cache" : "from recipes", (System.nanoTime() - start) / 1_000_000.0, derived.cycles()));
+    }
+
+    /**
+     * Flattens the server's recipes into item id edges. Recipes without a fixed shape
+     * (map cloning, firework stars and the like) can't be placed and are left out.
+     */
+    static List<Recipe> collectRecipes(MinecraftServer server) {
+        ContextMap context = SlotDisplayContext.fromLevel(server.overworld());
+        List<Recipe> recipes = new ArrayList<>();
+        for (RecipeHolder<?> holder : server.getRecipeManager().getRecipes()) {
+            PlacementInfo placement = holder.value().placementInfo();
+            if (placement.isImpossibleToPlace()) continue;
+
+            List<Ingredient> ingredients = placement.ingredients();
+            int[][] options = new int[ingredients.size()][];
+            for (int i = 0; i < options.length; i++) {
+                options[i] = ingredients.get(i).items().mapToInt(item -> Item.getId(item.value())).toArray();
+            }
+            for (RecipeDisplay display : holder.value().display()) {
+                ItemStack result = display.result().resolveForFirstStack(context);
+                if (!result.isEmpty()) {
+                    recipes.add(new Recipe(Item.getId(result.getItem()), result.getCount(), options));
+                }
+            }
+        }
+        return recipes;
+    }
+
+    /**
+     * Prices every recipe output reachable from the catalog's hand-priced items
+     */
+    static Derived derive(PriceCatalog base, List<Recipe> recipes) {
+        int size = BuiltInRegistries.ITEM.size();
+        List<List<Recipe>> byOutput = new ArrayList<>(Collections.nCopies(size, null));
+        for (Recipe recipe : recipes) {
+            List<Recipe> list = byOutput.get(recipe.output());
+            if (list == null) {
+                list = new ArrayList<>(1);
+                byOutput.set(recipe.output(), list);
+            }
+            list.add(recipe);
+        }
+
+        Walk walk = new Walk(base, byOutput, size);
+        int priced = 0;
+        for (int pass = 0; pass < MAX_PASSES; pass++) {
+            walk.hitCycle = false;
+            for (int id = 0; id < size; id++) {
+                if (byOutput.get(id) != null) walk.cost(id);
+            }
+            int nowPriced = walk.countPriced();
+            if (!walk.hitCycle || nowPriced == priced) break;
+            priced = nowPriced;
+            walk.forgetUnpriced();
+        }
+
+        long[] buy = new long[size];
+        ShopTier[] tiers = new ShopTier[size];
+        int count = 0;
+        ShopTier[] allTiers = ShopTier.values();
+        for (int id = 0; id < size; id++) {
+            if (base.getTier(BuiltInRegistries.ITEM.byId(id)) == null && !Double.isNaN(walk.costs[id])) {
+                buy[id] = Math.max(1, Math.round(walk.costs[id]));
+                tiers[id] = allTiers[walk.tiers[id]];
+                count++;
+            }
+        }
+        return new Derived(buy, tiers, count, walk.cycles);
+    }
+
+    /**
+     * Memoized depth-first costing; NaN means no price
+     */
+    private static final class Walk {
+        private static final byte UNVISITED = 0, VISITING = 1, DONE = 2;
+
+        final PriceCatalog base;
+        final List<List<Recipe>> byOutput;
+        final double margin;
+        final double[] costs;
+        final int[] tiers;   // ShopTier ordinal
+        final byte[] state;
+        int cycles = 0;
+        boolean hitCycle;
+
+        Walk(PriceCatalog base, List<List<Recipe>> byOutput, int size) {
+            this.base = base;
+            this.byOutput = byOutput;
+            this.margin = base.getCraftingMargin();
+            this.costs = new double[size];
+            this.tiers = new int[size];
+            this.state = new byte[size];
+            Arrays.fill(costs, Double.NaN);
+        }
+
+        double cost(int id) {
+            Item item = BuiltInRegistries.ITEM.byId(id);
+            ShopTier handTier = base.getTier(item);
+            if (handTier != null) {
+                tiers[id] = handTier.ordinal();
+                return base.getBuyPrice(item);
+            }
+            if (state[id] == DONE) return costs[id];
+            if (state[id] == VISITING) {
+                cycles++;
+                hitCycle = true;
+                return Double.NaN;
+            }
+
+            state[id] = VISITING;
+            double best = Double.NaN;
+            int bestTier = 0;
+            List<Recipe> recipes = byOutput.get(id);
+            if (recipes != null) {
+                for (Recipe recipe : recipes) {
+                    double sum = 0;
+                    int tier = 0;
+                    for (int[] options : recipe.ingredients()) {
+                        double cheapest = Double.NaN;
+                        int cheapestTier = 0;
+                        for (int option : options) {
+                            double c = cost(option);
+                            if (!Double.isNaN(c) && (Double.isNaN(cheapest) || c < cheapest)) {
+                                cheapest = c;
+                                cheapestTier = tiers[option];
+                            }
+                        }
+                        sum += cheapest; // NaN poisons the sum if an ingredient has no price
+                        tier = Math.max(tier, cheapestTier);
+                    }
+                    double unit = sum * (1 + margin) / recipe.count();
+                    if (!Double.isNaN(unit) && (Double.isNaN(best) || unit < best)) {
+                        best = unit;
+                        bestTier = tier;
+                    }
+                }
+            }
+            costs[id] = best;
+            tiers[id] = bestTier;
+            state[id] = DONE;
+            return best;
+        }
+
+        int countPriced() {
+            int count = 0;
+            for (double c : costs) {
+                if (!Double.isNaN(c)) count++;
+            }
+            return count;
+        }
+
+        /**
+         * Lets items that came out unpriced be tried again on the next pass
+         */
+        void forgetUnpriced() {
+            for (int id = 0; id < costs.length; id++) {
+                if (Double.isNaN(costs[id])) state[id] = UNVISITED;
+            }
+        }
+    }
+
+    private static Path getFile(MinecraftServer server) {
+        return server.getWorldPath(LevelResource.ROOT).resolve("shopmod").resolve("derived_prices.json");
+    }
+
+    /**
+     * Hash of everything the derived prices depend on: recipes (via the selected packs,
+     * mods and world datapack files) and the hand-priced catalog
+     */
+    private static String cacheKey(MinecraftServer server, PriceCatalog base) {
+        StringBuilder key = new StringBuilder();
+        for (Pack pack : server.getPackRepository().getSelectedPacks()) {
+            key.append("pack ").append(pack.getId()).append(' ')
+                .append(pack.location().knownPackInfo().map(KnownPack::version).orElse("")).append('\n');
+        }
+        FabricLoader.getInstance().getAllMods().stream()
+            .map(ModContainer::getMetadata)
+            .sorted(Comparator.comparing(ModMetadata::getId))
+            .forEach(meta -> key.append("mod ").append(meta.getId()).append(' ').append(meta.getVersion().getFriendlyString()).append('\n'));
+
+        Path datapacks = server.getWorldPath(LevelResource.DATAPACK_DIR);
+        if (Files.isDirectory(datapacks)) {
+            try (Stream<Path> files = Files.walk(datapacks)) {
+                files.filter(Files::isRegularFile).sorted().forEach(path -> {
+                    try {
+                        key.append("file ").append(datapacks.relativize(path)).append(' ')
+                            .append(Files.size(path)).append(' ').append(Files.getLastModifiedTime(path).toMillis()).append('\n');
+                    } catch (IOException e) {
+                        key.append("file ").append(path).append(" unreadable\n");
+                    }
+                });
+            } catch (IOException e) {
+                key.append("datapacks unreadable ").append(System.nanoTime()).append('\n'); // Never matches a cache
+            }
+        }
+
+        key.append("margin ").append(base.getCraftingMargin()).append('\n');
+        for (Item item : base.getPricedItems()) {
+            key.append(BuiltInRegistries.ITEM.getKey(item)).append(' ')
+                .append(base.getBuyPrice(item)).append(' ').append(base.getTier(item)).append('\n');
+        }
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Derived readCache(Path file, String key) {
+        if (!Files.exists(file)) return null;
+        try {
+            JsonObject root = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonObject();
+            if (!key.equals(root.get("key").getAsString())) return null;
+
+            int size = BuiltInRegistries.ITEM.size();
+            long[] buy = new long[size];
+            ShopTier[] tiers = new ShopTier[size];
+            int count = 0;
+            for (Map.Entry<String, JsonElement> entry : root.getAsJsonObject("items").entrySet()) {
+                Identifier id = Identifier.tryParse(entry.getKey());
+                if (id == null || !BuiltInRegistries.ITEM.containsKey(id)) return null;
+                JsonObject price = entry.getValue().getAsJsonObject();
+                int rawId = Item.getId(BuiltInRegistries.ITEM.getValue(id));
+                buy[rawId] = price.get("buy").getAsLong();
+                tiers[rawId] = ShopTier.valueOf(price.get("tier").getAsString());
+                count++;
+            }
+            return new Derived(buy, tiers, count, root.get("cycles").getAsInt());
+        } catch (IOException | RuntimeException e) {
+            ShopMod.LOGGER.warn("Ignoring unreadable derived price cache " + file, e);
+            return null;
+        }
+    }
+
+    private static void writeCache(Path file, String key, Derived derived) {
+        JsonObject root = new JsonObject();
+        root.addProperty("key", key);
+        root.addProperty("cycles", derived.cycles());
+        JsonObject items = new JsonObject();
+        for (int id = 0; id < derived.buy().length; id++) {
+            if (derived.buy()[id] > 0) {
+                JsonObject price = new JsonObject();
+                price.addProperty("buy", derived.buy()[id]);
+                price.addProperty("tier", derived.tiers()[id].name());
+                items.add(BuiltInRegistries.ITEM.getKey(BuiltInRegistries.ITEM.byId(id)).toString(), price);
+            }
+        }
+        root.add("items", items);
+
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, root.toString(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            ShopMod.LOGGER.error("Failed to save derived prices to " + file, e);
+        }
+    }
+}
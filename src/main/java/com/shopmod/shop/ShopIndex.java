@@ -0,0 +1,157 @@
+package com.shopmod.shop;
+
+import com.shopmod.economy.PriceFluctuation;
+import net.minecraft.world.item.Item;
+
+import java.util.*;
+
+/**
+ * Shop GUI item lists, built once per price catalog version: every category and tier in
+ * every sort order, so switching category, sort or page is a subList of a ready list.
+ *
+ * The PRICE_CHANGE order depends on the market rather than the catalog, so each list
+ * sorts it on first use after PriceFluctuation moves to a new epoch. Everything else is
+ * immutable. Like the GUIs, the index is only used from the server thread.
+ */
+public final class ShopIndex {
+    public enum Sort {
+        CATALOG("Default"),
+        NAME("Name"),
+        BUY_PRICE("Buy Price"),
+        SELL_PRICE("Sell Price"),
+        PRICE_CHANGE("Price Change");
+
+        private final String displayName;
+
+        Sort(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public Sort next() {
+            Sort[] values = values();
+            return values[(ordinal() + 1) % values.length];
+        }
+    }
+
+    private static final Sort[] SORTS = Sort.values();
+
+    private static ShopIndex current;
+
+    private final int catalogVersion;
+    private final Map<String, Ordering> categories;
+    private final Ordering[] tiers; // By ShopTier ordinal
+
+    /**
+     * One item list in every sort order
+     */
+    public static final class Ordering {
+        private static final Ordering EMPTY = new Ordering(List.of(), Map.of(), PriceCatalog.get());
+
+        private final List<List<Item>> sorted; // By Sort ordinal; PRICE_CHANGE is built on demand
+        private List<Item> byChange = List.of();
+        private long changeEpoch = -1;
+
+        private Ordering(List<Item> items, Map<Item, String> names, PriceCatalog prices) {
+            List<List<Item>> lists = new ArrayList<>(SORTS.length);
+            for (Sort sort : SORTS) {
+                lists.add(switch (sort) {
+                    case CATALOG, PRICE_CHANGE -> items;
+                    case NAME -> sortedCopy(items, Comparator.comparing(names::get, String.CASE_INSENSITIVE_ORDER));
+                    case BUY_PRICE -> sortedCopy(items, Comparator.comparingLong(prices::getBuyPrice));
+                    case SELL_PRICE -> sortedCopy(items, Comparator.comparingLong(prices::getSellPrice));
+                });
+            }
+            this.sorted = lists;
+        }
+
+        public int size() {
+            return sorted.get(0).size();
+        }
+
+        /**
+         * The whole list in the given order (read-only)
+         */
+        public List<Item> get(Sort sort) {
+            if (sort != Sort.PRICE_CHANGE) {
+                return sorted.get(sort.ordinal());
+            }
+            long epoch = PriceFluctuation.getEpoch();
+            if (changeEpoch != epoch) {
+                // Biggest gainers first
+                byChange = sortedCopy(sorted.get(0), Comparator.comparingDouble(PriceFluctuation::getChange).reversed());
+                changeEpoch = epoch;
+            }
+            return byChange;
+        }
+
+        /**
+         * One page of the list in the given order (read-only, empty past the end)
+         */
+        public List<Item> page(Sort sort, int page, int pageSize) {
+            List<Item> items = get(sort);
+            int from = Math.min(page * pageSize, items.size());
+            return items.subList(from, Math.min(from + pageSize, items.size()));
+        }
+
+        private static List<Item> sortedCopy(List<Item> items, Comparator<Item> order) {
+            List<Item> copy = new ArrayList<>(items);
+            copy.sort(order);
+            return Collections.unmodifiableList(copy);
+        }
+    }
+
+    private ShopIndex(PriceCatalog catalog) {
+        this.catalogVersion = catalog.getVersion();
+
+        Map<Item, String> names = new HashMap<>();
+        for (Item item : catalog.getPricedItems()) {
+            names.put(item, item.getName(item.getDefaultInstance()).getString());
+        }
+
+        Map<String, Ordering> categories = new HashMap<>();
+        for (String category : catalog.getCategoryNames()) {
+            categories.put(category, new Ordering(catalog.getCategory(category), names, catalog));
+        }
+        this.categories = Map.copyOf(categories);
+
+        List<List<Item>> byTier = new ArrayList<>();
+        for (ShopTier tier : ShopTier.values()) {
+            byTier.add(new ArrayList<>());
+        }
+        for (Item item : catalog.getPricedItems()) {
+            byTier.get(catalog.getTier(item).ordinal()).add(item);
+        }
+        this.tiers = new Ordering[byTier.size()];
+        for (int i = 0; i < tiers.length; i++) {
+            tiers[i] = new Ordering(List.copyOf(byTier.get(i)), names, catalog);
+        }
+    }
+
+    /**
+     * The index for the live catalog, rebuilt the first time it's asked for after a reload
+     */
+    public static ShopIndex get() {
+        PriceCatalog catalog = PriceCatalog.get();
+        ShopIndex index = current;
+        if (index == null || index.catalogVersion != catalog.getVersion()) {
+            index = new ShopIndex(catalog);
+            current = index;
+        }
+        return index;
+    }
+
+    /**
+     * A category's items (empty if the catalog has no such category)
+     */
+    public Ordering getCategory(String category) {
+        return categories.getOrDefault(category, Ordering.EMPTY);
+    }
+
+    public Ordering getTier(ShopTier tier) {
+        return tiers[tier.ordinal()];
+    }
+}
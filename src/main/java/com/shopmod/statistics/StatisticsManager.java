@@ -1,5 +1,7 @@
 package com.shopmod.statistics;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -10,8 +12,10 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class StatisticsManager {
     private static final Map<UUID, PlayerStatistics> playerStats = new ConcurrentHashMap<>();
+    private static final PlayerShard<PlayerStatistics> STATE = PlayerStateStore.register("statistics", playerStats, PlayerStatistics.class);
     
     public static PlayerStatistics getStats(UUID playerId) {
+        STATE.ensureLoaded(playerId);
         return playerStats.computeIfAbsent(playerId, id -> new PlayerStatistics());
     }
     
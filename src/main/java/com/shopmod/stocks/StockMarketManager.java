@@ -1,21 +1,38 @@
 package com.shopmod.stocks;
 
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.ShopMod;
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.notifications.Notifications;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.network.chat.Component;
+import net.minecraft.world.level.storage.LevelResource;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Comprehensive Stock Market Trading System
  * Trade shares in fictional companies with realistic price fluctuations
+ * 
+ * Dividends use a cumulative dividend-per-share index per company: a payout only bumps
+ * the index, and each holding is paid shares x (index - snapshot) when its owner next
+ * trades, opens the market GUI, logs in or is online at payout time.
  */
 public class StockMarketManager {
     
     private static final Map<String, StockCompany> companies = new LinkedHashMap<>();
     private static final Map<UUID, PlayerPortfolio> portfolios = new ConcurrentHashMap<>();
+    private static final PlayerShard<PlayerPortfolio> STATE = PlayerStateStore.register("stock_portfolios", portfolios, PlayerPortfolio.class);
     private static final List<MarketEvent> recentEvents = new ArrayList<>();
     private static MarketTrend currentTrend = MarketTrend.NEUTRAL;
     private static long lastTrendChange = 0;
@@ -65,6 +82,7 @@ public class StockMarketManager {
         private final double dividendRate; // Quarterly rate (0-5%)
         private final Volatility volatility;
         private long marketCap;
+        private double dividendIndex; // Cumulative dividends paid per share
         
         public StockCompany(String name, String ticker, String industry, double initialPrice, 
                            double dividendRate, Volatility volatility) {
@@ -89,6 +107,7 @@ public class StockMarketManager {
         public Volatility getVolatility() { return volatility; }
         public long getMarketCap() { return marketCap; }
         public List<Double> getPriceHistory() { return new ArrayList<>(priceHistory); }
+        public double getDividendIndex() { return dividendIndex; }
         
         public void updatePrice(double newPrice) {
             this.currentPrice = newPrice;
@@ -179,11 +198,14 @@ public class StockMarketManager {
         private final String ticker;
         private int shares;
         private long totalCost; // Total amount paid for all shares (cost basis)
+        private double dividendSnapshot; // Company dividend index when last settled
         
         public StockHolding(String ticker, int shares, long totalCost) {
             this.ticker = ticker;
             this.shares = shares;
             this.totalCost = totalCost;
+            StockCompany company = companies.get(ticker);
+            this.dividendSnapshot = company != null ? company.dividendIndex : 0;
         }
         
         public String getTicker() { return ticker; }
@@ -191,6 +213,27 @@ public class StockMarketManager {
         public long getTotalCost() { return totalCost; }
         public double getAverageCost() { return shares > 0 ? (double)totalCost / shares : 0; }
         
+        /**
+         * Dividends accrued since the last settlement, without settling them
+         */
+        public long getUnsettledDividends() {
+            StockCompany company = companies.get(ticker);
+            if (company == null || company.dividendIndex <= dividendSnapshot) return 0;
+            return (long)(shares * (company.dividendIndex - dividendSnapshot));
+        }
+        
+        /**
+         * Takes the accrued dividends and moves the snapshot up to the current index
+         */
+        long settleDividends() {
+            long owed = getUnsettledDividends();
+            StockCompany company = companies.get(ticker);
+            if (company != null) {
+                dividendSnapshot = company.dividendIndex;
+            }
+            return owed;
+        }
+        
         public void addShares(int amount, long cost) {
             this.shares += amount;
             this.totalCost += cost;
@@ -253,6 +296,61 @@ public class StockMarketManager {
         addCompany("ShopWise Inc", "SHOP", "Retail", 72, 0.04, Volatility.LOW);
         
         ShopMod.LOGGER.info("Stock Market initialized with " + companies.size() + " companies!");
+        
+        // Dividend indexes must survive restarts, or unsettled dividends would be lost
+        ServerLifecycleEvents.SERVER_STARTED.register(StockMarketManager::loadMarketState);
+        ServerLifecycleEvents.AFTER_SAVE.register((server, flush, force) -> saveMarketState(server));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> resetMarketState());
+    }
+    
+    private static Path getMarketStateFile(MinecraftServer server) {
+        return server.getWorldPath(LevelResource.ROOT).resolve("shopmod").resolve("stock_market.json");
+    }
+    
+    private static void loadMarketState(MinecraftServer server) {
+        Path file = getMarketStateFile(server);
+        if (!Files.exists(file)) return;
+        
+        try {
+            JsonObject root = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonObject();
+            lastDividendPayout = root.get("lastDividendPayout").getAsLong();
+            JsonObject indexes = root.getAsJsonObject("dividendIndex");
+            for (StockCompany company : companies.values()) {
+                if (indexes.has(company.ticker)) {
+                    company.dividendIndex = indexes.get(company.ticker).getAsDouble();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            ShopMod.LOGGER.error("Failed to load stock market state from " + file, e);
+        }
+    }
+    
+    /**
+     * Static state outlives the server in singleplayer - don't carry one world's indexes into the next
+     */
+    private static void resetMarketState() {
+        lastDividendPayout = 0;
+        for (StockCompany company : companies.values()) {
+            company.dividendIndex = 0;
+        }
+    }
+    
+    private static void saveMarketState(MinecraftServer server) {
+        JsonObject root = new JsonObject();
+        root.addProperty("lastDividendPayout", lastDividendPayout);
+        JsonObject indexes = new JsonObject();
+        for (StockCompany company : companies.values()) {
+            indexes.addProperty(company.ticker, company.dividendIndex);
+        }
+        root.add("dividendIndex", indexes);
+        
+        Path file = getMarketStateFile(server);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, root.toString(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            ShopMod.LOGGER.error("Failed to save stock market state to " + file, e);
+        }
     }
     
     private static void addCompany(String name, String ticker, String industry, double initialPrice,
@@ -278,6 +376,7 @@ public class StockMarketManager {
      * Get player portfolio
      */
     public static PlayerPortfolio getPortfolio(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return portfolios.computeIfAbsent(playerUUID, k -> new PlayerPortfolio());
     }
     
@@ -310,6 +409,9 @@ public class StockMarketManager {
         // Deduct money
         CurrencyManager.removeMoney(player, totalCost);
         
+        // Pay out dividends on the old share count first
+        settleDividends(player);
+        
         // Add shares to portfolio
         PlayerPortfolio portfolio = getPortfolio(player.getUUID());
         StockHolding holding = portfolio.holdings.get(ticker);
@@ -320,6 +422,7 @@ public class StockMarketManager {
         } else {
             holding.addShares(shares, sharesCost);
         }
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal("§a✓ Bought " + shares + " shares of " + 
             company.getName() + " (" + ticker + ")"));
@@ -363,12 +466,16 @@ public class StockMarketManager {
         // Add money
         CurrencyManager.addMoney(player, netProceeds);
         
+        // Pay out dividends on the old share count first
+        settleDividends(player);
+        
         // Remove shares from portfolio
         holding.removeShares(shares, costBasis);
         
         if (holding.getShares() == 0) {
             portfolio.holdings.remove(ticker);
         }
+        STATE.markDirty(player.getUUID());
         
         // Calculate profit/loss
         long profitLoss = netProceeds - costBasis;
@@ -481,40 +588,51 @@ public class StockMarketManager {
     }
     
     /**
-     * Process dividend payments (every 7 days)
+     * Pay out a dividend (every 7 days) by bumping each company's dividend-per-share index.
+     * Costs O(companies); holders collect with settleDividends.
+     * @return true if a payout happened
      */
-    public static void processDividends(long currentDay, Iterable<ServerPlayer> players) {
+    public static boolean processDividends(long currentDay) {
         if (currentDay - lastDividendPayout < DIVIDEND_INTERVAL_DAYS) {
-            return;
+            return false;
         }
         
         lastDividendPayout = currentDay;
-        
-        for (ServerPlayer player : players) {
-            PlayerPortfolio portfolio = getPortfolio(player.getUUID());
-            long totalDividends = 0;
-            
-            for (StockHolding holding : portfolio.getHoldings().values()) {
-                StockCompany company = companies.get(holding.getTicker());
-                if (company == null) continue;
-                
-                // Calculate dividend: shares * price * dividend rate
-                long dividend = (long)(holding.getShares() * company.getCurrentPrice() * 
-                                      company.getDividendRate());
-                totalDividends += dividend;
-            }
-            
-            if (totalDividends > 0) {
-                CurrencyManager.addMoney(player, totalDividends);
-                portfolio.addDividend(totalDividends);
-                
-                player.sendSystemMessage(Component.literal("§a§l✓ DIVIDEND PAYMENT"));
-                player.sendSystemMessage(Component.literal("§7You received §6" + 
-                    CurrencyManager.format(totalDividends) + " §7in dividends!"));
-            }
+        for (StockCompany company : companies.values()) {
+            // Dividend per share: price * dividend rate
+            company.dividendIndex += company.getCurrentPrice() * company.getDividendRate();
         }
         
         ShopMod.LOGGER.info("Processed stock market dividends for day " + currentDay);
+        return true;
+    }
+    
+    /**
+     * Pay a player every dividend accrued on their holdings since they were last settled
+     */
+    public static void settleDividends(ServerPlayer player) {
+        PlayerPortfolio portfolio = getPortfolio(player.getUUID());
+        if (portfolio.getHoldings().isEmpty()) return;
+        long totalDividends = 0;
+        boolean snapshotMoved = false;
+        
+        for (StockHolding holding : portfolio.getHoldings().values()) {
+            double before = holding.dividendSnapshot;
+            totalDividends += holding.settleDividends();
+            snapshotMoved |= holding.dividendSnapshot != before;
+        }
+        if (snapshotMoved || totalDividends > 0) {
+            STATE.markDirty(player.getUUID());
+        }
+        
+        if (totalDividends > 0) {
+            CurrencyManager.addMoney(player, totalDividends);
+            portfolio.addDividend(totalDividends);
+            
+            Notifications.chat(player, Component.literal("§a§l✓ DIVIDEND PAYMENT"));
+            Notifications.chat(player, Component.literal("§7You received §6" + 
+                CurrencyManager.format(totalDividends) + " §7in dividends!"));
+        }
     }
     
     /**
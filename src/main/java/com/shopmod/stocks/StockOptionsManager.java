@@ -1,8 +1,14 @@
 package com.shopmod.stocks;
 
+import com.shopmod.ShopMod;
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
 import com.shopmod.economy.PriceFluctuation;
+import com.shopmod.scheduler.ShopScheduler;
+import com.shopmod.scheduler.TimerWheel;
 import com.shopmod.shop.ItemPricing;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.Item;
@@ -17,6 +23,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class StockOptionsManager {
     private static final Map<UUID, PlayerStockData> playerStocks = new ConcurrentHashMap<>();
+    private static final PlayerShard<PlayerStockData> STATE = PlayerStateStore.registerEager("stock_options", playerStocks, PlayerStockData.class);
     private static long lastOptionsReset = -1;
     private static final Random random = new Random();
     
@@ -39,6 +46,7 @@ public class StockOptionsManager {
         private final boolean isCall; // true = bet price goes UP, false = bet price goes DOWN
         private final long expirationTime; // MC ticks
         private final long purchaseTime;
+        private transient TimerWheel.Timer expiryTimer;
         
         public StockOption(Item item, long strikePrice, long premium, boolean isCall, long expirationTime, long purchaseTime) {
             this.item = item;
@@ -79,10 +87,24 @@ public class StockOptionsManager {
         }
     }
     
+    /**
+     * Re-register expiry for options saved with the world (scheduled tasks don't survive a restart)
+     */
+    public static void initialize() {
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> {
+            for (Map.Entry<UUID, PlayerStockData> entry : playerStocks.entrySet()) {
+                for (StockOption option : entry.getValue().getActiveOptions()) {
+                    scheduleExpiry(entry.getKey(), option);
+                }
+            }
+        });
+    }
+    
     /**
      * Get player stock data
      */
     public static PlayerStockData getPlayerStockData(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return playerStocks.computeIfAbsent(playerUUID, k -> new PlayerStockData());
     }
     
@@ -119,6 +141,8 @@ public class StockOptionsManager {
         
         PlayerStockData data = getPlayerStockData(player.getUUID());
         data.getActiveOptions().add(option);
+        STATE.markDirty(player.getUUID());
+        scheduleExpiry(player.getUUID(), option);
         
         player.sendSystemMessage(Component.literal(
             "§a§l[STOCKS] " + (isCall ? "CALL" : "PUT") + " option purchased!"));
@@ -150,6 +174,8 @@ public class StockOptionsManager {
         
         // Remove option
         data.getActiveOptions().remove(optionIndex);
+        STATE.markDirty(player.getUUID());
+        ShopScheduler.cancel(option.expiryTimer);
         
         if (profit > 0) {
             CurrencyManager.addMoney(player, profit);
@@ -165,42 +191,38 @@ public class StockOptionsManager {
         return true;
     }
     
+    private static void scheduleExpiry(UUID playerUUID, StockOption option) {
+        option.expiryTimer = ShopScheduler.scheduleAtDayTime(option.getExpirationTime(), () -> expireOption(playerUUID, option));
+    }
+    
     /**
-     * Process expired options
+     * Settle an option that reached its expiration time; the owner may be offline
      */
-    public static void processExpiredOptions(long currentTime, net.minecraft.server.MinecraftServer server) {
-        for (Map.Entry<UUID, PlayerStockData> entry : playerStocks.entrySet()) {
-            UUID playerUUID = entry.getKey();
-            PlayerStockData data = entry.getValue();
-            
-            Iterator<StockOption> iterator = data.getActiveOptions().iterator();
-            while (iterator.hasNext()) {
-                StockOption option = iterator.next();
-                
-                if (option.isExpired(currentTime)) {
-                    long profit = option.calculateProfit();
-                    
-                    ServerPlayer player = server.getPlayerList().getPlayer(playerUUID);
-                    
-                    if (profit > 0) {
-                        CurrencyManager.addMoney(player, profit);
-                        data.addProfit(profit);
-                        if (player != null) {
-                            player.sendSystemMessage(Component.literal(
-                                "§a§l[STOCKS] Option expired - PROFIT: +" + CurrencyManager.format(profit)));
-                        }
-                    } else {
-                        data.addLoss(-profit);
-                        if (player != null) {
-                            player.sendSystemMessage(Component.literal(
-                                "§c§l[STOCKS] Option expired - LOSS: " + CurrencyManager.format(-profit)));
-                        }
-                    }
-                    
-                    iterator.remove();
-                }
+    private static void expireOption(UUID playerUUID, StockOption option) {
+        PlayerStockData data = playerStocks.get(playerUUID);
+        if (data == null || !data.getActiveOptions().remove(option)) return;
+        
+        long profit = option.calculateProfit();
+        ServerPlayer player = ShopScheduler.getPlayer(playerUUID);
+        
+        if (profit > 0) {
+            if (ShopMod.dataManager != null) {
+                ShopMod.dataManager.addMoney(playerUUID, profit);
+            }
+            data.addProfit(profit);
+            if (player != null) {
+                player.sendSystemMessage(Component.literal(
+                    "§a§l[STOCKS] Option expired - PROFIT: +" + CurrencyManager.format(profit)));
+            }
+        } else {
+            data.addLoss(-profit);
+            if (player != null) {
+                player.sendSystemMessage(Component.literal(
+                    "§c§l[STOCKS] Option expired - LOSS: " + CurrencyManager.format(-profit)));
             }
         }
+        
+        STATE.markDirty(playerUUID);
     }
     
     /**
@@ -208,7 +230,7 @@ public class StockOptionsManager {
      */
     public static List<Item> getSuggestedOptions() {
         List<Item> suggestions = new ArrayList<>();
-        List<Item> allItems = new ArrayList<>(ItemPricing.getAllPrices().keySet());
+        List<Item> allItems = ItemPricing.getPricedItems();
         
         // Pick 10 random items
         for (int i = 0; i < 10 && i < allItems.size(); i++) {
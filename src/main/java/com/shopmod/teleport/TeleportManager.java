@@ -1,5 +1,7 @@
 package com.shopmod.teleport;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
@@ -12,6 +14,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class TeleportManager {
     private static final Map<UUID, TeleportData> playerData = new ConcurrentHashMap<>();
+    private static final PlayerShard<TeleportData> STATE = PlayerStateStore.register("waypoints", playerData, TeleportData.class);
     
     public static class Waypoint {
         private final String name;
@@ -46,6 +49,7 @@ public class TeleportManager {
     }
     
     public static TeleportData getTeleportData(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return playerData.computeIfAbsent(playerUUID, k -> new TeleportData());
     }
     
@@ -70,6 +74,7 @@ public class TeleportManager {
         
         Waypoint waypoint = new Waypoint(name, pos, dimension, System.currentTimeMillis());
         data.addWaypoint(name, waypoint);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal("§a§l[TELEPORT] Waypoint '" + name + "' created!"));
         player.sendSystemMessage(Component.literal("§7Location: §e" + pos.getX() + ", " + pos.getY() + ", " + pos.getZ()));
@@ -94,6 +99,7 @@ public class TeleportManager {
         // Teleport player
         player.teleportTo(pos.getX() + 0.5, pos.getY(), pos.getZ() + 0.5);
         data.incrementTeleports();
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal("§a§l[TELEPORT] Teleported to '" + name + "'!"));
         player.playSound(net.minecraft.sounds.SoundEvents.ENDERMAN_TELEPORT, 1.0F, 1.0F);
@@ -113,6 +119,7 @@ public class TeleportManager {
         }
         
         data.removeWaypoint(name);
+        STATE.markDirty(player.getUUID());
         player.sendSystemMessage(Component.literal("§a§l[TELEPORT] Waypoint '" + name + "' deleted!"));
         
         return true;
@@ -126,6 +133,7 @@ public class TeleportManager {
         
         TeleportData data = getTeleportData(player.getUUID());
         data.incrementTeleports();
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal("§a§l[TELEPORT] Teleported to " + x + ", " + y + ", " + z + "!"));
         player.playSound(net.minecraft.sounds.SoundEvents.ENDERMAN_TELEPORT, 1.0F, 1.0F);
@@ -1,6 +1,9 @@
 package com.shopmod.tenant;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.economy.EconomyPlayer;
 import com.shopmod.property.PropertyManager;
 import com.shopmod.property.PropertyType;
 import net.minecraft.network.chat.Component;
@@ -16,6 +19,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class TenantManager {
     private static final Map<UUID, TenantData> playerTenants = new ConcurrentHashMap<>();
+    private static final PlayerShard<TenantData> STATE = PlayerStateStore.register("tenants", playerTenants, TenantData.class);
     private static final Random random = new Random();
     
     // Tenant names pool
@@ -76,6 +80,7 @@ public class TenantManager {
     }
     
     public static TenantData getTenantData(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return playerTenants.computeIfAbsent(playerUUID, k -> new TenantData());
     }
     
@@ -112,10 +117,12 @@ public class TenantManager {
         
         TenantInfo tenant = new TenantInfo(tenantName, propertyType, rentAmount);
         getTenantData(player.getUUID()).addTenant(tenantId, tenant);
+        STATE.markDirty(player.getUUID());
         
         // Mark property as rented
         propData.setRented(true);
         propData.setRenterName(tenantName);
+        PropertyManager.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal("§a§l[TENANT] Property rented to " + tenantName + "!"));
         player.sendSystemMessage(Component.literal("§7Rent: §6" + CurrencyManager.format(rentAmount) + "/day §7(+50% bonus)"));
@@ -138,6 +145,7 @@ public class TenantManager {
         
         // Remove tenant
         data.removeTenant(tenantId);
+        STATE.markDirty(player.getUUID());
         
         // Unmark property as rented
         PropertyManager.PlayerProperties props = PropertyManager.getPlayerProperties(player.getUUID());
@@ -145,6 +153,7 @@ public class TenantManager {
         if (propData != null) {
             propData.setRented(false);
             propData.setRenterName(null);
+            PropertyManager.markDirty(player.getUUID());
         }
         
         player.sendSystemMessage(Component.literal("§c§l[TENANT] Evicted " + tenant.getName() + "!"));
@@ -178,6 +187,7 @@ public class TenantManager {
                 CurrencyManager.format(adjustment) + " §a(Relationship: +5)"));
         }
         
+        STATE.markDirty(player.getUUID());
         player.sendSystemMessage(Component.literal("§7New rent: §6" + CurrencyManager.format(tenant.getRentAmount()) + "/day"));
         
         return true;
@@ -187,11 +197,16 @@ public class TenantManager {
      * Process daily tenant events and rent collection
      */
     public static void processDailyTenants(ServerPlayer player, long currentDay) {
+        processDailyTenants(EconomyPlayer.of(player), currentDay);
+    }
+    
+    public static void processDailyTenants(EconomyPlayer player, long currentDay) {
         TenantData data = getTenantData(player.getUUID());
         
         if (data.getLastProcessedDay() >= currentDay) {
             return; // Already processed
         }
+        STATE.markDirty(player.getUUID());
         
         for (TenantInfo tenant : data.getTenants().values()) {
             // Collect rent
@@ -212,7 +227,7 @@ public class TenantManager {
     /**
      * Process random tenant event
      */
-    private static void processRandomEvent(ServerPlayer player, TenantInfo tenant) {
+    private static void processRandomEvent(EconomyPlayer player, TenantInfo tenant) {
         int relationshipScore = tenant.getRelationshipScore();
         double eventRoll = random.nextDouble();
         
@@ -228,7 +243,7 @@ public class TenantManager {
         }
     }
     
-    private static void processPositiveEvent(ServerPlayer player, TenantInfo tenant) {
+    private static void processPositiveEvent(EconomyPlayer player, TenantInfo tenant) {
         int eventType = random.nextInt(3);
         
         switch (eventType) {
@@ -243,7 +258,7 @@ public class TenantManager {
             case 1: // Item gift (diamonds)
                 int diamondCount = 1 + random.nextInt(3);
                 ItemStack diamonds = new ItemStack(Items.DIAMOND, diamondCount);
-                if (player.getInventory().add(diamonds)) {
+                if (player.giveItem(diamonds)) {
                     player.sendSystemMessage(Component.literal("§a§l[TENANT] " + tenant.getName() + 
                         " gave you " + diamondCount + " diamonds!"));
                 } else {
@@ -265,7 +280,7 @@ public class TenantManager {
         }
     }
     
-    private static void processNegativeEvent(ServerPlayer player, TenantInfo tenant) {
+    private static void processNegativeEvent(EconomyPlayer player, TenantInfo tenant) {
         int eventType = random.nextInt(2);
         
         switch (eventType) {
@@ -1,5 +1,6 @@
 package com.shopmod.upgrades;
 
+import com.shopmod.perf.ShopProfiler;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.minecraft.server.level.ServerPlayer;
 
@@ -11,7 +12,7 @@ public class UpgradeEffectApplier {
     private static final int UPDATE_INTERVAL = 20 * 10; // Every 10 seconds
     
     public static void initialize() {
-        ServerTickEvents.END_SERVER_TICK.register(server -> {
+        ServerTickEvents.END_SERVER_TICK.register(ShopProfiler.timed("tick.upgrade_effects", server -> {
             tickCounter++;
             
             if (tickCounter >= UPDATE_INTERVAL) {
@@ -28,6 +29,6 @@ public class UpgradeEffectApplier {
                     UpgradeManager.applyNightVision(player);
                 }
             }
-        });
+        }));
     }
 }
@@ -5,6 +5,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.shopmod.economy.ModifierProfile;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
@@ -15,6 +16,7 @@ import java.io.FileWriter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages player upgrade levels and effects
@@ -24,10 +26,10 @@ public class UpgradeManager {
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     
     // Player UUID -> Upgrade Type -> Level
-    private static final Map<UUID, Map<UpgradeType, Integer>> playerUpgrades = new HashMap<>();
+    private static final Map<UUID, Map<UpgradeType, Integer>> playerUpgrades = new ConcurrentHashMap<>();
     
     // Player UUID -> whether night vision is toggled ON
-    private static final Map<UUID, Boolean> nightVisionToggle = new HashMap<>();
+    private static final Map<UUID, Boolean> nightVisionToggle = new ConcurrentHashMap<>();
     
     public static void initialize() {
         loadData();
@@ -37,9 +39,8 @@ public class UpgradeManager {
      * Get player's upgrade level
      */
     public static int getUpgradeLevel(UUID playerUUID, UpgradeType type) {
-        return playerUpgrades
-            .computeIfAbsent(playerUUID, k -> new HashMap<>())
-            .getOrDefault(type, 0);
+        Map<UpgradeType, Integer> upgrades = playerUpgrades.get(playerUUID);
+        return upgrades == null ? 0 : upgrades.getOrDefault(type, 0);
     }
     
     /**
@@ -55,6 +56,7 @@ public class UpgradeManager {
         playerUpgrades
             .computeIfAbsent(playerUUID, k -> new HashMap<>())
             .put(type, currentLevel + 1);
+        ModifierProfile.invalidate(playerUUID);
         
         saveData();
         return true;
@@ -189,6 +191,7 @@ public class UpgradeManager {
                 
                 playerUpgrades.put(playerUUID, upgrades);
             }
+            ModifierProfile.invalidateAll();
         } catch (Exception e) {
             System.err.println("Failed to load upgrade data: " + e.getMessage());
         }
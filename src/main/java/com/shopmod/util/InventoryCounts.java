@@ -0,0 +1,240 @@
+package com.shopmod.util;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.Container;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * How many of each item a player carries, indexed by item raw id.
+ *
+ * Each player's counts sit next to a snapshot of every slot's item and count. They are
+ * validated lazily when read: the slots are compared to the snapshot and only the ones
+ * that changed adjust the totals. That pass is skipped while the server tick and the
+ * inventory's change counter (bumped by Inventory.setChanged) both match the last pass,
+ * so a shop page costs one slot pass plus an array read per item. Stacks that grow or
+ * shrink in place don't bump the counter, so code that changes the inventory outside a
+ * menu and reads counts again in the same tick calls invalidate(). remove() keeps the
+ * snapshot up to date itself.
+ *
+ * mark() and takeAdded() also report which items went up since a mark, for working out
+ * what a harvest added. Server thread only.
+ */
+public final class InventoryCounts {
+    private static final Map<UUID, InventoryCounts> counts = new HashMap<>(); // Kept for as long as the player is online
+
+    private Container inventory = null;
+    private Item[] slotItems = new Item[0];
+    private int[] slotCounts = new int[0];
+    private int[] countById = new int[0];
+    private int validatedTick = -1;    // Server tick of the last slot pass; -1 = stale
+    private int validatedChanges = -1; // Inventory change counter at that pass
+
+    private boolean marked = false;
+    private int[] deltaById = new int[0];     // Net change per item raw id since mark(); all zero when unmarked
+    private int[] touchedIds = new int[16];   // Raw ids with a non-zero delta, then the added ids
+    private int[] addedCounts = new int[16];
+    private Item[] touchedItems = new Item[16];
+    private int touched = 0;
+
+    public static void register() {
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> counts.remove(handler.getPlayer().getUUID()));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> counts.clear());
+    }
+
+    /**
+     * The player's counts, re-validated if the inventory may have changed since the last read
+     */
+    public static InventoryCounts of(ServerPlayer player) {
+        InventoryCounts playerCounts = counts.computeIfAbsent(player.getUUID(), id -> new InventoryCounts());
+        playerCounts.validate(player, false);
+        return playerCounts;
+    }
+
+    /**
+     * The player's counts after a full slot pass, for callers that must see every change made this tick
+     */
+    public static InventoryCounts validated(ServerPlayer player) {
+        InventoryCounts playerCounts = counts.computeIfAbsent(player.getUUID(), id -> new InventoryCounts());
+        playerCounts.validate(player, true);
+        return playerCounts;
+    }
+
+    /**
+     * Makes the next read compare the slots again; call after adding or removing items directly
+     */
+    public static void invalidate(ServerPlayer player) {
+        InventoryCounts playerCounts = counts.get(player.getUUID());
+        if (playerCounts != null) {
+            playerCounts.validatedTick = -1;
+        }
+    }
+
+    public int count(Item item) {
+        int id = Item.getId(item);
+        return id < countById.length ? countById[id] : 0;
+    }
+
+    /**
+     * Takes up to amount of item out of the inventory, first slots first.
+     * Compares the slots first, so it never acts on a stale snapshot.
+     * @return how many were actually removed
+     */
+    public int remove(Item item, int amount) {
+        compareSlots();
+        int remaining = amount;
+        for (int i = 0; i < slotItems.length && remaining > 0; i++) {
+            if (slotItems[i] != item) continue;
+
+            ItemStack stack = inventory.getItem(i);
+            int toRemove = Math.min(remaining, stack.getCount());
+            stack.shrink(toRemove);
+            remaining -= toRemove;
+            update(i, stack);
+        }
+        return amount - remaining;
+    }
+
+    /**
+     * Starts recording changes; takeAdded() then reports what went up since now.
+     * Call on counts from validated() so the starting point is exact.
+     */
+    public void mark() {
+        clearDeltas();
+        marked = true;
+    }
+
+    public boolean isMarked() {
+        return marked;
+    }
+
+    /**
+     * Ends the mark. Call on counts from validated().
+     * @return how many item types went up since mark(); read them with getAddedItem/getAddedCount
+     */
+    public int takeAdded() {
+        if (!marked) return 0;
+        marked = false;
+
+        // Keep the gains and zero every touched entry for next time
+        int added = 0;
+        for (int t = 0; t < touched; t++) {
+            int id = touchedIds[t];
+            int delta = deltaById[id];
+            deltaById[id] = 0;
+            if (delta > 0) {
+                touchedIds[added] = id;
+                touchedItems[added] = touchedItems[t];
+                addedCounts[added] = delta;
+                added++;
+            }
+        }
+        touched = 0;
+        return added;
+    }
+
+    public Item getAddedItem(int index) {
+        return touchedItems[index];
+    }
+
+    public int getAddedCount(int index) {
+        return addedCounts[index];
+    }
+
+    private void validate(ServerPlayer player, boolean force) {
+        Inventory current = player.getInventory();
+        int tick = player.level().getServer().getTickCount();
+        if (current != inventory) {
+            // New player object (respawn, rejoin)
+            track(current);
+        } else if (!force && tick == validatedTick && current.getTimesChanged() == validatedChanges) {
+            return;
+        }
+        validatedTick = tick;
+        validatedChanges = current.getTimesChanged();
+        compareSlots();
+    }
+
+    /**
+     * Points the counts at another container, starting over from an empty snapshot
+     */
+    void track(Container container) {
+        inventory = container;
+        slotItems = new Item[container.getContainerSize()];
+        slotCounts = new int[container.getContainerSize()];
+        Arrays.fill(countById, 0);
+        clearDeltas();
+        marked = false;
+    }
+
+    /**
+     * Compares every slot to the snapshot; only changed slots adjust the totals
+     */
+    void compareSlots() {
+        int size = Math.min(inventory.getContainerSize(), slotItems.length);
+        for (int i = 0; i < size; i++) {
+            ItemStack stack = inventory.getItem(i);
+            Item item = stack.isEmpty() ? null : stack.getItem();
+            int count = stack.isEmpty() ? 0 : stack.getCount();
+            if (item != slotItems[i] || count != slotCounts[i]) {
+                update(i, stack);
+            }
+        }
+    }
+
+    /**
+     * Moves slot i's snapshot to what the stack holds now, adjusting the totals
+     */
+    private void update(int i, ItemStack stack) {
+        if (slotItems[i] != null) {
+            change(slotItems[i], -slotCounts[i]);
+        }
+        if (stack.isEmpty()) {
+            slotItems[i] = null;
+            slotCounts[i] = 0;
+        } else {
+            slotItems[i] = stack.getItem();
+            slotCounts[i] = stack.getCount();
+            change(slotItems[i], slotCounts[i]);
+        }
+    }
+
+    private void change(Item item, int amount) {
+        int id = Item.getId(item);
+        if (id >= countById.length) {
+            countById = Arrays.copyOf(countById, Math.max(id + 1, countById.length * 2));
+        }
+        countById[id] += amount;
+        if (!marked) return;
+
+        if (id >= deltaById.length) {
+            deltaById = Arrays.copyOf(deltaById, Math.max(id + 1, deltaById.length * 2));
+        }
+        if (deltaById[id] == 0) {
+            if (touched == touchedIds.length) {
+                touchedIds = Arrays.copyOf(touchedIds, touched * 2);
+                touchedItems = Arrays.copyOf(touchedItems, touched * 2);
+                addedCounts = Arrays.copyOf(addedCounts, touched * 2);
+            }
+            touchedIds[touched] = id;
+            touchedItems[touched] = item;
+            touched++;
+        }
+        deltaById[id] += amount;
+    }
+
+    private void clearDeltas() {
+        for (int t = 0; t < touched; t++) {
+            deltaById[touchedIds[t]] = 0;
+        }
+        touched = 0;
+    }
+}
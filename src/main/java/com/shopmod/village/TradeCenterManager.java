@@ -1,6 +1,9 @@
 package com.shopmod.village;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.notifications.Notifications;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 
@@ -13,6 +16,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class TradeCenterManager {
     private static final Map<UUID, TradeCenter> tradeCenters = new ConcurrentHashMap<>();
+    private static final PlayerShard<TradeCenter> STATE = PlayerStateStore.register("trade_centers", tradeCenters, TradeCenter.class);
     
     /**
      * Trade Center data - separate storage from village warehouse
@@ -79,6 +83,7 @@ public class TradeCenterManager {
      * Get or create trade center for player
      */
     public static TradeCenter getTradeCenter(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return tradeCenters.computeIfAbsent(playerUUID, k -> new TradeCenter());
     }
     
@@ -108,6 +113,8 @@ public class TradeCenterManager {
         
         // Transfer
         village.removeResource(type, amount);
+        VillageManager.markDirty(player.getUUID());
+        STATE.markDirty(player.getUUID());
         player.sendSystemMessage(Component.literal(
             String.format("§a§l[TRADE] Transferred %d %s to trade center!",
                 amount, type.getDisplayName())));
@@ -134,6 +141,8 @@ public class TradeCenterManager {
         // Transfer (village will cap at capacity automatically)
         tradeCenter.removeResource(type, amount);
         village.addResource(type, amount);
+        VillageManager.markDirty(player.getUUID());
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             String.format("§a§l[TRADE] Transferred %d %s to village warehouse!",
@@ -163,6 +172,7 @@ public class TradeCenterManager {
         // Sell
         tradeCenter.removeResource(type, amount);
         CurrencyManager.addMoney(player, value);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             String.format("§a§l[TRADE] Sold %d %s for %s!",
@@ -202,6 +212,7 @@ public class TradeCenterManager {
             player.sendSystemMessage(Component.literal(
                 String.format("§a§l[TRADE] Auto-sell ENABLED for %s", type.getDisplayName())));
         }
+        STATE.markDirty(player.getUUID());
     }
     
     /**
@@ -227,7 +238,8 @@ public class TradeCenterManager {
         }
         
         if (totalEarned > 0) {
-            player.sendSystemMessage(Component.literal(
+            STATE.markDirty(player.getUUID());
+            Notifications.chat(player, Component.literal(
                 String.format("§6§l[TRADE] Auto-sold resources for %s!",
                     CurrencyManager.format(totalEarned))));
         }
@@ -256,6 +268,7 @@ public class TradeCenterManager {
         // Upgrade
         CurrencyManager.removeMoney(player, cost);
         tradeCenter.getStorageCapacity().put(type, currentCapacity + 100);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             String.format("§a§l[TRADE] Upgraded %s storage to %d!",
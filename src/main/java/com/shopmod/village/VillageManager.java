@@ -1,6 +1,9 @@
 package com.shopmod.village;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.economy.EconomyPlayer;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 
@@ -13,6 +16,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class VillageManager {
     private static final Map<UUID, Village> villages = new ConcurrentHashMap<>();
+    private static final PlayerShard<Village> STATE = PlayerStateStore.register("villages", villages, Village.class);
     
     // Base worker capacity (before houses) - increased for quick start
     private static final int BASE_WORKER_SLOTS = 10;
@@ -174,9 +178,17 @@ public class VillageManager {
      * Get or create village for player
      */
     public static Village getVillage(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return villages.computeIfAbsent(playerUUID, k -> new Village());
     }
     
+    /**
+     * Marks a player's village as changed; call after changing what getVillage returned
+     */
+    public static void markDirty(UUID playerUUID) {
+        STATE.markDirty(playerUUID);
+    }
+    
     /**
      * Hire a worker
      */
@@ -222,6 +234,7 @@ public class VillageManager {
             // Existing worker type - add one more
             data.setCount(data.getCount() + 1);
         }
+        STATE.markDirty(player.getUUID());
 
         player.sendSystemMessage(Component.literal(
             String.format("§a§l[VILLAGE] Hired %s! (Workers: %d/%d)",
@@ -250,6 +263,7 @@ public class VillageManager {
         if (data.getCount() == 0) {
             village.getWorkers().remove(workerType);
         }
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             String.format("§6§l[VILLAGE] Fired %s! Refunded %s (50%%)",
@@ -288,6 +302,7 @@ public class VillageManager {
         // Upgrade
         CurrencyManager.removeMoney(player, upgradeCost);
         data.setLevel(data.getLevel() + 1);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             String.format("§a§l[VILLAGE] Upgraded %s to Level %d!",
@@ -321,6 +336,7 @@ public class VillageManager {
         // Build
         int count = village.getBuildings().getOrDefault(building, 0);
         village.getBuildings().put(building, count + 1);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             String.format("§a§l[VILLAGE] Built %s! (Total: %d)",
@@ -341,6 +357,7 @@ public class VillageManager {
     public static void toggleAutoManage(ServerPlayer player) {
         Village village = getVillage(player.getUUID());
         village.setAutoManage(!village.isAutoManage());
+        STATE.markDirty(player.getUUID());
         
         if (village.isAutoManage()) {
             player.sendSystemMessage(Component.literal(
@@ -355,6 +372,10 @@ public class VillageManager {
      * Process daily village production, consumption, and upkeep
      */
     public static void processDailyVillage(ServerPlayer player, long currentDay) {
+        processDailyVillage(EconomyPlayer.of(player), currentDay);
+    }
+    
+    public static void processDailyVillage(EconomyPlayer player, long currentDay) {
         Village village = getVillage(player.getUUID());
         
         // Skip if already processed
@@ -362,6 +383,7 @@ public class VillageManager {
             return;
         }
         village.setLastProcessedDay(currentDay);
+        STATE.markDirty(player.getUUID());
         
         if (village.getWorkers().isEmpty()) {
             return; // No workers, nothing to process
@@ -451,7 +473,7 @@ public class VillageManager {
     /**
      * Process building upkeep costs
      */
-    private static boolean processUpkeep(Village village, ServerPlayer player) {
+    private static boolean processUpkeep(Village village, EconomyPlayer player) {
         boolean failed = false;
         
         for (Map.Entry<VillageBuilding, Integer> entry : village.getBuildings().entrySet()) {
@@ -481,7 +503,7 @@ public class VillageManager {
     /**
      * Process worker food consumption
      */
-    private static void processFoodConsumption(Village village, ServerPlayer player) {
+    private static void processFoodConsumption(Village village, EconomyPlayer player) {
         int totalWorkers = village.getTotalWorkerCount();
         int foodNeeded = totalWorkers; // 1 food per worker
         
@@ -573,7 +595,7 @@ public class VillageManager {
     /**
      * Send daily summary to player
      */
-    private static void sendDailySummary(ServerPlayer player, Village village,
+    private static void sendDailySummary(EconomyPlayer player, Village village,
                                          Map<ResourceType, Long> produced, long money, boolean upkeepFailed) {
         player.sendSystemMessage(Component.literal("§6§l[VILLAGE] Daily Report:"));
         
@@ -608,7 +630,7 @@ public class VillageManager {
     /**
      * Check if village can level up and do so
      */
-    private static void checkVillageLevelUp(ServerPlayer player, Village village) {
+    private static void checkVillageLevelUp(EconomyPlayer player, Village village) {
         int currentLevel = village.getVillageLevel();
         
         boolean canLevelUp = switch (currentLevel) {
@@ -1,7 +1,9 @@
 package com.shopmod.wand;
 
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
-import com.shopmod.shop.ItemPricing;
+import com.shopmod.shop.PriceCatalog;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
@@ -19,6 +21,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class SellWandManager {
     private static final Map<UUID, WandData> playerWands = new ConcurrentHashMap<>();
+    private static final PlayerShard<WandData> STATE = PlayerStateStore.register("sell_wands", playerWands, WandData.class);
     
     public static class WandData {
         private int level;
@@ -55,9 +58,17 @@ public class SellWandManager {
      * Get player wand data
      */
     public static WandData getWandData(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return playerWands.computeIfAbsent(playerUUID, k -> new WandData());
     }
     
+    /**
+     * Marks a player's wand data as changed; call after changing what getWandData returned
+     */
+    public static void markDirty(UUID playerUUID) {
+        STATE.markDirty(playerUUID);
+    }
+    
     /**
      * Give sell wand to player
      */
@@ -133,6 +144,7 @@ public class SellWandManager {
         
         CurrencyManager.removeMoney(player, cost);
         data.setLevel(data.getLevel() + 1);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             "§a§l[WAND] Upgraded to Level " + data.getLevel() + "!"));
@@ -146,7 +158,14 @@ public class SellWandManager {
      * Calculate sell value for item
      */
     public static long calculateSellValue(ItemStack stack, double multiplier) {
-        long basePrice = ItemPricing.getSellPrice(stack.getItem());
+        return calculateSellValue(PriceCatalog.get(), stack, multiplier);
+    }
+    
+    /**
+     * Calculate sell value against one catalog, so a whole chest is priced consistently
+     */
+    public static long calculateSellValue(PriceCatalog prices, ItemStack stack, double multiplier) {
+        long basePrice = prices.getSellPrice(stack.getItem());
         return (long)(basePrice * stack.getCount() * multiplier);
     }
 }
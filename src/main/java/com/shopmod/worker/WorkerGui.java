@@ -6,7 +6,7 @@ import com.shopmod.farm.FarmType;
 import com.shopmod.mining.MiningManager;
 import com.shopmod.property.PropertyManager;
 import com.shopmod.property.PropertyType;
-import eu.pb4.sgui.api.gui.SimpleGui;
+import com.shopmod.gui.DiffingGui;
 import eu.pb4.sgui.api.elements.GuiElementBuilder;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.inventory.MenuType;
@@ -18,7 +18,7 @@ import java.util.List;
 /**
  * GUI for managing workers
  */
-public class WorkerGui extends SimpleGui {
+public class WorkerGui extends DiffingGui {
     private final ServerPlayer player;
     private ViewMode viewMode = ViewMode.OVERVIEW;
     private Worker selectedWorker = null;
@@ -36,20 +36,16 @@ public class WorkerGui extends SimpleGui {
         super(MenuType.GENERIC_9x6, player, false);
         this.player = player;
         this.setTitle(Component.literal("§6§l⚒ Worker Management"));
-        setupDisplay();
+        redraw();
     }
     
-    private void setupDisplay() {
-        // Clear GUI
-        for (int i = 0; i < 54; i++) {
-            setSlot(i, new GuiElementBuilder(Items.AIR));
-        }
-        
+    @Override
+    protected void render() {
         // Background border
         for (int i = 0; i < 9; i++) {
-            setSlot(i, new GuiElementBuilder(Items.GRAY_STAINED_GLASS_PANE)
+            setSlot(i, "border", () -> new GuiElementBuilder(Items.GRAY_STAINED_GLASS_PANE)
                 .setName(Component.literal("")));
-            setSlot(45 + i, new GuiElementBuilder(Items.GRAY_STAINED_GLASS_PANE)
+            setSlot(45 + i, "border", () -> new GuiElementBuilder(Items.GRAY_STAINED_GLASS_PANE)
                 .setName(Component.literal("")));
         }
         
@@ -62,25 +58,25 @@ public class WorkerGui extends SimpleGui {
         }
         
         // Navigation buttons
-        setSlot(45, new GuiElementBuilder(Items.BOOK)
+        setSlot(45, "overview", () -> new GuiElementBuilder(Items.BOOK)
             .setName(Component.literal("§e§lOverview"))
             .setCallback((index, type, action) -> {
                 viewMode = ViewMode.OVERVIEW;
                 selectedWorker = null;
-                setupDisplay();
+                redraw();
             })
         );
         
-        setSlot(46, new GuiElementBuilder(Items.EMERALD)
+        setSlot(46, List.of("hire", WorkerManager.getHiringFee()), () -> new GuiElementBuilder(Items.EMERALD)
             .setName(Component.literal("§a§lHire Worker"))
             .addLoreLine(Component.literal("§7Cost: §6" + CurrencyManager.format(WorkerManager.getHiringFee())))
             .setCallback((index, type, action) -> {
                 viewMode = ViewMode.HIRE;
-                setupDisplay();
+                redraw();
             })
         );
         
-        setSlot(49, new GuiElementBuilder(Items.BARRIER)
+        setSlot(49, "close", () -> new GuiElementBuilder(Items.BARRIER)
             .setName(Component.literal("§c§lClose"))
             .setCallback((index, type, action) -> close())
         );
@@ -120,7 +116,9 @@ public class WorkerGui extends SimpleGui {
             Worker worker = workers.get(i);
             int slot = workerSlots[i];
             
-            setSlot(slot, new GuiElementBuilder(getWorkerIcon(worker.getType()))
+            List<Object> key = List.of(worker, worker.getName(), worker.getLoyalty(), worker.getDailySalary(),
+                worker.isAssigned() ? worker.getAssignedTo() : "");
+            setSlot(slot, key, () -> new GuiElementBuilder(getWorkerIcon(worker.getType()))
                 .setName(Component.literal("§e§l" + worker.getName()))
                 .addLoreLine(Component.literal("§7Type: §f" + worker.getType().getDisplayName()))
                 .addLoreLine(Component.literal("§7Loyalty: " + getLoyaltyColor(worker.getLoyalty()) + worker.getLoyalty() + "%"))
@@ -131,7 +129,7 @@ public class WorkerGui extends SimpleGui {
                 .setCallback((index, type, action) -> {
                     selectedWorker = worker;
                     viewMode = ViewMode.MANAGE_WORKER;
-                    setupDisplay();
+                    redraw();
                 })
             );
         }
@@ -162,7 +160,7 @@ public class WorkerGui extends SimpleGui {
                 Worker worker = WorkerManager.hireWorker(player, WorkerType.FARM_HAND, name);
                 if (worker != null) {
                     viewMode = ViewMode.OVERVIEW;
-                    setupDisplay();
+                    redraw();
                 }
             })
         );
@@ -183,7 +181,7 @@ public class WorkerGui extends SimpleGui {
                 Worker worker = WorkerManager.hireWorker(player, WorkerType.MINER, name);
                 if (worker != null) {
                     viewMode = ViewMode.OVERVIEW;
-                    setupDisplay();
+                    redraw();
                 }
             })
         );
@@ -204,7 +202,7 @@ public class WorkerGui extends SimpleGui {
                 Worker worker = WorkerManager.hireWorker(player, WorkerType.PROPERTY_MANAGER, name);
                 if (worker != null) {
                     viewMode = ViewMode.OVERVIEW;
-                    setupDisplay();
+                    redraw();
                 }
             })
         );
@@ -213,7 +211,7 @@ public class WorkerGui extends SimpleGui {
     private void showWorkerDetails() {
         if (selectedWorker == null) {
             viewMode = ViewMode.OVERVIEW;
-            setupDisplay();
+            redraw();
             return;
         }
         
@@ -245,7 +243,7 @@ public class WorkerGui extends SimpleGui {
                 .setCallback((index, type, action) -> {
                     selectedSkill = skill;
                     viewMode = ViewMode.TRAINING;
-                    setupDisplay();
+                    redraw();
                 })
             );
         }
@@ -257,7 +255,7 @@ public class WorkerGui extends SimpleGui {
                 .addLoreLine(Component.literal("§7Remove from current assignment"))
                 .setCallback((index, type, action) -> {
                     WorkerManager.unassignWorker(player, selectedWorker.getWorkerId());
-                    setupDisplay();
+                    redraw();
                 })
             );
         } else {
@@ -266,7 +264,7 @@ public class WorkerGui extends SimpleGui {
                 .addLoreLine(Component.literal("§7Assign to farm/mine/property"))
                 .setCallback((index, type, action) -> {
                     viewMode = ViewMode.ASSIGNMENTS;
-                    setupDisplay();
+                    redraw();
                 })
             );
         }
@@ -280,7 +278,7 @@ public class WorkerGui extends SimpleGui {
                 WorkerManager.fireWorker(player, selectedWorker.getWorkerId());
                 selectedWorker = null;
                 viewMode = ViewMode.OVERVIEW;
-                setupDisplay();
+                redraw();
             })
         );
     }
@@ -288,7 +286,7 @@ public class WorkerGui extends SimpleGui {
     private void showTraining() {
         if (selectedWorker == null || selectedSkill == null) {
             viewMode = ViewMode.OVERVIEW;
-            setupDisplay();
+            redraw();
             return;
         }
         
@@ -320,7 +318,7 @@ public class WorkerGui extends SimpleGui {
                     if (WorkerManager.trainWorker(player, selectedWorker.getWorkerId(), selectedSkill)) {
                         viewMode = ViewMode.MANAGE_WORKER;
                         selectedSkill = null;
-                        setupDisplay();
+                        redraw();
                     }
                 })
             );
@@ -342,7 +340,7 @@ public class WorkerGui extends SimpleGui {
             .setCallback((index, type, action) -> {
                 viewMode = ViewMode.MANAGE_WORKER;
                 selectedSkill = null;
-                setupDisplay();
+                redraw();
             })
         );
     }
@@ -350,7 +348,7 @@ public class WorkerGui extends SimpleGui {
     private void showAssignments() {
         if (selectedWorker == null) {
             viewMode = ViewMode.OVERVIEW;
-            setupDisplay();
+            redraw();
             return;
         }
         
@@ -377,7 +375,7 @@ public class WorkerGui extends SimpleGui {
                             .setCallback((index, type, action) -> {
                                 WorkerManager.assignWorker(player, selectedWorker.getWorkerId(), "FARM_" + farmType.name());
                                 viewMode = ViewMode.MANAGE_WORKER;
-                                setupDisplay();
+                                redraw();
                             })
                         );
                     }
@@ -394,7 +392,7 @@ public class WorkerGui extends SimpleGui {
                             .setCallback((index, type, action) -> {
                                 WorkerManager.assignWorker(player, selectedWorker.getWorkerId(), "MINE_" + mineType.name());
                                 viewMode = ViewMode.MANAGE_WORKER;
-                                setupDisplay();
+                                redraw();
                             })
                         );
                     }
@@ -411,7 +409,7 @@ public class WorkerGui extends SimpleGui {
                             .setCallback((index, type, action) -> {
                                 WorkerManager.assignWorker(player, selectedWorker.getWorkerId(), "PROPERTY_" + propType.name());
                                 viewMode = ViewMode.MANAGE_WORKER;
-                                setupDisplay();
+                                redraw();
                             })
                         );
                     }
@@ -431,7 +429,7 @@ public class WorkerGui extends SimpleGui {
             .setName(Component.literal("§e§lBack"))
             .setCallback((index, type, action) -> {
                 viewMode = ViewMode.MANAGE_WORKER;
-                setupDisplay();
+                redraw();
             })
         );
     }
@@ -1,6 +1,11 @@
 package com.shopmod.worker;
 
+import com.google.gson.reflect.TypeToken;
+import com.shopmod.data.PlayerShard;
+import com.shopmod.data.PlayerStateStore;
 import com.shopmod.currency.CurrencyManager;
+import com.shopmod.economy.EconomyPlayer;
+import com.shopmod.notifications.Notifications;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 
@@ -13,6 +18,7 @@ import java.util.stream.Collectors;
  */
 public class WorkerManager {
     private static final Map<UUID, List<Worker>> playerWorkers = new ConcurrentHashMap<>();
+    private static final PlayerShard<List<Worker>> STATE = PlayerStateStore.register("workers", playerWorkers, new TypeToken<List<Worker>>(){}.getType());
     private static final long HIRING_FEE = 5000;
     private static final long TRAINING_COST = 1000;
     private static final int MAX_WORKERS_PER_PLAYER = 10;
@@ -28,6 +34,7 @@ public class WorkerManager {
      * Get all workers for a player
      */
     public static List<Worker> getPlayerWorkers(UUID playerUUID) {
+        STATE.ensureLoaded(playerUUID);
         return playerWorkers.computeIfAbsent(playerUUID, k -> new ArrayList<>());
     }
     
@@ -66,6 +73,7 @@ public class WorkerManager {
         long currentDay = player.level().getServer().overworld().getDayTime() / 24000;
         Worker worker = new Worker(name, type, currentDay);
         workers.add(worker);
+        STATE.markDirty(playerUUID);
         
         player.sendSystemMessage(Component.literal(
             "§a§l[WORKERS] Hired " + name + " as " + type.getDisplayName() + "!"));
@@ -92,6 +100,7 @@ public class WorkerManager {
         }
         
         workers.remove(worker);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             "§e§l[WORKERS] Fired " + worker.getName() + " (" + worker.getType().getDisplayName() + ")"));
@@ -131,6 +140,7 @@ public class WorkerManager {
         }
         
         worker.setAssignedTo(targetId);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             "§a§l[WORKERS] Assigned " + worker.getName() + " to " + targetId));
@@ -150,6 +160,7 @@ public class WorkerManager {
         }
         
         worker.setAssignedTo(null);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             "§e§l[WORKERS] Unassigned " + worker.getName()));
@@ -203,6 +214,7 @@ public class WorkerManager {
         worker.setSkillLevel(skill, currentLevel + 1);
         worker.setLastTrainingDay(currentDay);
         worker.addExperience(100);
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal(
             "§a§l[WORKERS] " + worker.getName() + "'s " + skill.getDisplayName() + 
@@ -224,61 +236,78 @@ public class WorkerManager {
      * Process daily payments for all workers
      */
     public static void processDailyPayments(long currentDay, net.minecraft.server.MinecraftServer server) {
-        server.getPlayerList().getPlayers().forEach(player -> {
-            UUID playerUUID = player.getUUID();
-            List<Worker> workers = getPlayerWorkers(playerUUID);
+        server.getPlayerList().getPlayers().forEach(WorkerManager::processDailyPayments);
+    }
+    
+    /**
+     * Pay one player's workers for the day
+     */
+    public static void processDailyPayments(ServerPlayer player) {
+        processDailyPayments(EconomyPlayer.of(player));
+    }
+    
+    public static void processDailyPayments(EconomyPlayer player) {
+        UUID playerUUID = player.getUUID();
+        List<Worker> workers = getPlayerWorkers(playerUUID);
+        
+        if (workers.isEmpty()) {
+            return;
+        }
+        STATE.markDirty(playerUUID);
+        
+        long totalSalaries = getDailySalaries(playerUUID);
+        long balance = CurrencyManager.getBalance(player);
+        
+        if (balance >= totalSalaries) {
+            // Pay all workers
+            CurrencyManager.removeMoney(player, totalSalaries);
             
-            if (workers.isEmpty()) {
-                return;
-            }
+            // Increase loyalty for all workers
+            workers.forEach(w -> w.adjustLoyalty(1));
             
-            long totalSalaries = getDailySalaries(playerUUID);
-            long balance = CurrencyManager.getBalance(player);
+            player.sendSystemMessage(Component.literal(
+                "§6§l[WORKERS] Paid salaries: -" + CurrencyManager.format(totalSalaries)));
+        } else {
+            // Can't afford - decrease loyalty
+            workers.forEach(w -> w.adjustLoyalty(-5));
             
-            if (balance >= totalSalaries) {
-                // Pay all workers
-                CurrencyManager.removeMoney(player, totalSalaries);
-                
-                // Increase loyalty for all workers
-                workers.forEach(w -> w.adjustLoyalty(1));
-                
-                player.sendSystemMessage(Component.literal(
-                    "§6§l[WORKERS] Paid salaries: -" + CurrencyManager.format(totalSalaries)));
-            } else {
-                // Can't afford - decrease loyalty
-                workers.forEach(w -> w.adjustLoyalty(-5));
-                
-                player.sendSystemMessage(Component.literal(
-                    "§c§l[WORKERS] Missed payroll! Worker loyalty decreased."));
-            }
-        });
+            player.sendSystemMessage(Component.literal(
+                "§c§l[WORKERS] Missed payroll! Worker loyalty decreased."));
+        }
     }
     
     /**
      * Process weekly loyalty updates and quit checks
      */
     public static void processWeeklyUpdates(long currentDay, net.minecraft.server.MinecraftServer server) {
+        server.getPlayerList().getPlayers().forEach(WorkerManager::processWeeklyUpdates);
+    }
+    
+    /**
+     * Weekly quit checks for one player's workers
+     */
+    public static void processWeeklyUpdates(ServerPlayer player) {
         Random random = new Random();
         
-        server.getPlayerList().getPlayers().forEach(player -> {
-            UUID playerUUID = player.getUUID();
-            List<Worker> workers = getPlayerWorkers(playerUUID);
-            List<Worker> toRemove = new ArrayList<>();
-            
-            for (Worker worker : workers) {
-                // Check if worker quits (loyalty below 20 = 10% chance)
-                if (worker.getLoyalty() < 20) {
-                    if (random.nextInt(100) < 10) {
-                        player.sendSystemMessage(Component.literal(
-                            "§c§l[WORKERS] " + worker.getName() + " quit due to low morale!"));
-                        toRemove.add(worker);
-                    }
+        UUID playerUUID = player.getUUID();
+        List<Worker> workers = getPlayerWorkers(playerUUID);
+        List<Worker> toRemove = new ArrayList<>();
+        
+        for (Worker worker : workers) {
+            // Check if worker quits (loyalty below 20 = 10% chance)
+            if (worker.getLoyalty() < 20) {
+                if (random.nextInt(100) < 10) {
+                    Notifications.chat(player, Component.literal(
+                        "§c§l[WORKERS] " + worker.getName() + " quit due to low morale!"));
+                    toRemove.add(worker);
                 }
             }
-            
-            // Remove workers who quit
-            workers.removeAll(toRemove);
-        });
+        }
+        
+        // Remove workers who quit
+        if (workers.removeAll(toRemove)) {
+            STATE.markDirty(playerUUID);
+        }
     }
     
     /**
@@ -376,6 +405,7 @@ public class WorkerManager {
                 worker.setSkillLevel(skill, currentSkill + 1);
             }
         }
+        STATE.markDirty(player.getUUID());
         
         player.sendSystemMessage(Component.literal("§a§l[WORKERS] Promoted " + worker.getName() + "! All skills +1"));
         
@@ -0,0 +1,193 @@
+package com.shopmod.simulation;
+
+import com.shopmod.ShopMod;
+import com.shopmod.bank.BankManager;
+import com.shopmod.business.BusinessManager;
+import com.shopmod.currency.CurrencyManager;
+import com.shopmod.data.ShopDataManager;
+import com.shopmod.loan.LoanManager;
+import com.shopmod.property.PropertyManager;
+import com.shopmod.property.PropertyType;
+import com.shopmod.stocks.StockMarketManager;
+import com.shopmod.tenant.TenantManager;
+import com.shopmod.village.ResourceType;
+import com.shopmod.village.VillageManager;
+import com.shopmod.village.VillagerWorker;
+import com.shopmod.worker.Worker;
+import com.shopmod.worker.WorkerManager;
+import com.shopmod.worker.WorkerType;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.Difficulty;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Runs the daily economy for thousands of synthetic players without a Minecraft server.
+ *
+ * Players are seeded with a random mix of wallets, savings, properties, tenants, businesses,
+ * loans, villages and workers, then each simulated day runs the same world and per-player
+ * steps as the dawn rollover. For every day it prints wall time, bytes allocated and the
+ * resulting money supply, so balance changes and performance regressions show up together.
+ *
+ * Usage: ./gradlew simulate [-Psim.players=5000] [-Psim.days=30] [-Psim.seed=42]
+ */
+public class EconomySimulation {
+    private final List<SimulatedPlayer> players = new ArrayList<>();
+    private final Random random;
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public EconomySimulation(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int playerCount = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        // No server, so the player state store stays in memory; only the wallet file lives here
+        Path worldDir = Files.createTempDirectory("shopmod-sim");
+        ShopMod.dataManager = new ShopDataManager(worldDir);
+        StockMarketManager.initialize();
+
+        EconomySimulation simulation = new EconomySimulation(seed);
+        simulation.seed(playerCount);
+        simulation.run(days);
+
+        ShopMod.dataManager.shutdown();
+    }
+
+    /**
+     * Creates the players, going through the managers' own state so nothing is special-cased
+     */
+    public void seed(int count) {
+        PropertyType[] propertyTypes = PropertyType.values();
+        BusinessManager.BusinessType[] businessTypes = BusinessManager.BusinessType.values();
+        WorkerType[] workerTypes = WorkerType.values();
+
+        for (int i = 0; i < count; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            players.add(new SimulatedPlayer(uuid));
+
+            ShopMod.dataManager.setBalance(uuid, 1000 + random.nextInt(50_000));
+
+            BankManager.BankData bank = BankManager.getBankData(uuid);
+            bank.setInvestedMoney(random.nextInt(100_000));
+            bank.setCheckingBalance(random.nextInt(10_000));
+
+            // Everyone owns a little land; some rent it out
+            PropertyManager.PlayerProperties props = PropertyManager.getPlayerProperties(uuid);
+            props.setLastProcessedDay(0);
+            for (int p = 0, owned = 1 + random.nextInt(3); p < owned; p++) {
+                PropertyType type = propertyTypes[random.nextInt(propertyTypes.length / 2)];
+                PropertyManager.PropertyData data = props.getProperties().computeIfAbsent(type, PropertyManager.PropertyData::new);
+                if (!data.isRented() && random.nextInt(3) == 0) {
+                    String tenantName = TenantManager.generateTenantName();
+                    TenantManager.getTenantData(uuid).addTenant(type.name() + "_" + uuid,
+                        new TenantManager.TenantInfo(tenantName, type, (long) (type.getDailyIncome() * 1.5)));
+                    data.setRented(true);
+                    data.setRenterName(tenantName);
+                }
+            }
+
+            if (random.nextInt(10) < 3) {
+                BusinessManager.getPlayerBusinesses(uuid).add(
+                    new BusinessManager.Business(businessTypes[random.nextInt(businessTypes.length)], 0));
+            }
+
+            if (random.nextInt(10) < 2) {
+                long amount = 1000 + random.nextInt(20_000);
+                LoanManager.createLoan(uuid, amount, 30);
+                ShopMod.dataManager.addMoney(uuid, amount);
+            }
+
+            if (random.nextInt(10) < 4) {
+                VillageManager.Village village = VillageManager.getVillage(uuid);
+                village.getWorkers().put(VillagerWorker.FARMER, new VillageManager.WorkerData());
+                village.addResource(ResourceType.FOOD, 200);
+            }
+
+            if (random.nextInt(10) < 3) {
+                WorkerManager.getPlayerWorkers(uuid).add(
+                    new Worker(WorkerManager.generateRandomName(), workerTypes[random.nextInt(workerTypes.length)], 0));
+            }
+        }
+    }
+
+    public void run(int days) {
+        System.out.printf("Simulating %d players for %d days%n", players.size(), days);
+        System.out.printf("%5s %10s %12s %12s %18s%n", "day", "wall ms", "alloc MB", "MB/s", "money supply");
+        System.out.printf("%5s %10s %12s %12s %18s%n", "0", "-", "-", "-", CurrencyManager.format(getMoneySupply()));
+
+        long totalNanos = 0;
+        long totalBytes = 0;
+        for (long day = 1; day <= days; day++) {
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+
+            simulateDay(day);
+
+            long nanos = System.nanoTime() - start;
+            long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+            totalNanos += nanos;
+            totalBytes += bytes;
+
+            // Measured outside the timed section: summing balances settles every account
+            System.out.printf("%5d %10.1f %12.1f %12.1f %18s%n", day, nanos / 1e6, bytes / 1e6,
+                bytes / 1e6 / (nanos / 1e9), CurrencyManager.format(getMoneySupply()));
+        }
+
+        long messages = players.stream().mapToLong(SimulatedPlayer::getMessages).sum();
+        System.out.printf("Average %.1f ms/day, %.1f KB allocated per player-day, %d chat messages%n",
+            totalNanos / 1e6 / days, totalBytes / 1024.0 / days / Math.max(1, players.size()), messages);
+    }
+
+    /**
+     * The dawn rollover for the simulated subsystems, in DailyRollover's order
+     */
+    private void simulateDay(long day) {
+        CurrencyManager.accrueDailyInterest(day);
+        BankManager.accrueDailyReturns(Difficulty.NORMAL, day);
+        StockMarketManager.updateDailyPrices(day);
+        StockMarketManager.processDividends(day);
+        if (day % 30 == 0) {
+            BankManager.accrueCreditCardInterest(day);
+        }
+
+        for (SimulatedPlayer player : players) {
+            LoanManager.processDailyPayments(player, day);
+            VillageManager.processDailyVillage(player, day);
+            TenantManager.processDailyTenants(player, day);
+            PropertyManager.settleIncome(player, day);
+            WorkerManager.processDailyPayments(player);
+            BusinessManager.settleIncome(player, day);
+        }
+    }
+
+    /**
+     * Wallets plus bank balances, less credit card debt
+     */
+    private long getMoneySupply() {
+        long total = 0;
+        for (SimulatedPlayer player : players) {
+            UUID uuid = player.getUUID();
+            BankManager.BankData bank = BankManager.getBankData(uuid);
+            total += ShopMod.dataManager.getBalance(uuid)
+                + bank.getInvestedMoney() + bank.getCheckingBalance() + bank.getInvestmentBalance()
+                - bank.getCreditCard().getBalance();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,39 @@
+package com.shopmod.simulation;
+
+import com.shopmod.economy.EconomyPlayer;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.UUID;
+
+/**
+ * A player that only exists in the simulation.
+ * Chat is counted rather than sent, and item rewards are refused (nowhere to put them).
+ */
+public class SimulatedPlayer implements EconomyPlayer {
+    private final UUID uuid;
+    private long messages = 0;
+
+    public SimulatedPlayer(UUID uuid) {
+        this.uuid = uuid;
+    }
+
+    @Override
+    public UUID getUUID() {
+        return uuid;
+    }
+
+    @Override
+    public void sendSystemMessage(Component message) {
+        messages++;
+    }
+
+    @Override
+    public boolean giveItem(ItemStack stack) {
+        return false;
+    }
+
+    public long getMessages() {
+        return messages;
+    }
+}